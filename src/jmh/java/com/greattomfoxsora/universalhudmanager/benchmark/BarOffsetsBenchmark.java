@@ -0,0 +1,110 @@
+package com.greattomfoxsora.universalhudmanager.benchmark;
+
+import com.greattomfoxsora.universalhudmanager.client.appleskin.BarOffsets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.Vector;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AppleSkin Health オーバーレイのアイコン位置1フレーム分のコスト
+ * 旧実装（毎フレーム Vector&lt;IntPoint&gt; を作り直して同期付きの get で読む）と
+ * BarOffsets（キーが変わらなければ作り直さず int 配列を読む）を比べる。
+ *
+ * 10 = バニラ、100 = 体力強化MOD、1000 = 描画する上限（最大体力 2000）
+ *
+ * @author GreatTomFox & Sora
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BarOffsetsBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int healthBars;
+
+    private final Vector<Point> legacyOffsets = new Vector<>();
+    private final Random legacyRandom = new Random();
+    private BarOffsets offsets;
+    private int tick;
+
+    // 旧 IntPoint 相当
+    private static final class Point {
+        int x;
+        int y;
+    }
+
+    @Setup
+    public void setup() {
+        offsets = new BarOffsets(20);
+    }
+
+    /**
+     * 旧 FoodOverlayRenderer.generateHealthBarOffsets + drawHealthOverlay の読み出し
+     */
+    @Benchmark
+    public long legacyVector() {
+        legacyRandom.setSeed((long) (tick++ * 312871L));
+        int rows = (int) Math.ceil(healthBars / 10.0F);
+        int rowHeight = Math.max(10 - (rows - 2), 3);
+        if (legacyOffsets.size() != healthBars) {
+            legacyOffsets.setSize(healthBars);
+        }
+        for (int i = healthBars - 1; i >= 0; --i) {
+            int row = (int) Math.ceil((float) (i + 1) / 10.0F) - 1;
+            Point point = legacyOffsets.get(i);
+            if (point == null) {
+                point = new Point();
+                legacyOffsets.set(i, point);
+            }
+            point.x = i % 10 * 8;
+            point.y = -row * rowHeight;
+        }
+        long sum = 0;
+        for (int i = 0; i < legacyOffsets.size(); i++) {
+            Point point = legacyOffsets.get(i);
+            sum += point.x + point.y;
+        }
+        return sum;
+    }
+
+    /**
+     * 体力が変わらない通常時（キャッシュヒット、配列を読むだけ）
+     */
+    @Benchmark
+    public long cachedSteadyState() {
+        offsets.updateHealth(healthBars, false, tick++);
+        return sumOffsets();
+    }
+
+    /**
+     * 極低体力シェイク（tickごとに作り直す最悪ケース）
+     */
+    @Benchmark
+    public long cachedShake() {
+        offsets.updateHealth(healthBars, true, tick++);
+        return sumOffsets();
+    }
+
+    private long sumOffsets() {
+        long sum = 0;
+        for (int i = 0; i < offsets.count(); i++) {
+            sum += offsets.x(i) + offsets.y(i);
+        }
+        return sum;
+    }
+}
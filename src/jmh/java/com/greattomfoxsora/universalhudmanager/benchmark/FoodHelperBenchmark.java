@@ -0,0 +1,60 @@
+package com.greattomfoxsora.universalhudmanager.benchmark;
+
+import com.greattomfoxsora.universalhudmanager.client.appleskin.FoodHelper;
+import com.greattomfoxsora.universalhudmanager.client.appleskin.LegacyHealthEstimate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FoodHelper.getEstimatedHealthIncrement（自然回復シミュレーション）のコスト
+ * 満腹度・飽和度・疲労度の組み合わせで、ループ回数の少ないケースと多いケースを測る。
+ * 旧実装（{@link LegacyHealthEstimate}、満腹度18未満になるまで毎回ループ）とも比較する。
+ * 飽和度が大きい（MODの高飽和度食料）ほど旧実装のループ回数が増える。
+ * 両者の結果がビット単位で一致することは FoodHelperTest（./gradlew check）で確かめている。
+ *
+ * @author GreatTomFox & Sora
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FoodHelperBenchmark {
+
+    @Param({"18", "20"})
+    public int foodLevel;
+
+    // 200 / 5000 は満腹度による上限を超えた高飽和度のケース（旧実装のループ回数を見るため制限しない）
+    @Param({"0.0", "1.2", "9.6", "20.0", "200", "5000"})
+    public float saturationLevel;
+
+    @Param({"0.0", "3.9"})
+    public float exhaustionLevel;
+
+    /**
+     * 周期をまとめて進める現在の実装
+     */
+    @Benchmark
+    public float estimatedHealthIncrement() {
+        return FoodHelper.getEstimatedHealthIncrement(foodLevel, saturationLevel, exhaustionLevel);
+    }
+
+    /**
+     * 旧実装
+     */
+    @Benchmark
+    public float legacyLoop() {
+        return LegacyHealthEstimate.estimate(foodLevel, saturationLevel, exhaustionLevel);
+    }
+}
@@ -0,0 +1,87 @@
+package com.greattomfoxsora.universalhudmanager.benchmark;
+
+import com.greattomfoxsora.universalhudmanager.client.HeartLayoutCache;
+import com.greattomfoxsora.universalhudmanager.client.HudQuadBatch;
+import net.minecraft.resources.ResourceLocation;
+import org.joml.Matrix4f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Health Bar 描画カーネル（HeartLayoutCache → HudQuadBatch）の1フレームあたりのコスト
+ * 最大体力 20 / 200 / 2000 で、状態不変・毎フレーム変化・極低体力シェイクの3パターンを測る。
+ *
+ * @author GreatTomFox & Sora
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeartLayoutBenchmark {
+
+    private static final ResourceLocation ICONS = new ResourceLocation("minecraft", "textures/gui/icons.png");
+
+    @Param({"20", "200", "2000"})
+    public int maxHealth;
+
+    private final Matrix4f pose = new Matrix4f();
+    private HeartLayoutCache cache;
+    private HudQuadBatch batch;
+    private long sunk;
+    private int tick;
+
+    @Setup
+    public void setup() {
+        cache = new HeartLayoutCache();
+        // GPUの代わりに頂点を読むだけの出力先
+        batch = new HudQuadBatch((texture, vertices, colors, quadCount) -> sunk += quadCount + Float.floatToRawIntBits(vertices[0]));
+    }
+
+    /**
+     * 体力・エフェクトが変わらない通常時（キャッシュヒット）
+     */
+    @Benchmark
+    public long steadyState() {
+        cache.update(maxHealth, maxHealth, 0, maxHealth, 0);
+        cache.emit(batch, ICONS, pose, 0xFFFFFFFF, 100, 200, null, -1);
+        batch.flush();
+        return sunk;
+    }
+
+    /**
+     * 毎フレーム体力が変わる（毎回コマンド列を作り直す最悪ケース）
+     */
+    @Benchmark
+    public long healthChanging() {
+        int health = maxHealth - (tick++ & 1);
+        cache.update(health, maxHealth, 0, maxHealth, 0);
+        cache.emit(batch, ICONS, pose, 0xFFFFFFFF, 100, 200, null, tick % (maxHealth / 2 + 5));
+        batch.flush();
+        return sunk;
+    }
+
+    /**
+     * 極低体力（毎tickシェイクを引き直す）
+     */
+    @Benchmark
+    public long lowHealthShake() {
+        cache.update(3, maxHealth, 0, 3, 0);
+        int[] jitter = cache.jitter(tick++);
+        cache.emit(batch, ICONS, pose, 0xFFFFFFFF, 100, 200, jitter, -1);
+        batch.flush();
+        return sunk;
+    }
+}
@@ -0,0 +1,73 @@
+package com.greattomfoxsora.universalhudmanager.benchmark;
+
+import com.greattomfoxsora.universalhudmanager.client.HudQuadBatch;
+import net.minecraft.resources.ResourceLocation;
+import org.joml.Matrix4f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HudQuadBatch のCPU側コスト（頂点変換と詰め込み）
+ * テクスチャ2種（バニラicons / UHM icons）を交互に挟むケースと、まとめて積めるケースを比べる。
+ *
+ * @author GreatTomFox & Sora
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HudQuadBatchBenchmark {
+
+    private static final ResourceLocation MC_ICONS = new ResourceLocation("minecraft", "textures/gui/icons.png");
+    private static final ResourceLocation MOD_ICONS = new ResourceLocation("universalhudmanager", "textures/icons.png");
+
+    @Param({"60", "300"})
+    public int quads;
+
+    private final Matrix4f pose = new Matrix4f().translate(0.0F, 0.0F, -90.0F);
+    private HudQuadBatch batch;
+    private long sunk;
+
+    @Setup
+    public void setup() {
+        batch = new HudQuadBatch((texture, vertices, colors, quadCount) -> sunk += quadCount);
+    }
+
+    /**
+     * 同一テクスチャ（1フラッシュ）
+     */
+    @Benchmark
+    public long singleTexture() {
+        for (int i = 0; i < quads; i++) {
+            batch.blit(MC_ICONS, pose, 0xFFFFFFFF, (i % 10) * 8, (i / 10) * 10, 52, 0, 9, 9, 256, 256);
+        }
+        batch.flush();
+        return batch.getFlushCount() + sunk;
+    }
+
+    /**
+     * 1アイコンごとにテクスチャが切り替わる最悪ケース（旧実装のドローコール数に相当）
+     */
+    @Benchmark
+    public long alternatingTextures() {
+        for (int i = 0; i < quads; i++) {
+            ResourceLocation texture = (i & 1) == 0 ? MC_ICONS : MOD_ICONS;
+            batch.blit(texture, pose, 0xFFFFFFFF, (i % 10) * 8, (i / 10) * 10, 52, 0, 9, 9, 256, 256);
+        }
+        batch.flush();
+        return batch.getFlushCount() + sunk;
+    }
+}
@@ -0,0 +1,102 @@
+package com.greattomfoxsora.universalhudmanager.benchmark;
+
+import com.greattomfoxsora.universalhudmanager.client.HudSpatialIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HUD編集画面の当たり判定1回分のコスト
+ * 旧実装（全要素の矩形を上から順に調べる）と HudSpatialIndex（マウス位置のセルの要素だけ調べる）を比べる。
+ * 線形走査は索引のハンドル順（Z順）で同じ矩形を調べるので、両者の結果は常に一致する。
+ *
+ * 14 = 現在の要素数、200 = 他MODのHUD要素を取り込んだ場合の想定
+ *
+ * @author GreatTomFox & Sora
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HudSpatialIndexBenchmark {
+
+    private static final int SCREEN_WIDTH = 480;
+    private static final int SCREEN_HEIGHT = 270;
+
+    @Param({"14", "200"})
+    public int elementCount;
+
+    private final HudSpatialIndex index = new HudSpatialIndex();
+    private final int[] neighbours = new int[256];
+    private double[] mouseX;
+    private double[] mouseY;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        index.reset(SCREEN_WIDTH, SCREEN_HEIGHT);
+        for (int i = 0; i < elementCount; i++) {
+            int w = 16 + random.nextInt(166);
+            int h = 5 + random.nextInt(20);
+            int x = random.nextInt(SCREEN_WIDTH - w);
+            int y = random.nextInt(SCREEN_HEIGHT - h);
+            index.add(x, y, x + w, y + h);
+        }
+        // マウス移動1回ごとに別の位置を調べる
+        mouseX = new double[1024];
+        mouseY = new double[1024];
+        for (int i = 0; i < mouseX.length; i++) {
+            mouseX[i] = random.nextDouble() * SCREEN_WIDTH;
+            mouseY[i] = random.nextDouble() * SCREEN_HEIGHT;
+        }
+    }
+
+    /**
+     * 旧 HudEditScreen.mouseClicked 相当（全要素を上から順に）
+     */
+    @Benchmark
+    public int linearHitTest() {
+        int i = cursor++ & 1023;
+        double x = mouseX[i];
+        double y = mouseY[i];
+        for (int handle = index.size() - 1; handle >= 0; handle--) {
+            if (x >= index.left(handle) && x <= index.right(handle)
+                && y >= index.top(handle) && y <= index.bottom(handle)) {
+                return handle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * HudSpatialIndex 方式（マウス位置のセルだけ）
+     */
+    @Benchmark
+    public int gridHitTest() {
+        int i = cursor++ & 1023;
+        return index.hitTest(mouseX[i], mouseY[i]);
+    }
+
+    /**
+     * スナップ候補の列挙（ドラッグ中の要素の周囲 8px）
+     */
+    @Benchmark
+    public int gridNeighbourQuery() {
+        int handle = cursor++ % index.size();
+        return index.query(index.left(handle), index.top(handle), index.right(handle), index.bottom(handle), 8, neighbours);
+    }
+}
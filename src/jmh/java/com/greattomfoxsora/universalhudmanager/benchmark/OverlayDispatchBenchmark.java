@@ -0,0 +1,101 @@
+package com.greattomfoxsora.universalhudmanager.benchmark;
+
+import com.greattomfoxsora.universalhudmanager.client.OverlayCancelTable;
+import net.minecraft.resources.ResourceLocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * バニラオーバーレイ無効化判定の1フレーム分（全オーバーレイ）のコスト
+ * 旧実装の文字列判定と OverlayCancelTable のキャッシュ判定を比べる。
+ *
+ * @author GreatTomFox & Sora
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OverlayDispatchBenchmark {
+
+    // 1.20.1 のバニラオーバーレイID（描画順）。実際のイベントと同様、フレーム間で同じインスタンスが来る
+    private final ResourceLocation[] overlayIds = {
+        new ResourceLocation("minecraft", "vignette"),
+        new ResourceLocation("minecraft", "spyglass"),
+        new ResourceLocation("minecraft", "helmet"),
+        new ResourceLocation("minecraft", "frostbite"),
+        new ResourceLocation("minecraft", "portal"),
+        new ResourceLocation("minecraft", "hotbar"),
+        new ResourceLocation("minecraft", "crosshair"),
+        new ResourceLocation("minecraft", "boss_event_progress"),
+        new ResourceLocation("minecraft", "player_health"),
+        new ResourceLocation("minecraft", "armor_level"),
+        new ResourceLocation("minecraft", "food_level"),
+        new ResourceLocation("minecraft", "air_level"),
+        new ResourceLocation("minecraft", "mount_health"),
+        new ResourceLocation("minecraft", "jump_bar"),
+        new ResourceLocation("minecraft", "experience_bar"),
+        new ResourceLocation("minecraft", "item_name"),
+        new ResourceLocation("minecraft", "sleep_fade"),
+        new ResourceLocation("minecraft", "pot_icons"),
+        new ResourceLocation("minecraft", "debug_text"),
+        new ResourceLocation("minecraft", "fps_graph"),
+        new ResourceLocation("minecraft", "potion_icons"),
+        new ResourceLocation("minecraft", "record_overlay"),
+        new ResourceLocation("minecraft", "title_text"),
+        new ResourceLocation("minecraft", "subtitles"),
+        new ResourceLocation("minecraft", "scoreboard"),
+        new ResourceLocation("minecraft", "chat_panel"),
+        new ResourceLocation("minecraft", "player_list")
+    };
+
+    // 全要素有効を想定
+    private final int enabledMask = (1 << 15) - 1;
+
+    @Benchmark
+    public int cachedTable() {
+        int canceled = 0;
+        for (ResourceLocation id : overlayIds) {
+            if ((OverlayCancelTable.elementMask(id) & enabledMask) != 0) {
+                canceled++;
+            }
+        }
+        return canceled;
+    }
+
+    /**
+     * 旧 onRenderGuiOverlayPre と同じ文字列判定（ITEM_NAME / EFFECTS / VEHICLE / JUMP / DISMOUNT の5回分）
+     */
+    @Benchmark
+    public int legacyStringMatch() {
+        int canceled = 0;
+        for (ResourceLocation id : overlayIds) {
+            boolean cancel = false;
+            String overlayId = id.toString().toLowerCase();
+            if (overlayId.contains("selected_item") || overlayId.contains("item_name") || overlayId.contains("tool_highlight")) cancel = true;
+            overlayId = id.toString().toLowerCase();
+            if (overlayId.contains("effect") || overlayId.contains("potion") || overlayId.contains("mob_effect")) cancel = true;
+            overlayId = id.toString().toLowerCase();
+            if (overlayId.contains("vehicle") || overlayId.contains("mount")) cancel = true;
+            overlayId = id.toString().toLowerCase();
+            if (overlayId.contains("jump")) cancel = true;
+            overlayId = id.toString().toLowerCase();
+            if (overlayId.contains("dismount") || overlayId.contains("sneak")
+                || overlayId.contains("vehicle_text") || overlayId.contains("mount_text")) cancel = true;
+            if (cancel) {
+                canceled++;
+            }
+        }
+        return canceled;
+    }
+}
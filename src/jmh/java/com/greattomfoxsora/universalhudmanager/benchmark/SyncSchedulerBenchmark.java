@@ -0,0 +1,139 @@
+package com.greattomfoxsora.universalhudmanager.benchmark;
+
+import com.greattomfoxsora.universalhudmanager.network.SyncScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 同期処理の1サーバーティック分のコストとエンティティ数の関係
+ * 旧実装（全 LivingEntity の LivingTickEvent で instanceof ServerPlayer を判定し、プレイヤーなら UUID で状態を引く）と
+ * SyncScheduler（オンラインプレイヤーの一覧だけをバケット単位で回す）を比べる。
+ *
+ * ServerPlayer はサーバーなしでは作れないので、エンティティとプレイヤーは同じ形の軽量クラスで代用する。
+ *
+ * @author GreatTomFox & Sora
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SyncSchedulerBenchmark {
+
+    static class Entity {
+        final int id;
+
+        Entity(int id) {
+            this.id = id;
+        }
+    }
+
+    static final class Mob extends Entity {
+        Mob(int id) {
+            super(id);
+        }
+    }
+
+    static final class Player extends Entity {
+        final UUID uuid = UUID.randomUUID();
+        float saturation = 5.0F;
+
+        Player(int id) {
+            super(id);
+        }
+    }
+
+    static final class SentState {
+        float saturation;
+    }
+
+    @Param({"1000", "10000", "50000"})
+    public int entityCount;
+
+    @Param({"80"})
+    public int playerCount;
+
+    // 同期間隔（max_syncs_per_second = 10 の時は2ティック）
+    @Param({"2"})
+    public int bucketCount;
+
+    private Entity[] entities;
+    private final List<Player> players = new ArrayList<>();
+    private final Map<UUID, SentState> states = new HashMap<>();
+    private int tick;
+
+    @Setup
+    public void setup() {
+        List<Entity> all = new ArrayList<>();
+        for (int i = 0; i < entityCount - playerCount; i++) {
+            all.add(new Mob(i));
+        }
+        for (int i = 0; i < playerCount; i++) {
+            Player player = new Player(entityCount + i);
+            players.add(player);
+            all.add(player);
+            states.put(player.uuid, new SentState());
+        }
+        // ワールド内ではプレイヤーとモブが混在して並ぶ
+        Collections.shuffle(all, new Random(42));
+        entities = all.toArray(new Entity[0]);
+    }
+
+    /**
+     * 旧 SyncHandler.onLivingTickEvent 相当（全エンティティ × 1イベント）
+     */
+    @Benchmark
+    public int livingTickEvent() {
+        int changed = 0;
+        for (Entity entity : entities) {
+            if (!(entity instanceof Player)) {
+                continue;
+            }
+            Player player = (Player) entity;
+            SentState state = states.get(player.uuid);
+            if (state.saturation != player.saturation) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * SyncScheduler 方式（オンラインプレイヤーのうち、このティックのバケットだけ）
+     */
+    @Benchmark
+    public int scheduledBuckets() {
+        int changed = 0;
+        int currentTick = tick++;
+        for (int i = 0, n = players.size(); i < n; i++) {
+            Player player = players.get(i);
+            if (!SyncScheduler.isDue(player.id, currentTick, bucketCount)) {
+                continue;
+            }
+            SentState state = states.get(player.uuid);
+            if (state.saturation != player.saturation) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+}
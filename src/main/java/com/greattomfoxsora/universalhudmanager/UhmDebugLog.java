@@ -0,0 +1,170 @@
+package com.greattomfoxsora.universalhudmanager;
+
+import com.greattomfoxsora.universalhudmanager.config.ConfigWriteBehind;
+import com.greattomfoxsora.universalhudmanager.config.HUDConfig;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * デバッグログ
+ * debug_mode が有効な時だけ、カテゴリ単位で UniversalHudManager.LOGGER に出力する。
+ *
+ * - 出力箇所ごとに {@link Site} を static に1つ持ち、「Nティックに1回」のレート制限をかける
+ * - メッセージは SLF4J のパラメータ形式（{}）で、文字列の組み立ては書き出しスレッド側で行う
+ * - 描画スレッドはリングバッファ（固定長キュー）に積むだけ。満杯の時は捨てて件数を数える
+ *
+ * 呼び出し側は引数のボクシングや配列生成を避けるため、必ず {@link Site#shouldLog()} で囲むこと。
+ *
+ * @author GreatTomFox & Sora
+ */
+public final class UhmDebugLog {
+
+    /**
+     * ログカテゴリ（設定の debug_categories で個別に有効化できる）
+     */
+    public enum Category {
+        OVERLAY, HEALTH, ARMOR, FOOD, AIR, EXPERIENCE, HOTBAR, ITEM_NAME, EFFECTS,
+        VEHICLE, JUMP_METER, DISMOUNT, BOSS_BAR, ATTACK_INDICATOR, EDITOR, CONFIG, INPUT, MIXIN;
+
+        final int bit = 1 << ordinal();
+    }
+
+    /**
+     * ログの出力箇所（レート制限の単位）
+     */
+    public static final class Site {
+        private final Category category;
+        private final String name;
+        private final int intervalTicks;
+        private long nextTick = Long.MIN_VALUE;
+
+        private Site(Category category, String name, int intervalTicks) {
+            this.category = category;
+            this.name = name;
+            this.intervalTicks = intervalTicks;
+        }
+
+        /**
+         * このカテゴリが有効で、前回の出力から intervalTicks 以上経っていれば true
+         */
+        public boolean shouldLog() {
+            if ((enabledMask & category.bit) == 0) {
+                return false;
+            }
+            if (intervalTicks <= 0) {
+                return true;
+            }
+            if (tick < nextTick) {
+                return false;
+            }
+            nextTick = tick + intervalTicks;
+            return true;
+        }
+    }
+
+    private record Entry(Site site, String format, Object[] args) {
+    }
+
+    private static final int CAPACITY = 1024;
+
+    private static final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(CAPACITY);
+    private static final AtomicLong dropped = new AtomicLong();
+
+    // 有効なカテゴリのビットマスク（debug_mode が無効なら 0）
+    private static volatile int enabledMask = 0;
+    private static long tick = 0;
+    private static volatile Thread writer;
+
+    private UhmDebugLog() {
+    }
+
+    /**
+     * 出力箇所を作る
+     * @param intervalTicks 最短の出力間隔（ティック）。0 なら毎回
+     */
+    public static Site site(Category category, String name, int intervalTicks) {
+        return new Site(category, name, intervalTicks);
+    }
+
+    public static boolean isEnabled(Category category) {
+        return (enabledMask & category.bit) != 0;
+    }
+
+    /**
+     * クライアントティックごとに呼ぶ（レート制限の時計）
+     */
+    public static void tick() {
+        tick++;
+    }
+
+    /**
+     * 設定から有効カテゴリを読み直す（設定ロード/リロード時）
+     */
+    public static void reload() {
+        if (!ConfigWriteBehind.get(HUDConfig.DEBUG_MODE)) {
+            enabledMask = 0;
+            return;
+        }
+        List<? extends String> categories = ConfigWriteBehind.get(HUDConfig.DEBUG_CATEGORIES);
+        int mask = 0;
+        for (String name : categories) {
+            if ("all".equalsIgnoreCase(name)) {
+                mask = -1;
+                break;
+            }
+            for (Category category : Category.values()) {
+                if (category.name().equalsIgnoreCase(name)) {
+                    mask |= category.bit;
+                }
+            }
+        }
+        enabledMask = mask;
+    }
+
+    /**
+     * ログを積む（shouldLog() が true の時だけ呼ぶこと）
+     */
+    public static void log(Site site, String format, Object... args) {
+        if (!queue.offer(new Entry(site, format, args))) {
+            dropped.incrementAndGet();
+            return;
+        }
+        if (writer == null) {
+            startWriter();
+        }
+    }
+
+    /**
+     * 警告はレート制限・カテゴリに関係なく即座に出す（頻繁に起きない異常系用）
+     */
+    public static void warn(String format, Object... args) {
+        UniversalHudManager.LOGGER.warn(format, args);
+    }
+
+    private static synchronized void startWriter() {
+        if (writer != null) {
+            return;
+        }
+        writer = new Thread(UhmDebugLog::drain, "UHM-DebugLog");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private static void drain() {
+        try {
+            while (true) {
+                Entry entry = queue.take();
+                UniversalHudManager.LOGGER.info("[" + entry.site().category + "/" + entry.site().name + "] " + entry.format(), entry.args());
+                long lost = dropped.getAndSet(0);
+                if (lost > 0) {
+                    UniversalHudManager.LOGGER.warn("UHM debug log buffer full, dropped {} messages", lost);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
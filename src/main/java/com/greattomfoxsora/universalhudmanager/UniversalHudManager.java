@@ -2,8 +2,11 @@ package com.greattomfoxsora.universalhudmanager;
 
 import com.greattomfoxsora.universalhudmanager.client.KeyBindings;
 import com.greattomfoxsora.universalhudmanager.client.HUDPositionHandler;
+import com.greattomfoxsora.universalhudmanager.client.ItemIconCache;
 import com.greattomfoxsora.universalhudmanager.config.HUDConfig;
+import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
 import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.RegisterClientReloadListenersEvent;
 import net.minecraftforge.client.event.RegisterGuiOverlaysEvent;
 import net.minecraftforge.client.event.RegisterKeyMappingsEvent;
 import net.minecraftforge.common.MinecraftForge;
@@ -35,6 +38,10 @@ public class UniversalHudManager {
         
         // Config registration
         HUDConfig.register();
+        // 設定ロード/リロード時に描画用スナップショットを再構築
+        modEventBus.addListener(HUDConfig::onModConfigEvent);
+        // サーバー側の同期設定（同期レート）
+        com.greattomfoxsora.universalhudmanager.config.SyncConfig.register();
 
         // ネットワーク同期（疲労度・飽和度をクライアントに送る）
         com.greattomfoxsora.universalhudmanager.network.SyncHandler.init();
@@ -43,6 +50,7 @@ public class UniversalHudManager {
         modEventBus.addListener(this::doClientSetup);
         modEventBus.addListener(this::registerKeyMappings);
         modEventBus.addListener(this::registerOverlays);
+        modEventBus.addListener(this::registerReloadListeners);
         
         // Register ourselves for server and other game events we are interested in
         MinecraftForge.EVENT_BUS.register(this);
@@ -74,4 +82,12 @@ public class UniversalHudManager {
         event.registerAboveAll("uhm_hud", new UHMHudOverlay());
         LOGGER.info("🖥️ UHM HUD Overlay registered");
     }
+
+    @SubscribeEvent
+    public void registerReloadListeners(RegisterClientReloadListenersEvent event) {
+        // リソースパックの切り替えでモデル・テクスチャが変わるので、キャッシュしたアイコンを捨てる
+        event.registerReloadListener((ResourceManagerReloadListener) resourceManager -> ItemIconCache.hotbar().invalidate());
+        // HUDキャッシュ（cached_hud）も古いテクスチャのアイコンを描いたままなので全要素を描き直す
+        event.registerReloadListener((ResourceManagerReloadListener) resourceManager -> HUDPositionHandler.invalidateHudCache());
+    }
 }
\ No newline at end of file
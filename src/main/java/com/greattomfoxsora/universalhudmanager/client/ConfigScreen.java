@@ -1,6 +1,9 @@
 package com.greattomfoxsora.universalhudmanager.client;
 
+import com.greattomfoxsora.universalhudmanager.UhmDebugLog;
+import com.greattomfoxsora.universalhudmanager.config.ConfigWriteBehind;
 import com.greattomfoxsora.universalhudmanager.config.HUDConfig;
+import com.greattomfoxsora.universalhudmanager.config.HudLayoutSnapshot;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.components.Button;
 import net.minecraft.client.gui.components.ObjectSelectionList;
@@ -97,7 +100,10 @@ public class ConfigScreen extends Screen {
     );
 
     private static final List<SettingEntry> GENERAL_ENTRIES = List.of(
-        new SettingEntry("debug", LANG_PREFIX + "debug", HUDConfig.DEBUG_MODE, false)
+        new SettingEntry("debug", LANG_PREFIX + "debug", HUDConfig.DEBUG_MODE, false),
+        new SettingEntry("cached_hud", LANG_PREFIX + "cached_hud", HUDConfig.CACHED_HUD, false, LANG_PREFIX + "cached_hud.tooltip"),
+        new SettingEntry("cached_item_icons", LANG_PREFIX + "cached_item_icons", HUDConfig.CACHED_ITEM_ICONS, false, LANG_PREFIX + "cached_item_icons.tooltip"),
+        new SettingEntry("snap", LANG_PREFIX + "snap", HUDConfig.SNAP_ENABLED, true, LANG_PREFIX + "snap.tooltip")
     );
 
     // -------------------------
@@ -118,9 +124,9 @@ public class ConfigScreen extends Screen {
         // pendingValues を現在のconfig値で初期化（isDirty=trueのときは既存の値を保持）
         if (!isDirty) {
             pendingValues.clear();
-            for (SettingEntry e : VISIBILITY_ENTRIES) pendingValues.put(e.key(), e.config().get());
-            for (SettingEntry e : DISPLAY_ENTRIES)    pendingValues.put(e.key(), e.config().get());
-            for (SettingEntry e : GENERAL_ENTRIES)    pendingValues.put(e.key(), e.config().get());
+            for (SettingEntry e : VISIBILITY_ENTRIES) pendingValues.put(e.key(), ConfigWriteBehind.get(e.config()));
+            for (SettingEntry e : DISPLAY_ENTRIES)    pendingValues.put(e.key(), ConfigWriteBehind.get(e.config()));
+            for (SettingEntry e : GENERAL_ENTRIES)    pendingValues.put(e.key(), ConfigWriteBehind.get(e.config()));
         }
 
         // ---- タブボタン ----
@@ -229,9 +235,13 @@ public class ConfigScreen extends Screen {
     }
 
     private void applyPendingToConfig() {
-        for (SettingEntry e : VISIBILITY_ENTRIES) e.config().set(pendingValues.get(e.key()));
-        for (SettingEntry e : DISPLAY_ENTRIES)    e.config().set(pendingValues.get(e.key()));
-        for (SettingEntry e : GENERAL_ENTRIES)    e.config().set(pendingValues.get(e.key()));
+        // ファイルへはまとめて1回だけ裏のスレッドで書き出す
+        for (SettingEntry e : VISIBILITY_ENTRIES) ConfigWriteBehind.set(e.config(), pendingValues.get(e.key()));
+        for (SettingEntry e : DISPLAY_ENTRIES)    ConfigWriteBehind.set(e.config(), pendingValues.get(e.key()));
+        for (SettingEntry e : GENERAL_ENTRIES)    ConfigWriteBehind.set(e.config(), pendingValues.get(e.key()));
+        ConfigWriteBehind.flushSoon();
+        HudLayoutSnapshot.rebuild();
+        UhmDebugLog.reload();
     }
 
     private void resetToDefaults() {
@@ -256,7 +266,7 @@ public class ConfigScreen extends Screen {
             ForgeConfigSpec.ValueSpec valueSpec = HUDConfig.SPEC.getRaw(configValue.getPath());
             return (Boolean) valueSpec.getDefault();
         } catch (Exception e) {
-            System.out.println("⚠️ getSpecDefault failed: " + e.getMessage());
+            UhmDebugLog.warn("getSpecDefault failed for {}: {}", configValue.getPath(), e.getMessage());
             return true;
         }
     }
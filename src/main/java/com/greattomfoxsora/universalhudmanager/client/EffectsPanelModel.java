@@ -0,0 +1,192 @@
+package com.greattomfoxsora.universalhudmanager.client;
+
+import net.minecraft.world.effect.MobEffect;
+import net.minecraft.world.effect.MobEffectInstance;
+import net.minecraftforge.client.extensions.common.IClientMobEffectExtensions;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Effects（ステータス効果）パネルの並び順・配置キャッシュ
+ * バニラは毎フレーム Ordering.natural().reverse().sortedCopy() で並べ替えるが、
+ * アクティブなエフェクトの集合と並び順が変わらない限り、前回の並び順と配置をそのまま使う。
+ *
+ * 変更検出（毎フレーム、割り当てなし）:
+ * - エフェクト数が同じ
+ * - キャッシュした各インスタンスが同一性でまだマップに入っている（再付与で差し替わったら検出）
+ * - showIcon が変わっていない（MobEffectInstance.update で変わり得る）
+ * - 隣り合うインスタンスの compareTo が降順のまま（update による効果時間の延長・32147tick境界の跨ぎを検出）
+ *
+ * 配置は表示するエフェクトだけを詰めた int 配列（dx, dy）で持ち、アイコンの描画待ちも
+ * Runnable のリストではなく int / float 配列に積む。
+ *
+ * @author GreatTomFox & Sora
+ */
+public final class EffectsPanelModel {
+
+    // アクティブなエフェクト全体（降順ソート済み）
+    private MobEffectInstance[] sorted = new MobEffectInstance[16];
+    private boolean[] showIcon = new boolean[16];
+    private int size = -1;  // 未構築
+
+    // 表示するエフェクト（sorted 内の位置と、基準位置からのずれ）
+    private int[] visible = new int[16];
+    private int[] dx = new int[16];
+    private int[] dy = new int[16];
+    private int visibleCount;
+    private int beneficialCount;
+    private int harmfulCount;
+
+    // バニラのアイコン描画待ち（背景を全部描いてからアイコンを描くため）
+    private int[] iconSlots = new int[16];
+    private float[] iconAlpha = new float[16];
+    private int iconCount;
+
+    private long rebuilds = 0;
+
+    /**
+     * エフェクトの集合か並び順が変わっていれば作り直す
+     * @return 作り直した場合 true
+     */
+    public boolean update(Map<MobEffect, MobEffectInstance> active) {
+        if (isUpToDate(active)) {
+            return false;
+        }
+        rebuild(active);
+        rebuilds++;
+        return true;
+    }
+
+    private boolean isUpToDate(Map<MobEffect, MobEffectInstance> active) {
+        if (active.size() != size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            MobEffectInstance instance = sorted[i];
+            if (active.get(instance.getEffect()) != instance || instance.showIcon() != showIcon[i]) {
+                return false;
+            }
+            if (i > 0 && sorted[i - 1].compareTo(instance) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rebuild(Map<MobEffect, MobEffectInstance> active) {
+        int n = active.size();
+        ensureCapacity(n);
+
+        int i = 0;
+        for (MobEffectInstance instance : active.values()) {
+            sorted[i++] = instance;
+        }
+        // 前回分の参照を残さない
+        Arrays.fill(sorted, n, sorted.length, null);
+        size = n;
+
+        // バニラ準拠: Ordering.natural().reverse()（安定ソート）
+        Arrays.sort(sorted, 0, n, Collections.reverseOrder());
+
+        visibleCount = 0;
+        beneficialCount = 0;
+        harmfulCount = 0;
+        for (i = 0; i < n; i++) {
+            MobEffectInstance instance = sorted[i];
+            showIcon[i] = instance.showIcon();
+
+            // Forge互換性チェック（表示可否はエフェクトごとに固定とみなし、作り直し時のみ判定）
+            if (!IClientMobEffectExtensions.of(instance).isVisibleInGui(instance)) continue;
+
+            // アイコンを表示するエフェクトのみ処理
+            if (!instance.showIcon()) continue;
+
+            // 位置計算（バニラ準拠）
+            int slot = visibleCount++;
+            visible[slot] = i;
+            if (instance.getEffect().isBeneficial()) {
+                // 有益エフェクト（上段）右から左へ配置
+                dx[slot] = -25 * beneficialCount;
+                dy[slot] = 0;
+                beneficialCount++;
+            } else {
+                // 有害エフェクト（下段）右から左へ配置
+                dx[slot] = -25 * harmfulCount;
+                dy[slot] = 26;
+                harmfulCount++;
+            }
+        }
+    }
+
+    private void ensureCapacity(int n) {
+        if (n <= sorted.length) {
+            return;
+        }
+        int capacity = Math.max(n, sorted.length * 2);
+        sorted = Arrays.copyOf(sorted, capacity);
+        showIcon = new boolean[capacity];
+        visible = new int[capacity];
+        dx = new int[capacity];
+        dy = new int[capacity];
+        iconSlots = new int[capacity];
+        iconAlpha = new float[capacity];
+    }
+
+    public int visibleCount() {
+        return visibleCount;
+    }
+
+    public MobEffectInstance effect(int slot) {
+        return sorted[visible[slot]];
+    }
+
+    public int dx(int slot) {
+        return dx[slot];
+    }
+
+    public int dy(int slot) {
+        return dy[slot];
+    }
+
+    public int beneficialCount() {
+        return beneficialCount;
+    }
+
+    public int harmfulCount() {
+        return harmfulCount;
+    }
+
+    /**
+     * アイコン描画待ちを空にする（フレームの最初に呼ぶ）
+     */
+    public void clearIcons() {
+        iconCount = 0;
+    }
+
+    /**
+     * バニラのアイコン描画待ちに積む
+     */
+    public void queueIcon(int slot, float alpha) {
+        iconSlots[iconCount] = slot;
+        iconAlpha[iconCount] = alpha;
+        iconCount++;
+    }
+
+    public int iconCount() {
+        return iconCount;
+    }
+
+    public int iconSlot(int index) {
+        return iconSlots[index];
+    }
+
+    public float iconAlpha(int index) {
+        return iconAlpha[index];
+    }
+
+    public long rebuilds() {
+        return rebuilds;
+    }
+}
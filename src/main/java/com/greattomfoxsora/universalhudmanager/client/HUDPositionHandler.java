@@ -1,6 +1,9 @@
 package com.greattomfoxsora.universalhudmanager.client;
 
-import com.greattomfoxsora.universalhudmanager.config.HUDConfig;
+import com.greattomfoxsora.universalhudmanager.UhmDebugLog;
+import com.greattomfoxsora.universalhudmanager.config.HudLayoutSnapshot;
+import com.greattomfoxsora.universalhudmanager.network.HudDataChannel;
+import com.greattomfoxsora.universalhudmanager.network.HudDataTable;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.resources.ResourceLocation;
@@ -17,20 +20,16 @@ import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
 import net.minecraft.client.resources.MobEffectTextureManager;
-import com.google.common.collect.Lists;
-import com.google.common.collect.Ordering;
 import com.mojang.blaze3d.systems.RenderSystem;
 import net.minecraft.client.AttackIndicatorStatus;
 import net.minecraft.world.level.GameType;
 import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
 import net.minecraftforge.client.event.RenderGuiOverlayEvent;
 import net.minecraftforge.client.gui.overlay.VanillaGuiOverlay;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.fml.common.Mod;
-import org.joml.Vector2i;
-import java.util.Collection;
-import java.util.List;
 
 /**
  * HUD位置制御ハンドラー - シンプル版
@@ -50,12 +49,51 @@ public class HUDPositionHandler {
     private static long healthBlinkTime = 0;   // バニラ準拠：long型でtickCount管理
     private static int displayHealth = 20;
     private static int tickCount = 0;
+    private static final HeartLayoutCache HEART_LAYOUT = new HeartLayoutCache();
+    
+    // Effects の並び順・配置キャッシュ
+    private static final EffectsPanelModel EFFECTS_PANEL = new EffectsPanelModel();
+    
+    // HUDキャッシュ（cached_hud 有効時のみテクスチャを確保）
+    private static final HudRenderCache HUD_CACHE = new HudRenderCache();
+    private static final HudRenderCache.SlotRenderer CACHED_SLOT_RENDERER = HUDPositionHandler::renderCachedSlot;
+    // キャッシュに描き直す時のスナップショット（renderAll がそのフレームに読んだもの）
+    private static HudLayoutSnapshot cachedSlotLayout = null;
+    
+    // デバッグログの出力箇所（毎フレーム描画のログは1秒に1回まで）
+    private static final UhmDebugLog.Site LOG_OVERLAY_CANCEL = UhmDebugLog.site(UhmDebugLog.Category.OVERLAY, "cancel", 20);
+    private static final UhmDebugLog.Site LOG_MOUNT_OVERLAY = UhmDebugLog.site(UhmDebugLog.Category.OVERLAY, "mount", 20);
+    private static final UhmDebugLog.Site LOG_HEALTH = UhmDebugLog.site(UhmDebugLog.Category.HEALTH, "render", 20);
+    private static final UhmDebugLog.Site LOG_ARMOR = UhmDebugLog.site(UhmDebugLog.Category.ARMOR, "render", 20);
+    private static final UhmDebugLog.Site LOG_FOOD = UhmDebugLog.site(UhmDebugLog.Category.FOOD, "render", 20);
+    private static final UhmDebugLog.Site LOG_AIR = UhmDebugLog.site(UhmDebugLog.Category.AIR, "render", 20);
+    private static final UhmDebugLog.Site LOG_EXPERIENCE = UhmDebugLog.site(UhmDebugLog.Category.EXPERIENCE, "render", 20);
+    private static final UhmDebugLog.Site LOG_HOTBAR = UhmDebugLog.site(UhmDebugLog.Category.HOTBAR, "render", 20);
+    private static final UhmDebugLog.Site LOG_HOTBAR_SLOT = UhmDebugLog.site(UhmDebugLog.Category.HOTBAR, "offhand_slot", 20);
+    private static final UhmDebugLog.Site LOG_ITEM_NAME = UhmDebugLog.site(UhmDebugLog.Category.ITEM_NAME, "render", 20);
+    private static final UhmDebugLog.Site LOG_EFFECTS = UhmDebugLog.site(UhmDebugLog.Category.EFFECTS, "render", 20);
+    private static final UhmDebugLog.Site LOG_VEHICLE_HEALTH = UhmDebugLog.site(UhmDebugLog.Category.VEHICLE, "render", 20);
+    private static final UhmDebugLog.Site LOG_JUMP_METER = UhmDebugLog.site(UhmDebugLog.Category.JUMP_METER, "render", 20);
+    private static final UhmDebugLog.Site LOG_DISMOUNT = UhmDebugLog.site(UhmDebugLog.Category.DISMOUNT, "render", 20);
+    private static final UhmDebugLog.Site LOG_DISMOUNT_EVENT = UhmDebugLog.site(UhmDebugLog.Category.DISMOUNT, "mounted", 0);
+    private static final UhmDebugLog.Site LOG_DISMOUNT_TICK = UhmDebugLog.site(UhmDebugLog.Category.DISMOUNT, "tick", 0);
+    private static final UhmDebugLog.Site LOG_BOSS_BAR = UhmDebugLog.site(UhmDebugLog.Category.BOSS_BAR, "render", 20);
+    private static final UhmDebugLog.Site LOG_ATTACK_INDICATOR = UhmDebugLog.site(UhmDebugLog.Category.ATTACK_INDICATOR, "render", 20);
+    
+    // アイコン系バー（Health/Armor/Food/Air/Vehicle Health）のクアッドをまとめて描画
+    private static final HudQuadBatch QUADS = HudQuadBatch.gui();
+    
+    // 有効な描画レイヤー（HudElementRegistry の描画順、スナップショットが変わった時に作り直す）
+    private static final HudLayer[] ACTIVE_LAYERS = new HudLayer[HudElementRegistry.layerCount()];
+    private static int activeLayerCount = 0;
+    private static HudLayoutSnapshot activeLayersLayout = null;
     
     // Food Bar アニメーション用（バニラではランダムシードをtickで管理）
+    private static final RandomSource FOOD_RANDOM = RandomSource.create();  // 毎フレーム作らず setSeed で使い回す（バニラの Gui.random と同じ）
     
     // Item Name表示用変数（バニラ準拠）
     private static int toolHighlightTimer = 0;  // バニラのtoolHighlightTimer相当
-    private static ItemStack lastToolHighlight = null;  // バニラのlastToolHighlight相当（null = EMPTY扱い）
+    private static final SelectedItemName SELECTED_ITEM_NAME = new SelectedItemName();  // バニラのlastToolHighlight相当（複製しない）
     private static int lastTickCount = 0;  // タイマー更新制御用
     
     // Dismount Message表示用変数（Item Name同様のフェード機能）
@@ -64,149 +102,20 @@ public class HUDPositionHandler {
     
     /**
      * バニラHUDを無効化する
+     * 判定はオーバーレイIDごとにキャッシュ済み（OverlayCancelTable）、ここではマスクとの AND のみ
      */
     @SubscribeEvent
     public static void onRenderGuiOverlayPre(RenderGuiOverlayEvent.Pre event) {
-        // デバッグモード時にすべてのオーバーレイIDを出力
-        if (HUDConfig.DEBUG_MODE.get()) {
-            System.out.println("🔍 Overlay ID: " + event.getOverlay().id().toString());
-        }
-        // Health Barを無効化
-        if (HUDConfig.HEALTH_ENABLED.get() && 
-            event.getOverlay().id().equals(VanillaGuiOverlay.PLAYER_HEALTH.id())) {
-            event.setCanceled(true);
-            
-            if (HUDConfig.DEBUG_MODE.get()) {
-                System.out.println("🚫 Canceled vanilla Health Bar");
-            }
-        }
-        
-        // Armor Barを無効化
-        if (HUDConfig.ARMOR_ENABLED.get() && 
-            event.getOverlay().id().equals(VanillaGuiOverlay.ARMOR_LEVEL.id())) {
-            event.setCanceled(true);
-            
-            if (HUDConfig.DEBUG_MODE.get()) {
-                System.out.println("🚫 Canceled vanilla Armor Bar");
-            }
-        }
-        
-        // Food Barを無効化
-        if (HUDConfig.FOOD_ENABLED.get() && 
-            event.getOverlay().id().equals(VanillaGuiOverlay.FOOD_LEVEL.id())) {
-            event.setCanceled(true);
-            
-            if (HUDConfig.DEBUG_MODE.get()) {
-                System.out.println("🚫 Canceled vanilla Food Bar");
-            }
-        }
-        
-        // Air Barを無効化
-        if (HUDConfig.AIR_ENABLED.get() && 
-            event.getOverlay().id().equals(VanillaGuiOverlay.AIR_LEVEL.id())) {
-            event.setCanceled(true);
-            
-            if (HUDConfig.DEBUG_MODE.get()) {
-                System.out.println("🚫 Canceled vanilla Air Bar");
-            }
-        }
-        
-        // Experience Barを無効化
-        if (HUDConfig.EXPERIENCE_ENABLED.get() && 
-            event.getOverlay().id().equals(VanillaGuiOverlay.EXPERIENCE_BAR.id())) {
-            event.setCanceled(true);
-            
-            if (HUDConfig.DEBUG_MODE.get()) {
-                System.out.println("🚫 Canceled vanilla Experience Bar");
-            }
-        }
-        
-        // Hotbarを無効化
-        if (HUDConfig.HOTBAR_ENABLED.get() && 
-            event.getOverlay().id().equals(VanillaGuiOverlay.HOTBAR.id())) {
-            event.setCanceled(true);
-            
-            if (HUDConfig.DEBUG_MODE.get()) {
-                System.out.println("🚫 Canceled vanilla Hotbar");
-            }
-        }
-        
-        // Item Name（Selected Item Name）を無効化
-        // Forgeでは複数の可能性があるため、複数パターンをチェック
-        if (HUDConfig.ITEM_NAME_ENABLED.get()) {
-            String overlayId = event.getOverlay().id().toString().toLowerCase();
-            if (overlayId.contains("selected_item") || 
-                overlayId.contains("item_name") || 
-                overlayId.contains("tool_highlight")) {
-                event.setCanceled(true);
-                
-                if (HUDConfig.DEBUG_MODE.get()) {
-                    System.out.println("🚫 Canceled vanilla Item Name overlay: " + overlayId);
-                }
-            }
-        }
-        
-        // Effects（Potion Effects）を無効化
-        if (HUDConfig.EFFECTS_ENABLED.get()) {
-            String overlayId = event.getOverlay().id().toString().toLowerCase();
-            if (overlayId.contains("effect") || 
-                overlayId.contains("potion") || 
-                overlayId.contains("mob_effect")) {
-                event.setCanceled(true);
-                
-                if (HUDConfig.DEBUG_MODE.get()) {
-                    System.out.println("🚫 Canceled vanilla Effects overlay: " + overlayId);
-                }
-            }
-        }
-        
-        // Vehicle Healthを無効化
-        if (HUDConfig.VEHICLE_HEALTH_ENABLED.get()) {
-            String overlayId = event.getOverlay().id().toString().toLowerCase();
-            if (overlayId.contains("vehicle") || 
-                overlayId.contains("mount")) {
-                event.setCanceled(true);
-                
-                if (HUDConfig.DEBUG_MODE.get()) {
-                    System.out.println("🚫 Canceled vanilla Vehicle Health overlay: " + overlayId);
-                }
-            }
-        }
-        
-        // Jump Meterを無効化
-        if (HUDConfig.JUMP_METER_ENABLED.get()) {
-            String overlayId = event.getOverlay().id().toString().toLowerCase();
-            if (overlayId.contains("jump")) {
-                event.setCanceled(true);
-                
-                if (HUDConfig.DEBUG_MODE.get()) {
-                    System.out.println("🚫 Canceled vanilla Jump Meter overlay: " + overlayId);
-                }
-            }
-        }
+        HudLayoutSnapshot layout = HudLayoutSnapshot.current();
+        ResourceLocation overlayId = event.getOverlay().id();
         
-        // Dismount Messageを無効化
-        if (HUDConfig.DISMOUNT_MESSAGE_ENABLED.get()) {
-            String overlayId = event.getOverlay().id().toString().toLowerCase();
-            if (overlayId.contains("dismount") || 
-                overlayId.contains("sneak") ||
-                overlayId.contains("vehicle_text") ||
-                overlayId.contains("mount_text")) {
-                event.setCanceled(true);
-                
-                if (HUDConfig.DEBUG_MODE.get()) {
-                    System.out.println("🚫 Canceled vanilla Dismount Message overlay: " + overlayId);
-                }
-            }
-        }
-        
-        // Boss Barを無効化
-        if (HUDConfig.BOSS_BAR_ENABLED.get() && 
-            event.getOverlay().id().equals(VanillaGuiOverlay.BOSS_EVENT_PROGRESS.id())) {
+        // 新しいオーバーレイIDは OverlayCancelTable が初回判定時にログ出力する
+        if (OverlayCancelTable.shouldCancel(overlayId, layout)) {
             event.setCanceled(true);
             
-            if (HUDConfig.DEBUG_MODE.get()) {
-                System.out.println("🚫 Canceled vanilla Boss Bar");
+            if (LOG_OVERLAY_CANCEL.shouldLog()) {
+                UhmDebugLog.log(LOG_OVERLAY_CANCEL, "🚫 Canceled vanilla overlay: {} (cache hits: {}, misses: {})",
+                    overlayId, OverlayCancelTable.getCacheHits(), OverlayCancelTable.getCacheMisses());
             }
         }
         
@@ -232,100 +141,256 @@ public class HUDPositionHandler {
             return;
         }
 
-        // Health Bar描画
-        if (HUDConfig.HEALTH_ENABLED.get()) {
-            renderHealthBar(guiGraphics, player, screenWidth, screenHeight);
-            // AppleSkin 互換：健康回復予測オーバーレイ
-            Vector2i healthDefault = HUDConfig.getDefaultHealthPosition(screenWidth, screenHeight);
-            Vector2i healthOff = HUDConfig.getHealthPosition();
-            int healthLeft = healthDefault.x + healthOff.x;
-            int healthTop = healthDefault.y + healthOff.y;
-            com.greattomfoxsora.universalhudmanager.client.appleskin.FoodOverlayRenderer
-                .renderHealthOverlay(guiGraphics, healthLeft, healthTop);
-        }
+        // 計測（/uhm perf）。無効時は begin() が 0 を返すだけ
+        long frameStart = HudPerfStats.begin();
+
+        // 設定値はフレームごとに一度だけスナップショットから読む（ForgeConfigSpecを直接引かない）
+        HudLayoutSnapshot layout = HudLayoutSnapshot.current();
 
-        // Armor Bar描画
-        if (HUDConfig.ARMOR_ENABLED.get()) {
-            renderArmorBar(guiGraphics, player, screenWidth, screenHeight);
+        // 体力変化の検知（キャッシュの有無に関係なく毎フレーム）
+        if (layout.isEnabled(HudLayoutSnapshot.HEALTH)) {
+            updateHealthAnimation(player);
         }
 
-        // Food Bar描画
-        if (HUDConfig.FOOD_ENABLED.get()) {
-            // 乗り物に乗っていてVehicle Healthが非分離モードの時はFood overlayを描画しない
-            boolean isShowingVehicleHealth = HUDConfig.VEHICLE_HEALTH_ENABLED.get()
-                && !HUDConfig.SEPARATE_VEHICLE_HEALTH.get()
-                && getPlayerVehicleWithHealth(player) != null
-                && getVehicleMaxHearts(getPlayerVehicleWithHealth(player)) > 0;
-            Vector2i foodDefault = HUDConfig.getDefaultFoodPosition(screenWidth, screenHeight);
-            Vector2i foodOff = HUDConfig.getFoodPosition();
-            int foodRight = foodDefault.x + foodOff.x + 81;
-            int foodTop = foodDefault.y + foodOff.y;
+        // HUDキャッシュ（cached_hud）：状態が変わった要素だけオフスクリーンに描き直し、1回で合成
+        boolean cachedHud = layout.option(HudLayoutSnapshot.OPT_CACHED_HUD);
+        if (cachedHud) {
+            updateHudCache(player, layout, screenWidth, screenHeight);
+            cachedSlotLayout = layout;
+            HUD_CACHE.render(guiGraphics, CACHED_SLOT_RENDERER);
+        } else {
+            HUD_CACHE.release();
+        }
 
-            // 疲労度アンダーレイ：フードバーより先に描画（背景レイヤー）
-            if (!isShowingVehicleHealth && HUDConfig.APPLESKIN_EXHAUSTION.get()) {
-                com.greattomfoxsora.universalhudmanager.client.appleskin.FoodOverlayRenderer
-                    .drawExhaustionUnderlay(guiGraphics, foodRight, foodTop);
+        // 有効なレイヤーを描画順に（一覧はスナップショットが変わった時だけ作り直す）
+        if (layout != activeLayersLayout) {
+            activeLayerCount = HudElementRegistry.collectEnabledLayers(layout, ACTIVE_LAYERS);
+            activeLayersLayout = layout;
+        }
+        boolean pendingQuads = false;
+        for (int i = 0; i < activeLayerCount; i++) {
+            HudLayer layer = ACTIVE_LAYERS[i];
+            // アイコン系バーはここまで。以降は GuiGraphics で直接描くので先にまとめて描画
+            if (pendingQuads && !layer.iconBar) {
+                QUADS.flush();
             }
+            pendingQuads = layer.iconBar;
 
-            // フードバー本体
-            renderFoodBar(guiGraphics, player, screenWidth, screenHeight);
+            // キャッシュ済みの要素はオフスクリーンから合成済み
+            if (cachedHud && layer.cacheSlot != HudLayer.NOT_CACHED && !HUD_CACHE.isLive(layer.cacheSlot)) {
+                continue;
+            }
 
-            // 飽和度・満腹度予測：フードバーの上のレイヤー
-            if (!isShowingVehicleHealth) {
-                com.greattomfoxsora.universalhudmanager.client.appleskin.FoodOverlayRenderer
-                    .renderFoodOverlayPost(guiGraphics, foodRight, foodTop);
+            if (layer.perfSection == HudLayer.SELF_TIMED) {
+                layer.render(guiGraphics, player, layout, screenWidth, screenHeight);
+            } else {
+                long perfStart = HudPerfStats.begin();
+                layer.render(guiGraphics, player, layout, screenWidth, screenHeight);
+                HudPerfStats.end(layer.perfSection, perfStart);
             }
         }
 
-        // Air Bar描画
-        if (HUDConfig.AIR_ENABLED.get()) {
-            renderAirBar(guiGraphics, player, screenWidth, screenHeight);
+        // 念のため残りを描画（フレームをまたいでクアッドを持ち越さない）
+        QUADS.flush();
+        HudPerfStats.end(HudPerfStats.TOTAL, frameStart);
+
+        // 計測結果の画面表示（/uhm perf overlay）
+        HudPerfOverlay.render(guiGraphics);
+    }
+
+    /**
+     * HUDキャッシュの内容を捨てて、次のフレームで全要素を描き直す（リソースのリロード時）
+     */
+    public static void invalidateHudCache() {
+        HUD_CACHE.invalidate();
+    }
+
+    /**
+     * AppleSkin 互換：健康回復予測オーバーレイ（Health Bar の上に重ねる）
+     */
+    static void renderHealthOverlay(GuiGraphics guiGraphics, Player player, HudLayoutSnapshot layout, int screenWidth, int screenHeight) {
+        int healthLeft = layout.x(HudLayoutSnapshot.HEALTH, screenWidth, screenHeight);
+        int healthTop = layout.y(HudLayoutSnapshot.HEALTH, screenWidth, screenHeight);
+        com.greattomfoxsora.universalhudmanager.client.appleskin.FoodOverlayRenderer
+            .renderHealthOverlay(guiGraphics, healthLeft, healthTop);
+    }
+
+    /**
+     * Food Bar と AppleSkin のアンダーレイ・オーバーレイ（重ね順があるので1レイヤーで描く）
+     */
+    static void renderFoodLayer(GuiGraphics guiGraphics, Player player, HudLayoutSnapshot layout, int screenWidth, int screenHeight) {
+        // 乗り物に乗っていてVehicle Healthが非分離モードの時はFood overlayを描画しない
+        boolean isShowingVehicleHealth = isShowingVehicleHealth(player, layout);
+        int foodRight = layout.x(HudLayoutSnapshot.FOOD, screenWidth, screenHeight) + 81;
+        int foodTop = layout.y(HudLayoutSnapshot.FOOD, screenWidth, screenHeight);
+
+        // 疲労度アンダーレイ：フードバーより先に描画（背景レイヤー）
+        long underlayNanos = 0L;
+        if (!isShowingVehicleHealth && layout.option(HudLayoutSnapshot.OPT_APPLESKIN_EXHAUSTION)) {
+            long perfStart = HudPerfStats.begin();
+            com.greattomfoxsora.universalhudmanager.client.appleskin.FoodOverlayRenderer
+                .drawExhaustionUnderlay(guiGraphics, foodRight, foodTop);
+            underlayNanos = HudPerfStats.elapsed(perfStart);
         }
 
-        // Experience Bar描画
-        if (HUDConfig.EXPERIENCE_ENABLED.get()) {
-            renderExperienceBar(guiGraphics, player, screenWidth, screenHeight);
+        // フードバー本体
+        if (!layout.option(HudLayoutSnapshot.OPT_CACHED_HUD) || HUD_CACHE.isLive(HudRenderCache.SLOT_FOOD)) {
+            long perfStart = HudPerfStats.begin();
+            renderFoodBar(guiGraphics, player, layout, screenWidth, screenHeight);
+            HudPerfStats.end(HudPerfStats.FOOD, perfStart);
         }
 
-        // Hotbar描画
-        if (HUDConfig.HOTBAR_ENABLED.get()) {
-            renderHotbar(guiGraphics, player, screenWidth, screenHeight);
+        // 飽和度・満腹度予測：フードバーの上のレイヤー
+        if (!isShowingVehicleHealth) {
+            long perfStart = HudPerfStats.begin();
+            com.greattomfoxsora.universalhudmanager.client.appleskin.FoodOverlayRenderer
+                .renderFoodOverlayPost(guiGraphics, foodRight, foodTop);
+            // アンダーレイと合わせて1フレーム1サンプル
+            HudPerfStats.end(HudPerfStats.APPLESKIN_FOOD, perfStart, underlayNanos);
         }
+    }
 
-        // Item Name描画
-        if (HUDConfig.ITEM_NAME_ENABLED.get()) {
-            renderItemName(guiGraphics, player, screenWidth, screenHeight);
+    /**
+     * 乗り物のHPをFood Barの位置に表示中か（非分離モードで体力のある乗り物に乗っている）
+     */
+    private static boolean isShowingVehicleHealth(Player player, HudLayoutSnapshot layout) {
+        if (!layout.isEnabled(HudLayoutSnapshot.VEHICLE_HEALTH) || layout.option(HudLayoutSnapshot.OPT_SEPARATE_VEHICLE_HEALTH)) {
+            return false;
         }
+        LivingEntity vehicle = getPlayerVehicleWithHealth(player);
+        return vehicle != null && getVehicleMaxHearts(vehicle) > 0;
+    }
 
-        // Effects描画
-        if (HUDConfig.EFFECTS_ENABLED.get()) {
-            renderEffects(guiGraphics, player, screenWidth, screenHeight);
+    /**
+     * HUDキャッシュ対象の要素の状態ハッシュと描画範囲を設定する
+     * キャッシュに向かない状態（乗り物表示への切り替え・疲労度アンダーレイとの重ね順）は直接描画に回す
+     */
+    private static void updateHudCache(Player player, HudLayoutSnapshot layout, int screenWidth, int screenHeight) {
+        // Health Bar（行数に応じて上に伸びる。再生エフェクトで2px上、シェイクで1px下に動く）
+        if (layout.isEnabled(HudLayoutSnapshot.HEALTH)) {
+            int x = layout.x(HudLayoutSnapshot.HEALTH, screenWidth, screenHeight);
+            int y = layout.y(HudLayoutSnapshot.HEALTH, screenWidth, screenHeight);
+            int health = (int) Math.ceil(player.getHealth());
+            int maxHealth = (int) Math.ceil(player.getMaxHealth());
+            int absorption = (int) Math.ceil(player.getAbsorptionAmount());
+            int rows = (int) Math.ceil((maxHealth + absorption) / 2.0F / 10.0F);
+            int rowHeight = Math.max(10 - (rows - 2), 3);
+            long hash = HudStateHash.health(x, y, health, maxHealth, absorption, displayHealth, heartFlags(player),
+                regenerationHeartIndex(player, health, maxHealth, absorption),
+                health + absorption <= 4 ? tickCount : -1);
+            HUD_CACHE.set(HudRenderCache.SLOT_HEALTH, hash, x, y - (rows - 1) * rowHeight - 2, x + 81, y + 10);
+        } else {
+            HUD_CACHE.setEmpty(HudRenderCache.SLOT_HEALTH);
         }
 
-        // Vehicle Health描画
-        if (HUDConfig.VEHICLE_HEALTH_ENABLED.get()) {
-            renderVehicleHealth(guiGraphics, player, screenWidth, screenHeight);
+        // Armor Bar（アーマー0なら何も描かない）
+        int armor = player.getArmorValue();
+        if (layout.isEnabled(HudLayoutSnapshot.ARMOR) && armor > 0) {
+            int x = layout.x(HudLayoutSnapshot.ARMOR, screenWidth, screenHeight);
+            int y = layout.y(HudLayoutSnapshot.ARMOR, screenWidth, screenHeight);
+            long hash = HudStateHash.armor(x, y, armor, layout.option(HudLayoutSnapshot.OPT_ARMOR_EMPTY_DISPLAY));
+            HUD_CACHE.set(HudRenderCache.SLOT_ARMOR, hash, x, y, x + 81, y + 9);
+        } else {
+            HUD_CACHE.setEmpty(HudRenderCache.SLOT_ARMOR);
         }
 
-        // Jump Meter描画
-        if (HUDConfig.JUMP_METER_ENABLED.get()) {
-            renderJumpMeter(guiGraphics, player, screenWidth, screenHeight);
+        // Food Bar（疲労度アンダーレイはフードバーより下に描くので、有効な時は直接描画）
+        if (!layout.isEnabled(HudLayoutSnapshot.FOOD)) {
+            HUD_CACHE.setEmpty(HudRenderCache.SLOT_FOOD);
+        } else if (isShowingVehicleHealth(player, layout) || layout.option(HudLayoutSnapshot.OPT_APPLESKIN_EXHAUSTION)) {
+            HUD_CACHE.setLive(HudRenderCache.SLOT_FOOD);
+        } else {
+            int x = layout.x(HudLayoutSnapshot.FOOD, screenWidth, screenHeight);
+            int y = layout.y(HudLayoutSnapshot.FOOD, screenWidth, screenHeight);
+            int foodLevel = player.getFoodData().getFoodLevel();
+            int guiTicks = Minecraft.getInstance().gui.getGuiTicks();
+            boolean shaking = player.getFoodData().getSaturationLevel() <= 0.0F && guiTicks % (foodLevel * 3 + 1) == 0;
+            long hash = HudStateHash.food(x, y, foodLevel, player.hasEffect(MobEffects.HUNGER),
+                layout.option(HudLayoutSnapshot.OPT_FOOD_LEFT_TO_RIGHT), shaking ? guiTicks : -1);
+            HUD_CACHE.set(HudRenderCache.SLOT_FOOD, hash, x, y - 1, x + 81, y + 10);
         }
 
-        // Dismount Message描画
-        if (HUDConfig.DISMOUNT_MESSAGE_ENABLED.get()) {
-            renderDismountMessage(guiGraphics, player, screenWidth, screenHeight);
+        // Air Bar（水中でなく酸素が満タンなら何も描かない）
+        int maxAir = player.getMaxAirSupply();
+        int clampedAir = Math.min(player.getAirSupply(), maxAir);
+        if (layout.isEnabled(HudLayoutSnapshot.AIR) && (player.isEyeInFluid(FluidTags.WATER) || clampedAir < maxAir)) {
+            int x = layout.x(HudLayoutSnapshot.AIR, screenWidth, screenHeight);
+            int y = layout.y(HudLayoutSnapshot.AIR, screenWidth, screenHeight);
+            int fullBubbles = (int) Math.ceil((double)(clampedAir - 2) * 10.0D / (double)maxAir);
+            int popBubbles = (int) Math.ceil((double)clampedAir * 10.0D / (double)maxAir) - fullBubbles;
+            HUD_CACHE.set(HudRenderCache.SLOT_AIR, HudStateHash.air(x, y, fullBubbles, popBubbles), x, y, x + 81, y + 9);
+        } else {
+            HUD_CACHE.setEmpty(HudRenderCache.SLOT_AIR);
         }
 
-        // Boss Bar描画
-        if (HUDConfig.BOSS_BAR_ENABLED.get()) {
-            renderBossBar(guiGraphics, player, screenWidth, screenHeight);
+        // Experience Bar（Jump Meter に切り替わっている間は直接描画）
+        if (!layout.isEnabled(HudLayoutSnapshot.EXPERIENCE)) {
+            HUD_CACHE.setEmpty(HudRenderCache.SLOT_EXPERIENCE);
+        } else if (layout.isEnabled(HudLayoutSnapshot.JUMP_METER) && !layout.option(HudLayoutSnapshot.OPT_SEPARATE_JUMP_METER)
+                && player.getVehicle() instanceof PlayerRideableJumping) {
+            HUD_CACHE.setLive(HudRenderCache.SLOT_EXPERIENCE);
+        } else {
+            int x = layout.x(HudLayoutSnapshot.EXPERIENCE, screenWidth, screenHeight);
+            int y = layout.y(HudLayoutSnapshot.EXPERIENCE, screenWidth, screenHeight);
+            int level = player.experienceLevel;
+            int fillWidth = player.getXpNeededForNextLevel() > 0 ? (int)(player.experienceProgress * 183.0F) : -1;
+            if (fillWidth < 0 && level <= 0) {
+                HUD_CACHE.setEmpty(HudRenderCache.SLOT_EXPERIENCE);
+            } else {
+                // レベル数字（影込み）はバーの中央、6px上
+                int x1 = x;
+                int x2 = x + 182;
+                int y1 = y;
+                if (level > 0) {
+                    int textWidth = Minecraft.getInstance().font.width(Integer.toString(level));
+                    int textX = x + 91 - textWidth / 2;
+                    x1 = Math.min(x1, textX - 1);
+                    x2 = Math.max(x2, textX + textWidth + 1);
+                    y1 = y - 7;
+                }
+                HUD_CACHE.set(HudRenderCache.SLOT_EXPERIENCE, HudStateHash.experience(x, y, level, fillWidth), x1, y1, x2, y + 5);
+            }
         }
+    }
 
-        // Attack Indicator描画
-        if (HUDConfig.ATTACK_INDICATOR_ENABLED.get()) {
-            renderAttackIndicator(guiGraphics, player, screenWidth, screenHeight);
+    /**
+     * HUDキャッシュのテクスチャに1要素を描く（描き直しが必要な時だけ呼ばれる）
+     */
+    private static void renderCachedSlot(GuiGraphics guiGraphics, int slot) {
+        Minecraft minecraft = Minecraft.getInstance();
+        Player player = minecraft.player;
+        int screenWidth = minecraft.getWindow().getGuiScaledWidth();
+        int screenHeight = minecraft.getWindow().getGuiScaledHeight();
+
+        HudLayoutSnapshot layout = cachedSlotLayout;
+
+        long perfStart = HudPerfStats.begin();
+        switch (slot) {
+            case HudRenderCache.SLOT_HEALTH -> {
+                renderHealthBar(guiGraphics, player, layout, screenWidth, screenHeight);
+                HudPerfStats.end(HudPerfStats.HEALTH, perfStart);
+            }
+            case HudRenderCache.SLOT_ARMOR -> {
+                renderArmorBar(guiGraphics, player, layout, screenWidth, screenHeight);
+                HudPerfStats.end(HudPerfStats.ARMOR, perfStart);
+            }
+            case HudRenderCache.SLOT_FOOD -> {
+                renderFoodBar(guiGraphics, player, layout, screenWidth, screenHeight);
+                HudPerfStats.end(HudPerfStats.FOOD, perfStart);
+            }
+            case HudRenderCache.SLOT_AIR -> {
+                renderAirBar(guiGraphics, player, layout, screenWidth, screenHeight);
+                HudPerfStats.end(HudPerfStats.AIR, perfStart);
+            }
+            case HudRenderCache.SLOT_EXPERIENCE -> {
+                renderExperienceBar(guiGraphics, player, layout, screenWidth, screenHeight);
+                HudPerfStats.end(HudPerfStats.EXPERIENCE, perfStart);
+            }
+            default -> {
+            }
         }
+        // キャッシュのフレームバッファがバインドされている間に描き切る
+        QUADS.flush();
     }
 
     /**
@@ -337,19 +402,10 @@ public class HUDPositionHandler {
     }
     
     /**
-     * Health Barを描画（エフェクト対応・バニラ準拠・Absorption対応）
+     * 体力変化の検知と点滅タイマーの更新（Health Bar描画の前に毎フレーム1回呼ぶ）
      */
-    private static void renderHealthBar(GuiGraphics guiGraphics, Player player, int screenWidth, int screenHeight) {
-        // デフォルト位置 + オフセットを計算
-        Vector2i defaultPos = HUDConfig.getDefaultHealthPosition(screenWidth, screenHeight);
-        Vector2i offset = HUDConfig.getHealthPosition();
-        int x = defaultPos.x + offset.x;
-        int y = defaultPos.y + offset.y;
-        
-        // Get player health data
+    private static void updateHealthAnimation(Player player) {
         int health = (int) Math.ceil(player.getHealth());
-        int maxHealth = (int) Math.ceil(player.getMaxHealth());
-        int absorption = (int) Math.ceil(player.getAbsorptionAmount());
         
         // バニラ準拠の回復検知とアニメーションタイマー設定
         Minecraft minecraft = Minecraft.getInstance();
@@ -375,135 +431,87 @@ public class HUDPositionHandler {
         }
         
         lastHealth = health;
-        
+    }
+    
+    /**
+     * ハートの見た目を決めるエフェクト・状態フラグ（HeartLayoutCache.FLAG_*）
+     */
+    private static int heartFlags(Player player) {
         // Check for status effects that change heart appearance
         boolean hasPoison = player.hasEffect(MobEffects.POISON);
         boolean hasWither = player.hasEffect(MobEffects.WITHER);
         boolean isFrozen = player.isFullyFrozen();  // 粉雪で凍った状態
         
-        // バニラ準拠の再生エフェクトアニメーション（GUI.java 757-759行目）
-        int regenerationHeartIndex = -1;
-        if (player.hasEffect(MobEffects.REGENERATION)) {
-            float totalHearts = Math.max(maxHealth, Math.max(displayHealth, health)) + absorption;
-            regenerationHeartIndex = tickCount % (int)Math.ceil(totalHearts + 5.0F);
+        // ハードコアモード判定（GUI.java 838行目準拠）
+        boolean isHardcore = player.level().getLevelData().isHardcore();
+        
+        // バニラ準拠の点滅判定（GUI.java 725行目準拠）- 全ハート共通
+        boolean shouldBlink = healthBlinkTime > (long)tickCount && 
+                             (healthBlinkTime - (long)tickCount) / 3L % 2L == 1L;
+        
+        return (hasPoison ? HeartLayoutCache.FLAG_POISON : 0)
+             | (hasWither ? HeartLayoutCache.FLAG_WITHER : 0)
+             | (isFrozen ? HeartLayoutCache.FLAG_FROZEN : 0)
+             | (isHardcore ? HeartLayoutCache.FLAG_HARDCORE : 0)
+             | (shouldBlink ? HeartLayoutCache.FLAG_BLINK : 0);
+    }
+    
+    /**
+     * バニラ準拠の再生エフェクトアニメーション（GUI.java 757-759行目）で持ち上げるハート番号（なしなら -1）
+     */
+    private static int regenerationHeartIndex(Player player, int health, int maxHealth, int absorption) {
+        if (!player.hasEffect(MobEffects.REGENERATION)) {
+            return -1;
         }
+        float totalHearts = Math.max(maxHealth, Math.max(displayHealth, health)) + absorption;
+        return tickCount % (int)Math.ceil(totalHearts + 5.0F);
+    }
+    
+    /**
+     * Health Barを描画（エフェクト対応・バニラ準拠・Absorption対応）
+     * 点滅タイマーは事前に updateHealthAnimation() で更新しておくこと
+     */
+    static void renderHealthBar(GuiGraphics guiGraphics, Player player, HudLayoutSnapshot layout, int screenWidth, int screenHeight) {
+        // デフォルト位置 + オフセットを計算
+        int x = layout.x(HudLayoutSnapshot.HEALTH, screenWidth, screenHeight);
+        int y = layout.y(HudLayoutSnapshot.HEALTH, screenWidth, screenHeight);
         
-        // Calculate rows for hearts
-        int rows = (int) Math.ceil((maxHealth + absorption) / 2.0F / 10.0F);
-        int rowHeight = Math.max(10 - (rows - 2), 3);
+        // Get player health data
+        int health = (int) Math.ceil(player.getHealth());
+        int maxHealth = (int) Math.ceil(player.getMaxHealth());
+        int absorption = (int) Math.ceil(player.getAbsorptionAmount());
         
-        // バニラ準拠のランダムシード設定（GUI.java 743行目）
-        RandomSource random = RandomSource.create((long)(tickCount * 312871));
+        int regenerationHeartIndex = regenerationHeartIndex(player, health, maxHealth, absorption);
         
-        // ハードコアモード判定（GUI.java 838行目準拠）
-        boolean isHardcore = player.level().getLevelData().isHardcore();
-        int hardcoreOffset = isHardcore ? 45 : 0;  // ハードコア時は9*5=45ピクセル下のテクスチャ
-        
-        // Render all hearts
-        for (int i = 0; i < (int) Math.ceil((maxHealth + absorption) / 2.0F); ++i) {
-            int row = i / 10;
-            int col = i % 10;
-            int heartX = x + col * 8;
-            int heartY = y - row * rowHeight;
-            
-            // バニラ準拠の点滅判定（GUI.java 725行目準拠）
-            boolean shouldBlink = healthBlinkTime > (long)tickCount && 
-                                 (healthBlinkTime - (long)tickCount) / 3L % 2L == 1L;
-            
-            // バニラ準拠の極低体力シェイク演出（GUI.java 848-850行目）
-            if (health + absorption <= 4) {
-                heartY += random.nextInt(2);  // 各ハートごとに0-1ピクセルランダム振動
-            }
-            
-            // バニラ準拠の再生エフェクトアニメーション（GUI.java 852-854行目）
-            if (i < (int)Math.ceil((maxHealth + absorption) / 2.0F) && i == regenerationHeartIndex) {
-                heartY -= 2;  // バニラ準拠：2ピクセル上に移動
-            }
-            
-            // [Layer 1] 背景コンテナ（点滅中は白コンテナ U=25、通常は U=16）
-            int containerU = shouldBlink ? 25 : 16;
-            guiGraphics.blit(ICONS, heartX, heartY, containerU, hardcoreOffset, 9, 9);
-
-            // [Layer 2] 吸収ハート（Absorption）- canBlink=false なので白点滅なし
-            if (i >= maxHealth / 2) {
-                int absIndex = i - maxHealth / 2;
-                if (absIndex * 2 + 1 < absorption) {
-                    if (hasWither) {
-                        guiGraphics.blit(ICONS, heartX, heartY, 142, hardcoreOffset, 9, 9); // Withered full absorption
-                    } else {
-                        guiGraphics.blit(ICONS, heartX, heartY, 160, hardcoreOffset, 9, 9); // Normal full absorption (yellow)
-                    }
-                } else if (absIndex * 2 + 1 == absorption) {
-                    if (hasWither) {
-                        guiGraphics.blit(ICONS, heartX, heartY, 151, hardcoreOffset, 9, 9); // Withered half absorption
-                    } else {
-                        guiGraphics.blit(ICONS, heartX, heartY, 169, hardcoreOffset, 9, 9); // Normal half absorption (yellow)
-                    }
-                }
-            }
-
-            // [Layer 3] 旧HP（displayHealth）範囲を白点滅テクスチャで描画
-            // バニラ準拠: 失ったハートの位置が白く光る演出
-            if (shouldBlink && i < maxHealth / 2 && i * 2 < displayHealth) {
-                boolean halfHeart = i * 2 + 1 == displayHealth;
-                if (hasWither) {
-                    int u = halfHeart ? 151 : 142;
-                    guiGraphics.blit(ICONS, heartX, heartY, u, hardcoreOffset, 9, 9); // Withered blink
-                } else if (hasPoison) {
-                    int u = halfHeart ? 115 : 106;
-                    guiGraphics.blit(ICONS, heartX, heartY, u, hardcoreOffset, 9, 9); // Poison blink
-                } else if (!isFrozen) { // Frozen は canBlink=false
-                    int u = halfHeart ? 79 : 70;
-                    guiGraphics.blit(ICONS, heartX, heartY, u, hardcoreOffset, 9, 9); // Normal blink
-                }
-            }
-
-            // [Layer 4] 現在HP（health）を通常テクスチャで上書き描画
-            // Layer 3 の白点滅を上書きするので、残ってるハートは普通の色になる
-            if (i < maxHealth / 2) {
-                if (i * 2 + 1 < health) {
-                    if (hasWither) {
-                        guiGraphics.blit(ICONS, heartX, heartY, 124, hardcoreOffset, 9, 9); // Withered full
-                    } else if (hasPoison) {
-                        guiGraphics.blit(ICONS, heartX, heartY, 88, hardcoreOffset, 9, 9);  // Poison full
-                    } else if (isFrozen) {
-                        guiGraphics.blit(ICONS, heartX, heartY, 178, hardcoreOffset, 9, 9); // Frozen full
-                    } else {
-                        guiGraphics.blit(ICONS, heartX, heartY, 52, hardcoreOffset, 9, 9);  // Normal full
-                    }
-                } else if (i * 2 + 1 == health) {
-                    if (hasWither) {
-                        guiGraphics.blit(ICONS, heartX, heartY, 133, hardcoreOffset, 9, 9); // Withered half
-                    } else if (hasPoison) {
-                        guiGraphics.blit(ICONS, heartX, heartY, 97, hardcoreOffset, 9, 9);  // Poison half
-                    } else if (isFrozen) {
-                        guiGraphics.blit(ICONS, heartX, heartY, 187, hardcoreOffset, 9, 9); // Frozen half
-                    } else {
-                        guiGraphics.blit(ICONS, heartX, heartY, 61, hardcoreOffset, 9, 9);  // Normal half
-                    }
-                }
-            }
-        }
+        // 状態が変わった時だけハート配置を作り直す（行数・行高さ・各レイヤーのU座標）
+        int heartFlags = heartFlags(player);
+        HEART_LAYOUT.update(health, maxHealth, absorption, displayHealth, heartFlags);
         
-        if (HUDConfig.DEBUG_MODE.get()) {
+        // バニラ準拠の極低体力シェイク演出（GUI.java 848-850行目）- シードはtickCount * 312871
+        int[] jitter = health + absorption <= 4 ? HEART_LAYOUT.jitter(tickCount) : null;
+        
+        HEART_LAYOUT.emit(QUADS, ICONS, guiGraphics.pose().last().pose(), HudQuadBatch.currentShaderColor(),
+                          x, y, jitter, regenerationHeartIndex);
+        
+        if (LOG_HEALTH.shouldLog()) {
             boolean isAnimating = healthBlinkTime > (long)tickCount;
             long ticksLeft = Math.max(0, healthBlinkTime - tickCount);
-            System.out.println("✅ Rendered Health Bar at (" + x + ", " + y + ") - health: " + health + "/" + maxHealth + 
-                             ", display: " + displayHealth + ", effects: poison=" + hasPoison + ", wither=" + hasWither + 
-                             ", frozen=" + isFrozen + ", absorption=" + absorption + ", hardcore=" + isHardcore +
-                             ", regen_index=" + regenerationHeartIndex + ", animating: " + isAnimating + ", ticks_left: " + ticksLeft);
+            UhmDebugLog.log(LOG_HEALTH, "✅ Rendered Health Bar at ({}, {}) - health: {}/{}, display: {}, effects: poison={}, wither={}, "
+                             + "frozen={}, absorption={}, hardcore={}, regen_index={}, animating: {}, ticks_left: {}, layout_rebuilds: {}",
+                             x, y, health, maxHealth, displayHealth,
+                             (heartFlags & HeartLayoutCache.FLAG_POISON) != 0, (heartFlags & HeartLayoutCache.FLAG_WITHER) != 0,
+                             (heartFlags & HeartLayoutCache.FLAG_FROZEN) != 0, absorption, (heartFlags & HeartLayoutCache.FLAG_HARDCORE) != 0,
+                             regenerationHeartIndex, isAnimating, ticksLeft, HEART_LAYOUT.rebuilds());
         }
     }
     
     /**
      * Armor Barを描画（バニラライク・空ゲージ対応）
      */
-    private static void renderArmorBar(GuiGraphics guiGraphics, Player player, int screenWidth, int screenHeight) {
+    static void renderArmorBar(GuiGraphics guiGraphics, Player player, HudLayoutSnapshot layout, int screenWidth, int screenHeight) {
         // デフォルト位置 + オフセットを計算
-        Vector2i defaultPos = HUDConfig.getDefaultArmorPosition(screenWidth, screenHeight);
-        Vector2i offset = HUDConfig.getArmorPosition();
-        int x = defaultPos.x + offset.x;
-        int y = defaultPos.y + offset.y;
+        int x = layout.x(HudLayoutSnapshot.ARMOR, screenWidth, screenHeight);
+        int y = layout.y(HudLayoutSnapshot.ARMOR, screenWidth, screenHeight);
         
         // アーマー値を取得
         int armor = player.getArmorValue();
@@ -518,8 +526,8 @@ public class HUDPositionHandler {
             int armorX = x + i * 8;
             
             // 空ゲージ表示が有効な場合、背景を描画
-            if (HUDConfig.ARMOR_EMPTY_DISPLAY.get()) {
-                guiGraphics.blit(ICONS,
+            if (layout.option(HudLayoutSnapshot.OPT_ARMOR_EMPTY_DISPLAY)) {
+                QUADS.blit(guiGraphics, ICONS,
                     armorX, y,      // 描画位置
                     16, 9,          // テクスチャ位置（空のアーマー）
                     9, 9,           // サイズ
@@ -532,14 +540,14 @@ public class HUDPositionHandler {
                 int armorValue = Math.min(2, armor - i * 2);
                 if (armorValue == 2) {
                     // フルアーマー
-                    guiGraphics.blit(ICONS,
+                    QUADS.blit(guiGraphics, ICONS,
                         armorX, y,      // 描画位置
                         34, 9,          // テクスチャ位置（フルアーマー）
                         9, 9,           // サイズ
                         256, 256);      // テクスチャ全体サイズ
                 } else if (armorValue == 1) {
                     // ハーフアーマー
-                    guiGraphics.blit(ICONS,
+                    QUADS.blit(guiGraphics, ICONS,
                         armorX, y,      // 描画位置
                         25, 9,          // テクスチャ位置（ハーフアーマー）
                         9, 9,           // サイズ
@@ -548,31 +556,30 @@ public class HUDPositionHandler {
             }
         }
         
-        if (HUDConfig.DEBUG_MODE.get()) {
-            System.out.println("✅ Rendered Armor Bar at (" + x + ", " + y + ") - armor: " + armor + ", empty_display: " + HUDConfig.ARMOR_EMPTY_DISPLAY.get());
+        if (LOG_ARMOR.shouldLog()) {
+            UhmDebugLog.log(LOG_ARMOR, "✅ Rendered Armor Bar at ({}, {}) - armor: {}, empty_display: {}",
+                x, y, armor, layout.option(HudLayoutSnapshot.OPT_ARMOR_EMPTY_DISPLAY));
         }
     }
     
     /**
      * Food Barを描画（バニラ準拠・飢餓効果対応・バニラライク動的切り替え対応）
      */
-    private static void renderFoodBar(GuiGraphics guiGraphics, Player player, int screenWidth, int screenHeight) {
+    private static void renderFoodBar(GuiGraphics guiGraphics, Player player, HudLayoutSnapshot layout, int screenWidth, int screenHeight) {
         // バニラライク動作: 馬に乗っている場合、Vehicle Healthが有効でかつ非分離モードの場合は馬のHPを表示
-        if (HUDConfig.VEHICLE_HEALTH_ENABLED.get() && !HUDConfig.SEPARATE_VEHICLE_HEALTH.get()) {
+        if (layout.isEnabled(HudLayoutSnapshot.VEHICLE_HEALTH) && !layout.option(HudLayoutSnapshot.OPT_SEPARATE_VEHICLE_HEALTH)) {
             LivingEntity vehicle = getPlayerVehicleWithHealth(player);
             if (vehicle != null && getVehicleMaxHearts(vehicle) > 0) {
                 // 馬に乗っている場合は馬のHPを表示
                 renderVehicleHealthAtPosition(guiGraphics, player, vehicle, screenWidth, screenHeight, 
-                                             HUDConfig.getDefaultFoodPosition(screenWidth, screenHeight), 
-                                             HUDConfig.getFoodPosition());
+                                             layout.x(HudLayoutSnapshot.FOOD, screenWidth, screenHeight),
+                                             layout.y(HudLayoutSnapshot.FOOD, screenWidth, screenHeight));
                 return;
             }
         }
         // デフォルト位置 + オフセットを計算
-        Vector2i defaultPos = HUDConfig.getDefaultFoodPosition(screenWidth, screenHeight);
-        Vector2i offset = HUDConfig.getFoodPosition();
-        int x = defaultPos.x + offset.x;
-        int y = defaultPos.y + offset.y;
+        int x = layout.x(HudLayoutSnapshot.FOOD, screenWidth, screenHeight);
+        int y = layout.y(HudLayoutSnapshot.FOOD, screenWidth, screenHeight);
         
         // Food data取得
         int foodLevel = player.getFoodData().getFoodLevel();
@@ -584,13 +591,14 @@ public class HUDPositionHandler {
         // バニラ準拠のアニメーション計算
         Minecraft minecraft = Minecraft.getInstance();
         int tickCount = minecraft.gui.getGuiTicks();
-        RandomSource random = RandomSource.create(tickCount);
+        RandomSource random = FOOD_RANDOM;
+        random.setSeed(tickCount);
         
         // Food アイコンを描画（10個、設定に応じて左右どちらからでも）
         for (int i = 0; i < 10; i++) {
             // 配置方向をconfigで制御
             int foodX;
-            if (HUDConfig.FOOD_DECREASE_LEFT_TO_RIGHT.get()) {
+            if (layout.option(HudLayoutSnapshot.OPT_FOOD_LEFT_TO_RIGHT)) {
                 // 左から右へ減る（Health Barと同じ）
                 foodX = x + i * 8;
             } else {
@@ -608,7 +616,7 @@ public class HUDPositionHandler {
             
             // 背景（空の食料アイコン）を描画 - Hunger時はU=133（緑アウトライン）、通常はU=16
             int backgroundU = hasHunger ? 133 : 16;
-            guiGraphics.blit(ICONS,
+            QUADS.blit(guiGraphics, ICONS,
                 foodX, foodY,        // 描画位置
                 backgroundU, 27,    // テクスチャ位置（Hunger時は緑アウトライン）
                 9, 9,               // サイズ
@@ -619,7 +627,7 @@ public class HUDPositionHandler {
                 // フル食料アイコン - 空腹エフェクト時のみ緑色
                 int textureU = hasHunger ? 88 : 52;  // 空腹エフェクト時は緑、通常は茶色
                 
-                guiGraphics.blit(ICONS,
+                QUADS.blit(guiGraphics, ICONS,
                     foodX, foodY,        // 描画位置
                     textureU, 27,        // テクスチャ位置（フル食料）
                     9, 9,               // サイズ
@@ -628,7 +636,7 @@ public class HUDPositionHandler {
                 // ハーフ食料アイコン - 空腹エフェクト時のみ緑色
                 int textureU = hasHunger ? 97 : 61;  // 空腹エフェクト時は緑ハーフ、通常は茶色ハーフ
                 
-                guiGraphics.blit(ICONS,
+                QUADS.blit(guiGraphics, ICONS,
                     foodX, foodY,        // 描画位置
                     textureU, 27,        // テクスチャ位置（ハーフ食料）
                     9, 9,               // サイズ
@@ -636,21 +644,20 @@ public class HUDPositionHandler {
             }
         }
         
-        if (HUDConfig.DEBUG_MODE.get()) {
+        if (LOG_FOOD.shouldLog()) {
             boolean isAnimating = saturation <= 0.0F && tickCount % (foodLevel * 3 + 1) == 0;
-            System.out.println("✅ Rendered Food Bar at (" + x + ", " + y + ") - food: " + foodLevel + ", saturation: " + saturation + ", hunger: " + hasHunger + ", left_to_right: " + HUDConfig.FOOD_DECREASE_LEFT_TO_RIGHT.get() + ", shake: " + isAnimating);
+            UhmDebugLog.log(LOG_FOOD, "✅ Rendered Food Bar at ({}, {}) - food: {}, saturation: {}, hunger: {}, left_to_right: {}, shake: {}",
+                x, y, foodLevel, saturation, hasHunger, layout.option(HudLayoutSnapshot.OPT_FOOD_LEFT_TO_RIGHT), isAnimating);
         }
     }
     
     /**
      * Air Barを描画（バニラ準拠・水中時バブル対応）
      */
-    private static void renderAirBar(GuiGraphics guiGraphics, Player player, int screenWidth, int screenHeight) {
+    static void renderAirBar(GuiGraphics guiGraphics, Player player, HudLayoutSnapshot layout, int screenWidth, int screenHeight) {
         // デフォルト位置 + オフセットを計算
-        Vector2i defaultPos = HUDConfig.getDefaultAirPosition(screenWidth, screenHeight);
-        Vector2i offset = HUDConfig.getAirPosition();
-        int x = defaultPos.x + offset.x;
-        int y = defaultPos.y + offset.y;
+        int x = layout.x(HudLayoutSnapshot.AIR, screenWidth, screenHeight);
+        int y = layout.y(HudLayoutSnapshot.AIR, screenWidth, screenHeight);
         
         // プレイヤーの酸素レベルを取得
         int air = player.getAirSupply();
@@ -673,14 +680,14 @@ public class HUDPositionHandler {
             
             if (i < fullBubbles) {
                 // フルバブル
-                guiGraphics.blit(ICONS,
+                QUADS.blit(guiGraphics, ICONS,
                     bubbleX, bubbleY,        // 描画位置
                     16, 18,                 // テクスチャ位置（フルバブル）
                     9, 9,                   // サイズ
                     256, 256);              // テクスチャ全体サイズ
             } else {
                 // 破裂バブル（ポップしたバブル）
-                guiGraphics.blit(ICONS,
+                QUADS.blit(guiGraphics, ICONS,
                     bubbleX, bubbleY,        // 描画位置
                     25, 18,                 // テクスチャ位置（破裂バブル）
                     9, 9,                   // サイズ
@@ -688,33 +695,31 @@ public class HUDPositionHandler {
             }
         }
         
-        if (HUDConfig.DEBUG_MODE.get()) {
+        if (LOG_AIR.shouldLog()) {
             boolean isUnderwater = player.isEyeInFluid(FluidTags.WATER);
-            System.out.println("✅ Rendered Air Bar at (" + x + ", " + y + ") - air: " + air + "/" + maxAir + 
-                             ", fullBubbles: " + fullBubbles + ", popBubbles: " + popBubbles + ", underwater: " + isUnderwater);
+            UhmDebugLog.log(LOG_AIR, "✅ Rendered Air Bar at ({}, {}) - air: {}/{}, fullBubbles: {}, popBubbles: {}, underwater: {}",
+                x, y, air, maxAir, fullBubbles, popBubbles, isUnderwater);
         }
     }
     
     /**
      * Experience Barを描画（バニラ準拠・バニラライク動的切り替え対応）
      */
-    private static void renderExperienceBar(GuiGraphics guiGraphics, Player player, int screenWidth, int screenHeight) {
+    static void renderExperienceBar(GuiGraphics guiGraphics, Player player, HudLayoutSnapshot layout, int screenWidth, int screenHeight) {
         // バニラライク動作: 馬に乗っている場合、Jump Meterが有効でかつ非分離モードの場合はJump Meterを表示
-        if (HUDConfig.JUMP_METER_ENABLED.get() && !HUDConfig.SEPARATE_JUMP_METER.get()) {
+        if (layout.isEnabled(HudLayoutSnapshot.JUMP_METER) && !layout.option(HudLayoutSnapshot.OPT_SEPARATE_JUMP_METER)) {
             var vehicle = player.getVehicle();
             if (vehicle instanceof PlayerRideableJumping) {
                 // ジャンプ可能な乗り物に乗っている場合はJump Meterを表示
                 renderJumpMeterAtPosition(guiGraphics, player, screenWidth, screenHeight,
-                                        HUDConfig.getDefaultExperiencePosition(screenWidth, screenHeight),
-                                        HUDConfig.getExperiencePosition());
+                                        layout.x(HudLayoutSnapshot.EXPERIENCE, screenWidth, screenHeight),
+                                        layout.y(HudLayoutSnapshot.EXPERIENCE, screenWidth, screenHeight));
                 return;
             }
         }
         // デフォルト位置 + オフセットを計算
-        Vector2i defaultPos = HUDConfig.getDefaultExperiencePosition(screenWidth, screenHeight);
-        Vector2i offset = HUDConfig.getExperiencePosition();
-        int x = defaultPos.x + offset.x;
-        int y = defaultPos.y + offset.y;
+        int x = layout.x(HudLayoutSnapshot.EXPERIENCE, screenWidth, screenHeight);
+        int y = layout.y(HudLayoutSnapshot.EXPERIENCE, screenWidth, screenHeight);
         
         // 経験値データを取得
         int xpNeeded = player.getXpNeededForNextLevel();
@@ -758,21 +763,19 @@ public class HUDPositionHandler {
             guiGraphics.drawString(Minecraft.getInstance().font, levelText, textX, textY, 8453920, false);
         }
         
-        if (HUDConfig.DEBUG_MODE.get()) {
-            System.out.println("✅ Rendered Experience Bar at (" + x + ", " + y + ") - level: " + player.experienceLevel + 
-                             ", progress: " + player.experienceProgress + ", xpNeeded: " + xpNeeded);
+        if (LOG_EXPERIENCE.shouldLog()) {
+            UhmDebugLog.log(LOG_EXPERIENCE, "✅ Rendered Experience Bar at ({}, {}) - level: {}, progress: {}, xpNeeded: {}",
+                x, y, player.experienceLevel, player.experienceProgress, xpNeeded);
         }
     }
     
     /**
      * Hotbarを描画（バニラ準拠）
      */
-    private static void renderHotbar(GuiGraphics guiGraphics, Player player, int screenWidth, int screenHeight) {
+    static void renderHotbar(GuiGraphics guiGraphics, Player player, HudLayoutSnapshot layout, int screenWidth, int screenHeight) {
         // デフォルト位置 + オフセットを計算
-        Vector2i defaultPos = HUDConfig.getDefaultHotbarPosition(screenWidth, screenHeight);
-        Vector2i offset = HUDConfig.getHotbarPosition();
-        int x = defaultPos.x + offset.x;
-        int y = defaultPos.y + offset.y;
+        int x = layout.x(HudLayoutSnapshot.HOTBAR, screenWidth, screenHeight);
+        int y = layout.y(HudLayoutSnapshot.HOTBAR, screenWidth, screenHeight);
         
         // バニラ準拠のHotbar描画（智と他の子の分析に基づく）
         RenderSystem.enableBlend();        // ブレンディングを有効化
@@ -805,6 +808,12 @@ public class HUDPositionHandler {
         
         guiGraphics.pose().popPose();
         
+        // アイテムアイコンのキャッシュ（cached_item_icons 有効時のみアトラスを確保）
+        boolean cachedIcons = layout.option(HudLayoutSnapshot.OPT_CACHED_ITEM_ICONS);
+        if (!cachedIcons) {
+            ItemIconCache.hotbar().release();
+        }
+        
         // アイテムを各スロットに描画
         int seed = 1;
         for (int i = 0; i < 9; i++) {
@@ -814,7 +823,7 @@ public class HUDPositionHandler {
             
             if (!itemStack.isEmpty()) {
                 // アイテムを描画（バニラ準拠）
-                renderSlot(guiGraphics, slotX, slotY, player, itemStack, seed++);
+                renderSlot(guiGraphics, slotX, slotY, player, itemStack, seed++, cachedIcons ? i : -1);
             }
         }
         
@@ -834,31 +843,39 @@ public class HUDPositionHandler {
                 offhandX = screenCenterX + 91 + 10;
             }
             
-            renderSlot(guiGraphics, offhandX, offhandY, player, offhandItem, seed++);
+            renderSlot(guiGraphics, offhandX, offhandY, player, offhandItem, seed++, cachedIcons ? ItemIconCache.OFFHAND_SLOT : -1);
         }
         
         // ブレンディングを無効化
         RenderSystem.disableBlend();
         
-        if (HUDConfig.DEBUG_MODE.get()) {
-            System.out.println("✅ Rendered Hotbar at (" + x + ", " + y + ") - selected: " + selectedSlot + 
-                             ", offhand: " + !offhandItem.isEmpty());
+        if (LOG_HOTBAR.shouldLog()) {
+            UhmDebugLog.log(LOG_HOTBAR, "✅ Rendered Hotbar at ({}, {}) - selected: {}, offhand: {}",
+                x, y, selectedSlot, !offhandItem.isEmpty());
         }
     }
     
     /**
      * スロット内のアイテムを描画（バニラ準拠・アニメーション対応）
+     * @param iconSlot アイコンキャッシュのスロット番号（-1 ならキャッシュを使わない）
      */
-    private static void renderSlot(GuiGraphics guiGraphics, int x, int y, Player player, ItemStack itemStack, int seed) {
+    private static void renderSlot(GuiGraphics guiGraphics, int x, int y, Player player, ItemStack itemStack, int seed, int iconSlot) {
         if (!itemStack.isEmpty()) {
             // デバッグ: offhandアイテムの場合のみ座標出力
-            if (HUDConfig.DEBUG_MODE.get() && !player.getInventory().items.contains(itemStack)) {
-                System.out.println("🔍 OFFHAND renderSlot: x=" + x + ", y=" + y + ", item=" + itemStack.getDisplayName().getString());
+            if (LOG_HOTBAR_SLOT.shouldLog() && !player.getInventory().items.contains(itemStack)) {
+                UhmDebugLog.log(LOG_HOTBAR_SLOT, "🔍 OFFHAND renderSlot: x={}, y={}, item={}",
+                    x, y, itemStack.getDisplayName().getString());
             }
             
             // バニラ準拠のポップアニメーション処理（スワップ時のスケーリング効果）
             float partialTick = Minecraft.getInstance().getFrameTime();
             float popTime = (float)itemStack.getPopTime() - partialTick;
+            // ポップアニメーション中はキャッシュを使わずに描く（拡大率が毎フレーム変わる）
+            if (iconSlot >= 0 && popTime <= 0.0F
+                && ItemIconCache.hotbar().draw(guiGraphics, player, itemStack, iconSlot, x, y, seed)) {
+                guiGraphics.renderItemDecorations(Minecraft.getInstance().font, itemStack, x, y);
+                return;
+            }
             if (popTime > 0.0F) {
                 // スケーリング計算（バニラと同じ）
                 float scale = 1.0F + popTime / 5.0F;
@@ -883,12 +900,10 @@ public class HUDPositionHandler {
     /**
      * Item Nameを描画（バニラ準拠・renderSelectedItemName実装）
      */
-    private static void renderItemName(GuiGraphics guiGraphics, Player player, int screenWidth, int screenHeight) {
+    static void renderItemName(GuiGraphics guiGraphics, Player player, HudLayoutSnapshot layout, int screenWidth, int screenHeight) {
         // デフォルト位置 + オフセットを計算
-        Vector2i defaultPos = HUDConfig.getDefaultItemNamePosition(screenWidth, screenHeight);
-        Vector2i offset = HUDConfig.getItemNamePosition();
-        int x = defaultPos.x + offset.x;
-        int y = defaultPos.y + offset.y;
+        int x = layout.x(HudLayoutSnapshot.ITEM_NAME, screenWidth, screenHeight);
+        int y = layout.y(HudLayoutSnapshot.ITEM_NAME, screenWidth, screenHeight);
         
         // バニラ準拠のアイテム変更検知・タイマー管理（GUI.java 1050-1062行目準拠）
         Minecraft minecraft = Minecraft.getInstance();
@@ -904,9 +919,8 @@ public class HUDPositionHandler {
             // バニラのtick()メソッドロジックを再現
             if (selectedItem.isEmpty()) {
                 toolHighlightTimer = 0;  // アイテムが空の場合、タイマーをリセット
-            } else if (lastToolHighlight != null && !lastToolHighlight.isEmpty() &&
-                       selectedItem.getItem() == lastToolHighlight.getItem() &&
-                       selectedItem.getHoverName().equals(lastToolHighlight.getHoverName())) {
+                SELECTED_ITEM_NAME.clear();
+            } else if (SELECTED_ITEM_NAME.update(player.getInventory().selected, selectedItem, minecraft.font)) {
                 // 同じアイテムの場合、タイマーをカウントダウン
                 if (toolHighlightTimer > 0) {
                     toolHighlightTimer--;
@@ -915,9 +929,6 @@ public class HUDPositionHandler {
                 // 違うアイテムの場合、タイマーをリセット（バニラ準拠: 40tick × 設定値）
                 toolHighlightTimer = (int)(40.0D * minecraft.options.notificationDisplayTime().get());
             }
-            
-            // 前回のアイテムを更新
-            lastToolHighlight = selectedItem.copy();
         }
         
         // タイマーが0以下の場合は表示しない
@@ -936,12 +947,11 @@ public class HUDPositionHandler {
             return;
         }
         
-        // アイテム名を取得
-        Component itemName = selectedItem.getHoverName();
-        String nameText = itemName.getString();
+        // アイテム名と幅はアイテムが変わった時だけ計算（SelectedItemName）
+        String nameText = SELECTED_ITEM_NAME.name();
         
-        // テキストの幅を計算して中央配置（プレイ画面用補正）
-        int textWidth = minecraft.font.width(nameText);
+        // テキストの幅で中央配置（プレイ画面用補正）
+        int textWidth = SELECTED_ITEM_NAME.width();
         int textX = x + 33 - textWidth / 2;  // HudElementの中央補正
         int textY = y;
         
@@ -952,27 +962,26 @@ public class HUDPositionHandler {
         // バニラ準拠の影付きテキスト描画
         guiGraphics.drawString(minecraft.font, nameText, textX, textY, color, true);
         
-        if (HUDConfig.DEBUG_MODE.get()) {
-            System.out.println("✅ Rendered Item Name at (" + textX + ", " + textY + ") - item: " + nameText + 
-                             ", timer: " + toolHighlightTimer + ", alpha: " + alpha);
+        if (LOG_ITEM_NAME.shouldLog()) {
+            UhmDebugLog.log(LOG_ITEM_NAME, "✅ Rendered Item Name at ({}, {}) - item: {}, timer: {}, alpha: {}",
+                textX, textY, nameText, toolHighlightTimer, alpha);
         }
     }
     
     /**
      * Effects（ステータス効果）を描画（バニラ準拠・renderEffects実装）
      */
-    private static void renderEffects(GuiGraphics guiGraphics, Player player, int screenWidth, int screenHeight) {
-        // プレイヤーの現在のエフェクトを取得
-        Collection<MobEffectInstance> effects = player.getActiveEffects();
-        if (effects.isEmpty()) {
+    static void renderEffects(GuiGraphics guiGraphics, Player player, HudLayoutSnapshot layout, int screenWidth, int screenHeight) {
+        // プレイヤーの現在のエフェクトを取得（集合か並び順が変わった時だけ並べ替える）
+        EFFECTS_PANEL.update(player.getActiveEffectsMap());
+        int visibleCount = EFFECTS_PANEL.visibleCount();
+        if (visibleCount == 0) {
             return;
         }
         
         // デフォルト位置 + オフセットを計算
-        Vector2i defaultPos = HUDConfig.getDefaultEffectsPosition(screenWidth, screenHeight);
-        Vector2i offset = HUDConfig.getEffectsPosition();
-        int baseX = defaultPos.x + offset.x;
-        int baseY = defaultPos.y + offset.y;
+        int baseX = layout.x(HudLayoutSnapshot.EFFECTS, screenWidth, screenHeight);
+        int baseY = layout.y(HudLayoutSnapshot.EFFECTS, screenWidth, screenHeight);
         
         Minecraft minecraft = Minecraft.getInstance();
         
@@ -984,38 +993,15 @@ public class HUDPositionHandler {
         // ブレンド有効化（バニラ準拠）
         RenderSystem.enableBlend();
         
-        int beneficialCount = 0;  // 有益エフェクトカウント
-        int harmfulCount = 0;     // 有害エフェクトカウント
-        
         // エフェクトテクスチャマネージャー取得
         MobEffectTextureManager textureManager = minecraft.getMobEffectTextures();
-        List<Runnable> renderQueue = Lists.newArrayListWithExpectedSize(effects.size());
+        EFFECTS_PANEL.clearIcons();
         
-        // エフェクトをソートして処理（バニラ準拠）
-        for (MobEffectInstance effectInstance : Ordering.natural().reverse().sortedCopy(effects)) {
-            var effect = effectInstance.getEffect();
-            
-            // Forge互換性チェック
-            var renderer = net.minecraftforge.client.extensions.common.IClientMobEffectExtensions.of(effectInstance);
-            if (!renderer.isVisibleInGui(effectInstance)) continue;
-            
-            // アイコンを表示するエフェクトのみ処理
-            if (!effectInstance.showIcon()) continue;
-            
-            // 位置計算（バニラ準拠）
-            int x = baseX;
-            int y = baseY;
-            
-            if (effect.isBeneficial()) {
-                // 有益エフェクト（上段）
-                x -= 25 * beneficialCount;  // 右から左へ配置
-                beneficialCount++;
-            } else {
-                // 有害エフェクト（下段）
-                x -= 25 * harmfulCount;     // 右から左へ配置
-                y += 26;
-                harmfulCount++;
-            }
+        // ソート済みの配置に沿って背景を描画（バニラ準拠）
+        for (int slot = 0; slot < visibleCount; slot++) {
+            MobEffectInstance effectInstance = EFFECTS_PANEL.effect(slot);
+            int x = baseX + EFFECTS_PANEL.dx(slot);
+            int y = baseY + EFFECTS_PANEL.dy(slot);
             
             // フェード計算（残り10秒でパルス効果）
             float alpha = 1.0F;
@@ -1036,40 +1022,37 @@ public class HUDPositionHandler {
                 guiGraphics.blit(AbstractContainerScreen.INVENTORY_LOCATION, x, y, 141, 166, 24, 24);
             }
             
-            // Forgeカスタムレンダリングチェック
+            // Forgeカスタムレンダリングチェック（描かなかったものはバニラのアイコン描画待ちへ）
+            var renderer = net.minecraftforge.client.extensions.common.IClientMobEffectExtensions.of(effectInstance);
             if (!renderer.renderGuiIcon(effectInstance, minecraft.gui, guiGraphics, x, y, 0, alpha)) {
-                // バニラのアイコン描画
-                TextureAtlasSprite sprite = textureManager.get(effect);
-                int finalX = x;
-                int finalY = y;
-                float finalAlpha = alpha;
-                
-                renderQueue.add(() -> {
-                    guiGraphics.setColor(1.0F, 1.0F, 1.0F, finalAlpha);
-                    guiGraphics.blit(finalX + 3, finalY + 3, 0, 18, 18, sprite);
-                    guiGraphics.setColor(1.0F, 1.0F, 1.0F, 1.0F);
-                });
+                EFFECTS_PANEL.queueIcon(slot, alpha);
             }
         }
         
-        // キューに溜めたアイコンを描画
-        renderQueue.forEach(Runnable::run);
+        // 描画待ちのアイコンを描画
+        for (int i = 0; i < EFFECTS_PANEL.iconCount(); i++) {
+            int slot = EFFECTS_PANEL.iconSlot(i);
+            TextureAtlasSprite sprite = textureManager.get(EFFECTS_PANEL.effect(slot).getEffect());
+            guiGraphics.setColor(1.0F, 1.0F, 1.0F, EFFECTS_PANEL.iconAlpha(i));
+            guiGraphics.blit(baseX + EFFECTS_PANEL.dx(slot) + 3, baseY + EFFECTS_PANEL.dy(slot) + 3, 0, 18, 18, sprite);
+        }
+        guiGraphics.setColor(1.0F, 1.0F, 1.0F, 1.0F);
         
         // ブレンド無効化
         RenderSystem.disableBlend();
         
-        if (HUDConfig.DEBUG_MODE.get()) {
-            System.out.println("✅ Rendered Effects at base (" + baseX + ", " + baseY + ") - " +
-                             "beneficial: " + beneficialCount + ", harmful: " + harmfulCount);
+        if (LOG_EFFECTS.shouldLog()) {
+            UhmDebugLog.log(LOG_EFFECTS, "✅ Rendered Effects at base ({}, {}) - beneficial: {}, harmful: {}, rebuilds: {}",
+                baseX, baseY, EFFECTS_PANEL.beneficialCount(), EFFECTS_PANEL.harmfulCount(), EFFECTS_PANEL.rebuilds());
         }
     }
     
     /**
      * Vehicle Health（馬のHP）を描画（バニラ準拠・分離モード専用）
      */
-    private static void renderVehicleHealth(GuiGraphics guiGraphics, Player player, int screenWidth, int screenHeight) {
+    static void renderVehicleHealth(GuiGraphics guiGraphics, Player player, HudLayoutSnapshot layout, int screenWidth, int screenHeight) {
         // 分離モードでない場合は何もしない（Food Barで処理される）
-        if (!HUDConfig.SEPARATE_VEHICLE_HEALTH.get()) {
+        if (!layout.option(HudLayoutSnapshot.OPT_SEPARATE_VEHICLE_HEALTH)) {
             return;
         }
         
@@ -1084,18 +1067,16 @@ public class HUDPositionHandler {
         }
         
         // デフォルト位置 + オフセットを計算（分離モード用の位置）
-        Vector2i defaultPos = HUDConfig.getDefaultVehicleHealthPosition(screenWidth, screenHeight);
-        Vector2i offset = HUDConfig.getVehicleHealthPosition();
-        
-        renderVehicleHealthAtPosition(guiGraphics, player, vehicle, screenWidth, screenHeight, defaultPos, offset);
+        renderVehicleHealthAtPosition(guiGraphics, player, vehicle, screenWidth, screenHeight, 
+            layout.x(HudLayoutSnapshot.VEHICLE_HEALTH, screenWidth, screenHeight), layout.y(HudLayoutSnapshot.VEHICLE_HEALTH, screenWidth, screenHeight));
     }
     
     /**
      * Jump Meter（ジャンプゲージ）を描画（バニラ準拠・分離モード専用）
      */
-    private static void renderJumpMeter(GuiGraphics guiGraphics, Player player, int screenWidth, int screenHeight) {
+    static void renderJumpMeter(GuiGraphics guiGraphics, Player player, HudLayoutSnapshot layout, int screenWidth, int screenHeight) {
         // 分離モードでない場合は何もしない（Experience Barで処理される）
-        if (!HUDConfig.SEPARATE_JUMP_METER.get()) {
+        if (!layout.option(HudLayoutSnapshot.OPT_SEPARATE_JUMP_METER)) {
             return;
         }
         
@@ -1106,10 +1087,8 @@ public class HUDPositionHandler {
         }
         
         // デフォルト位置 + オフセットを計算（分離モード用の位置）
-        Vector2i defaultPos = HUDConfig.getDefaultJumpMeterPosition(screenWidth, screenHeight);
-        Vector2i offset = HUDConfig.getJumpMeterPosition();
-        
-        renderJumpMeterAtPosition(guiGraphics, player, screenWidth, screenHeight, defaultPos, offset);
+        renderJumpMeterAtPosition(guiGraphics, player, screenWidth, screenHeight, 
+            layout.x(HudLayoutSnapshot.JUMP_METER, screenWidth, screenHeight), layout.y(HudLayoutSnapshot.JUMP_METER, screenWidth, screenHeight));
     }
     
     /**
@@ -1130,15 +1109,13 @@ public class HUDPositionHandler {
      */
     private static void renderVehicleHealthAtPosition(GuiGraphics guiGraphics, Player player, LivingEntity vehicle, 
                                                      int screenWidth, int screenHeight, 
-                                                     Vector2i defaultPos, Vector2i offset) {
+                                                     int baseX, int baseY) {
         int maxHearts = getVehicleMaxHearts(vehicle);
         if (maxHearts == 0) {
             return;
         }
         
-        int baseX = defaultPos.x + offset.x;
-        int baseY = defaultPos.y + offset.y;
-        int currentHealth = (int) Math.ceil(vehicle.getHealth());
+        int currentHealth = (int) Math.ceil(vehicleHealth(vehicle));
         
         Minecraft minecraft = Minecraft.getInstance();
         minecraft.getProfiler().popPush("mountHealth");
@@ -1156,25 +1133,25 @@ public class HUDPositionHandler {
                 int heartX = baseX + (9 - i) * 8;  // 右から左へ配置
                 
                 // 背景ハート（空）を描画
-                guiGraphics.blit(ICONS, heartX, rowY, 52, 9, 9, 9);
+                QUADS.blit(guiGraphics, ICONS, heartX, rowY, 52, 9, 9, 9);
                 
                 // 実際のHPを描画
                 int heartValue = (i * 2 + 1) + heartsInCurrentRow;
                 if (heartValue < currentHealth) {
                     // フルハート
-                    guiGraphics.blit(ICONS, heartX, rowY, 88, 9, 9, 9);
+                    QUADS.blit(guiGraphics, ICONS, heartX, rowY, 88, 9, 9, 9);
                 } else if (heartValue == currentHealth) {
                     // ハーフハート
-                    guiGraphics.blit(ICONS, heartX, rowY, 97, 9, 9, 9);
+                    QUADS.blit(guiGraphics, ICONS, heartX, rowY, 97, 9, 9, 9);
                 }
             }
             
             rowY -= 10;  // 次の行は10px上に
         }
         
-        if (HUDConfig.DEBUG_MODE.get()) {
-            System.out.println("✅ Rendered Vehicle Health at (" + baseX + ", " + baseY + ") - hearts: " + 
-                             maxHearts + ", health: " + currentHealth);
+        if (LOG_VEHICLE_HEALTH.shouldLog()) {
+            UhmDebugLog.log(LOG_VEHICLE_HEALTH, "✅ Rendered Vehicle Health at ({}, {}) - hearts: {}, health: {}",
+                baseX, baseY, maxHearts, currentHealth);
         }
     }
     
@@ -1183,15 +1160,13 @@ public class HUDPositionHandler {
      */
     private static void renderJumpMeterAtPosition(GuiGraphics guiGraphics, Player player, 
                                                  int screenWidth, int screenHeight,
-                                                 Vector2i defaultPos, Vector2i offset) {
+                                                 int baseX, int baseY) {
         // 乗り物がジャンプ可能かどうかをチェック
         var vehicle = player.getVehicle();
         if (!(vehicle instanceof PlayerRideableJumping jumpableVehicle)) {
             return;
         }
         
-        int baseX = defaultPos.x + offset.x;
-        int baseY = defaultPos.y + offset.y;
         
         Minecraft minecraft = Minecraft.getInstance();
         minecraft.getProfiler().push("jumpBar");
@@ -1214,16 +1189,16 @@ public class HUDPositionHandler {
         
         minecraft.getProfiler().pop();
         
-        if (HUDConfig.DEBUG_MODE.get()) {
-            System.out.println("✅ Rendered Jump Meter at (" + baseX + ", " + baseY + ") - scale: " + 
-                             jumpScale + ", fillWidth: " + fillWidth + ", cooldown: " + jumpableVehicle.getJumpCooldown());
+        if (LOG_JUMP_METER.shouldLog()) {
+            UhmDebugLog.log(LOG_JUMP_METER, "✅ Rendered Jump Meter at ({}, {}) - scale: {}, fillWidth: {}, cooldown: {}",
+                baseX, baseY, jumpScale, fillWidth, jumpableVehicle.getJumpCooldown());
         }
     }
     
     /**
      * Dismount Message（降車メッセージ）を描画（GitHub Copilot方式・フェードアウト機能付き）
      */
-    private static void renderDismountMessage(GuiGraphics guiGraphics, Player player, int screenWidth, int screenHeight) {
+    static void renderDismountMessage(GuiGraphics guiGraphics, Player player, HudLayoutSnapshot layout, int screenWidth, int screenHeight) {
         Minecraft minecraft = Minecraft.getInstance();
         
         // 乗り物に乗っているかチェック
@@ -1234,8 +1209,8 @@ public class HUDPositionHandler {
                 dismountMessageTimer = 60;  // バニラと同じ3秒間（20tick/秒 × 3）
                 wasRiding = true;
                 
-                if (HUDConfig.DEBUG_MODE.get()) {
-                    System.out.println("🔍 DEBUG: Vehicle mounted, starting dismount message timer = " + dismountMessageTimer);
+                if (LOG_DISMOUNT_EVENT.shouldLog()) {
+                    UhmDebugLog.log(LOG_DISMOUNT_EVENT, "🔍 Vehicle mounted, starting dismount message timer = {}", dismountMessageTimer);
                 }
             }
         } else {
@@ -1268,13 +1243,9 @@ public class HUDPositionHandler {
         Component dismountMessage = Component.translatable("mount.onboard", 
             minecraft.options.keyShift.getTranslatedKeyMessage());
         
-        // デフォルト位置 + オフセットを計算
-        Vector2i defaultPos = HUDConfig.getDefaultDismountMessagePosition(screenWidth, screenHeight);
-        Vector2i offset = HUDConfig.getDismountMessagePosition();
-        
         // カスタム位置での描画（Item Nameと同じ方式でオフセット対応）
-        int centerX = defaultPos.x + offset.x;
-        int centerY = defaultPos.y + offset.y;
+        int centerX = layout.x(HudLayoutSnapshot.DISMOUNT_MESSAGE, screenWidth, screenHeight);
+        int centerY = layout.y(HudLayoutSnapshot.DISMOUNT_MESSAGE, screenWidth, screenHeight);
         
         // バニラ準拠の色計算（白色 + アルファブレンド）
         int color = alpha << 24 | 0xFFFFFF;
@@ -1288,18 +1259,35 @@ public class HUDPositionHandler {
         // カスタムDismount Messageを描画
         guiGraphics.drawCenteredString(minecraft.font, dismountMessage, centerX, centerY, color);
         
-        if (HUDConfig.DEBUG_MODE.get()) {
-            System.out.println("✅ Rendered Dismount Message at (" + centerX + ", " + centerY + ") - vehicle: " + vehicle.getClass().getSimpleName() + 
-                             ", timer: " + dismountMessageTimer + ", alpha: " + alpha + ", color: " + Integer.toHexString(color));
+        if (LOG_DISMOUNT.shouldLog()) {
+            UhmDebugLog.log(LOG_DISMOUNT, "✅ Rendered Dismount Message at ({}, {}) - vehicle: {}, timer: {}, alpha: {}, color: {}",
+                centerX, centerY, vehicle.getClass().getSimpleName(), dismountMessageTimer, alpha, Integer.toHexString(color));
         }
     }
     
+    /**
+     * サーバーから受け取った乗り物の体力（HudDataChannel、ロックなしで読む）
+     * 未受信、またはサーバー側でまだ乗っていない（最大体力 0）間はクライアントのエンティティの値
+     */
+    private static float vehicleHealth(LivingEntity vehicle) {
+        HudDataTable table = HudDataTable.client();
+        if (table.getFloat(HudDataChannel.VEHICLE_MAX_HEALTH, 0.0F) <= 0.0F) {
+            return vehicle.getHealth();
+        }
+        return table.getFloat(HudDataChannel.VEHICLE_HEALTH, vehicle.getHealth());
+    }
+    
+    private static float vehicleMaxHealth(LivingEntity vehicle) {
+        float maxHealth = HudDataTable.client().getFloat(HudDataChannel.VEHICLE_MAX_HEALTH, 0.0F);
+        return maxHealth > 0.0F ? maxHealth : vehicle.getMaxHealth();
+    }
+    
     /**
      * 乗り物の最大ハート数を計算（バニラ準拠）
      */
     private static int getVehicleMaxHearts(LivingEntity vehicle) {
         if (vehicle != null && vehicle.showVehicleHealth()) {
-            float maxHealth = vehicle.getMaxHealth();
+            float maxHealth = vehicleMaxHealth(vehicle);
             int hearts = (int) (maxHealth + 0.5F) / 2;
             return Math.min(hearts, 30);  // 最大5行まで（30ハート）
         }
@@ -1318,14 +1306,15 @@ public class HUDPositionHandler {
         
         // デバッグ: 乗り物に乗っている時のオーバーレイを確認
         if (player != null && player.getVehicle() != null && event.getOverlay() != null) {
-            if (HUDConfig.DEBUG_MODE.get()) {
-                System.out.println("🔍 Overlay during mount: " + event.getOverlay().id());
+            HudLayoutSnapshot layout = HudLayoutSnapshot.current();
+            if (LOG_MOUNT_OVERLAY.shouldLog()) {
+                UhmDebugLog.log(LOG_MOUNT_OVERLAY, "🔍 Overlay during mount: {}", event.getOverlay().id());
             }
             
             // MOUNT_HEALTHをキャンセル（馬の体力バー）
             if (event.getOverlay().id() != null &&
                 event.getOverlay().id().equals(VanillaGuiOverlay.MOUNT_HEALTH.id())) {
-                if (HUDConfig.VEHICLE_HEALTH_ENABLED.get()) {
+                if (layout.isEnabled(HudLayoutSnapshot.VEHICLE_HEALTH)) {
                     event.setCanceled(true);
                 }
             }
@@ -1333,7 +1322,7 @@ public class HUDPositionHandler {
             // HOTBARもキャンセル（dismount messageが含まれる可能性）
             if (event.getOverlay().id() != null &&
                 event.getOverlay().id().equals(VanillaGuiOverlay.HOTBAR.id())) {
-                if (HUDConfig.DISMOUNT_MESSAGE_ENABLED.get()) {
+                if (layout.isEnabled(HudLayoutSnapshot.DISMOUNT_MESSAGE)) {
                     // 注意: これはHotbar全体をキャンセルしてしまう可能性がある
                     // 実際のDismount Messageの場所を特定後、より細かい制御が必要
                 }
@@ -1341,15 +1330,26 @@ public class HUDPositionHandler {
         }
     }
     
+    /**
+     * サーバーから切断した時、受信済みのHUDデータを破棄する
+     */
+    @SubscribeEvent
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        HudDataTable.client().clear();
+    }
+    
     @SubscribeEvent
     public static void onClientTick(TickEvent.ClientTickEvent event) {
         if (event.phase == TickEvent.Phase.END) {
+            // デバッグログのレート制限用の時計
+            UhmDebugLog.tick();
+            
             // Dismount Messageタイマーをバニラ準拠で更新
             if (dismountMessageTimer > 0) {
                 dismountMessageTimer--;
                 
-                if (HUDConfig.DEBUG_MODE.get() && dismountMessageTimer % 10 == 0) {
-                    System.out.println("🔄 Tick update: dismountMessageTimer = " + dismountMessageTimer);
+                if (dismountMessageTimer % 10 == 0 && LOG_DISMOUNT_TICK.shouldLog()) {
+                    UhmDebugLog.log(LOG_DISMOUNT_TICK, "🔄 Tick update: dismountMessageTimer = {}", dismountMessageTimer);
                 }
             }
         }
@@ -1358,26 +1358,26 @@ public class HUDPositionHandler {
     /**
      * Boss Bar（ボスHP）を描画（バニラBossHealthOverlay使用）
      */
-    private static void renderBossBar(GuiGraphics guiGraphics, Player player, int screenWidth, int screenHeight) {
+    static void renderBossBar(GuiGraphics guiGraphics, Player player, HudLayoutSnapshot layout, int screenWidth, int screenHeight) {
         Minecraft minecraft = Minecraft.getInstance();
         
         // バニラのBossHealthOverlayを取得してレンダリング
         if (minecraft.gui != null && minecraft.gui.getBossOverlay() != null) {
             // デフォルト位置 + オフセットを計算
-            Vector2i defaultPos = HUDConfig.getDefaultBossBarPosition(screenWidth, screenHeight);
-            Vector2i offset = HUDConfig.getBossBarPosition();
+            int offsetX = layout.offsetPixelsX(HudLayoutSnapshot.BOSS_BAR, screenWidth, screenHeight);
+            int offsetY = layout.offsetPixelsY(HudLayoutSnapshot.BOSS_BAR, screenWidth, screenHeight);
             
             // 描画位置を調整
             guiGraphics.pose().pushPose();
-            guiGraphics.pose().translate(offset.x, offset.y, 0.0F);
+            guiGraphics.pose().translate(offsetX, offsetY, 0.0F);
             
             // バニラのBoss Barを描画
             minecraft.gui.getBossOverlay().render(guiGraphics);
             
             guiGraphics.pose().popPose();
             
-            if (HUDConfig.DEBUG_MODE.get()) {
-                System.out.println("✅ Rendered Boss Bar with offset (" + offset.x + ", " + offset.y + ")");
+            if (LOG_BOSS_BAR.shouldLog()) {
+                UhmDebugLog.log(LOG_BOSS_BAR, "✅ Rendered Boss Bar with offset ({}, {})", offsetX, offsetY);
             }
         }
     }
@@ -1386,7 +1386,7 @@ public class HUDPositionHandler {
      * Attack Indicator（攻撃クールダウンインジケーター）を描画
      * バニラのAttackIndicatorStatus設定に応じてクロスヘア版・ホットバー版・非表示を切り替え
      */
-    private static void renderAttackIndicator(GuiGraphics guiGraphics, Player player, int screenWidth, int screenHeight) {
+    static void renderAttackIndicator(GuiGraphics guiGraphics, Player player, HudLayoutSnapshot layout, int screenWidth, int screenHeight) {
         Minecraft minecraft = Minecraft.getInstance();
         
         // バニラの攻撃インジケーター設定を取得
@@ -1406,30 +1406,29 @@ public class HUDPositionHandler {
         }
         
         // バニラ設定に応じて適切な設定を使用して最終位置を計算
-        Vector2i finalPos;
+        int finalX;
+        int finalY;
         
         if (indicatorStatus == AttackIndicatorStatus.CROSSHAIR) {
-            // クロスヘア版: 独立設定を使用
-            Vector2i offset = HUDConfig.getCrosshairAttackIndicatorPosition();
-            Vector2i crosshairDefaultPos = new Vector2i(
-                screenWidth / 2 - 8,     // クロスヘア中央-8px
-                screenHeight / 2 - 7 + 16  // クロスヘア下16px
-            );
-            finalPos = HUDConfig.getFinalPosition(crosshairDefaultPos, offset);
+            // クロスヘア版: 独立設定を使用（クロスヘア中央-8px、クロスヘア下16px）
+            finalX = layout.x(HudLayoutSnapshot.CROSSHAIR_ATTACK_INDICATOR, screenWidth, screenHeight);
+            finalY = layout.y(HudLayoutSnapshot.CROSSHAIR_ATTACK_INDICATOR, screenWidth, screenHeight);
         } else if (indicatorStatus == AttackIndicatorStatus.HOTBAR) {
             // ホットバー版: 独立設定を使用
-            Vector2i offset = HUDConfig.getHotbarAttackIndicatorPosition();
+            int offsetX = layout.offsetPixelsX(HudLayoutSnapshot.HOTBAR_ATTACK_INDICATOR, screenWidth, screenHeight);
+            int offsetY = layout.offsetPixelsY(HudLayoutSnapshot.HOTBAR_ATTACK_INDICATOR, screenWidth, screenHeight);
             HumanoidArm mainArm = player.getMainArm();
             int hotbarCenterX = screenWidth / 2;
             int hotbarY = screenHeight - 20;
             
             if (mainArm == HumanoidArm.RIGHT) {
                 // 右利き: ホットバーの右側
-                finalPos = new Vector2i(hotbarCenterX + 91 + 6 + offset.x, hotbarY + offset.y);
+                finalX = hotbarCenterX + 91 + 6 + offsetX;
             } else {
                 // 左利き: ホットバーの左側
-                finalPos = new Vector2i(hotbarCenterX - 91 - 22 + offset.x, hotbarY + offset.y);
+                finalX = hotbarCenterX - 91 - 22 + offsetX;
             }
+            finalY = hotbarY + offsetY;
         } else {
             // OFF状態: ここには到達しないはずだが、安全のため
             return; // 早期リターン
@@ -1452,24 +1451,25 @@ public class HUDPositionHandler {
             );
             
             // バニラと同じ4px高のバー
-            guiGraphics.blit(ICONS, finalPos.x, finalPos.y, 36, 94, 16, 4);  // Background
+            guiGraphics.blit(ICONS, finalX, finalY, 36, 94, 16, 4);  // Background
             if (progressWidth > 0) {
-                guiGraphics.blit(ICONS, finalPos.x, finalPos.y, 52, 94, progressWidth, 4);  // Progress
+                guiGraphics.blit(ICONS, finalX, finalY, 52, 94, progressWidth, 4);  // Progress
             }
             
             // デフォルトブレンド設定に戻す
             RenderSystem.defaultBlendFunc();
         } else if (indicatorStatus == AttackIndicatorStatus.HOTBAR) {
             // ホットバー版: 通常の描画（半透明効果なし）
-            guiGraphics.blit(ICONS, finalPos.x, finalPos.y, 0, 94, 18, 18);  // Background icon
+            guiGraphics.blit(ICONS, finalX, finalY, 0, 94, 18, 18);  // Background icon
             if (progressWidth > 0) {
                 int progressHeight = (int)(attackStrength * 18.0F);
-                guiGraphics.blit(ICONS, finalPos.x, finalPos.y + 18 - progressHeight, 18, 112 - progressHeight, 18, progressHeight);  // Progress
+                guiGraphics.blit(ICONS, finalX, finalY + 18 - progressHeight, 18, 112 - progressHeight, 18, progressHeight);  // Progress
             }
         }
         
-        if (HUDConfig.DEBUG_MODE.get()) {
-            System.out.println("✅ Rendered Attack Indicator at (" + finalPos.x + ", " + finalPos.y + ") with " + (attackStrength * 100) + "% charge");
+        if (LOG_ATTACK_INDICATOR.shouldLog()) {
+            UhmDebugLog.log(LOG_ATTACK_INDICATOR, "✅ Rendered Attack Indicator at ({}, {}) with {}% charge",
+                finalX, finalY, attackStrength * 100);
         }
     }
 }
\ No newline at end of file
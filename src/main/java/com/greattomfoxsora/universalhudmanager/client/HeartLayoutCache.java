@@ -0,0 +1,202 @@
+package com.greattomfoxsora.universalhudmanager.client;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.RandomSource;
+import org.joml.Matrix4f;
+
+/**
+ * Health Bar のハート配置キャッシュ
+ * 体力・最大体力・吸収量・表示用体力・エフェクト・ハードコア・点滅フェーズが変わらない限り、
+ * 前フレームで組み立てた blit コマンド列をそのまま使い回す。
+ *
+ * コマンドは int 配列に {ハート番号, dx, dy, U} の4要素ずつ詰める（V はハードコア判定から一意）。
+ * 極低体力のシェイクと再生エフェクトの持ち上げは毎tick変わるので、描画時にハート番号で適用する。
+ *
+ * @author GreatTomFox & Sora
+ */
+public final class HeartLayoutCache {
+
+    public static final int STRIDE = 4;
+    public static final int HEART = 0;
+    public static final int DX = 1;
+    public static final int DY = 2;
+    public static final int U = 3;
+
+    // エフェクト・状態フラグ
+    public static final int FLAG_POISON = 1;
+    public static final int FLAG_WITHER = 1 << 1;
+    public static final int FLAG_FROZEN = 1 << 2;
+    public static final int FLAG_HARDCORE = 1 << 3;
+    public static final int FLAG_BLINK = 1 << 4;
+
+    // キャッシュキー（未構築を表すため初期値は不可能な値）
+    private int keyHealth = Integer.MIN_VALUE;
+    private int keyMaxHealth;
+    private int keyAbsorption;
+    private int keyDisplayHealth;
+    private int keyFlags;
+
+    private int[] commands = new int[STRIDE * 40];
+    private int commandCount;
+    private int heartCount;
+    private int textureV;
+
+    // シェイク用（バニラ同様 tickCount からシードを決める。インスタンスは使い回す）
+    private final RandomSource random = RandomSource.create();
+    private int[] jitter = new int[10];
+    private int jitterTick = Integer.MIN_VALUE;
+
+    private long rebuilds = 0;
+
+    /**
+     * キーが変わっていればコマンド列を作り直す
+     * @return 作り直した場合 true
+     */
+    public boolean update(int health, int maxHealth, int absorption, int displayHealth, int flags) {
+        if (health == keyHealth && maxHealth == keyMaxHealth && absorption == keyAbsorption
+                && displayHealth == keyDisplayHealth && flags == keyFlags) {
+            return false;
+        }
+        keyHealth = health;
+        keyMaxHealth = maxHealth;
+        keyAbsorption = absorption;
+        keyDisplayHealth = displayHealth;
+        keyFlags = flags;
+        jitterTick = Integer.MIN_VALUE;
+        build(health, maxHealth, absorption, displayHealth, flags);
+        rebuilds++;
+        return true;
+    }
+
+    private void build(int health, int maxHealth, int absorption, int displayHealth, int flags) {
+        boolean hasPoison = (flags & FLAG_POISON) != 0;
+        boolean hasWither = (flags & FLAG_WITHER) != 0;
+        boolean isFrozen = (flags & FLAG_FROZEN) != 0;
+        boolean shouldBlink = (flags & FLAG_BLINK) != 0;
+
+        // ハードコア時は9*5=45ピクセル下のテクスチャ
+        textureV = (flags & FLAG_HARDCORE) != 0 ? 45 : 0;
+
+        // Calculate rows for hearts
+        int rows = (int) Math.ceil((maxHealth + absorption) / 2.0F / 10.0F);
+        int rowHeight = Math.max(10 - (rows - 2), 3);
+
+        heartCount = (int) Math.ceil((maxHealth + absorption) / 2.0F);
+        commandCount = 0;
+
+        for (int i = 0; i < heartCount; ++i) {
+            int dx = (i % 10) * 8;
+            int dy = -(i / 10) * rowHeight;
+
+            // [Layer 1] 背景コンテナ（点滅中は白コンテナ U=25、通常は U=16）
+            add(i, dx, dy, shouldBlink ? 25 : 16);
+
+            // [Layer 2] 吸収ハート（Absorption）- canBlink=false なので白点滅なし
+            if (i >= maxHealth / 2) {
+                int absIndex = i - maxHealth / 2;
+                if (absIndex * 2 + 1 < absorption) {
+                    add(i, dx, dy, hasWither ? 142 : 160);
+                } else if (absIndex * 2 + 1 == absorption) {
+                    add(i, dx, dy, hasWither ? 151 : 169);
+                }
+            }
+
+            // [Layer 3] 旧HP（displayHealth）範囲を白点滅テクスチャで描画
+            if (shouldBlink && i < maxHealth / 2 && i * 2 < displayHealth) {
+                boolean halfHeart = i * 2 + 1 == displayHealth;
+                if (hasWither) {
+                    add(i, dx, dy, halfHeart ? 151 : 142);
+                } else if (hasPoison) {
+                    add(i, dx, dy, halfHeart ? 115 : 106);
+                } else if (!isFrozen) { // Frozen は canBlink=false
+                    add(i, dx, dy, halfHeart ? 79 : 70);
+                }
+            }
+
+            // [Layer 4] 現在HP（health）を通常テクスチャで上書き描画
+            if (i < maxHealth / 2) {
+                if (i * 2 + 1 < health) {
+                    add(i, dx, dy, hasWither ? 124 : hasPoison ? 88 : isFrozen ? 178 : 52);
+                } else if (i * 2 + 1 == health) {
+                    add(i, dx, dy, hasWither ? 133 : hasPoison ? 97 : isFrozen ? 187 : 61);
+                }
+            }
+        }
+    }
+
+    private void add(int heart, int dx, int dy, int u) {
+        int base = commandCount * STRIDE;
+        if (base + STRIDE > commands.length) {
+            int[] grown = new int[commands.length * 2];
+            System.arraycopy(commands, 0, grown, 0, commands.length);
+            commands = grown;
+        }
+        commands[base + HEART] = heart;
+        commands[base + DX] = dx;
+        commands[base + DY] = dy;
+        commands[base + U] = u;
+        commandCount++;
+    }
+
+    /**
+     * 極低体力シェイクのハートごとのずれ（0 or 1px）
+     * バニラ同様 tickCount * 312871 をシードに、ハート順に1回ずつ nextInt(2) を引く。
+     * 同じtick内では再計算しない。
+     */
+    public int[] jitter(int tickCount) {
+        if (tickCount != jitterTick) {
+            if (jitter.length < heartCount) {
+                jitter = new int[Math.max(heartCount, jitter.length * 2)];
+            }
+            random.setSeed((long) (tickCount * 312871));
+            for (int i = 0; i < heartCount; i++) {
+                jitter[i] = random.nextInt(2);
+            }
+            jitterTick = tickCount;
+        }
+        return jitter;
+    }
+
+    /**
+     * コマンド列をバッチに積む（シェイクと再生エフェクトの持ち上げはここで適用）
+     *
+     * @param jitter 極低体力シェイクのずれ（シェイクなしなら null）
+     * @param regenerationHeartIndex 2px持ち上げるハート番号（なしなら -1）
+     */
+    public void emit(HudQuadBatch batch, ResourceLocation texture, Matrix4f pose, int color,
+                     int x, int y, int[] jitter, int regenerationHeartIndex) {
+        for (int c = 0; c < commandCount; c++) {
+            int base = c * STRIDE;
+            int heart = commands[base + HEART];
+            int heartY = y + commands[base + DY];
+            if (jitter != null) {
+                heartY += jitter[heart];  // 各ハートごとに0-1ピクセルランダム振動
+            }
+            // バニラ準拠の再生エフェクトアニメーション（GUI.java 852-854行目）
+            if (heart == regenerationHeartIndex) {
+                heartY -= 2;  // バニラ準拠：2ピクセル上に移動
+            }
+            batch.blit(texture, pose, color, x + commands[base + DX], heartY, commands[base + U], textureV, 9, 9, 256, 256);
+        }
+    }
+
+    public int[] commands() {
+        return commands;
+    }
+
+    public int commandCount() {
+        return commandCount;
+    }
+
+    public int heartCount() {
+        return heartCount;
+    }
+
+    public int textureV() {
+        return textureV;
+    }
+
+    public long rebuilds() {
+        return rebuilds;
+    }
+}
@@ -1,6 +1,10 @@
 package com.greattomfoxsora.universalhudmanager.client;
 
+import com.greattomfoxsora.universalhudmanager.UhmDebugLog;
+import com.greattomfoxsora.universalhudmanager.config.ConfigWriteBehind;
 import com.greattomfoxsora.universalhudmanager.config.HUDConfig;
+import com.greattomfoxsora.universalhudmanager.config.HudLayoutSnapshot;
+import com.greattomfoxsora.universalhudmanager.config.LayoutProfiles;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.screens.Screen;
@@ -9,14 +13,13 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.RandomSource;
 import net.minecraft.world.effect.MobEffects;
 import net.minecraft.world.entity.player.Player;
-import net.minecraft.world.entity.HumanoidArm;
 import net.minecraft.client.AttackIndicatorStatus;
 import com.mojang.blaze3d.systems.RenderSystem;
 import org.joml.Vector2i;
 
 /**
  * シンプルなHUD編集画面 - アーマーHUD方式ベース
- * Health + Armor + Food の3個に対応
+ * 扱う要素は HudElementRegistry の登録表から取得する
  * 
  * @author GreatTomFox & Sora
  */
@@ -26,6 +29,15 @@ public class HudEditScreen extends Screen {
     private static final ResourceLocation WIDGETS = new ResourceLocation("minecraft", "textures/gui/widgets.png");
     private static final ResourceLocation GUI_BARS_LOCATION = new ResourceLocation("minecraft", "textures/gui/bars.png");
     
+    // デバッグログの出力箇所（プレビュー描画とドラッグ中は毎フレーム呼ばれるので間引く）
+    private static final UhmDebugLog.Site LOG_SCREEN = UhmDebugLog.site(UhmDebugLog.Category.EDITOR, "screen", 0);
+    private static final UhmDebugLog.Site LOG_CLICK = UhmDebugLog.site(UhmDebugLog.Category.EDITOR, "click", 0);
+    private static final UhmDebugLog.Site LOG_DRAG = UhmDebugLog.site(UhmDebugLog.Category.EDITOR, "drag", 0);
+    private static final UhmDebugLog.Site LOG_DRAG_MOVE = UhmDebugLog.site(UhmDebugLog.Category.EDITOR, "drag_move", 5);
+    private static final UhmDebugLog.Site LOG_PREVIEW_BOSS_BAR = UhmDebugLog.site(UhmDebugLog.Category.EDITOR, "preview_boss_bar", 20);
+    private static final UhmDebugLog.Site LOG_PREVIEW_CROSSHAIR = UhmDebugLog.site(UhmDebugLog.Category.EDITOR, "preview_crosshair_indicator", 20);
+    private static final UhmDebugLog.Site LOG_PREVIEW_HOTBAR_INDICATOR = UhmDebugLog.site(UhmDebugLog.Category.EDITOR, "preview_hotbar_indicator", 20);
+    
     // 静的な編集モード状態管理
     private static HudEditScreen currentInstance = null;
     private static final java.util.Map<String, Vector2i> temporaryDragOffsets = new java.util.HashMap<>();
@@ -41,190 +53,54 @@ public class HudEditScreen extends Screen {
     private net.minecraft.client.gui.components.Button configButton;
     private net.minecraft.client.gui.components.Button resetLayoutButton;
     
-    // HUD要素定義
-    private HudElement healthElement;
-    private HudElement armorElement;
-    private HudElement foodElement;
-    private HudElement airElement;
-    private HudElement experienceElement;
-    private HudElement hotbarElement;
-    private HudElement itemNameElement;
-    private HudElement effectsElement;
-    private HudElement vehicleHealthElement;
-    private HudElement jumpMeterElement;
-    private HudElement dismountMessageElement;
-    private HudElement bossBarElement;
-    private HudElement crosshairAttackIndicatorElement;
-    private HudElement hotbarAttackIndicatorElement;
+    // 編集画面に出す要素（描画順）。スナップショットが差し替わったら作り直す
+    private final HudElement[] activeElements = new HudElement[HudElementRegistry.size()];
+    private int activeCount = 0;
+    private HudLayoutSnapshot activeLayout = null;
+    private AttackIndicatorStatus activeAttackIndicator = null;
+    
+    // 要素矩形の索引（ハンドル = activeElements の添字）。レイアウト・画面サイズ・ドラッグで作り直す
+    private final HudSpatialIndex spatialIndex = new HudSpatialIndex();
+    private final int[] boundsScratch = new int[4];
+    private boolean spatialIndexDirty = true;
+    private int spatialIndexWidth = -1;
+    private int spatialIndexHeight = -1;
+    private HudElement hoveredElement = null;
+    
+    // ドラッグ中の吸着（候補線はドラッグ開始時に作る）
+    private final HudSnapper snapper = new HudSnapper();
+    private final int[] dragStartBounds = new int[4];
+    private boolean snapping = false;
+    // 吸着設定（ドラッグ開始時に1回だけ読む）
+    private int snapDistance = 0;
+    private int snapGridSize = 0;
+    
+    // サンプルテキストと幅（言語・キー設定は別画面で変わるので init() で取り直す）
+    private String itemNameSample;
+    private int itemNameSampleWidth;
+    private Component dismountSample;
+    private int dismountSampleWidth;
     
     public HudEditScreen() {
         super(Component.translatable("screen.universalhudmanager.hud_edit.title"));
         currentInstance = this;
         temporaryDragOffsets.clear();
+        HudElementRegistry.clearTemporaryOffsets();
     }
     
     @Override
     protected void init() {
         super.init();
         
-        // Health HUD要素を初期化 - アーマーHUD方式
-        healthElement = new HudElement(
-            "health",
-            "hud.universalhudmanager.health",
-            81, 9,  // Vanilla health bar size
-            HUDConfig::getDefaultHealthPosition,
-            HUDConfig::getHealthPosition,
-            HUDConfig::setHealthPosition
-        );
-        
-        // Armor HUD要素を初期化 - 実証済み方式
-        armorElement = new HudElement(
-            "armor",
-            "hud.universalhudmanager.armor",
-            81, 9,  // Same size as health
-            HUDConfig::getDefaultArmorPosition,
-            HUDConfig::getArmorPosition,
-            HUDConfig::setArmorPosition
-        );
-        
-        // Food HUD要素を初期化 - アーマーHUD方式
-        foodElement = new HudElement(
-            "food",
-            "hud.universalhudmanager.food",
-            81, 9,  // Same size as health
-            HUDConfig::getDefaultFoodPosition,
-            HUDConfig::getFoodPosition,
-            HUDConfig::setFoodPosition
-        );
-        
-        // Air HUD要素を初期化 - アーマーHUD方式
-        airElement = new HudElement(
-            "air",
-            "hud.universalhudmanager.air",
-            81, 9,  // Same size as health
-            HUDConfig::getDefaultAirPosition,
-            HUDConfig::getAirPosition,
-            HUDConfig::setAirPosition
-        );
-        
-        // Experience HUD要素を初期化 - バニラサイズ
-        experienceElement = new HudElement(
-            "experience",
-            "hud.universalhudmanager.experience",
-            182, 5,  // バニラのExperience Barサイズ（幅182、高さ5）
-            HUDConfig::getDefaultExperiencePosition,
-            HUDConfig::getExperiencePosition,
-            HUDConfig::setExperiencePosition
-        );
-        
-        // Hotbar HUD要素を初期化 - バニラサイズ
-        hotbarElement = new HudElement(
-            "hotbar",
-            "hud.universalhudmanager.hotbar",
-            182, 22,  // バニラのHotbarサイズ（幅182、高さ22）
-            HUDConfig::getDefaultHotbarPosition,
-            HUDConfig::getHotbarPosition,
-            HUDConfig::setHotbarPosition
-        );
-        
-        // Item Name HUD要素を初期化 - テキスト表示用（サイズ調整）
-        itemNameElement = new HudElement(
-            "item_name",
-            "hud.universalhudmanager.item_name",
-            66, 19,  // アイテム名表示エリア（幅66=200/3、高さ19=20-1）
-            HUDConfig::getDefaultItemNamePosition,
-            HUDConfig::getItemNamePosition,
-            HUDConfig::setItemNamePosition
-        );
-        
-        // Effects HUD要素を初期化 - エフェクトアイコン表示用
-        effectsElement = new HudElement(
-            "effects",
-            "hud.universalhudmanager.effects",
-            50, 52,  // エフェクト表示エリア（2列×25px幅、2行×26px高さ）
-            HUDConfig::getDefaultEffectsPosition,
-            HUDConfig::getEffectsPosition,
-            HUDConfig::setEffectsPosition
-        );
-        
-        // Vehicle Health HUD要素を初期化 - 馬のHP表示用
-        vehicleHealthElement = new HudElement(
-            "vehicle_health",
-            "hud.universalhudmanager.vehicle_health",
-            81, 9,  // バニラHealth Barと同じサイズ
-            HUDConfig::getDefaultVehicleHealthPosition,
-            HUDConfig::getVehicleHealthPosition,
-            HUDConfig::setVehicleHealthPosition
-        );
-        
-        // Jump Meter HUD要素を初期化 - ジャンプゲージ表示用
-        jumpMeterElement = new HudElement(
-            "jump_meter",
-            "hud.universalhudmanager.jump_meter",
-            182, 5,  // バニラJump Meterサイズ
-            HUDConfig::getDefaultJumpMeterPosition,
-            HUDConfig::getJumpMeterPosition,
-            HUDConfig::setJumpMeterPosition
-        );
-        
-        // Dismount Message HUD要素を初期化 - 降車メッセージ表示用
-        dismountMessageElement = new HudElement(
-            "dismount_message",
-            "hud.universalhudmanager.dismount_message",
-            66, 19,  // Item Nameと同じサイズ（幅66、高さ19）
-            HUDConfig::getDefaultDismountMessagePosition,
-            HUDConfig::getDismountMessagePosition,
-            HUDConfig::setDismountMessagePosition
-        );
-        
-        // Boss Bar HUD要素を初期化 - ボスHP表示用
-        bossBarElement = new HudElement(
-            "boss_bar",
-            "hud.universalhudmanager.boss_bar",
-            182, 10,  // バニラBoss Barサイズ（幅182、高さ10）
-            HUDConfig::getDefaultBossBarPosition,
-            HUDConfig::getBossBarPosition,
-            HUDConfig::setBossBarPosition
-        );
-        
-        // Attack Indicator HUD要素を2つに分離して初期化（独立設定使用）
-        // クロスヘア版: 16x4サイズ（バニラのクロスヘア版に準拠）
-        crosshairAttackIndicatorElement = new HudElement(
-            "crosshair_attack_indicator",
-            "hud.universalhudmanager.crosshair_attack_indicator",
-            16, 4,  // バニラクロスヘア版Attack Indicatorサイズ
-            (screenWidth, screenHeight) -> new Vector2i(screenWidth / 2 - 8, screenHeight / 2 - 7 + 16),
-            HUDConfig::getCrosshairAttackIndicatorPosition,  // 独立したクロスヘア版設定
-            HUDConfig::setCrosshairAttackIndicatorPosition
-        );
-        
-        // ホットバー版: 18x18サイズ（バニラのホットバー版に準拠）
-        hotbarAttackIndicatorElement = new HudElement(
-            "hotbar_attack_indicator",
-            "hud.universalhudmanager.hotbar_attack_indicator",
-            18, 18,  // バニラホットバー版Attack Indicatorサイズ
-            (screenWidth, screenHeight) -> {
-                // プレイヤーの利き手に応じて左右位置を決定
-                if (this.minecraft != null && this.minecraft.player != null) {
-                    HumanoidArm mainArm = this.minecraft.player.getMainArm();
-                    int hotbarCenterX = screenWidth / 2;
-                    int hotbarY = screenHeight - 20;
-                    
-                    if (mainArm == HumanoidArm.RIGHT) {
-                        // 右利き: ホットバーの右側
-                        return new Vector2i(hotbarCenterX + 91 + 6, hotbarY);
-                    } else {
-                        // 左利き: ホットバーの左側
-                        return new Vector2i(hotbarCenterX - 91 - 22, hotbarY);
-                    }
-                }
-                // フォールバック: 右利き位置（右側）
-                return new Vector2i(screenWidth / 2 + 91 + 6, screenHeight - 20);
-            },
-            HUDConfig::getHotbarAttackIndicatorPosition,  // 独立したホットバー版設定
-            HUDConfig::setHotbarAttackIndicatorPosition
-        );
+        // サンプルテキストの幅はマウスイベント・フレームごとに測らない
+        itemNameSample = Component.translatable("hud.universalhudmanager.preview.item_name").getString();
+        itemNameSampleWidth = this.font.width(itemNameSample);
+        dismountSample = Component.translatable("mount.onboard", this.minecraft.options.keyShift.getTranslatedKeyMessage());
+        dismountSampleWidth = this.font.width(dismountSample);
         
+        // 要素の定義は HudElementRegistry に集約
+        refreshActiveElements();
+        spatialIndexDirty = true;
         
         // ⚙設定ボタンを右上に配置（幅80px、高さ20px）
         configButton = net.minecraft.client.gui.components.Button.builder(
@@ -253,8 +129,8 @@ public class HudEditScreen extends Screen {
         ).bounds(this.width - 94, this.height - 52, 90, 20).build();
         this.addRenderableWidget(resetLayoutButton);
 
-        if (HUDConfig.DEBUG_MODE.get()) {
-            System.out.println("🎯 HUD Edit Screen initialized - Health + Armor + Food + Air + Experience + Hotbar + ItemName + Effects + VehicleHealth + JumpMeter + DismountMessage + BossBar + AttackIndicator(2タイプ)");
+        if (LOG_SCREEN.shouldLog()) {
+            UhmDebugLog.log(LOG_SCREEN, "🎯 HUD Edit Screen initialized - {} of {} elements active", activeCount, HudElementRegistry.size());
         }
     }
     
@@ -263,79 +139,14 @@ public class HudEditScreen extends Screen {
         // 背景を半透明にして、ゲーム画面を見えるように
         this.renderBackground(guiGraphics);
         
-        // Boss Bar HUD要素を描画（最優先）
-        if (HUDConfig.BOSS_BAR_ENABLED.get()) {
-            renderHudElement(guiGraphics, bossBarElement, mouseX, mouseY);
-        }
-
-        // Attack Indicator HUD要素を2つ描画（Minecraft設定に応じて可視性切り替え）
-        if (HUDConfig.ATTACK_INDICATOR_ENABLED.get()) {
-            AttackIndicatorStatus currentMode = getCurrentAttackIndicatorStatus();
-            if (currentMode == AttackIndicatorStatus.CROSSHAIR) {
-                // クロスヘア版のみ表示
-                renderHudElement(guiGraphics, crosshairAttackIndicatorElement, mouseX, mouseY);
-            } else if (currentMode == AttackIndicatorStatus.HOTBAR) {
-                // ホットバー版のみ表示
-                renderHudElement(guiGraphics, hotbarAttackIndicatorElement, mouseX, mouseY);
-            }
-            // OFFの場合は何も表示しない
-        }
-
-        // Health HUD要素を描画
-        if (HUDConfig.HEALTH_ENABLED.get()) {
-            renderHudElement(guiGraphics, healthElement, mouseX, mouseY);
-        }
-
-        // Armor HUD要素を描画
-        if (HUDConfig.ARMOR_ENABLED.get()) {
-            renderHudElement(guiGraphics, armorElement, mouseX, mouseY);
-        }
-
-        // Food HUD要素を描画
-        if (HUDConfig.FOOD_ENABLED.get()) {
-            renderHudElement(guiGraphics, foodElement, mouseX, mouseY);
-        }
-
-        // Air HUD要素を描画
-        if (HUDConfig.AIR_ENABLED.get()) {
-            renderHudElement(guiGraphics, airElement, mouseX, mouseY);
-        }
-
-        // Experience HUD要素を描画
-        if (HUDConfig.EXPERIENCE_ENABLED.get()) {
-            renderHudElement(guiGraphics, experienceElement, mouseX, mouseY);
-        }
-
-        // Hotbar HUD要素を描画
-        if (HUDConfig.HOTBAR_ENABLED.get()) {
-            renderHudElement(guiGraphics, hotbarElement, mouseX, mouseY);
-        }
-
-        // Item Name HUD要素を描画
-        if (HUDConfig.ITEM_NAME_ENABLED.get()) {
-            renderHudElement(guiGraphics, itemNameElement, mouseX, mouseY);
-        }
-
-        // Effects HUD要素を描画
-        if (HUDConfig.EFFECTS_ENABLED.get()) {
-            renderHudElement(guiGraphics, effectsElement, mouseX, mouseY);
+        // 有効な要素だけを登録順に描画（Attack Indicatorはバニラ設定に応じてどちらか一方）
+        refreshActiveElements();
+        refreshSpatialIndex();
+        int hovered = draggedElement == null ? spatialIndex.hitTest(mouseX, mouseY) : -1;
+        hoveredElement = hovered >= 0 ? activeElements[hovered] : null;
+        for (int i = 0; i < activeCount; i++) {
+            renderHudElement(guiGraphics, activeElements[i], mouseX, mouseY);
         }
-
-        // Vehicle Health HUD要素を描画（有効かつ分離モードの場合のみ）
-        if (HUDConfig.VEHICLE_HEALTH_ENABLED.get() && HUDConfig.SEPARATE_VEHICLE_HEALTH.get()) {
-            renderHudElement(guiGraphics, vehicleHealthElement, mouseX, mouseY);
-        }
-
-        // Jump Meter HUD要素を描画（有効かつ分離モードの場合のみ）
-        if (HUDConfig.JUMP_METER_ENABLED.get() && HUDConfig.SEPARATE_JUMP_METER.get()) {
-            renderHudElement(guiGraphics, jumpMeterElement, mouseX, mouseY);
-        }
-
-        // Dismount Message HUD要素を描画
-        if (HUDConfig.DISMOUNT_MESSAGE_ENABLED.get()) {
-            renderHudElement(guiGraphics, dismountMessageElement, mouseX, mouseY);
-        }
-        
         
         // ⚙設定ボタンとReset Layoutボタンの表示状態を同期
         configButton.visible = showConfigButton;
@@ -353,10 +164,114 @@ public class HudEditScreen extends Screen {
         
         // 中央クロスライン描画（HUD編集用ガイドライン）
         renderCenterCrossLines(guiGraphics);
+        renderSnapGuides(guiGraphics);
         
         super.render(guiGraphics, mouseX, mouseY, partialTicks);
     }
     
+    /**
+     * 編集画面に出す要素の一覧を作り直す（設定・バニラのAttack Indicator設定が変わった時だけ）
+     */
+    private void refreshActiveElements() {
+        HudLayoutSnapshot layout = HudLayoutSnapshot.current();
+        AttackIndicatorStatus attackIndicator = getCurrentAttackIndicatorStatus();
+        if (layout == activeLayout && attackIndicator == activeAttackIndicator) {
+            return;
+        }
+        activeCount = HudElementRegistry.collectActive(layout, activeElements);
+        activeLayout = layout;
+        activeAttackIndicator = attackIndicator;
+        spatialIndexDirty = true;
+    }
+    
+    /**
+     * 要素矩形の索引を必要な時だけ作り直す
+     */
+    private void refreshSpatialIndex() {
+        if (!spatialIndexDirty && spatialIndexWidth == width && spatialIndexHeight == height) {
+            return;
+        }
+        spatialIndex.reset(width, height);
+        for (int i = 0; i < activeCount; i++) {
+            elementBounds(activeElements[i], boundsScratch);
+            spatialIndex.add(boundsScratch[0], boundsScratch[1], boundsScratch[2], boundsScratch[3]);
+        }
+        spatialIndexDirty = false;
+        spatialIndexWidth = width;
+        spatialIndexHeight = height;
+    }
+    
+    /**
+     * 吸着の候補線を作る（ドラッグ中の要素以外の端・中心と画面中央）
+     */
+    private void beginSnapping(int draggedHandle) {
+        snapper.clear();
+        snapping = ConfigWriteBehind.get(HUDConfig.SNAP_ENABLED);
+        if (!snapping) {
+            return;
+        }
+        snapDistance = ConfigWriteBehind.get(HUDConfig.SNAP_DISTANCE);
+        snapGridSize = ConfigWriteBehind.get(HUDConfig.SNAP_GRID_SIZE);
+        for (int handle = 0, n = spatialIndex.size(); handle < n; handle++) {
+            if (handle != draggedHandle) {
+                snapper.addBox(spatialIndex.left(handle), spatialIndex.top(handle),
+                    spatialIndex.right(handle), spatialIndex.bottom(handle));
+            }
+        }
+        // renderCenterCrossLines と同じ中央線
+        snapper.addLineX(width / 2 - 1);
+        snapper.addLineY(height / 2);
+        snapper.build();
+        
+        dragStartBounds[0] = spatialIndex.left(draggedHandle);
+        dragStartBounds[1] = spatialIndex.top(draggedHandle);
+        dragStartBounds[2] = spatialIndex.right(draggedHandle);
+        dragStartBounds[3] = spatialIndex.bottom(draggedHandle);
+    }
+    
+    /**
+     * 要素のクリック・ドラッグ範囲（右端・下端を含む）
+     * Effects・Item Name・Dismount Message は実際の表示範囲に合わせた特別な範囲
+     */
+    private void elementBounds(HudElement element, int[] out) {
+        Vector2i pos = element.getFinalPosition(width, height);
+        if (element.elementId == HudLayoutSnapshot.EFFECTS) {
+            out[0] = pos.x - 25;
+            out[1] = pos.y;
+            out[2] = pos.x + 24;
+            out[3] = pos.y + 50;
+        } else if (element.elementId == HudLayoutSnapshot.ITEM_NAME) {
+            // 黒背景の範囲
+            int textX = pos.x + 33 - itemNameSampleWidth / 2;
+            out[0] = textX - 4;
+            out[1] = pos.y - 2;
+            out[2] = textX + itemNameSampleWidth + 4;
+            out[3] = pos.y + 12;
+        } else if (element.elementId == HudLayoutSnapshot.DISMOUNT_MESSAGE) {
+            // 中央揃えHUDの範囲（drawCenteredStringと同じ中央計算）
+            int textX = pos.x - dismountSampleWidth / 2;
+            out[0] = textX - 4;
+            out[1] = pos.y - 2;
+            out[2] = textX + dismountSampleWidth + 4;
+            out[3] = pos.y + 11;
+        } else {
+            out[0] = pos.x;
+            out[1] = pos.y;
+            out[2] = pos.x + element.width;
+            out[3] = pos.y + element.height;
+        }
+    }
+    
+    /**
+     * 緑枠の色（選択中 > ホバー中 > 通常）
+     */
+    private int frameColor(HudElement element) {
+        if (element == selectedElement) {
+            return 0xFF00FF00;
+        }
+        return element == hoveredElement ? 0xFF00C000 : 0xFF008800;
+    }
+    
     /**
      * HUD要素を描画（緑枠＋実際のHUD＋ラベル）- Archive版準拠
      */
@@ -366,42 +281,13 @@ public class HudEditScreen extends Screen {
         
         // 実際のHUDを描画（緑枠の中に）
         if (player != null) {
-            if (element.id.equals("health")) {
-                renderHealthHUD(guiGraphics, player, pos.x, pos.y);
-            } else if (element.id.equals("armor")) {
-                renderArmorHUD(guiGraphics, player, pos.x, pos.y);
-            } else if (element.id.equals("food")) {
-                renderFoodHUD(guiGraphics, player, pos.x, pos.y);
-            } else if (element.id.equals("air")) {
-                renderAirHUD(guiGraphics, player, pos.x, pos.y);
-            } else if (element.id.equals("experience")) {
-                renderExperienceHUD(guiGraphics, player, pos.x, pos.y);
-            } else if (element.id.equals("hotbar")) {
-                renderHotbarHUD(guiGraphics, player, pos.x, pos.y);
-            } else if (element.id.equals("item_name")) {
-                renderItemNameHUD(guiGraphics, player, pos.x, pos.y);
-            } else if (element.id.equals("effects")) {
-                renderEffectsHUD(guiGraphics, player, pos.x, pos.y);
-            } else if (element.id.equals("vehicle_health")) {
-                renderVehicleHealthHUD(guiGraphics, player, pos.x, pos.y);
-            } else if (element.id.equals("jump_meter")) {
-                renderJumpMeterHUD(guiGraphics, player, pos.x, pos.y);
-            } else if (element.id.equals("dismount_message")) {
-                renderDismountMessageHUD(guiGraphics, player, pos.x, pos.y);
-            } else if (element.id.equals("boss_bar")) {
-                renderBossBarHUD(guiGraphics, player, pos.x, pos.y);
-            } else if (element.id.equals("crosshair_attack_indicator")) {
-                renderCrosshairAttackIndicatorHUD(guiGraphics, player, pos.x, pos.y);
-            } else if (element.id.equals("hotbar_attack_indicator")) {
-                renderHotbarAttackIndicatorHUD(guiGraphics, player, pos.x, pos.y);
-            }
+            element.renderPreview(this, guiGraphics, player, pos.x, pos.y);
         }
         
         // Item Name用の特別な緑枠描画（黒い背景ボックスに合わせる）
-        if (element.id.equals("item_name")) {
+        if (element.elementId == HudLayoutSnapshot.ITEM_NAME) {
             // サンプルテキストのサイズを計算して緑枠を調整
-            String sampleItemName = Component.translatable("hud.universalhudmanager.preview.item_name").getString();
-            int textWidth = this.font.width(sampleItemName);
+            int textWidth = itemNameSampleWidth;
             int textX = pos.x + 33 - textWidth / 2;
             int textY = pos.y;
             
@@ -411,18 +297,16 @@ public class HudEditScreen extends Screen {
             int frameRight = textX + textWidth + 4;
             int frameBottom = textY + 12;
             
-            int color = (element == selectedElement) ? 0xFF00FF00 : 0xFF008800;
+            int color = frameColor(element);
             
             // 枠線を描画（黒い背景に沿って）
             guiGraphics.fill(frameLeft - 1, frameTop - 1, frameRight + 1, frameTop, color);         // 上
             guiGraphics.fill(frameLeft - 1, frameBottom, frameRight + 1, frameBottom + 1, color);   // 下
             guiGraphics.fill(frameLeft - 1, frameTop, frameLeft, frameBottom, color);               // 左
             guiGraphics.fill(frameRight, frameTop, frameRight + 1, frameBottom, color);             // 右
-        } else if (element.id.equals("dismount_message")) {
+        } else if (element.elementId == HudLayoutSnapshot.DISMOUNT_MESSAGE) {
             // Dismount Message用の特別な緑枠描画（中央揃えHUDに合わせる）
-            String sampleMessage = Component.translatable("mount.onboard",
-                    this.minecraft.options.keyShift.getTranslatedKeyMessage()).getString();
-            int textWidth = this.font.width(sampleMessage);
+            int textWidth = dismountSampleWidth;
             
             // drawCenteredStringと同じ中央計算
             int centerX = pos.x;
@@ -436,16 +320,16 @@ public class HudEditScreen extends Screen {
             int frameRight = textX + textWidth + 4;
             int frameBottom = textY + 11;
             
-            int color = (element == selectedElement) ? 0xFF00FF00 : 0xFF008800;
+            int color = frameColor(element);
             
             // 枠線を描画（黒い背景に沿って）
             guiGraphics.fill(frameLeft - 1, frameTop - 1, frameRight + 1, frameTop, color);         // 上
             guiGraphics.fill(frameLeft - 1, frameBottom, frameRight + 1, frameBottom + 1, color);   // 下
             guiGraphics.fill(frameLeft - 1, frameTop, frameLeft, frameBottom, color);               // 左
             guiGraphics.fill(frameRight, frameTop, frameRight + 1, frameBottom, color);             // 右
-        } else if (element.id.equals("boss_bar")) {
+        } else if (element.elementId == HudLayoutSnapshot.BOSS_BAR) {
             // Boss Bar用の緑枠描画（実際のBoss Barサイズに合わせて5px高）
-            int color = (element == selectedElement) ? 0xFF00FF00 : 0xFF008800;
+            int color = frameColor(element);
             int actualHeight = 5;  // 実際のBoss Barテクスチャの高さ
             
             // Boss Bar実サイズに合わせた緑枠
@@ -453,27 +337,27 @@ public class HudEditScreen extends Screen {
             guiGraphics.fill(pos.x - 1, pos.y + actualHeight, pos.x + element.width + 1, pos.y + actualHeight + 1, color);  // 下
             guiGraphics.fill(pos.x - 1, pos.y, pos.x, pos.y + actualHeight, color);                          // 左
             guiGraphics.fill(pos.x + element.width, pos.y, pos.x + element.width + 1, pos.y + actualHeight, color);  // 右
-        } else if (element.id.equals("crosshair_attack_indicator")) {
+        } else if (element.elementId == HudLayoutSnapshot.CROSSHAIR_ATTACK_INDICATOR) {
             // クロスヘアAttack Indicator用の緑枠描画（16x4サイズ）
-            int color = (element == selectedElement) ? 0xFF00FF00 : 0xFF008800;
+            int color = frameColor(element);
             
             // 16x4サイズの緑枠描画
             guiGraphics.fill(pos.x - 1, pos.y - 1, pos.x + element.width + 1, pos.y, color);                    // 上
             guiGraphics.fill(pos.x - 1, pos.y + element.height, pos.x + element.width + 1, pos.y + element.height + 1, color);  // 下
             guiGraphics.fill(pos.x - 1, pos.y, pos.x, pos.y + element.height, color);                          // 左
             guiGraphics.fill(pos.x + element.width, pos.y, pos.x + element.width + 1, pos.y + element.height, color);  // 右
-        } else if (element.id.equals("hotbar_attack_indicator")) {
+        } else if (element.elementId == HudLayoutSnapshot.HOTBAR_ATTACK_INDICATOR) {
             // ホットバーAttack Indicator用の緑枠描画（18x18サイズ）
-            int color = (element == selectedElement) ? 0xFF00FF00 : 0xFF008800;
+            int color = frameColor(element);
             
             // 18x18サイズの緑枠描画
             guiGraphics.fill(pos.x - 1, pos.y - 1, pos.x + element.width + 1, pos.y, color);                    // 上
             guiGraphics.fill(pos.x - 1, pos.y + element.height, pos.x + element.width + 1, pos.y + element.height + 1, color);  // 下
             guiGraphics.fill(pos.x - 1, pos.y, pos.x, pos.y + element.height, color);                          // 左
             guiGraphics.fill(pos.x + element.width, pos.y, pos.x + element.width + 1, pos.y + element.height, color);  // 右
-        } else if (element.id.equals("effects")) {
+        } else if (element.elementId == HudLayoutSnapshot.EFFECTS) {
             // Effects用の特別な緑枠描画（4個のエフェクトアイコンを囲む）
-            int color = (element == selectedElement) ? 0xFF00FF00 : 0xFF008800;
+            int color = frameColor(element);
             
             // 緑枠の範囲計算（右上から左下まで）
             int frameLeft = pos.x - 25;      // 左端（左から2番目のアイコンの左端）
@@ -488,7 +372,7 @@ public class HudEditScreen extends Screen {
             guiGraphics.fill(frameRight, frameTop, frameRight + 1, frameBottom, color);            // 右
         } else {
             // 他の要素は通常の緑枠
-            int color = (element == selectedElement) ? 0xFF00FF00 : 0xFF008800;
+            int color = frameColor(element);
             
             // 枠線を描画
             guiGraphics.fill(pos.x - 1, pos.y - 1, pos.x + element.width + 1, pos.y, color);           // 上
@@ -498,26 +382,25 @@ public class HudEditScreen extends Screen {
         }
         
         // ラベルを描画（Effects、Item Name、Dismount Messageは特別な位置）
-        if (element.id.equals("effects")) {
+        if (element.elementId == HudLayoutSnapshot.EFFECTS) {
             // Effectsラベルは緑枠の中央に表示
             int frameCenterX = pos.x - 1;  // 緑枠の中央位置
             guiGraphics.drawCenteredString(this.font, Component.translatable(element.displayName), frameCenterX, pos.y - 15, 0xFFFFFF);
-        } else if (element.id.equals("item_name")) {
+        } else if (element.elementId == HudLayoutSnapshot.ITEM_NAME) {
             // Item Nameラベルは黒背景の中央に表示
-            String sampleItemName = Component.translatable("hud.universalhudmanager.preview.item_name").getString();
-            int textWidth = this.font.width(sampleItemName);
+            int textWidth = itemNameSampleWidth;
             int textX = pos.x + 33 - textWidth / 2;
             guiGraphics.drawCenteredString(this.font, Component.translatable(element.displayName), textX + textWidth / 2, pos.y - 15, 0xFFFFFF);
-        } else if (element.id.equals("dismount_message")) {
+        } else if (element.elementId == HudLayoutSnapshot.DISMOUNT_MESSAGE) {
             // Dismount Messageラベルは中央揃えHUDの上に表示
             guiGraphics.drawCenteredString(this.font, Component.translatable(element.displayName), pos.x, pos.y - 15, 0xFFFFFF);
-        } else if (element.id.equals("boss_bar")) {
+        } else if (element.elementId == HudLayoutSnapshot.BOSS_BAR) {
             // Boss Barラベルは左端基準で中央に表示（Example Bossとの重複を避けるため少し上に）
             guiGraphics.drawCenteredString(this.font, Component.translatable(element.displayName), pos.x + element.width / 2, pos.y - 20, 0xFFFFFF);
-        } else if (element.id.equals("crosshair_attack_indicator")) {
+        } else if (element.elementId == HudLayoutSnapshot.CROSSHAIR_ATTACK_INDICATOR) {
             // クロスヘアAttack Indicatorラベルは中央上に表示
             guiGraphics.drawCenteredString(this.font, Component.translatable(element.displayName), pos.x + element.width / 2, pos.y - 15, 0xFFFFFF);
-        } else if (element.id.equals("hotbar_attack_indicator")) {
+        } else if (element.elementId == HudLayoutSnapshot.HOTBAR_ATTACK_INDICATOR) {
             // ホットバーAttack Indicatorラベルは中央上に表示
             guiGraphics.drawCenteredString(this.font, Component.translatable(element.displayName), pos.x + element.width / 2, pos.y - 15, 0xFFFFFF);
         } else {
@@ -526,38 +409,37 @@ public class HudEditScreen extends Screen {
         
         // マウス座標を表示（ドラッグ中のみ）
         if (element == draggedElement) {
-            if (element.id.equals("effects")) {
+            if (element.elementId == HudLayoutSnapshot.EFFECTS) {
                 // Effectsは緑枠の中央に座標表示
                 int frameCenterX = pos.x - 1;  // 緑枠の中央位置
                 int frameCenterY = pos.y + 55;  // 緑枠の下5px
                 guiGraphics.drawCenteredString(this.font, 
                     String.format("(%d, %d)", pos.x, pos.y), 
                     frameCenterX, frameCenterY, 0xFFFF00);
-            } else if (element.id.equals("item_name")) {
+            } else if (element.elementId == HudLayoutSnapshot.ITEM_NAME) {
                 // Item Nameは特別な緑枠に合わせて座標表示
-                String sampleItemName = Component.translatable("hud.universalhudmanager.preview.item_name").getString();
-                int textWidth = this.font.width(sampleItemName);
+                int textWidth = itemNameSampleWidth;
                 int textX = pos.x + 33 - textWidth / 2;
                 guiGraphics.drawCenteredString(this.font, 
                     String.format("(%d, %d)", pos.x, pos.y), 
                     textX + textWidth / 2, pos.y + 19 - 3, 0xFFFF00);  // 緑枠の下-3px（2px戻した）
-            } else if (element.id.equals("dismount_message")) {
+            } else if (element.elementId == HudLayoutSnapshot.DISMOUNT_MESSAGE) {
                 // Dismount Message座標表示は中央揃えHUDの下に表示
                 guiGraphics.drawCenteredString(this.font, 
                     String.format("(%d, %d)", pos.x, pos.y), 
                     pos.x, pos.y + 16, 0xFFFF00);
-            } else if (element.id.equals("boss_bar")) {
+            } else if (element.elementId == HudLayoutSnapshot.BOSS_BAR) {
                 // Boss Bar座標表示は中央に表示（実際のBoss Barサイズに合わせて調整）
                 int actualHeight = 5;  // 実際のBoss Barテクスチャの高さ
                 guiGraphics.drawCenteredString(this.font, 
                     String.format("(%d, %d)", pos.x, pos.y), 
                     pos.x + element.width / 2, pos.y + actualHeight + 5, 0xFFFF00);
-            } else if (element.id.equals("crosshair_attack_indicator")) {
+            } else if (element.elementId == HudLayoutSnapshot.CROSSHAIR_ATTACK_INDICATOR) {
                 // クロスヘアAttack Indicator座標表示は中央下に表示
                 guiGraphics.drawCenteredString(this.font, 
                     String.format("(%d, %d)", pos.x, pos.y), 
                     pos.x + element.width / 2, pos.y + element.height + 5, 0xFFFF00);
-            } else if (element.id.equals("hotbar_attack_indicator")) {
+            } else if (element.elementId == HudLayoutSnapshot.HOTBAR_ATTACK_INDICATOR) {
                 // ホットバーAttack Indicator座標表示は中央下に表示
                 guiGraphics.drawCenteredString(this.font, 
                     String.format("(%d, %d)", pos.x, pos.y), 
@@ -574,183 +456,30 @@ public class HudEditScreen extends Screen {
     public boolean mouseClicked(double mouseX, double mouseY, int button) {
         if (button == 0) { // Left click
             
-            if (HUDConfig.DEBUG_MODE.get()) {
-                System.out.println("🖱️ Mouse clicked: (" + mouseX + ", " + mouseY + ")");
+            if (LOG_CLICK.shouldLog()) {
+                UhmDebugLog.log(LOG_CLICK, "🖱️ Mouse clicked: ({}, {})", mouseX, mouseY);
             }
             
             // ドラッグ開始情報を記録
             dragStartX = mouseX;
             dragStartY = mouseY;
             
-            // Health HUD要素のクリック判定
-            if (isMouseOver(healthElement, mouseX, mouseY)) {
-                selectedElement = healthElement;
-                draggedElement = healthElement;
-                dragStartOffset = healthElement.getCurrentOffset();
-                
-                if (HUDConfig.DEBUG_MODE.get()) {
-                    System.out.println("✅ Health HUD clicked - drag started");
-                }
-                return true;
-            }
-            
-            // Armor HUD要素のクリック判定
-            if (isMouseOver(armorElement, mouseX, mouseY)) {
-                selectedElement = armorElement;
-                draggedElement = armorElement;
-                dragStartOffset = armorElement.getCurrentOffset();
+            // 上に描かれている要素から判定（索引はZ順を保持）
+            refreshSpatialIndex();
+            int hit = spatialIndex.hitTest(mouseX, mouseY);
+            if (hit >= 0) {
+                HudElement element = activeElements[hit];
+                selectedElement = element;
+                draggedElement = element;
+                dragStartOffset = element.getCurrentOffset(width, height);
+                beginSnapping(hit);
                 
-                if (HUDConfig.DEBUG_MODE.get()) {
-                    System.out.println("✅ Armor HUD clicked - drag started");
+                if (LOG_DRAG.shouldLog()) {
+                    UhmDebugLog.log(LOG_DRAG, "✅ {} HUD clicked - drag started", element.id);
                 }
                 return true;
             }
             
-            // Food HUD要素のクリック判定
-            if (isMouseOver(foodElement, mouseX, mouseY)) {
-                selectedElement = foodElement;
-                draggedElement = foodElement;
-                dragStartOffset = foodElement.getCurrentOffset();
-                
-                if (HUDConfig.DEBUG_MODE.get()) {
-                    System.out.println("✅ Food HUD clicked - drag started");
-                }
-                return true;
-            }
-            
-            // Air HUD要素のクリック判定
-            if (isMouseOver(airElement, mouseX, mouseY)) {
-                selectedElement = airElement;
-                draggedElement = airElement;
-                dragStartOffset = airElement.getCurrentOffset();
-                
-                if (HUDConfig.DEBUG_MODE.get()) {
-                    System.out.println("✅ Air HUD clicked - drag started");
-                }
-                return true;
-            }
-            
-            // Experience HUD要素のクリック判定
-            if (isMouseOver(experienceElement, mouseX, mouseY)) {
-                selectedElement = experienceElement;
-                draggedElement = experienceElement;
-                dragStartOffset = experienceElement.getCurrentOffset();
-                
-                if (HUDConfig.DEBUG_MODE.get()) {
-                    System.out.println("✅ Experience HUD clicked - drag started");
-                }
-                return true;
-            }
-            
-            // Hotbar HUD要素のクリック判定
-            if (isMouseOver(hotbarElement, mouseX, mouseY)) {
-                selectedElement = hotbarElement;
-                draggedElement = hotbarElement;
-                dragStartOffset = hotbarElement.getCurrentOffset();
-                
-                if (HUDConfig.DEBUG_MODE.get()) {
-                    System.out.println("✅ Hotbar HUD clicked - drag started");
-                }
-                return true;
-            }
-            
-            // Item Name HUD要素のクリック判定
-            if (isMouseOver(itemNameElement, mouseX, mouseY)) {
-                selectedElement = itemNameElement;
-                draggedElement = itemNameElement;
-                dragStartOffset = itemNameElement.getCurrentOffset();
-                
-                if (HUDConfig.DEBUG_MODE.get()) {
-                    System.out.println("✅ Item Name HUD clicked - drag started");
-                }
-                return true;
-            }
-            
-            // Effects HUD要素のクリック判定
-            if (isMouseOver(effectsElement, mouseX, mouseY)) {
-                selectedElement = effectsElement;
-                draggedElement = effectsElement;
-                dragStartOffset = effectsElement.getCurrentOffset();
-                
-                if (HUDConfig.DEBUG_MODE.get()) {
-                    System.out.println("✅ Effects HUD clicked - drag started");
-                }
-                return true;
-            }
-            
-            // Vehicle Health HUD要素のクリック判定（分離モードの場合のみ）
-            if (HUDConfig.SEPARATE_VEHICLE_HEALTH.get() && isMouseOver(vehicleHealthElement, mouseX, mouseY)) {
-                selectedElement = vehicleHealthElement;
-                draggedElement = vehicleHealthElement;
-                dragStartOffset = vehicleHealthElement.getCurrentOffset();
-                
-                if (HUDConfig.DEBUG_MODE.get()) {
-                    System.out.println("✅ Vehicle Health HUD clicked - drag started");
-                }
-                return true;
-            }
-            
-            // Jump Meter HUD要素のクリック判定（分離モードの場合のみ）
-            if (HUDConfig.SEPARATE_JUMP_METER.get() && isMouseOver(jumpMeterElement, mouseX, mouseY)) {
-                selectedElement = jumpMeterElement;
-                draggedElement = jumpMeterElement;
-                dragStartOffset = jumpMeterElement.getCurrentOffset();
-                
-                if (HUDConfig.DEBUG_MODE.get()) {
-                    System.out.println("✅ Jump Meter HUD clicked - drag started");
-                }
-                return true;
-            }
-            
-            // Dismount Message HUD要素のクリック判定
-            if (isMouseOver(dismountMessageElement, mouseX, mouseY)) {
-                selectedElement = dismountMessageElement;
-                draggedElement = dismountMessageElement;
-                dragStartOffset = dismountMessageElement.getCurrentOffset();
-                
-                if (HUDConfig.DEBUG_MODE.get()) {
-                    System.out.println("✅ Dismount Message HUD clicked - drag started");
-                }
-                return true;
-            }
-            
-            // Boss Bar HUD要素のクリック判定
-            if (isMouseOver(bossBarElement, mouseX, mouseY)) {
-                selectedElement = bossBarElement;
-                draggedElement = bossBarElement;
-                dragStartOffset = bossBarElement.getCurrentOffset();
-                
-                if (HUDConfig.DEBUG_MODE.get()) {
-                    System.out.println("✅ Boss Bar HUD clicked - drag started");
-                }
-                return true;
-            }
-            
-            // Attack Indicator HUD要素のクリック判定（現在表示されている方のみ）
-            AttackIndicatorStatus currentMode = getCurrentAttackIndicatorStatus();
-            if (currentMode == AttackIndicatorStatus.CROSSHAIR && isMouseOver(crosshairAttackIndicatorElement, mouseX, mouseY)) {
-                selectedElement = crosshairAttackIndicatorElement;
-                draggedElement = crosshairAttackIndicatorElement;
-                dragStartOffset = crosshairAttackIndicatorElement.getCurrentOffset();
-                
-                if (HUDConfig.DEBUG_MODE.get()) {
-                    System.out.println("✅ Crosshair Attack Indicator HUD clicked - drag started");
-                }
-                return true;
-            }
-            
-            if (currentMode == AttackIndicatorStatus.HOTBAR && isMouseOver(hotbarAttackIndicatorElement, mouseX, mouseY)) {
-                selectedElement = hotbarAttackIndicatorElement;
-                draggedElement = hotbarAttackIndicatorElement;
-                dragStartOffset = hotbarAttackIndicatorElement.getCurrentOffset();
-                
-                if (HUDConfig.DEBUG_MODE.get()) {
-                    System.out.println("✅ Hotbar Attack Indicator HUD clicked - drag started");
-                }
-                return true;
-            }
-            
-            
             // 何もクリックされなかった場合
             selectedElement = null;
             draggedElement = null;
@@ -759,71 +488,6 @@ public class HudEditScreen extends Screen {
         return super.mouseClicked(mouseX, mouseY, button);
     }
     
-    /**
-     * マウスがHUD要素上にあるかチェック - アーマーHUD成功方式
-     */
-    private boolean isMouseOver(HudElement element, double mouseX, double mouseY) {
-        Vector2i pos = element.getFinalPosition(width, height);
-        
-        // Effectsは特別なドラッグ範囲を使用
-        if (element.id.equals("effects")) {
-            int frameLeft = pos.x - 25;
-            int frameTop = pos.y;
-            int frameRight = pos.x + 24;
-            int frameBottom = pos.y + 50;
-            
-            return mouseX >= frameLeft && mouseX <= frameRight &&
-                   mouseY >= frameTop && mouseY <= frameBottom;
-        }
-        
-        // Item Nameは黒背景の範囲でドラッグ可能
-        if (element.id.equals("item_name")) {
-            String sampleItemName = Component.translatable("hud.universalhudmanager.preview.item_name").getString();
-            int textWidth = this.font.width(sampleItemName);
-            int textX = pos.x + 33 - textWidth / 2;
-            int textY = pos.y;
-            
-            int frameLeft = textX - 4;
-            int frameTop = textY - 2;
-            int frameRight = textX + textWidth + 4;
-            int frameBottom = textY + 12;
-            
-            return mouseX >= frameLeft && mouseX <= frameRight &&
-                   mouseY >= frameTop && mouseY <= frameBottom;
-        }
-        
-        // Dismount Messageは中央揃えHUDの範囲でドラッグ可能
-        if (element.id.equals("dismount_message")) {
-            String sampleMessage = Component.translatable("mount.onboard",
-                    this.minecraft.options.keyShift.getTranslatedKeyMessage()).getString();
-            int textWidth = this.font.width(sampleMessage);
-
-            // drawCenteredStringと同じ中央計算
-            int centerX = pos.x;
-            int centerY = pos.y;
-            int textX = centerX - textWidth / 2;
-            int textY = centerY;
-            
-            int frameLeft = textX - 4;
-            int frameTop = textY - 2;
-            int frameRight = textX + textWidth + 4;
-            int frameBottom = textY + 11;
-            
-            return mouseX >= frameLeft && mouseX <= frameRight &&
-                   mouseY >= frameTop && mouseY <= frameBottom;
-        }
-        
-        // Boss Barは標準の矩形範囲でドラッグ可能
-        if (element.id.equals("boss_bar")) {
-            return mouseX >= pos.x && mouseX <= pos.x + element.width &&
-                   mouseY >= pos.y && mouseY <= pos.y + element.height;
-        }
-        
-        
-        return mouseX >= pos.x && mouseX <= pos.x + element.width &&
-               mouseY >= pos.y && mouseY <= pos.y + element.height;
-    }
-    
     @Override
     public boolean mouseDragged(double mouseX, double mouseY, int button, double deltaX, double deltaY) {
         if (button == 0 && draggedElement != null) {
@@ -837,14 +501,27 @@ public class HudEditScreen extends Screen {
                 (int) (dragStartOffset.y + offsetY)
             );
             
+            // 他の要素の端・中心、画面中央、グリッドに吸着（Altを押している間は自由に動かす）
+            if (snapping && !hasAltDown()) {
+                int moveX = newOffset.x - dragStartOffset.x;
+                int moveY = newOffset.y - dragStartOffset.y;
+                newOffset.x += snapper.snapX(dragStartBounds[0] + moveX, dragStartBounds[2] + moveX,
+                    snapDistance, snapGridSize);
+                newOffset.y += snapper.snapY(dragStartBounds[1] + moveY, dragStartBounds[3] + moveY,
+                    snapDistance, snapGridSize);
+            } else {
+                snapper.clear();
+            }
+            
             // 一時的にオフセットを設定（まだ保存はしない）
             draggedElement.setTemporaryOffset(newOffset);
             
             // 静的なtemporaryDragOffsetsにも設定
             setTemporaryDragOffset(draggedElement.id, newOffset);
+            spatialIndexDirty = true;
             
-            if (HUDConfig.DEBUG_MODE.get()) {
-                System.out.println("🔄 Dragging " + draggedElement.id + " to offset: " + newOffset);
+            if (LOG_DRAG_MOVE.shouldLog()) {
+                UhmDebugLog.log(LOG_DRAG_MOVE, "🔄 Dragging {} to offset: {}", draggedElement.id, newOffset);
             }
             
             return true;
@@ -860,10 +537,10 @@ public class HudEditScreen extends Screen {
             // ドラッグ終了 - オフセットを保存
             Vector2i finalOffset = draggedElement.getTemporaryOffset();
             if (finalOffset != null) {
-                draggedElement.saveOffset(finalOffset);
+                draggedElement.saveOffset(finalOffset, width, height);
                 
-                if (HUDConfig.DEBUG_MODE.get()) {
-                    System.out.println("💾 Saved " + draggedElement.id + " offset: " + finalOffset);
+                if (LOG_DRAG.shouldLog()) {
+                    UhmDebugLog.log(LOG_DRAG, "💾 Saved {} offset: {}", draggedElement.id, finalOffset);
                 }
             }
             
@@ -871,6 +548,9 @@ public class HudEditScreen extends Screen {
             draggedElement.clearTemporaryOffset();
             setTemporaryDragOffset(draggedElement.id, null);
             draggedElement = null;
+            snapping = false;
+            snapper.clear();
+            spatialIndexDirty = true;
             
             return true;
         }
@@ -881,7 +561,7 @@ public class HudEditScreen extends Screen {
     /**
      * Health HUDを描画（編集画面用・エフェクト対応・Absorption対応）
      */
-    private void renderHealthHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
+    void renderHealthHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
         // Get player health data
         int health = (int) Math.ceil(player.getHealth());
         int maxHealth = (int) Math.ceil(player.getMaxHealth());
@@ -950,7 +630,7 @@ public class HudEditScreen extends Screen {
     /**
      * Armor HUDを描画（編集画面用）
      */
-    private void renderArmorHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
+    void renderArmorHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
         // 編集画面では常に全アーマーを表示（装備なしでも見えるように）
         for (int i = 0; i < 10; i++) {
             int armorX = x + i * 8;
@@ -974,7 +654,7 @@ public class HudEditScreen extends Screen {
     /**
      * Food HUDを描画（編集画面用・飢餓効果・空腹エフェクト対応）
      */
-    private void renderFoodHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
+    void renderFoodHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
         // Food data取得
         int foodLevel = player.getFoodData().getFoodLevel();
         
@@ -982,11 +662,14 @@ public class HudEditScreen extends Screen {
         boolean isStarving = foodLevel <= 6;  // 飢餓状態（体力が減る）
         boolean hasHunger = player.hasEffect(MobEffects.HUNGER);  // 空腹エフェクト（腐った肉等）
         
+        // 配置方向（書き出し待ちの変更も反映する）
+        boolean leftToRight = ConfigWriteBehind.get(HUDConfig.FOOD_DECREASE_LEFT_TO_RIGHT);
+        
         // Food アイコンを描画（10個、設定に応じて左右どちらからでも）
         for (int i = 0; i < 10; i++) {
             // 配置方向をconfigで制御
             int foodX;
-            if (HUDConfig.FOOD_DECREASE_LEFT_TO_RIGHT.get()) {
+            if (leftToRight) {
                 // 左から右へ減る（Health Barと同じ）
                 foodX = x + i * 8;
             } else {
@@ -1042,7 +725,7 @@ public class HudEditScreen extends Screen {
     /**
      * Air HUDを描画（編集画面用・水中時バブル対応）
      */
-    private void renderAirHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
+    void renderAirHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
         // 編集画面では全部のバブルを表示（視認性のため）
         for (int i = 0; i < 10; i++) {
             int bubbleX = x + (9 - i) * 8;  // 右から左へ配置（バニラと同じ）
@@ -1060,7 +743,7 @@ public class HudEditScreen extends Screen {
     /**
      * Experience HUDを描画（編集画面用・バニラ準拠）
      */
-    private void renderExperienceHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
+    void renderExperienceHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
         // 編集画面では常に経験値バーを表示（見やすさのため）
         
         // 背景バー（空のバー）を描画
@@ -1097,7 +780,7 @@ public class HudEditScreen extends Screen {
     /**
      * Hotbar HUDを描画（編集画面用・バニラ準拠）
      */
-    private void renderHotbarHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
+    void renderHotbarHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
         // 編集画面では常にホットバーを表示（見やすさのため）
         
         // メインのホットバー背景を描画（182×22）
@@ -1130,14 +813,14 @@ public class HudEditScreen extends Screen {
     /**
      * Item Name HUDを描画（編集画面用・サンプル表示）
      */
-    private void renderItemNameHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
+    void renderItemNameHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
         // 編集画面では常にサンプルのアイテム名を表示（見やすさのため）
         
-        // サンプルテキスト
-        String sampleItemName = Component.translatable("hud.universalhudmanager.preview.item_name").getString();
+        // サンプルテキスト（init() で取得済み）
+        String sampleItemName = itemNameSample;
         
         // 緑枠の中央を基準にテキストを配置（HudElementサイズ: 66×19）
-        int textWidth = this.font.width(sampleItemName);
+        int textWidth = itemNameSampleWidth;
         int textX = x + 33 - textWidth / 2;  // 緑枠の中央（x + 66/2）
         int textY = y;
         
@@ -1151,7 +834,7 @@ public class HudEditScreen extends Screen {
     /**
      * Effects HUDを描画（編集画面用・サンプル表示）
      */
-    private void renderEffectsHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
+    void renderEffectsHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
         // 編集画面では常にサンプルのエフェクトアイコンを表示（バニラ準拠の配置）
         ResourceLocation INVENTORY_LOCATION = new ResourceLocation("minecraft", "textures/gui/container/inventory.png");
         
@@ -1213,7 +896,7 @@ public class HudEditScreen extends Screen {
     /**
      * Vehicle Health HUDを描画（編集画面用・サンプル表示）
      */
-    private void renderVehicleHealthHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
+    void renderVehicleHealthHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
         // 編集画面では常にサンプルの馬のHPを表示（見やすさのため）
         
         // サンプルでは10ハートを表示（右から左へ、Foodバーと同じ配置）
@@ -1239,7 +922,7 @@ public class HudEditScreen extends Screen {
     /**
      * Jump Meter HUDを描画（編集画面用・サンプル表示）
      */
-    private void renderJumpMeterHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
+    void renderJumpMeterHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
         // 編集画面では常にサンプルのジャンプゲージを表示
         
         // 背景バー（空のジャンプゲージ）を描画
@@ -1253,20 +936,18 @@ public class HudEditScreen extends Screen {
     /**
      * Dismount Message HUDを描画（編集画面用・サンプル表示）
      */
-    private void renderDismountMessageHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
+    void renderDismountMessageHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
         // 編集画面では常にサンプルのメッセージを表示（見やすさのため）
         
-        // バニラと同じ生成方法でプレイヤーの実際のキーバインドを使用
-        Component dismountComponent = Component.translatable("mount.onboard",
-                this.minecraft.options.keyShift.getTranslatedKeyMessage());
-        String sampleMessage = dismountComponent.getString();
+        // バニラと同じ生成方法でプレイヤーの実際のキーバインドを使用（init() で生成済み）
+        Component dismountComponent = dismountSample;
 
         // プレイ画面と同じ描画方式でズレを解消
         int centerX = x;  // 編集画面のx座標をそのまま中心点として使用
         int centerY = y;  // 編集画面のy座標をそのまま中心点として使用
 
-        // テキストの幅を計算（黒背景用）
-        int textWidth = this.font.width(sampleMessage);
+        // テキストの幅（黒背景用）
+        int textWidth = dismountSampleWidth;
         int textX = centerX - textWidth / 2;
 
         // Item Nameと同じ半透明の黒背景を描画
@@ -1279,10 +960,10 @@ public class HudEditScreen extends Screen {
     /**
      * Boss Bar HUD要素のサンプル表示
      */
-    private void renderBossBarHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
+    void renderBossBarHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
         // デバッグ: Boss Bar描画位置を確認
-        if (HUDConfig.DEBUG_MODE.get()) {
-            System.out.println("🎯 Boss Bar rendering at: x=" + x + ", y=" + y);
+        if (LOG_PREVIEW_BOSS_BAR.shouldLog()) {
+            UhmDebugLog.log(LOG_PREVIEW_BOSS_BAR, "🎯 Boss Bar rendering at: x={}, y={}", x, y);
         }
         
         // バニラのBossHealthOverlayと同じ方法でエンダードラゴン風ボスバーを描画
@@ -1324,10 +1005,10 @@ public class HudEditScreen extends Screen {
      * クロスヘアAttack Indicator HUD描画（編集画面用サンプル）
      * 16x4サイズのバーで半透明効果付き
      */
-    private void renderCrosshairAttackIndicatorHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
+    void renderCrosshairAttackIndicatorHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
         // デバッグ: Crosshair Attack Indicator描画位置を確認
-        if (HUDConfig.DEBUG_MODE.get()) {
-            System.out.println("🎯 Crosshair Attack Indicator rendering at: x=" + x + ", y=" + y);
+        if (LOG_PREVIEW_CROSSHAIR.shouldLog()) {
+            UhmDebugLog.log(LOG_PREVIEW_CROSSHAIR, "🎯 Crosshair Attack Indicator rendering at: x={}, y={}", x, y);
         }
         
         // バニラのAttack Indicatorテクスチャを使用（編集画面用サンプル）
@@ -1362,10 +1043,10 @@ public class HudEditScreen extends Screen {
      * ホットバーAttack Indicator HUD描画（編集画面用サンプル）
      * 18x18サイズのアイコンで半透明効果なし
      */
-    private void renderHotbarAttackIndicatorHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
+    void renderHotbarAttackIndicatorHUD(GuiGraphics guiGraphics, Player player, int x, int y) {
         // デバッグ: Hotbar Attack Indicator描画位置を確認
-        if (HUDConfig.DEBUG_MODE.get()) {
-            System.out.println("🎯 Hotbar Attack Indicator rendering at: x=" + x + ", y=" + y);
+        if (LOG_PREVIEW_HOTBAR_INDICATOR.shouldLog()) {
+            UhmDebugLog.log(LOG_PREVIEW_HOTBAR_INDICATOR, "🎯 Hotbar Attack Indicator rendering at: x={}, y={}", x, y);
         }
         
         // バニラのAttack Indicatorテクスチャを使用（編集画面用サンプル）
@@ -1413,6 +1094,34 @@ public class HudEditScreen extends Screen {
         return AttackIndicatorStatus.OFF;  // デフォルトはOFF
     }
     
+    /**
+     * ドラッグ中のグリッドと吸着したガイド線（中央線に吸着した時は中央線が濃くなる）
+     */
+    private void renderSnapGuides(GuiGraphics guiGraphics) {
+        if (draggedElement == null || !snapping) {
+            return;
+        }
+        
+        int grid = snapGridSize;
+        if (grid >= 4) {
+            int gridColor = 0x18FFFFFF;
+            for (int x = grid; x < width; x += grid) {
+                guiGraphics.fill(x, 0, x + 1, height, gridColor);
+            }
+            for (int y = grid; y < height; y += grid) {
+                guiGraphics.fill(0, y, width, y + 1, gridColor);
+            }
+        }
+        
+        int guideColor = 0xC000FFFF;  // 水色（緑枠と見分けられるように）
+        if (snapper.guideX() != HudSnapper.NONE) {
+            guiGraphics.fill(snapper.guideX(), 0, snapper.guideX() + 1, height, guideColor);
+        }
+        if (snapper.guideY() != HudSnapper.NONE) {
+            guiGraphics.fill(0, snapper.guideY(), width, snapper.guideY() + 1, guideColor);
+        }
+    }
+    
     /**
      * 中央クロスライン描画（HUD編集用ガイドライン）
      */
@@ -1453,24 +1162,9 @@ public class HudEditScreen extends Screen {
      * 全HUD要素の位置を初期値 (0, 0) にリセットして保存
      */
     private void resetAllPositions() {
-        Vector2i zero = new Vector2i(0, 0);
-        HUDConfig.setHealthPosition(zero);
-        HUDConfig.setArmorPosition(zero);
-        HUDConfig.setFoodPosition(zero);
-        HUDConfig.setAirPosition(zero);
-        HUDConfig.setExperiencePosition(zero);
-        HUDConfig.setHotbarPosition(zero);
-        HUDConfig.setItemNamePosition(zero);
-        HUDConfig.setEffectsPosition(zero);
-        HUDConfig.setVehicleHealthPosition(zero);
-        HUDConfig.setJumpMeterPosition(zero);
-        HUDConfig.setDismountMessagePosition(zero);
-        HUDConfig.setBossBarPosition(zero);
-        HUDConfig.setCrosshairAttackIndicatorPosition(zero);
-        HUDConfig.setHotbarAttackIndicatorPosition(zero);
-        HUDConfig.SPEC.save();
-        if (HUDConfig.DEBUG_MODE.get()) {
-            System.out.println("🔄 All HUD positions reset to default (0, 0)");
+        HUDConfig.resetPositions();
+        if (LOG_SCREEN.shouldLog()) {
+            UhmDebugLog.log(LOG_SCREEN, "🔄 All HUD positions reset to default (0, 0)");
         }
     }
 
@@ -1479,8 +1173,11 @@ public class HudEditScreen extends Screen {
         super.onClose();
         currentInstance = null;
         temporaryDragOffsets.clear();
-        if (HUDConfig.DEBUG_MODE.get()) {
-            System.out.println("💾 HUD Edit Screen closed - settings saved");
+        // 切り替え中のレイアウトプロファイルにも反映し、ドラッグで溜まった位置の変更をすぐに書き出す
+        LayoutProfiles.saveActive();
+        ConfigWriteBehind.flushSoon();
+        if (LOG_SCREEN.shouldLog()) {
+            UhmDebugLog.log(LOG_SCREEN, "💾 HUD Edit Screen closed - settings saved");
         }
     }
     
@@ -1,104 +1,133 @@
 package com.greattomfoxsora.universalhudmanager.client;
 
+import com.greattomfoxsora.universalhudmanager.config.HUDConfig;
+import com.greattomfoxsora.universalhudmanager.config.HudLayoutSnapshot;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.world.entity.player.Player;
 import org.joml.Vector2i;
 import java.util.function.BiFunction;
-import java.util.function.Consumer;
-import java.util.function.Supplier;
+import java.util.function.BooleanSupplier;
 
 /**
- * シンプルなHUD要素 - アーマーHUD方式ベース
- * Health + Armor の2個のみに対応
- * 
+ * HUD要素の定義 - アーマーHUD方式ベース
+ * 要素IDは HudLayoutSnapshot の定数で、位置・有効/無効の設定は HUDConfig の要素ID表から引く。
+ * デフォルト位置とオフセットは HudLayoutSnapshot（HudAnchorLayout の計算結果）から取る。
+ * 定義は {@link HudElementRegistry} に1つずつ登録する。
+ *
  * @author GreatTomFox & Sora
  */
 public class HudElement {
-    
+
+    /**
+     * 編集画面でのプレビュー描画
+     */
+    public interface PreviewRenderer {
+        void render(HudEditScreen screen, GuiGraphics guiGraphics, Player player, int x, int y);
+    }
+
+    public final int elementId;
     public final String id;
     public final String displayName;
     public final int width;
     public final int height;
-    
+
     // 位置計算関数
     private final BiFunction<Integer, Integer, Vector2i> defaultPositionProvider;
-    private final Supplier<Vector2i> currentOffsetProvider;
-    private final Consumer<Vector2i> offsetSetter;
-    
+    private final PreviewRenderer previewRenderer;
+    // 有効フラグ以外の表示条件（分離モード・バニラの AttackIndicatorStatus など）
+    private final BooleanSupplier editorVisible;
+
     // 一時ドラッグ状態
     private Vector2i temporaryOffset = null;
-    
+
     public HudElement(
+        int elementId,
         String id,
         String displayName,
         int width,
         int height,
         BiFunction<Integer, Integer, Vector2i> defaultPositionProvider,
-        Supplier<Vector2i> currentOffsetProvider,
-        Consumer<Vector2i> offsetSetter
+        PreviewRenderer previewRenderer,
+        BooleanSupplier editorVisible
     ) {
+        this.elementId = elementId;
         this.id = id;
         this.displayName = displayName;
         this.width = width;
         this.height = height;
         this.defaultPositionProvider = defaultPositionProvider;
-        this.currentOffsetProvider = currentOffsetProvider;
-        this.offsetSetter = offsetSetter;
+        this.previewRenderer = previewRenderer;
+        this.editorVisible = editorVisible;
     }
-    
+
     /**
      * デフォルト位置を取得 - アーマーHUD方式
      */
     public Vector2i getDefaultPosition(int screenWidth, int screenHeight) {
         return defaultPositionProvider.apply(screenWidth, screenHeight);
     }
-    
+
     /**
-     * 現在のオフセットを取得
+     * 現在のオフセットをピクセルで取得（千分率で保存されていても画面サイズで換算）
      */
-    public Vector2i getCurrentOffset() {
-        return currentOffsetProvider.get();
+    public Vector2i getCurrentOffset(int screenWidth, int screenHeight) {
+        HudLayoutSnapshot layout = HudLayoutSnapshot.current();
+        return new Vector2i(layout.offsetPixelsX(elementId, screenWidth, screenHeight),
+                            layout.offsetPixelsY(elementId, screenWidth, screenHeight));
     }
-    
+
     /**
      * 最終位置を計算（デフォルト位置 + オフセット）- アーマーHUD成功方式
      */
     public Vector2i getFinalPosition(int screenWidth, int screenHeight) {
         Vector2i defaultPos = getDefaultPosition(screenWidth, screenHeight);
-        Vector2i offset = (temporaryOffset != null) ? temporaryOffset : getCurrentOffset();
-        
+        Vector2i offset = (temporaryOffset != null) ? temporaryOffset : getCurrentOffset(screenWidth, screenHeight);
+
         return new Vector2i(defaultPos.x + offset.x, defaultPos.y + offset.y);
     }
-    
+
+    /**
+     * 編集画面に出すかどうか（有効フラグは呼び出し側がスナップショットで判定済み）
+     */
+    public boolean isEditorVisible() {
+        return editorVisible.getAsBoolean();
+    }
+
+    public void renderPreview(HudEditScreen screen, GuiGraphics guiGraphics, Player player, int x, int y) {
+        previewRenderer.render(screen, guiGraphics, player, x, y);
+    }
+
     /**
      * 一時的なオフセットを設定（ドラッグ中）
      */
     public void setTemporaryOffset(Vector2i offset) {
         this.temporaryOffset = offset;
     }
-    
+
     /**
      * 一時的なオフセットを取得
      */
     public Vector2i getTemporaryOffset() {
         return temporaryOffset;
     }
-    
+
     /**
      * 一時的なオフセットをクリア
      */
     public void clearTemporaryOffset() {
         this.temporaryOffset = null;
     }
-    
+
     /**
-     * オフセットを保存
+     * ピクセルのオフセットを保存（relative_offsets なら画面サイズの千分率で保存される）
      */
-    public void saveOffset(Vector2i offset) {
-        offsetSetter.accept(offset);
+    public void saveOffset(Vector2i offset, int screenWidth, int screenHeight) {
+        HUDConfig.setPosition(elementId, offset.x, offset.y, screenWidth, screenHeight);
     }
-    
+
     @Override
     public String toString() {
-        return String.format("HudElement{id='%s', display='%s', size=(%dx%d)}", 
+        return String.format("HudElement{id='%s', display='%s', size=(%dx%d)}",
                            id, displayName, width, height);
     }
-}
\ No newline at end of file
+}
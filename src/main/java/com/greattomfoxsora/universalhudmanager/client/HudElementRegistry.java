@@ -0,0 +1,207 @@
+package com.greattomfoxsora.universalhudmanager.client;
+
+import com.greattomfoxsora.universalhudmanager.config.HudLayoutSnapshot;
+import net.minecraft.client.AttackIndicatorStatus;
+import net.minecraft.client.Minecraft;
+import net.minecraft.world.entity.HumanoidArm;
+import org.joml.Vector2i;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * HUD要素の登録表（編集画面で扱う要素と、ゲーム内HUDの描画レイヤーの一覧）
+ * 要素ごとに サイズ・デフォルト位置・プレビュー描画・表示条件 を1か所で定義し、
+ * 編集画面の描画・クリック判定・リセットはこの配列を回すだけにする。
+ * ゲーム内の描画も {@link #LAYERS} を描画順に回す（HUDPositionHandler.renderAll）。
+ *
+ * 登録順 = 編集画面での描画順（後に登録したものが上に描かれ、クリック判定では優先される）。
+ * 要素を追加する場合は HudLayoutSnapshot に要素ID、HudAnchorLayout にデフォルト位置、HUDConfig に設定と要素ID表のエントリを足し、
+ * ここに要素とレイヤーを1行ずつ登録する。
+ *
+ * @author GreatTomFox & Sora
+ */
+public final class HudElementRegistry {
+
+    private static final HudElement[] ELEMENTS = {
+        // Boss Bar・Attack Indicator は他の要素の下に描く
+        element(HudLayoutSnapshot.BOSS_BAR, "boss_bar", 182, 10,  // バニラBoss Barサイズ（幅182、高さ10）
+            HudEditScreen::renderBossBarHUD, () -> true),
+        element(HudLayoutSnapshot.CROSSHAIR_ATTACK_INDICATOR, "crosshair_attack_indicator", 16, 4,  // バニラクロスヘア版サイズ
+            HudEditScreen::renderCrosshairAttackIndicatorHUD, () -> attackIndicatorStatus() == AttackIndicatorStatus.CROSSHAIR),
+        new HudElement(HudLayoutSnapshot.HOTBAR_ATTACK_INDICATOR, "hotbar_attack_indicator",
+            "hud.universalhudmanager.hotbar_attack_indicator",
+            18, 18,  // バニラホットバー版サイズ
+            HudElementRegistry::hotbarAttackIndicatorDefault,
+            HudEditScreen::renderHotbarAttackIndicatorHUD, () -> attackIndicatorStatus() == AttackIndicatorStatus.HOTBAR),
+        element(HudLayoutSnapshot.HEALTH, "health", 81, 9,  // Vanilla health bar size
+            HudEditScreen::renderHealthHUD, () -> true),
+        element(HudLayoutSnapshot.ARMOR, "armor", 81, 9,
+            HudEditScreen::renderArmorHUD, () -> true),
+        element(HudLayoutSnapshot.FOOD, "food", 81, 9,
+            HudEditScreen::renderFoodHUD, () -> true),
+        element(HudLayoutSnapshot.AIR, "air", 81, 9,
+            HudEditScreen::renderAirHUD, () -> true),
+        element(HudLayoutSnapshot.EXPERIENCE, "experience", 182, 5,  // バニラのExperience Barサイズ（幅182、高さ5）
+            HudEditScreen::renderExperienceHUD, () -> true),
+        element(HudLayoutSnapshot.HOTBAR, "hotbar", 182, 22,  // バニラのHotbarサイズ（幅182、高さ22）
+            HudEditScreen::renderHotbarHUD, () -> true),
+        element(HudLayoutSnapshot.ITEM_NAME, "item_name", 66, 19,  // アイテム名表示エリア（幅66=200/3、高さ19=20-1）
+            HudEditScreen::renderItemNameHUD, () -> true),
+        element(HudLayoutSnapshot.EFFECTS, "effects", 50, 52,  // エフェクト表示エリア（2列×25px幅、2行×26px高さ）
+            HudEditScreen::renderEffectsHUD, () -> true),
+        // Vehicle Health・Jump Meter は分離モードの場合のみ独立して動かせる
+        element(HudLayoutSnapshot.VEHICLE_HEALTH, "vehicle_health", 81, 9,
+            HudEditScreen::renderVehicleHealthHUD, () -> HudLayoutSnapshot.current().option(HudLayoutSnapshot.OPT_SEPARATE_VEHICLE_HEALTH)),
+        element(HudLayoutSnapshot.JUMP_METER, "jump_meter", 182, 5,
+            HudEditScreen::renderJumpMeterHUD, () -> HudLayoutSnapshot.current().option(HudLayoutSnapshot.OPT_SEPARATE_JUMP_METER)),
+        element(HudLayoutSnapshot.DISMOUNT_MESSAGE, "dismount_message", 66, 19,  // Item Nameと同じサイズ
+            HudEditScreen::renderDismountMessageHUD, () -> true),
+    };
+
+    /**
+     * ゲーム内HUDの描画レイヤー（描画順）
+     * 編集画面の要素とは並びが違い、Attack Indicator はバニラの設定で描き分けるので1レイヤー
+     */
+    private static final HudLayer[] LAYERS = {
+        new HudLayer(HudLayoutSnapshot.HEALTH, HudPerfStats.HEALTH, HudRenderCache.SLOT_HEALTH, true,
+            HUDPositionHandler::renderHealthBar),
+        // AppleSkin 互換：健康回復予測オーバーレイ（キャッシュ有効時も毎フレーム）
+        new HudLayer(HudLayoutSnapshot.HEALTH, HudPerfStats.APPLESKIN_HEALTH, HudLayer.NOT_CACHED, true,
+            HUDPositionHandler::renderHealthOverlay),
+        new HudLayer(HudLayoutSnapshot.ARMOR, HudPerfStats.ARMOR, HudRenderCache.SLOT_ARMOR, true,
+            HUDPositionHandler::renderArmorBar),
+        // Food Bar は AppleSkin のアンダーレイ・オーバーレイと合わせて1レイヤー（計測も中で行う）
+        new HudLayer(HudLayoutSnapshot.FOOD, HudLayer.SELF_TIMED, HudLayer.NOT_CACHED, true,
+            HUDPositionHandler::renderFoodLayer),
+        new HudLayer(HudLayoutSnapshot.AIR, HudPerfStats.AIR, HudRenderCache.SLOT_AIR, true,
+            HUDPositionHandler::renderAirBar),
+        // 以降は GuiGraphics で直接描く
+        new HudLayer(HudLayoutSnapshot.EXPERIENCE, HudPerfStats.EXPERIENCE, HudRenderCache.SLOT_EXPERIENCE, false,
+            HUDPositionHandler::renderExperienceBar),
+        new HudLayer(HudLayoutSnapshot.HOTBAR, HudPerfStats.HOTBAR, HudLayer.NOT_CACHED, false,
+            HUDPositionHandler::renderHotbar),
+        new HudLayer(HudLayoutSnapshot.ITEM_NAME, HudPerfStats.ITEM_NAME, HudLayer.NOT_CACHED, false,
+            HUDPositionHandler::renderItemName),
+        new HudLayer(HudLayoutSnapshot.EFFECTS, HudPerfStats.EFFECTS, HudLayer.NOT_CACHED, false,
+            HUDPositionHandler::renderEffects),
+        new HudLayer(HudLayoutSnapshot.VEHICLE_HEALTH, HudPerfStats.VEHICLE_HEALTH, HudLayer.NOT_CACHED, true,
+            HUDPositionHandler::renderVehicleHealth),
+        new HudLayer(HudLayoutSnapshot.JUMP_METER, HudPerfStats.JUMP_METER, HudLayer.NOT_CACHED, false,
+            HUDPositionHandler::renderJumpMeter),
+        new HudLayer(HudLayoutSnapshot.DISMOUNT_MESSAGE, HudPerfStats.DISMOUNT_MESSAGE, HudLayer.NOT_CACHED, false,
+            HUDPositionHandler::renderDismountMessage),
+        new HudLayer(HudLayoutSnapshot.BOSS_BAR, HudPerfStats.BOSS_BAR, HudLayer.NOT_CACHED, false,
+            HUDPositionHandler::renderBossBar),
+        new HudLayer(HudLayoutSnapshot.ATTACK_INDICATOR, HudPerfStats.ATTACK_INDICATOR, HudLayer.NOT_CACHED, false,
+            HUDPositionHandler::renderAttackIndicator),
+    };
+
+    // 要素ID → 定義（登録されていない要素IDは null）
+    private static final HudElement[] BY_ID = new HudElement[HudLayoutSnapshot.ELEMENT_COUNT];
+
+    static {
+        for (HudElement element : ELEMENTS) {
+            if (BY_ID[element.elementId] != null) {
+                throw new IllegalStateException("Duplicate HUD element id: " + element.elementId);
+            }
+            BY_ID[element.elementId] = element;
+        }
+    }
+
+    private HudElementRegistry() {
+    }
+
+    public static int size() {
+        return ELEMENTS.length;
+    }
+
+    /**
+     * 登録順（描画順）で i 番目の要素
+     */
+    public static HudElement at(int index) {
+        return ELEMENTS[index];
+    }
+
+    /**
+     * 要素IDから定義を引く（未登録なら null）
+     */
+    public static HudElement byId(int elementId) {
+        return BY_ID[elementId];
+    }
+
+    /**
+     * 編集画面に出す要素を描画順に out へ詰める
+     * @return 詰めた数
+     */
+    public static int collectActive(HudLayoutSnapshot layout, HudElement[] out) {
+        int count = 0;
+        for (HudElement element : ELEMENTS) {
+            if (layout.isEnabled(element.elementId) && element.isEditorVisible()) {
+                out[count++] = element;
+            }
+        }
+        return count;
+    }
+
+    public static int layerCount() {
+        return LAYERS.length;
+    }
+
+    /**
+     * 有効な要素のゲーム内描画レイヤーを描画順に out へ詰める（表示条件は描画側が毎フレーム判定する）
+     * @return 詰めた数
+     */
+    public static int collectEnabledLayers(HudLayoutSnapshot layout, HudLayer[] out) {
+        int count = 0;
+        for (HudLayer layer : LAYERS) {
+            if (layout.isEnabled(layer.elementId)) {
+                out[count++] = layer;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 全要素の一時ドラッグ状態を捨てる
+     */
+    public static void clearTemporaryOffsets() {
+        for (HudElement element : ELEMENTS) {
+            element.clearTemporaryOffset();
+        }
+    }
+
+    private static HudElement element(int elementId, String id, int width, int height,
+                                      HudElement.PreviewRenderer previewRenderer, BooleanSupplier editorVisible) {
+        return new HudElement(elementId, id, "hud.universalhudmanager." + id, width, height,
+            (screenWidth, screenHeight) -> defaultPosition(elementId, screenWidth, screenHeight),
+            previewRenderer, editorVisible);
+    }
+
+    private static Vector2i defaultPosition(int elementId, int screenWidth, int screenHeight) {
+        HudLayoutSnapshot layout = HudLayoutSnapshot.current();
+        return new Vector2i(layout.baseX(elementId, screenWidth, screenHeight), layout.baseY(elementId, screenWidth, screenHeight));
+    }
+
+    /**
+     * ホットバー版Attack Indicatorはプレイヤーの利き手に応じて左右位置を決定
+     */
+    private static Vector2i hotbarAttackIndicatorDefault(int screenWidth, int screenHeight) {
+        Minecraft minecraft = Minecraft.getInstance();
+        int hotbarCenterX = screenWidth / 2;
+        int hotbarY = screenHeight - 20;
+        if (minecraft.player != null && minecraft.player.getMainArm() != HumanoidArm.RIGHT) {
+            // 左利き: ホットバーの左側
+            return new Vector2i(hotbarCenterX - 91 - 22, hotbarY);
+        }
+        // 右利き（フォールバックも）: ホットバーの右側
+        return new Vector2i(hotbarCenterX + 91 + 6, hotbarY);
+    }
+
+    private static AttackIndicatorStatus attackIndicatorStatus() {
+        Minecraft minecraft = Minecraft.getInstance();
+        if (minecraft.options != null) {
+            return minecraft.options.attackIndicator().get();
+        }
+        return AttackIndicatorStatus.OFF;
+    }
+}
@@ -0,0 +1,49 @@
+package com.greattomfoxsora.universalhudmanager.client;
+
+import com.greattomfoxsora.universalhudmanager.config.HudLayoutSnapshot;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.world.entity.player.Player;
+
+/**
+ * ゲーム内HUDの描画レイヤー
+ * 1つの要素IDが複数のレイヤーを持つことがある（Health Bar と AppleSkin の回復予測など）。
+ * 定義は {@link HudElementRegistry} に描画順で登録し、HUDPositionHandler.renderAll は
+ * 有効なレイヤーだけを詰めた配列（スナップショットが変わった時に作り直す）を回す。
+ *
+ * @author GreatTomFox & Sora
+ */
+public final class HudLayer {
+
+    /**
+     * レイヤーの描画（layout は renderAll がそのフレームに1回だけ読んだスナップショット）
+     */
+    public interface Renderer {
+        void render(GuiGraphics guiGraphics, Player player, HudLayoutSnapshot layout, int screenWidth, int screenHeight);
+    }
+
+    // 計測は renderer 自身が行う（複数の区間を持つレイヤー）
+    public static final int SELF_TIMED = -1;
+    // HUDキャッシュの対象外（cached_hud 有効時も毎フレーム描く）
+    public static final int NOT_CACHED = -1;
+
+    public final int elementId;
+    // HudPerfStats の区間（SELF_TIMED なら計測しない）
+    public final int perfSection;
+    // HudRenderCache のスロット（キャッシュ有効時はライブ描画のフレームだけ描く）
+    public final int cacheSlot;
+    // アイコン系バー（HudQuadBatch に積む）。それ以外のレイヤーの前にまとめて描画する
+    public final boolean iconBar;
+    private final Renderer renderer;
+
+    public HudLayer(int elementId, int perfSection, int cacheSlot, boolean iconBar, Renderer renderer) {
+        this.elementId = elementId;
+        this.perfSection = perfSection;
+        this.cacheSlot = cacheSlot;
+        this.iconBar = iconBar;
+        this.renderer = renderer;
+    }
+
+    public void render(GuiGraphics guiGraphics, Player player, HudLayoutSnapshot layout, int screenWidth, int screenHeight) {
+        renderer.render(guiGraphics, player, layout, screenWidth, screenHeight);
+    }
+}
@@ -0,0 +1,47 @@
+package com.greattomfoxsora.universalhudmanager.client;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.gui.GuiGraphics;
+
+/**
+ * HudPerfStats の画面表示（/uhm perf overlay で切り替え）
+ * パーセンタイルの計算と文字列の組み立ては {@link #REFRESH_FRAMES} フレームに1回だけ行う。
+ *
+ * @author GreatTomFox & Sora
+ */
+public final class HudPerfOverlay {
+
+    private static final int REFRESH_FRAMES = 20;
+
+    private static final String[] lines = new String[HudPerfStats.SECTION_COUNT + 1];
+    private static int framesUntilRefresh = 0;
+
+    private HudPerfOverlay() {
+    }
+
+    public static void render(GuiGraphics guiGraphics) {
+        if (!HudPerfStats.isOverlayEnabled()) {
+            return;
+        }
+
+        if (--framesUntilRefresh <= 0) {
+            lines[0] = "UHM perf (last " + HudPerfStats.WINDOW + " frames)";
+            for (int s = 0; s < HudPerfStats.SECTION_COUNT; s++) {
+                lines[s + 1] = HudPerfStats.sampleCount(s) > 0 ? HudPerfStats.describe(s) : null;
+            }
+            framesUntilRefresh = REFRESH_FRAMES;
+        }
+
+        Font font = Minecraft.getInstance().font;
+        int y = 2;
+        for (String line : lines) {
+            if (line == null) {
+                continue;
+            }
+            guiGraphics.fill(1, y - 1, 3 + font.width(line), y + 8, 0x90000000);
+            guiGraphics.drawString(font, line, 2, y, 0xE0E0E0, false);
+            y += 9;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.greattomfoxsora.universalhudmanager.client;
+
+import java.util.Arrays;
+
+/**
+ * HUD要素ごとの描画時間の計測
+ * 各要素の描画を System.nanoTime で挟み、直近 {@link #WINDOW} フレーム分をリングバッファに保持する。
+ * p50 / p99 は表示時にだけ計算する（描画中はリングバッファへの書き込みのみ）。
+ *
+ * 無効時は {@link #begin()} が 0 を返し、{@link #end(int, long)} も何もしないので、
+ * 計測コストは static フィールドの読み取り1回分だけ。
+ *
+ * @author GreatTomFox & Sora
+ */
+public final class HudPerfStats {
+
+    // 計測区間
+    public static final int HEALTH = 0;
+    public static final int ARMOR = 1;
+    public static final int FOOD = 2;
+    public static final int AIR = 3;
+    public static final int EXPERIENCE = 4;
+    public static final int HOTBAR = 5;
+    public static final int ITEM_NAME = 6;
+    public static final int EFFECTS = 7;
+    public static final int VEHICLE_HEALTH = 8;
+    public static final int JUMP_METER = 9;
+    public static final int DISMOUNT_MESSAGE = 10;
+    public static final int BOSS_BAR = 11;
+    public static final int ATTACK_INDICATOR = 12;
+    public static final int APPLESKIN_HEALTH = 13;
+    public static final int APPLESKIN_FOOD = 14;
+    public static final int TOTAL = 15;
+    public static final int SECTION_COUNT = 16;
+
+    public static final String[] SECTION_NAMES = {
+        "health", "armor", "food", "air", "experience", "hotbar", "item_name", "effects",
+        "vehicle_health", "jump_meter", "dismount_message", "boss_bar", "attack_indicator",
+        "appleskin_health", "appleskin_food", "total"
+    };
+
+    /**
+     * リングバッファのサイズ（フレーム数）
+     */
+    public static final int WINDOW = 512;
+
+    private static boolean enabled = false;
+    private static boolean overlayEnabled = false;
+
+    private static final long[][] samples = new long[SECTION_COUNT][WINDOW];
+    private static final int[] cursor = new int[SECTION_COUNT];
+    private static final int[] count = new int[SECTION_COUNT];
+
+    // パーセンタイル計算用の作業領域
+    private static final long[] scratch = new long[WINDOW];
+
+    private HudPerfStats() {
+    }
+
+    /**
+     * 計測開始（無効時は 0 を返す）
+     */
+    public static long begin() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * 計測終了。begin() が 0 を返していた場合は何もしない
+     */
+    public static void end(int section, long start) {
+        if (start != 0L) {
+            record(section, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 計測終了（同じ区間の別の部分で計った時間を合算して1サンプルにする）
+     */
+    public static void end(int section, long start, long carriedNanos) {
+        if (start != 0L) {
+            record(section, System.nanoTime() - start + carriedNanos);
+        }
+    }
+
+    /**
+     * 経過時間（無効時は 0）
+     */
+    public static long elapsed(long start) {
+        return start != 0L ? System.nanoTime() - start : 0L;
+    }
+
+    public static void record(int section, long nanos) {
+        int i = cursor[section];
+        samples[section][i] = nanos;
+        cursor[section] = (i + 1) % WINDOW;
+        if (count[section] < WINDOW) {
+            count[section]++;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+        if (!value) {
+            overlayEnabled = false;
+        }
+    }
+
+    public static boolean isOverlayEnabled() {
+        return overlayEnabled;
+    }
+
+    /**
+     * 画面上の表示を切り替える（表示する場合は計測も有効にする）
+     */
+    public static void setOverlayEnabled(boolean value) {
+        overlayEnabled = value;
+        if (value) {
+            enabled = true;
+        }
+    }
+
+    public static void reset() {
+        for (int s = 0; s < SECTION_COUNT; s++) {
+            cursor[s] = 0;
+            count[s] = 0;
+        }
+    }
+
+    public static int sampleCount(int section) {
+        return count[section];
+    }
+
+    /**
+     * 直近ウィンドウ内のパーセンタイル（ナノ秒）。サンプルがなければ 0
+     * @param percentile 0〜100
+     */
+    public static long percentile(int section, double percentile) {
+        int n = count[section];
+        if (n == 0) {
+            return 0L;
+        }
+        System.arraycopy(samples[section], 0, scratch, 0, n);
+        Arrays.sort(scratch, 0, n);
+        int index = (int) Math.ceil(percentile / 100.0 * n) - 1;
+        return scratch[Math.max(0, Math.min(n - 1, index))];
+    }
+
+    /**
+     * "health  p50 12.3us  p99 40.1us  (n=512)" 形式の1行
+     */
+    public static String describe(int section) {
+        return String.format("%-17s p50 %7.1fus  p99 %7.1fus  (n=%d)",
+            SECTION_NAMES[section],
+            percentile(section, 50) / 1000.0,
+            percentile(section, 99) / 1000.0,
+            count[section]);
+    }
+}
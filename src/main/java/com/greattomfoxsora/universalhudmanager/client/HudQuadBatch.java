@@ -0,0 +1,263 @@
+package com.greattomfoxsora.universalhudmanager.client;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.BufferUploader;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.GameRenderer;
+import net.minecraft.resources.ResourceLocation;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HUDアイコン用のクアッドバッチ
+ * GuiGraphics.blit は1アイコンごとにバッファを作ってドローコールを発行するため、
+ * ハート・防具・満腹度・空気・乗り物HP・AppleSkinオーバーレイのアイコンをここに溜めて、
+ * 同じテクスチャの間は1回のドローコールでまとめて描く。
+ *
+ * 頂点座標は追加時点のポーズ行列で変換済み、色も追加時点のシェーダーカラーを頂点カラーに焼き込むので、
+ * ポーズや setShaderColor の変更ではフラッシュ不要。
+ * テクスチャが変わった時、および GuiGraphics で直接描く処理（文字・アイテム・ブレンド設定の変更）の前に
+ * {@link #flush()} すること。
+ *
+ * 実際の描画は {@link Sink} に委譲する。GPU を使わない検証・ベンチマーク用に {@link RecordingSink} がある。
+ *
+ * @author GreatTomFox & Sora
+ */
+public final class HudQuadBatch {
+
+    /**
+     * 1クアッドあたりの float 数（4頂点 × x, y, z, u, v）
+     */
+    public static final int FLOATS_PER_QUAD = 20;
+
+    /**
+     * フラッシュされたクアッドの出力先
+     */
+    public interface Sink {
+        /**
+         * @param texture  テクスチャ
+         * @param vertices 頂点データ（クアッドごとに {@link #FLOATS_PER_QUAD} 個）
+         * @param colors   クアッドごとの ARGB カラー
+         * @param quadCount クアッド数
+         */
+        void draw(ResourceLocation texture, float[] vertices, int[] colors, int quadCount);
+    }
+
+    private static HudQuadBatch gui;
+
+    private final Sink sink;
+    private final Vector3f scratch = new Vector3f();
+
+    private ResourceLocation texture;
+    private float[] vertices = new float[FLOATS_PER_QUAD * 64];
+    private int[] colors = new int[64];
+    private int quadCount;
+
+    // 統計（ドローコール数とクアッド数）
+    private long flushes = 0;
+    private long totalQuads = 0;
+
+    public HudQuadBatch(Sink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * HUD描画用の共有インスタンス（描画スレッド専用）
+     */
+    public static HudQuadBatch gui() {
+        if (gui == null) {
+            gui = new HudQuadBatch(new GpuSink());
+        }
+        return gui;
+    }
+
+    /**
+     * GuiGraphics.blit(texture, x, y, u, v, width, height) 相当（256x256テクスチャ）
+     */
+    public void blit(GuiGraphics guiGraphics, ResourceLocation texture, int x, int y, int u, int v, int width, int height) {
+        blit(guiGraphics, texture, x, y, u, v, width, height, 256, 256);
+    }
+
+    /**
+     * GuiGraphics.blit(texture, x, y, u, v, width, height, textureWidth, textureHeight) 相当
+     */
+    public void blit(GuiGraphics guiGraphics, ResourceLocation texture, int x, int y, int u, int v,
+                     int width, int height, int textureWidth, int textureHeight) {
+        blit(texture, guiGraphics.pose().last().pose(), currentShaderColor(), x, y, u, v, width, height, textureWidth, textureHeight);
+    }
+
+    /**
+     * 現在のシェーダーカラーを ARGB に変換（頂点カラーに焼き込む値）
+     */
+    public static int currentShaderColor() {
+        float[] shaderColor = RenderSystem.getShaderColor();
+        return argb(shaderColor[0], shaderColor[1], shaderColor[2], shaderColor[3]);
+    }
+
+    /**
+     * クアッドを1つ追加する（描画環境に依存しない本体）
+     */
+    public void blit(ResourceLocation texture, Matrix4f pose, int color, int x, int y, int u, int v,
+                     int width, int height, int textureWidth, int textureHeight) {
+        // 別インスタンスでも同じテクスチャ（MC_ICONS と ICONS など）ならまとめる
+        if (texture != this.texture && !texture.equals(this.texture)) {
+            flush();
+            this.texture = texture;
+        }
+        if (quadCount == colors.length) {
+            grow();
+        }
+
+        float u0 = u / (float) textureWidth;
+        float u1 = (u + width) / (float) textureWidth;
+        float v0 = v / (float) textureHeight;
+        float v1 = (v + height) / (float) textureHeight;
+        int x2 = x + width;
+        int y2 = y + height;
+
+        // GuiGraphics.innerBlit と同じ頂点順（左上 → 左下 → 右下 → 右上）
+        int base = quadCount * FLOATS_PER_QUAD;
+        base = vertex(pose, base, x, y, u0, v0);
+        base = vertex(pose, base, x, y2, u0, v1);
+        base = vertex(pose, base, x2, y2, u1, v1);
+        vertex(pose, base, x2, y, u1, v0);
+        colors[quadCount] = color;
+        quadCount++;
+    }
+
+    /**
+     * 溜まっているクアッドを1回のドローコールで描画する
+     */
+    public void flush() {
+        if (quadCount == 0) {
+            return;
+        }
+        sink.draw(texture, vertices, colors, quadCount);
+        flushes++;
+        totalQuads += quadCount;
+        quadCount = 0;
+    }
+
+    public int pendingQuads() {
+        return quadCount;
+    }
+
+    public long getFlushCount() {
+        return flushes;
+    }
+
+    public long getTotalQuads() {
+        return totalQuads;
+    }
+
+    private int vertex(Matrix4f pose, int base, float x, float y, float u, float v) {
+        pose.transformPosition(x, y, 0.0F, scratch);
+        vertices[base] = scratch.x;
+        vertices[base + 1] = scratch.y;
+        vertices[base + 2] = scratch.z;
+        vertices[base + 3] = u;
+        vertices[base + 4] = v;
+        return base + 5;
+    }
+
+    private void grow() {
+        float[] grownVertices = new float[vertices.length * 2];
+        System.arraycopy(vertices, 0, grownVertices, 0, vertices.length);
+        vertices = grownVertices;
+        int[] grownColors = new int[colors.length * 2];
+        System.arraycopy(colors, 0, grownColors, 0, colors.length);
+        colors = grownColors;
+    }
+
+    private static int argb(float r, float g, float b, float a) {
+        return (int) (a * 255.0F) << 24 | (int) (r * 255.0F) << 16 | (int) (g * 255.0F) << 8 | (int) (b * 255.0F);
+    }
+
+    /**
+     * 実際にGPUへ送る出力先（GuiGraphics.innerBlit の頂点カラー版と同じ手順）
+     */
+    public static final class GpuSink implements Sink {
+        @Override
+        public void draw(ResourceLocation texture, float[] vertices, int[] colors, int quadCount) {
+            // 色は頂点カラーに焼き込み済みなので、シェーダーカラーは一時的に白へ
+            float[] shaderColor = RenderSystem.getShaderColor();
+            float r = shaderColor[0];
+            float g = shaderColor[1];
+            float b = shaderColor[2];
+            float a = shaderColor[3];
+            RenderSystem.setShaderColor(1.0F, 1.0F, 1.0F, 1.0F);
+
+            RenderSystem.setShaderTexture(0, texture);
+            RenderSystem.setShader(GameRenderer::getPositionColorTexShader);
+            BufferBuilder bufferBuilder = Tesselator.getInstance().getBuilder();
+            bufferBuilder.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_COLOR_TEX);
+            for (int q = 0; q < quadCount; q++) {
+                int color = colors[q];
+                int ca = color >>> 24;
+                int cr = color >> 16 & 0xFF;
+                int cg = color >> 8 & 0xFF;
+                int cb = color & 0xFF;
+                int base = q * FLOATS_PER_QUAD;
+                for (int i = 0; i < 4; i++, base += 5) {
+                    bufferBuilder.vertex(vertices[base], vertices[base + 1], vertices[base + 2])
+                        .color(cr, cg, cb, ca)
+                        .uv(vertices[base + 3], vertices[base + 4])
+                        .endVertex();
+                }
+            }
+            BufferUploader.drawWithShader(bufferBuilder.end());
+
+            RenderSystem.setShaderColor(r, g, b, a);
+        }
+    }
+
+    /**
+     * GPUを使わない出力先。フラッシュ内容を記録するだけ（検証・ベンチマーク用）
+     */
+    public static final class RecordingSink implements Sink {
+
+        /**
+         * 1回のフラッシュの記録
+         */
+        public record Draw(ResourceLocation texture, float[] vertices, int[] colors, int quadCount) {
+        }
+
+        private final List<Draw> draws = new ArrayList<>();
+        private final boolean keepData;
+
+        /**
+         * @param keepData true なら頂点データをコピーして保持（検証用）、false ならテクスチャとクアッド数のみ（ベンチマーク用）
+         */
+        public RecordingSink(boolean keepData) {
+            this.keepData = keepData;
+        }
+
+        @Override
+        public void draw(ResourceLocation texture, float[] vertices, int[] colors, int quadCount) {
+            if (keepData) {
+                float[] vertexCopy = new float[quadCount * FLOATS_PER_QUAD];
+                System.arraycopy(vertices, 0, vertexCopy, 0, vertexCopy.length);
+                int[] colorCopy = new int[quadCount];
+                System.arraycopy(colors, 0, colorCopy, 0, quadCount);
+                draws.add(new Draw(texture, vertexCopy, colorCopy, quadCount));
+            } else {
+                draws.add(new Draw(texture, null, null, quadCount));
+            }
+        }
+
+        public List<Draw> getDraws() {
+            return draws;
+        }
+
+        public void clear() {
+            draws.clear();
+        }
+    }
+}
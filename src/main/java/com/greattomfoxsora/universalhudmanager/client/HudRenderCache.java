@@ -0,0 +1,300 @@
+package com.greattomfoxsora.universalhudmanager.client;
+
+import com.mojang.blaze3d.pipeline.TextureTarget;
+import com.mojang.blaze3d.platform.GlStateManager;
+import com.mojang.blaze3d.platform.Window;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.BufferUploader;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.GameRenderer;
+import org.joml.Matrix4f;
+import org.lwjgl.opengl.GL11;
+
+import java.util.Arrays;
+
+/**
+ * HUDのオフスクリーンキャッシュ（設定 cached_hud）
+ * 状態がほとんど変わらない要素（Health / Armor / Food / Air / Experience）を画面サイズの
+ * TextureTarget に描いておき、毎フレームはそのテクスチャを1回の描画で合成する。
+ *
+ * 要素ごとに {@link HudStateHash} の値と描画範囲（GUI座標の矩形）を受け取り、
+ * 前回テクスチャに描いた時からハッシュが変わった要素だけを描き直す（ダーティ領域）。
+ * 描き直す要素は古い矩形と新しい矩形をクリアするので、その範囲に重なる他の要素も描き直す。
+ *
+ * ダーティ判定（{@link #computeDirty()}）はGPUを使わないので、描画環境なしで検証できる。
+ *
+ * @author GreatTomFox & Sora
+ */
+public final class HudRenderCache {
+
+    // キャッシュ対象の要素
+    public static final int SLOT_HEALTH = 0;
+    public static final int SLOT_ARMOR = 1;
+    public static final int SLOT_FOOD = 2;
+    public static final int SLOT_AIR = 3;
+    public static final int SLOT_EXPERIENCE = 4;
+    public static final int SLOT_COUNT = 5;
+
+    /**
+     * 1要素をキャッシュ用のテクスチャに描く処理
+     */
+    public interface SlotRenderer {
+        void render(GuiGraphics guiGraphics, int slot);
+    }
+
+    // テクスチャに描かれている内容が不明（作り直し直後）を表すハッシュ
+    private static final long UNKNOWN = -1L;
+
+    // 今フレームの状態
+    private final long[] hashes = new long[SLOT_COUNT];
+    private final int[] rects = new int[SLOT_COUNT * 4];
+    private final boolean[] live = new boolean[SLOT_COUNT];
+
+    // テクスチャに描かれている状態
+    private final long[] drawnHashes = new long[SLOT_COUNT];
+    private final int[] drawnRects = new int[SLOT_COUNT * 4];
+
+    private final boolean[] dirty = new boolean[SLOT_COUNT];
+
+    private TextureTarget target;
+    private double targetGuiScale;
+
+    // 統計（描き直した要素数 / キャッシュから出した要素数）
+    private long redraws = 0;
+    private long reuses = 0;
+
+    public HudRenderCache() {
+        invalidate();
+    }
+
+    /**
+     * 要素の今フレームの状態を設定する（矩形は GUI 座標、x2/y2 は含まない）
+     */
+    public void set(int slot, long hash, int x1, int y1, int x2, int y2) {
+        hashes[slot] = hash;
+        live[slot] = false;
+        int base = slot * 4;
+        rects[base] = x1;
+        rects[base + 1] = y1;
+        rects[base + 2] = x2;
+        rects[base + 3] = y2;
+    }
+
+    /**
+     * 今フレームは何も描かない要素
+     */
+    public void setEmpty(int slot) {
+        set(slot, HudStateHash.EMPTY, 0, 0, 0, 0);
+    }
+
+    /**
+     * 今フレームはキャッシュせず直接描く要素（アニメーション中・乗り物表示への切り替え中など）
+     */
+    public void setLive(int slot) {
+        setEmpty(slot);
+        live[slot] = true;
+    }
+
+    public boolean isLive(int slot) {
+        return live[slot];
+    }
+
+    /**
+     * テクスチャの内容を不明扱いにして、次のフレームで全要素を描き直す
+     */
+    public void invalidate() {
+        Arrays.fill(drawnHashes, UNKNOWN);
+        Arrays.fill(drawnRects, 0);
+    }
+
+    /**
+     * 描き直す要素を決める
+     * @return 描き直す要素数
+     */
+    public int computeDirty() {
+        for (int slot = 0; slot < SLOT_COUNT; slot++) {
+            dirty[slot] = hashes[slot] != drawnHashes[slot];
+        }
+        // クリアする範囲に重なる要素も描き直す（増えなくなるまで繰り返す）
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int other = 0; other < SLOT_COUNT; other++) {
+                if (dirty[other] || isEmpty(drawnRects, other)) {
+                    continue;
+                }
+                for (int slot = 0; slot < SLOT_COUNT; slot++) {
+                    if (dirty[slot] && (intersects(drawnRects, slot, drawnRects, other) || intersects(rects, slot, drawnRects, other))) {
+                        dirty[other] = true;
+                        changed = true;
+                        break;
+                    }
+                }
+            }
+        }
+        int count = 0;
+        for (int slot = 0; slot < SLOT_COUNT; slot++) {
+            if (dirty[slot]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public boolean isDirty(int slot) {
+        return dirty[slot];
+    }
+
+    /**
+     * 今フレームの状態をテクスチャに描いたものとして記録する
+     */
+    void markDrawn(int slot) {
+        drawnHashes[slot] = hashes[slot];
+        System.arraycopy(rects, slot * 4, drawnRects, slot * 4, 4);
+    }
+
+    /**
+     * ダーティな要素をテクスチャに描き直してから、テクスチャを画面に合成する
+     */
+    public void render(GuiGraphics guiGraphics, SlotRenderer renderer) {
+        Minecraft minecraft = Minecraft.getInstance();
+        Window window = minecraft.getWindow();
+        ensureTarget(window);
+
+        int dirtyCount = computeDirty();
+        if (dirtyCount > 0) {
+            redrawDirty(guiGraphics, renderer, minecraft);
+        }
+        redraws += dirtyCount;
+        reuses += SLOT_COUNT - dirtyCount;
+
+        composite(guiGraphics, window);
+    }
+
+    /**
+     * テクスチャを解放する（cached_hud を無効にした時）
+     */
+    public void release() {
+        if (target != null) {
+            target.destroyBuffers();
+            target = null;
+            invalidate();
+        }
+    }
+
+    public long getRedraws() {
+        return redraws;
+    }
+
+    public long getReuses() {
+        return reuses;
+    }
+
+    private void ensureTarget(Window window) {
+        int width = window.getWidth();
+        int height = window.getHeight();
+        if (target == null) {
+            target = new TextureTarget(width, height, false, Minecraft.ON_OSX);
+            target.setClearColor(0.0F, 0.0F, 0.0F, 0.0F);
+            target.clear(Minecraft.ON_OSX);
+            targetGuiScale = window.getGuiScale();
+            invalidate();
+        } else if (target.width != width || target.height != height || targetGuiScale != window.getGuiScale()) {
+            // resize はバッファを作り直してクリアする
+            target.resize(width, height, Minecraft.ON_OSX);
+            targetGuiScale = window.getGuiScale();
+            invalidate();
+        }
+        // clear / resize でメインのフレームバッファのバインドが外れるので戻す
+        Minecraft.getInstance().getMainRenderTarget().bindWrite(true);
+    }
+
+    private void redrawDirty(GuiGraphics guiGraphics, SlotRenderer renderer, Minecraft minecraft) {
+        // これまでに積まれた GuiGraphics の描画を先にメイン側へ出す
+        guiGraphics.flush();
+        target.bindWrite(true);
+
+        // 古い範囲と新しい範囲を透明にクリア
+        RenderSystem.clearColor(0.0F, 0.0F, 0.0F, 0.0F);
+        for (int slot = 0; slot < SLOT_COUNT; slot++) {
+            if (dirty[slot]) {
+                clearRect(guiGraphics, drawnRects, slot);
+                clearRect(guiGraphics, rects, slot);
+            }
+        }
+
+        // 透明な背景に重ねてもアルファが正しく積もるように、アルファだけは ONE / ONE_MINUS_SRC_ALPHA で合成
+        RenderSystem.enableBlend();
+        RenderSystem.blendFuncSeparate(GlStateManager.SourceFactor.SRC_ALPHA, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA,
+                                       GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA);
+        for (int slot = 0; slot < SLOT_COUNT; slot++) {
+            if (dirty[slot]) {
+                if (hashes[slot] != HudStateHash.EMPTY) {
+                    renderer.render(guiGraphics, slot);
+                }
+                markDrawn(slot);
+            }
+        }
+        guiGraphics.flush();
+        RenderSystem.defaultBlendFunc();
+
+        minecraft.getMainRenderTarget().bindWrite(true);
+    }
+
+    private static void clearRect(GuiGraphics guiGraphics, int[] source, int slot) {
+        if (isEmpty(source, slot)) {
+            return;
+        }
+        int base = slot * 4;
+        guiGraphics.enableScissor(source[base], source[base + 1], source[base + 2], source[base + 3]);
+        RenderSystem.clear(GL11.GL_COLOR_BUFFER_BIT, Minecraft.ON_OSX);
+        guiGraphics.disableScissor();
+    }
+
+    /**
+     * キャッシュテクスチャを画面全体に1枚のクアッドで合成（中身はアルファ乗算済み）
+     */
+    private void composite(GuiGraphics guiGraphics, Window window) {
+        float width = (float) (window.getWidth() / window.getGuiScale());
+        float height = (float) (window.getHeight() / window.getGuiScale());
+        Matrix4f pose = guiGraphics.pose().last().pose();
+
+        RenderSystem.setShaderTexture(0, target.getColorTextureId());
+        RenderSystem.setShader(GameRenderer::getPositionTexShader);
+        RenderSystem.enableBlend();
+        RenderSystem.blendFunc(GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA);
+        // 後から描くホットバー（Z=-90）が深度テストで隠れないように深度は書かない
+        RenderSystem.depthMask(false);
+
+        // フレームバッファは下が原点なので V を反転
+        BufferBuilder bufferBuilder = Tesselator.getInstance().getBuilder();
+        bufferBuilder.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX);
+        bufferBuilder.vertex(pose, 0.0F, 0.0F, 0.0F).uv(0.0F, 1.0F).endVertex();
+        bufferBuilder.vertex(pose, 0.0F, height, 0.0F).uv(0.0F, 0.0F).endVertex();
+        bufferBuilder.vertex(pose, width, height, 0.0F).uv(1.0F, 0.0F).endVertex();
+        bufferBuilder.vertex(pose, width, 0.0F, 0.0F).uv(1.0F, 1.0F).endVertex();
+        BufferUploader.drawWithShader(bufferBuilder.end());
+
+        RenderSystem.depthMask(true);
+        RenderSystem.defaultBlendFunc();
+    }
+
+    private static boolean isEmpty(int[] source, int slot) {
+        int base = slot * 4;
+        return source[base + 2] <= source[base] || source[base + 3] <= source[base + 1];
+    }
+
+    private static boolean intersects(int[] a, int slotA, int[] b, int slotB) {
+        if (isEmpty(a, slotA) || isEmpty(b, slotB)) {
+            return false;
+        }
+        int ia = slotA * 4;
+        int ib = slotB * 4;
+        return a[ia] < b[ib + 2] && b[ib] < a[ia + 2] && a[ia + 1] < b[ib + 3] && b[ib + 1] < a[ia + 3];
+    }
+}
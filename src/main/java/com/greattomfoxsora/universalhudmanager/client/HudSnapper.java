@@ -0,0 +1,153 @@
+package com.greattomfoxsora.universalhudmanager.client;
+
+import java.util.Arrays;
+
+/**
+ * HUD編集画面のドラッグ吸着（他の要素の端・中心、画面中央、グリッド）
+ * ドラッグ開始時に他の要素の縦線（左端・中心・右端）と横線（上端・中心・下端）をソート済み配列にしておき、
+ * マウス移動ごとにはドラッグ中の要素の3本の線それぞれを二分探索するだけにする（要素数 n に対して O(log n)）。
+ *
+ * - 吸着した線は guideX / guideY に残し、編集画面がガイド線として描く
+ * - グリッドは端・中心の吸着がない軸だけに効く
+ * - Minecraft のクラスには依存しない
+ *
+ * @author GreatTomFox & Sora
+ */
+public final class HudSnapper {
+
+    /**
+     * 吸着していない軸の guideX / guideY
+     */
+    public static final int NONE = Integer.MIN_VALUE;
+
+    private int[] xs = new int[48];
+    private int[] ys = new int[48];
+    private int xCount = 0;
+    private int yCount = 0;
+
+    private int guideX = NONE;
+    private int guideY = NONE;
+
+    /**
+     * 候補を空にする（ドラッグ開始時）
+     */
+    public void clear() {
+        xCount = 0;
+        yCount = 0;
+        guideX = NONE;
+        guideY = NONE;
+    }
+
+    /**
+     * 他の要素の矩形を候補に加える（左端・中心・右端、上端・中心・下端）
+     */
+    public void addBox(int x1, int y1, int x2, int y2) {
+        addLineX(x1);
+        addLineX((x1 + x2) / 2);
+        addLineX(x2);
+        addLineY(y1);
+        addLineY((y1 + y2) / 2);
+        addLineY(y2);
+    }
+
+    public void addLineX(int x) {
+        if (xCount == xs.length) {
+            xs = Arrays.copyOf(xs, xCount * 2);
+        }
+        xs[xCount++] = x;
+    }
+
+    public void addLineY(int y) {
+        if (yCount == ys.length) {
+            ys = Arrays.copyOf(ys, yCount * 2);
+        }
+        ys[yCount++] = y;
+    }
+
+    /**
+     * 候補を並べ替える（候補を加え終わったら1回だけ呼ぶ）
+     */
+    public void build() {
+        Arrays.sort(xs, 0, xCount);
+        Arrays.sort(ys, 0, yCount);
+    }
+
+    /**
+     * 横方向の補正量（x1..x2 はドラッグ中の要素の左端・右端）
+     * @param distance 吸着する距離（GUI ピクセル）
+     * @param grid グリッドの間隔（0 ならグリッドなし）
+     */
+    public int snapX(int x1, int x2, int distance, int grid) {
+        long result = snap(xs, xCount, x1, x2, distance, grid);
+        guideX = (int) (result >> 32);
+        return (int) result;
+    }
+
+    /**
+     * 縦方向の補正量（y1..y2 はドラッグ中の要素の上端・下端）
+     */
+    public int snapY(int y1, int y2, int distance, int grid) {
+        long result = snap(ys, yCount, y1, y2, distance, grid);
+        guideY = (int) (result >> 32);
+        return (int) result;
+    }
+
+    public int guideX() {
+        return guideX;
+    }
+
+    public int guideY() {
+        return guideY;
+    }
+
+    // 上位32ビット = ガイド線（NONE あり）、下位32ビット = 補正量
+    private static long snap(int[] lines, int count, int low, int high, int distance, int grid) {
+        int bestDelta = 0;
+        int bestLine = NONE;
+        int bestDistance = distance + 1;
+
+        // 左端（上端）・中心・右端（下端）のうち、一番近い候補に吸着した線を採る
+        int center = (low + high) / 2;
+        for (int i = 0; i < 3; i++) {
+            int edge = i == 0 ? low : i == 1 ? center : high;
+            int line = nearest(lines, count, edge);
+            if (line == NONE) {
+                continue;
+            }
+            int d = Math.abs(line - edge);
+            if (d < bestDistance) {
+                bestDistance = d;
+                bestDelta = line - edge;
+                bestLine = line;
+            }
+        }
+
+        if (bestLine == NONE && grid > 0) {
+            int line = Math.round(low / (float) grid) * grid;
+            if (Math.abs(line - low) <= distance) {
+                bestDelta = line - low;
+            }
+        }
+        return ((long) bestLine << 32) | (bestDelta & 0xFFFFFFFFL);
+    }
+
+    private static int nearest(int[] lines, int count, int value) {
+        if (count == 0) {
+            return NONE;
+        }
+        int index = Arrays.binarySearch(lines, 0, count, value);
+        if (index >= 0) {
+            return value;
+        }
+        int insertion = -index - 1;
+        if (insertion == 0) {
+            return lines[0];
+        }
+        if (insertion == count) {
+            return lines[count - 1];
+        }
+        int below = lines[insertion - 1];
+        int above = lines[insertion];
+        return value - below <= above - value ? below : above;
+    }
+}
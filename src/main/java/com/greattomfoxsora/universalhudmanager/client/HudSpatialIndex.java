@@ -0,0 +1,182 @@
+package com.greattomfoxsora.universalhudmanager.client;
+
+import java.util.Arrays;
+
+/**
+ * HUD編集画面の要素矩形の一様グリッド索引
+ * レイアウト（スナップショット・画面サイズ・表示する要素）が変わった時だけ作り直し、
+ * マウスイベントごとの当たり判定・ホバー・近くの要素の列挙（スナップ用）はセル内の要素だけを調べる。
+ *
+ * - 矩形は GUI 座標で、右端・下端も含む（編集画面の当たり判定と同じ）
+ * - 追加した順がZ順（後に追加したものが上）。ハンドル = 追加した順番
+ * - Minecraft のクラスには依存しない
+ *
+ * @author GreatTomFox & Sora
+ */
+public final class HudSpatialIndex {
+
+    /**
+     * セルの一辺（GUI ピクセル）
+     */
+    public static final int CELL_SIZE = 32;
+
+    private int count = 0;
+    private int[] left = new int[16];
+    private int[] top = new int[16];
+    private int[] right = new int[16];
+    private int[] bottom = new int[16];
+
+    private int columns = 0;
+    private int rows = 0;
+    private int[][] cells = new int[0][];
+    private int[] cellCounts = new int[0];
+
+    // 矩形クエリの重複除去（ハンドルごとに最後に返したクエリ番号）
+    private int[] stamps = new int[16];
+    private int stamp = 0;
+
+    /**
+     * 空にして画面サイズを設定する
+     */
+    public void reset(int screenWidth, int screenHeight) {
+        count = 0;
+        columns = Math.max(1, (screenWidth + CELL_SIZE - 1) / CELL_SIZE + 1);
+        rows = Math.max(1, (screenHeight + CELL_SIZE - 1) / CELL_SIZE + 1);
+        int cellCount = columns * rows;
+        if (cells.length < cellCount) {
+            cells = new int[cellCount][];
+            cellCounts = new int[cellCount];
+        } else {
+            Arrays.fill(cellCounts, 0);
+        }
+    }
+
+    /**
+     * 矩形を追加する（右端・下端を含む）
+     * @return ハンドル（0 から順に振られる）
+     */
+    public int add(int x1, int y1, int x2, int y2) {
+        int handle = count++;
+        if (handle == left.length) {
+            int capacity = left.length * 2;
+            left = Arrays.copyOf(left, capacity);
+            top = Arrays.copyOf(top, capacity);
+            right = Arrays.copyOf(right, capacity);
+            bottom = Arrays.copyOf(bottom, capacity);
+            stamps = Arrays.copyOf(stamps, capacity);
+        }
+        left[handle] = x1;
+        top[handle] = y1;
+        right[handle] = x2;
+        bottom[handle] = y2;
+        stamps[handle] = 0;
+
+        int c1 = column(x1);
+        int c2 = column(x2);
+        int r1 = row(y1);
+        int r2 = row(y2);
+        for (int r = r1; r <= r2; r++) {
+            for (int c = c1; c <= c2; c++) {
+                int cell = r * columns + c;
+                int[] items = cells[cell];
+                int n = cellCounts[cell];
+                if (items == null) {
+                    items = cells[cell] = new int[4];
+                } else if (n == items.length) {
+                    items = cells[cell] = Arrays.copyOf(items, n * 2);
+                }
+                items[n] = handle;
+                cellCounts[cell] = n + 1;
+            }
+        }
+        return handle;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int left(int handle) {
+        return left[handle];
+    }
+
+    public int top(int handle) {
+        return top[handle];
+    }
+
+    public int right(int handle) {
+        return right[handle];
+    }
+
+    public int bottom(int handle) {
+        return bottom[handle];
+    }
+
+    /**
+     * 点を含む一番上の矩形
+     * @return ハンドル（なければ -1）
+     */
+    public int hitTest(double x, double y) {
+        if (count == 0) {
+            return -1;
+        }
+        int cell = row((int) Math.floor(y)) * columns + column((int) Math.floor(x));
+        int[] items = cells[cell];
+        // セル内は追加順（Z順）に並んでいるので後ろから見る
+        for (int i = cellCounts[cell] - 1; i >= 0; i--) {
+            int handle = items[i];
+            if (x >= left[handle] && x <= right[handle] && y >= top[handle] && y <= bottom[handle]) {
+                return handle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 矩形と重なる（または margin 以内に近い）矩形を列挙する（スナップ・整列ガイド用）
+     * @param out ハンドルの書き込み先（size() 以上の長さ）
+     * @return 書き込んだ数（順不同・重複なし）
+     */
+    public int query(int x1, int y1, int x2, int y2, int margin, int[] out) {
+        int qx1 = x1 - margin;
+        int qy1 = y1 - margin;
+        int qx2 = x2 + margin;
+        int qy2 = y2 + margin;
+        if (++stamp == 0) {
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+
+        int found = 0;
+        int c1 = column(qx1);
+        int c2 = column(qx2);
+        int r1 = row(qy1);
+        int r2 = row(qy2);
+        for (int r = r1; r <= r2; r++) {
+            for (int c = c1; c <= c2; c++) {
+                int cell = r * columns + c;
+                int[] items = cells[cell];
+                for (int i = 0, n = cellCounts[cell]; i < n; i++) {
+                    int handle = items[i];
+                    if (stamps[handle] == stamp) {
+                        continue;
+                    }
+                    stamps[handle] = stamp;
+                    if (left[handle] <= qx2 && right[handle] >= qx1 && top[handle] <= qy2 && bottom[handle] >= qy1) {
+                        out[found++] = handle;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    // 画面外の座標は端のセルに寄せる（判定は矩形で正確に行う）
+    private int column(int x) {
+        return Math.max(0, Math.min(columns - 1, Math.floorDiv(x, CELL_SIZE)));
+    }
+
+    private int row(int y) {
+        return Math.max(0, Math.min(rows - 1, Math.floorDiv(y, CELL_SIZE)));
+    }
+}
@@ -0,0 +1,118 @@
+package com.greattomfoxsora.universalhudmanager.client;
+
+/**
+ * HUD要素の描画入力の状態ハッシュ
+ * 「この値が同じなら描画結果もピクセル単位で同じ」になる入力だけを64bitに畳み込む。
+ * HudRenderCache はこの値が前フレームから変わった要素だけをオフスクリーンに描き直す。
+ *
+ * Minecraft のクラスには依存せず、同じ入力なら JVM や実行回数によらず常に同じ値を返す
+ * （identityHashCode・ランダムシードは使わない）。
+ *
+ * @author GreatTomFox & Sora
+ */
+public final class HudStateHash {
+
+    /**
+     * 何も描画しない状態（非表示・アーマー0など）。各要素のハッシュはこの値を返さない
+     */
+    public static final long EMPTY = 0L;
+
+    // 要素ごとに系列を分けるための種
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    private HudStateHash() {
+    }
+
+    /**
+     * Health Bar
+     * @param heartFlags HeartLayoutCache の FLAG_*（点滅フェーズを含む）
+     * @param regenerationHeartIndex 持ち上げるハート番号（なしなら -1）
+     * @param jitterTick 極低体力シェイクのシードにする tickCount（シェイクなしなら -1）
+     */
+    public static long health(int x, int y, int health, int maxHealth, int absorption, int displayHealth,
+                              int heartFlags, int regenerationHeartIndex, int jitterTick) {
+        long h = start(HudRenderCache.SLOT_HEALTH);
+        h = add(h, x);
+        h = add(h, y);
+        h = add(h, health);
+        h = add(h, maxHealth);
+        h = add(h, absorption);
+        h = add(h, displayHealth);
+        h = add(h, heartFlags);
+        h = add(h, regenerationHeartIndex);
+        h = add(h, jitterTick);
+        return finish(h);
+    }
+
+    public static long armor(int x, int y, int armor, boolean emptyDisplay) {
+        long h = start(HudRenderCache.SLOT_ARMOR);
+        h = add(h, x);
+        h = add(h, y);
+        h = add(h, armor);
+        h = add(h, emptyDisplay);
+        return finish(h);
+    }
+
+    /**
+     * Food Bar
+     * @param shakeTick ピクピクアニメーション中の tickCount（揺れていなければ -1）
+     */
+    public static long food(int x, int y, int foodLevel, boolean hunger, boolean leftToRight, int shakeTick) {
+        long h = start(HudRenderCache.SLOT_FOOD);
+        h = add(h, x);
+        h = add(h, y);
+        h = add(h, foodLevel);
+        h = add(h, hunger);
+        h = add(h, leftToRight);
+        h = add(h, shakeTick);
+        return finish(h);
+    }
+
+    public static long air(int x, int y, int fullBubbles, int popBubbles) {
+        long h = start(HudRenderCache.SLOT_AIR);
+        h = add(h, x);
+        h = add(h, y);
+        h = add(h, fullBubbles);
+        h = add(h, popBubbles);
+        return finish(h);
+    }
+
+    /**
+     * Experience Bar
+     * @param fillWidth 緑のバーの幅（バーを描かない場合は -1）
+     */
+    public static long experience(int x, int y, int level, int fillWidth) {
+        long h = start(HudRenderCache.SLOT_EXPERIENCE);
+        h = add(h, x);
+        h = add(h, y);
+        h = add(h, level);
+        h = add(h, fillWidth);
+        return finish(h);
+    }
+
+    public static long start(int slot) {
+        return mix(SEED + slot);
+    }
+
+    public static long add(long h, int value) {
+        return mix(h ^ (value & 0xFFFFFFFFL) * SEED);
+    }
+
+    public static long add(long h, boolean value) {
+        return add(h, value ? 1 : 0);
+    }
+
+    /**
+     * EMPTY と衝突しないように補正する
+     */
+    public static long finish(long h) {
+        return h == EMPTY ? 1L : h;
+    }
+
+    // SplitMix64 の最終ミキサー
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,322 @@
+package com.greattomfoxsora.universalhudmanager.client;
+
+import com.mojang.blaze3d.pipeline.TextureTarget;
+import com.mojang.blaze3d.platform.GlStateManager;
+import com.mojang.blaze3d.platform.Window;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.BufferUploader;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import com.mojang.blaze3d.vertex.VertexSorting;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.GameRenderer;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.block.model.ItemOverrides;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.core.Direction;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.client.ForgeHooksClient;
+import org.joml.Matrix4f;
+import org.lwjgl.opengl.GL11;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ホットバーのアイテムアイコンのキャッシュ（設定 cached_item_icons）
+ * アイテムのモデル描画（特にブロックアイテム・3Dモデル）を1アイコン1回だけアトラス用の TextureTarget の
+ * セルに描いておき、同じアイテムの間は毎フレームそのセルを1枚のクアッドで描く。
+ *
+ * - キーは (アイテム, ダメージ値, NBT のハッシュ)。スロットごとに ItemStack と NBT のインスタンスを覚えておき、
+ *   変わらない間は NBT のハッシュを計算し直さない
+ * - セル数は {@link #CAPACITY} で、埋まったら最も長く使っていないセルを使い回す（LRU）
+ * - エンチャントの輝き・時刻や向きで変わるモデル（時計・コンパスなど）・アニメーションするテクスチャ・
+ *   BlockEntityWithoutLevelRenderer で描くアイテムはキャッシュせず毎フレーム描く（{@link #draw} が false を返す）
+ * - 個数・耐久値バー・クールダウンは毎フレーム描くので、ポップアニメーション中と同じく呼び出し側で描く
+ * - アトラスは実ピクセルで確保するので、GUIスケールが変わったら作り直す
+ *
+ * @author GreatTomFox & Sora
+ */
+public final class ItemIconCache {
+
+    /**
+     * キャッシュするスロット（ホットバー 0-8 とオフハンド）
+     */
+    public static final int OFFHAND_SLOT = 9;
+    public static final int SLOT_COUNT = 10;
+
+    // アトラスのセル配置
+    public static final int COLUMNS = 8;
+    public static final int ROWS = 8;
+    public static final int CAPACITY = COLUMNS * ROWS;
+
+    private static final int ICON_SIZE = 16;
+
+    // バニラの GuiGraphics.renderItem と同じ Z
+    private static final float ITEM_Z = 150.0F;
+
+    private static ItemIconCache hotbar;
+
+    /**
+     * アイコン1つ分のキー
+     */
+    private record IconKey(Item item, int damage, int tagHash) {
+    }
+
+    // LRU（アクセス順。値はセル番号）
+    private final LinkedHashMap<IconKey, Integer> cells = new LinkedHashMap<>(CAPACITY, 0.75F, true);
+
+    // スロットごとのメモ（キーが null ならキャッシュできないアイテム）
+    private final ItemStack[] slotStacks = new ItemStack[SLOT_COUNT];
+    private final Item[] slotItems = new Item[SLOT_COUNT];
+    private final CompoundTag[] slotTags = new CompoundTag[SLOT_COUNT];
+    private final int[] slotDamages = new int[SLOT_COUNT];
+    private final IconKey[] slotKeys = new IconKey[SLOT_COUNT];
+
+    private final RandomSource random = RandomSource.create();
+
+    private TextureTarget atlas;
+    private int cellPixels;
+
+    // 統計
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long liveDraws = 0;
+
+    /**
+     * ホットバー描画用の共有インスタンス（描画スレッド専用）
+     */
+    public static ItemIconCache hotbar() {
+        if (hotbar == null) {
+            hotbar = new ItemIconCache();
+        }
+        return hotbar;
+    }
+
+    /**
+     * アイコンをキャッシュから描く（なければアトラスに描いてから）
+     * @param slot スロット番号（0-8 ホットバー、{@link #OFFHAND_SLOT} オフハンド）
+     * @return 描いた場合 true。false なら呼び出し側で renderItem すること
+     */
+    public boolean draw(GuiGraphics guiGraphics, Player player, ItemStack itemStack, int slot, int x, int y, int seed) {
+        IconKey key = keyFor(player, itemStack, slot, seed);
+        if (key == null) {
+            liveDraws++;
+            return false;
+        }
+
+        Minecraft minecraft = Minecraft.getInstance();
+        ensureAtlas(minecraft.getWindow());
+
+        Integer cell = cells.get(key);
+        if (cell != null) {
+            hits++;
+        } else {
+            misses++;
+            cell = allocateCell();
+            cells.put(key, cell);
+            renderIntoCell(guiGraphics, minecraft, player, itemStack, cell, seed);
+        }
+        blitCell(guiGraphics, cell, x, y);
+        return true;
+    }
+
+    /**
+     * 全セルを空扱いにする（リソースの再読み込み時）
+     */
+    public void invalidate() {
+        cells.clear();
+        for (int slot = 0; slot < SLOT_COUNT; slot++) {
+            slotStacks[slot] = null;
+            slotKeys[slot] = null;
+        }
+    }
+
+    /**
+     * アトラスを解放する（cached_item_icons を無効にした時）
+     */
+    public void release() {
+        if (atlas != null) {
+            atlas.destroyBuffers();
+            atlas = null;
+            invalidate();
+        }
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getLiveDraws() {
+        return liveDraws;
+    }
+
+    public int size() {
+        return cells.size();
+    }
+
+    public void resetStats() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+        liveDraws = 0;
+    }
+
+    // 同じ ItemStack・NBT インスタンス・ダメージ値の間はメモを返す
+    private IconKey keyFor(Player player, ItemStack itemStack, int slot, int seed) {
+        Item item = itemStack.getItem();
+        CompoundTag tag = itemStack.getTag();
+        int damage = itemStack.getDamageValue();
+        if (itemStack == slotStacks[slot] && item == slotItems[slot] && tag == slotTags[slot] && damage == slotDamages[slot]) {
+            return slotKeys[slot];
+        }
+        slotStacks[slot] = itemStack;
+        slotItems[slot] = item;
+        slotTags[slot] = tag;
+        slotDamages[slot] = damage;
+        slotKeys[slot] = isStaticIcon(player, itemStack, seed)
+            ? new IconKey(item, damage, tag == null ? 0 : tag.hashCode())
+            : null;
+        return slotKeys[slot];
+    }
+
+    /**
+     * 描く内容が ItemStack だけで決まるか（輝き・モデルの切り替え・アニメーションテクスチャ・独自描画がない）
+     */
+    private boolean isStaticIcon(Player player, ItemStack itemStack, int seed) {
+        if (itemStack.hasFoil()) {
+            return false;
+        }
+        BakedModel model = Minecraft.getInstance().getItemRenderer().getModel(itemStack, player.level(), player, seed);
+        if (model.isCustomRenderer() || model.getOverrides() != ItemOverrides.EMPTY) {
+            return false;
+        }
+        if (model.getParticleIcon().contents().createTicker() != null) {
+            return false;
+        }
+        for (Direction direction : Direction.values()) {
+            if (hasAnimatedSprite(model, direction)) {
+                return false;
+            }
+        }
+        return !hasAnimatedSprite(model, null);
+    }
+
+    private boolean hasAnimatedSprite(BakedModel model, Direction direction) {
+        random.setSeed(42L);
+        for (BakedQuad quad : model.getQuads(null, direction, random)) {
+            if (quad.getSprite().contents().createTicker() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 空いているセル、なければ最も長く使っていないセル
+    private int allocateCell() {
+        if (cells.size() < CAPACITY) {
+            return cells.size();
+        }
+        Iterator<Map.Entry<IconKey, Integer>> eldest = cells.entrySet().iterator();
+        int cell = eldest.next().getValue();
+        eldest.remove();
+        evictions++;
+        return cell;
+    }
+
+    private void ensureAtlas(Window window) {
+        int pixels = ICON_SIZE * (int) Math.ceil(window.getGuiScale());
+        if (atlas == null) {
+            atlas = new TextureTarget(COLUMNS * pixels, ROWS * pixels, true, Minecraft.ON_OSX);
+            atlas.setClearColor(0.0F, 0.0F, 0.0F, 0.0F);
+            atlas.clear(Minecraft.ON_OSX);
+            cellPixels = pixels;
+            invalidate();
+        } else if (pixels != cellPixels) {
+            atlas.resize(COLUMNS * pixels, ROWS * pixels, Minecraft.ON_OSX);
+            cellPixels = pixels;
+            invalidate();
+        } else {
+            return;
+        }
+        // clear / resize でメインのフレームバッファのバインドが外れるので戻す（作り直した時だけ）
+        Minecraft.getInstance().getMainRenderTarget().bindWrite(true);
+    }
+
+    /**
+     * アイテムをアトラスのセルに描く
+     * アトラス全体を GUI 座標（1 GUI ピクセル = cellPixels / 16 ピクセル）にする投影に差し替えて、
+     * セルの範囲だけクリアしてから通常の renderItem で描く。
+     */
+    private void renderIntoCell(GuiGraphics guiGraphics, Minecraft minecraft, Player player, ItemStack itemStack, int cell, int seed) {
+        // これまでに積まれた GuiGraphics の描画を先にメイン側へ出す
+        guiGraphics.flush();
+        atlas.bindWrite(true);
+
+        int column = cell % COLUMNS;
+        int row = cell / COLUMNS;
+        // フレームバッファは下が原点
+        RenderSystem.enableScissor(column * cellPixels, (ROWS - 1 - row) * cellPixels, cellPixels, cellPixels);
+        RenderSystem.clearColor(0.0F, 0.0F, 0.0F, 0.0F);
+        RenderSystem.clear(GL11.GL_COLOR_BUFFER_BIT | GL11.GL_DEPTH_BUFFER_BIT, Minecraft.ON_OSX);
+
+        RenderSystem.backupProjectionMatrix();
+        RenderSystem.setProjectionMatrix(new Matrix4f().setOrtho(0.0F, COLUMNS * ICON_SIZE, ROWS * ICON_SIZE, 0.0F,
+            1000.0F, ForgeHooksClient.getGuiFarPlane()), VertexSorting.ORTHOGRAPHIC_Z);
+
+        // 呼び出し側のポーズ（ポップアニメーションなど）を持ち込まないように新しい GuiGraphics で描く
+        GuiGraphics cellGraphics = new GuiGraphics(minecraft, minecraft.renderBuffers().bufferSource());
+        cellGraphics.renderItem(player, itemStack, column * ICON_SIZE, row * ICON_SIZE, seed);
+        cellGraphics.flush();
+
+        RenderSystem.restoreProjectionMatrix();
+        RenderSystem.disableScissor();
+        minecraft.getMainRenderTarget().bindWrite(true);
+    }
+
+    /**
+     * セルを1枚のクアッドで描く（中身はアルファ乗算済み）
+     */
+    private void blitCell(GuiGraphics guiGraphics, int cell, int x, int y) {
+        float u0 = (float) (cell % COLUMNS) / COLUMNS;
+        float u1 = u0 + 1.0F / COLUMNS;
+        // フレームバッファは下が原点なので V を反転
+        float vTop = 1.0F - (float) (cell / COLUMNS) / ROWS;
+        float vBottom = vTop - 1.0F / ROWS;
+        Matrix4f pose = guiGraphics.pose().last().pose();
+
+        RenderSystem.setShaderTexture(0, atlas.getColorTextureId());
+        RenderSystem.setShader(GameRenderer::getPositionTexShader);
+        RenderSystem.enableBlend();
+        RenderSystem.blendFunc(GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA);
+        RenderSystem.depthMask(false);
+
+        BufferBuilder bufferBuilder = Tesselator.getInstance().getBuilder();
+        bufferBuilder.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX);
+        bufferBuilder.vertex(pose, x, y, ITEM_Z).uv(u0, vTop).endVertex();
+        bufferBuilder.vertex(pose, x, y + ICON_SIZE, ITEM_Z).uv(u0, vBottom).endVertex();
+        bufferBuilder.vertex(pose, x + ICON_SIZE, y + ICON_SIZE, ITEM_Z).uv(u1, vBottom).endVertex();
+        bufferBuilder.vertex(pose, x + ICON_SIZE, y, ITEM_Z).uv(u1, vTop).endVertex();
+        BufferUploader.drawWithShader(bufferBuilder.end());
+
+        RenderSystem.depthMask(true);
+        RenderSystem.defaultBlendFunc();
+    }
+}
@@ -1,8 +1,10 @@
 package com.greattomfoxsora.universalhudmanager.client;
 
-import com.greattomfoxsora.universalhudmanager.config.HUDConfig;
+import com.greattomfoxsora.universalhudmanager.UhmDebugLog;
+import com.greattomfoxsora.universalhudmanager.config.LayoutProfiles;
 import net.minecraft.client.KeyMapping;
 import net.minecraft.client.Minecraft;
+import net.minecraft.network.chat.Component;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.client.event.InputEvent;
 import net.minecraftforge.client.event.RegisterKeyMappingsEvent;
@@ -13,6 +15,7 @@ import org.lwjgl.glfw.GLFW;
 /**
  * シンプルなキーバインドシステム
  * H キーでHUD編集画面を開く
+ * レイアウト切り替えキー（初期状態は未割り当て）で次のレイアウトプロファイルに切り替える
  * 
  * @author GreatTomFox & Sora
  */
@@ -22,6 +25,9 @@ public class KeyBindings {
     public static final String CATEGORY = "key.categories.universalhudmanager";
     
     public static KeyMapping HUD_EDIT_KEY;
+    public static KeyMapping LAYOUT_CYCLE_KEY;
+    
+    private static final UhmDebugLog.Site LOG_EDIT_KEY = UhmDebugLog.site(UhmDebugLog.Category.INPUT, "edit_key", 0);
     
     /**
      * Register key mappings
@@ -33,6 +39,13 @@ public class KeyBindings {
             CATEGORY
         );
         event.register(HUD_EDIT_KEY);
+        
+        LAYOUT_CYCLE_KEY = new KeyMapping(
+            "key.universalhudmanager.layout_cycle",
+            GLFW.GLFW_KEY_UNKNOWN,
+            CATEGORY
+        );
+        event.register(LAYOUT_CYCLE_KEY);
     }
     
     /**
@@ -49,12 +62,20 @@ public class KeyBindings {
         
         // H key pressed - toggle HUD edit mode
         if (HUD_EDIT_KEY.consumeClick()) {
-            if (HUDConfig.DEBUG_MODE.get()) {
-                System.out.println("🔑 H key pressed - opening HUD edit screen");
+            if (LOG_EDIT_KEY.shouldLog()) {
+                UhmDebugLog.log(LOG_EDIT_KEY, "🔑 H key pressed - opening HUD edit screen");
             }
             
             // Open HUD edit screen
             mc.setScreen(new HudEditScreen());
         }
+        
+        // 読み込み済みのプロファイルに切り替えるだけなので、押したフレームのうちに反映される
+        if (LAYOUT_CYCLE_KEY.consumeClick()) {
+            LayoutProfiles.Profile profile = LayoutProfiles.cycle();
+            mc.gui.setOverlayMessage(profile != null
+                ? Component.translatable("message.universalhudmanager.layout.switched", profile.name)
+                : Component.translatable("message.universalhudmanager.layout.none"), false);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.greattomfoxsora.universalhudmanager.client;
+
+import com.greattomfoxsora.universalhudmanager.UhmDebugLog;
+import com.greattomfoxsora.universalhudmanager.config.HudLayoutSnapshot;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.client.gui.overlay.VanillaGuiOverlay;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * バニラオーバーレイ無効化の判定テーブル
+ * オーバーレイIDごとに「どのHUD要素に対応するか」のビットマスクを初回だけ文字列判定で求め、
+ * 以降は ResourceLocation の同一性をキーにしたマップ1回の参照で済ませる。
+ *
+ * マスク自体は設定に依存しないため、設定リロード時の無効化は不要。
+ * 最終的な判定は毎回スナップショットの有効ビットとの AND で行う。
+ *
+ * @author GreatTomFox & Sora
+ */
+public final class OverlayCancelTable {
+
+    // 想定外に多くのIDインスタンスが来た場合の上限（超えたら作り直す）
+    private static final int MAX_ENTRIES = 256;
+
+    private static final Map<ResourceLocation, Integer> MASKS = new IdentityHashMap<>();
+
+    // 新しいオーバーレイIDを見つけた時のログ（IDごとに1回だけ）
+    private static final UhmDebugLog.Site LOG_NEW_ID = UhmDebugLog.site(UhmDebugLog.Category.OVERLAY, "new_id", 0);
+
+    // キャッシュから返した判定数 / 新規に計算した判定数
+    private static long cacheHits = 0;
+    private static long cacheMisses = 0;
+
+    private OverlayCancelTable() {
+    }
+
+    /**
+     * 指定オーバーレイがどのHUD要素に該当するかのビットマスク（要素IDのビット位置）
+     */
+    public static int elementMask(ResourceLocation overlayId) {
+        Integer mask = MASKS.get(overlayId);
+        if (mask != null) {
+            cacheHits++;
+            return mask;
+        }
+        cacheMisses++;
+        if (MASKS.size() >= MAX_ENTRIES) {
+            MASKS.clear();
+        }
+        int computed = computeMask(overlayId);
+        MASKS.put(overlayId, computed);
+        if (LOG_NEW_ID.shouldLog()) {
+            UhmDebugLog.log(LOG_NEW_ID, "🔍 Overlay ID: {} (element mask: {})", overlayId, Integer.toBinaryString(computed));
+        }
+        return computed;
+    }
+
+    /**
+     * 現在の設定でこのオーバーレイを無効化すべきか
+     */
+    public static boolean shouldCancel(ResourceLocation overlayId, HudLayoutSnapshot layout) {
+        return (elementMask(overlayId) & layout.enabledMask()) != 0;
+    }
+
+    public static long getCacheHits() {
+        return cacheHits;
+    }
+
+    public static long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    /**
+     * 旧実装（毎フレームの文字列判定）と同じ条件でマスクを計算する
+     */
+    private static int computeMask(ResourceLocation overlayId) {
+        int mask = 0;
+        if (overlayId.equals(VanillaGuiOverlay.PLAYER_HEALTH.id())) mask |= bit(HudLayoutSnapshot.HEALTH);
+        if (overlayId.equals(VanillaGuiOverlay.ARMOR_LEVEL.id())) mask |= bit(HudLayoutSnapshot.ARMOR);
+        if (overlayId.equals(VanillaGuiOverlay.FOOD_LEVEL.id())) mask |= bit(HudLayoutSnapshot.FOOD);
+        if (overlayId.equals(VanillaGuiOverlay.AIR_LEVEL.id())) mask |= bit(HudLayoutSnapshot.AIR);
+        if (overlayId.equals(VanillaGuiOverlay.EXPERIENCE_BAR.id())) mask |= bit(HudLayoutSnapshot.EXPERIENCE);
+        if (overlayId.equals(VanillaGuiOverlay.HOTBAR.id())) mask |= bit(HudLayoutSnapshot.HOTBAR);
+        if (overlayId.equals(VanillaGuiOverlay.BOSS_EVENT_PROGRESS.id())) mask |= bit(HudLayoutSnapshot.BOSS_BAR);
+
+        // Forgeでは複数の可能性があるため、複数パターンをチェック
+        String id = overlayId.toString().toLowerCase();
+        if (id.contains("selected_item") || id.contains("item_name") || id.contains("tool_highlight")) {
+            mask |= bit(HudLayoutSnapshot.ITEM_NAME);
+        }
+        if (id.contains("effect") || id.contains("potion") || id.contains("mob_effect")) {
+            mask |= bit(HudLayoutSnapshot.EFFECTS);
+        }
+        if (id.contains("vehicle") || id.contains("mount")) {
+            mask |= bit(HudLayoutSnapshot.VEHICLE_HEALTH);
+        }
+        if (id.contains("jump")) {
+            mask |= bit(HudLayoutSnapshot.JUMP_METER);
+        }
+        if (id.contains("dismount") || id.contains("sneak") || id.contains("vehicle_text") || id.contains("mount_text")) {
+            mask |= bit(HudLayoutSnapshot.DISMOUNT_MESSAGE);
+        }
+        return mask;
+    }
+
+    private static int bit(int element) {
+        return 1 << element;
+    }
+}
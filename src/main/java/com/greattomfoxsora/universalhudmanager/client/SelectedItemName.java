@@ -0,0 +1,82 @@
+package com.greattomfoxsora.universalhudmanager.client;
+
+import net.minecraft.client.gui.Font;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * Item Name 要素の選択アイテムの変更検知と表示名キャッシュ
+ * バニラの Gui.tick は毎tick 表示名の Component を equals で比べ、ItemStack.copy() で前回のアイテムを残すが
+ * （NBT の多いバックパック・ツール系MODのアイテムでは毎tick NBT を丸ごと複製する）、
+ * ここでは複製せずに前回のスロット番号・アイテム・ItemStack と NBT のインスタンスを覚えておく。
+ *
+ * 変更検出（毎tick、割り当てなし）:
+ * - スロット番号・ItemStack・アイテム・NBT のインスタンスが全部同じなら同じアイテム
+ * - インスタンスが変わっても（サーバーからの同期で差し替わるなど）、アイテムと NBT のハッシュが同じなら同じアイテム
+ * - それも違えば表示名を比べる（バニラと同じく、アイテムと表示名が同じなら同じアイテム扱い）
+ *
+ * 表示名の文字列と幅は表示名が変わった時だけ計算する。
+ *
+ * @author GreatTomFox & Sora
+ */
+public final class SelectedItemName {
+
+    private int slot = -1;
+    private ItemStack stack = null;  // null = 前回は空（バニラの lastToolHighlight = EMPTY）
+    private Item item = null;
+    private CompoundTag tag = null;
+    private int tagHash = 0;
+
+    private String name = "";
+    private int width = 0;
+
+    /**
+     * 今tickの選択アイテムを記録する（空でないこと）
+     * @return 前回と同じアイテムなら true（バニラでいうタイマーのカウントダウン）、違えば false（タイマーのリセット）
+     */
+    public boolean update(int slot, ItemStack stack, Font font) {
+        Item item = stack.getItem();
+        CompoundTag tag = stack.getTag();
+        if (stack == this.stack && slot == this.slot && item == this.item && tag == this.tag) {
+            return true;
+        }
+
+        int tagHash = tag == this.tag ? this.tagHash : tag == null ? 0 : tag.hashCode();
+        boolean same = this.stack != null && item == this.item && tagHash == this.tagHash;
+        if (!same) {
+            String newName = stack.getHoverName().getString();
+            same = this.stack != null && item == this.item && newName.equals(name);
+            if (!newName.equals(name)) {
+                name = newName;
+                width = font.width(newName);
+            }
+        }
+
+        this.slot = slot;
+        this.stack = stack;
+        this.item = item;
+        this.tag = tag;
+        this.tagHash = tagHash;
+        return same;
+    }
+
+    /**
+     * 選択アイテムが空になった（次に何か持った時は必ず別のアイテム扱い）
+     */
+    public void clear() {
+        slot = -1;
+        stack = null;
+        item = null;
+        tag = null;
+        tagHash = 0;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int width() {
+        return width;
+    }
+}
@@ -0,0 +1,92 @@
+package com.greattomfoxsora.universalhudmanager.client;
+
+import com.greattomfoxsora.universalhudmanager.config.HudLayoutSnapshot;
+import com.greattomfoxsora.universalhudmanager.network.HudDataChannel;
+import com.greattomfoxsora.universalhudmanager.network.MessageFoodStateSync;
+import com.greattomfoxsora.universalhudmanager.network.MessageSyncSubscription;
+import com.greattomfoxsora.universalhudmanager.network.SyncHandler;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientPacketListener;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+/**
+ * サーバーへの購読の申告
+ * 現在の設定で描画に使う同期データを求め、変わった時だけ MessageSyncSubscription を送る。
+ * 設定画面・HUD編集画面・設定ファイルのリロードのどれで変わっても、次のティックで申告し直す。
+ *
+ * - 飽和度: Food Bar の飽和度オーバーレイ、または Health Bar の回復量予測（AppleSkin）
+ * - 疲労度: Food Bar の疲労度アンダーレイ、または Health Bar の回復量予測（AppleSkin）
+ * - 乗り物の体力: Vehicle Health が有効な時
+ *
+ * @author GreatTomFox & Sora
+ */
+@Mod.EventBusSubscriber(modid = "universalhudmanager", bus = Mod.EventBusSubscriber.Bus.FORGE, value = Dist.CLIENT)
+public class SyncSubscriptionClient {
+
+    // 最後に申告した内容（未申告なら -1）
+    private static int sentFoodMask = -1;
+    private static long sentHudDataMask = -1L;
+
+    @SubscribeEvent
+    public static void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) {
+            return;
+        }
+        Minecraft minecraft = Minecraft.getInstance();
+        ClientPacketListener connection = minecraft.getConnection();
+        if (minecraft.player == null || connection == null) {
+            return;
+        }
+
+        HudLayoutSnapshot layout = HudLayoutSnapshot.current();
+        int foodMask = foodMask(layout);
+        long hudDataMask = hudDataMask(layout);
+        if (foodMask == sentFoodMask && hudDataMask == sentHudDataMask) {
+            return;
+        }
+
+        // サーバーにMODがなければ送らない（申告済み扱いにして毎ティック確認しない）
+        if (SyncHandler.CHANNEL.isRemotePresent(connection.getConnection())) {
+            SyncHandler.CHANNEL.sendToServer(new MessageSyncSubscription(foodMask, hudDataMask));
+        }
+        sentFoodMask = foodMask;
+        sentHudDataMask = hudDataMask;
+    }
+
+    /**
+     * 切断したら次の接続先で申告し直す
+     */
+    @SubscribeEvent
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        sentFoodMask = -1;
+        sentHudDataMask = -1L;
+    }
+
+    static int foodMask(HudLayoutSnapshot layout) {
+        boolean food = layout.isEnabled(HudLayoutSnapshot.FOOD);
+        boolean healthEstimate = layout.isEnabled(HudLayoutSnapshot.HEALTH)
+            && layout.option(HudLayoutSnapshot.OPT_APPLESKIN_HEALTH_RESTORED);
+
+        int mask = 0;
+        if ((food && layout.option(HudLayoutSnapshot.OPT_APPLESKIN_SATURATION)) || healthEstimate) {
+            mask |= MessageFoodStateSync.SATURATION;
+        }
+        if ((food && layout.option(HudLayoutSnapshot.OPT_APPLESKIN_EXHAUSTION)) || healthEstimate) {
+            mask |= MessageFoodStateSync.EXHAUSTION;
+        }
+        return mask;
+    }
+
+    static long hudDataMask(HudLayoutSnapshot layout) {
+        long mask = 0L;
+        if (layout.isEnabled(HudLayoutSnapshot.VEHICLE_HEALTH)) {
+            mask |= 1L << HudDataChannel.VEHICLE_HEALTH;
+            mask |= 1L << HudDataChannel.VEHICLE_MAX_HEALTH;
+        }
+        return mask;
+    }
+}
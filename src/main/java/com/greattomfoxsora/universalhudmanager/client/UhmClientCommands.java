@@ -0,0 +1,144 @@
+package com.greattomfoxsora.universalhudmanager.client;
+
+import com.greattomfoxsora.universalhudmanager.config.LayoutProfiles;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.suggestion.SuggestionProvider;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.commands.SharedSuggestionProvider;
+import net.minecraft.network.chat.Component;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.RegisterClientCommandsEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+/**
+ * クライアントコマンド /uhm
+ * /uhm perf [on|off|reset|overlay] - HUD要素ごとの描画時間（p50/p99）とアイテムアイコンキャッシュのヒット率
+ * /uhm layout [list|save|load|delete|next|reload] - レイアウトプロファイル
+ *
+ * @author GreatTomFox & Sora
+ */
+@Mod.EventBusSubscriber(modid = "universalhudmanager", bus = Mod.EventBusSubscriber.Bus.FORGE, value = Dist.CLIENT)
+public class UhmClientCommands {
+
+    private static final SuggestionProvider<CommandSourceStack> LAYOUT_NAMES = (context, builder) ->
+        SharedSuggestionProvider.suggest(LayoutProfiles.all().stream().map(profile -> profile.name), builder);
+
+    @SubscribeEvent
+    public static void onRegisterClientCommands(RegisterClientCommandsEvent event) {
+        register(event.getDispatcher());
+    }
+
+    private static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(Commands.literal("uhm")
+            .then(Commands.literal("perf")
+                .executes(UhmClientCommands::perfReport)
+                .then(Commands.literal("on").executes(context -> {
+                    HudPerfStats.setEnabled(true);
+                    return feedback(context, Component.translatable("command.universalhudmanager.perf.on"));
+                }))
+                .then(Commands.literal("off").executes(context -> {
+                    HudPerfStats.setEnabled(false);
+                    return feedback(context, Component.translatable("command.universalhudmanager.perf.off"));
+                }))
+                .then(Commands.literal("reset").executes(context -> {
+                    HudPerfStats.reset();
+                    ItemIconCache.hotbar().resetStats();
+                    return feedback(context, Component.translatable("command.universalhudmanager.perf.reset"));
+                }))
+                .then(Commands.literal("overlay").executes(context -> {
+                    HudPerfStats.setOverlayEnabled(!HudPerfStats.isOverlayEnabled());
+                    return feedback(context, Component.translatable(HudPerfStats.isOverlayEnabled()
+                        ? "command.universalhudmanager.perf.overlay_on"
+                        : "command.universalhudmanager.perf.overlay_off"));
+                })))
+            .then(Commands.literal("layout")
+                .executes(UhmClientCommands::layoutList)
+                .then(Commands.literal("list").executes(UhmClientCommands::layoutList))
+                .then(Commands.literal("save")
+                    .then(Commands.argument("name", StringArgumentType.word()).suggests(LAYOUT_NAMES)
+                        .executes(UhmClientCommands::layoutSave)))
+                .then(Commands.literal("load")
+                    .then(Commands.argument("name", StringArgumentType.word()).suggests(LAYOUT_NAMES)
+                        .executes(UhmClientCommands::layoutLoad)))
+                .then(Commands.literal("delete")
+                    .then(Commands.argument("name", StringArgumentType.word()).suggests(LAYOUT_NAMES)
+                        .executes(UhmClientCommands::layoutDelete)))
+                .then(Commands.literal("next").executes(context -> {
+                    LayoutProfiles.Profile profile = LayoutProfiles.cycle();
+                    return feedback(context, profile != null
+                        ? Component.translatable("message.universalhudmanager.layout.switched", profile.name)
+                        : Component.translatable("message.universalhudmanager.layout.none"));
+                }))
+                .then(Commands.literal("reload").executes(context -> {
+                    LayoutProfiles.reload();
+                    return feedback(context, Component.translatable("command.universalhudmanager.layout.reloaded",
+                        LayoutProfiles.all().size()));
+                }))));
+    }
+
+    private static int layoutList(CommandContext<CommandSourceStack> context) {
+        if (LayoutProfiles.all().isEmpty()) {
+            return feedback(context, Component.translatable("message.universalhudmanager.layout.none"));
+        }
+        String active = LayoutProfiles.activeName();
+        feedback(context, Component.translatable("command.universalhudmanager.layout.header", LayoutProfiles.all().size()));
+        for (LayoutProfiles.Profile profile : LayoutProfiles.all()) {
+            feedback(context, Component.literal((profile.name.equals(active) ? " > " : "   ") + profile.name));
+        }
+        return 1;
+    }
+
+    private static int layoutSave(CommandContext<CommandSourceStack> context) {
+        String name = StringArgumentType.getString(context, "name");
+        if (!LayoutProfiles.NAME_PATTERN.matcher(name).matches()) {
+            return feedback(context, Component.translatable("command.universalhudmanager.layout.invalid_name", name));
+        }
+        LayoutProfiles.save(name);
+        return feedback(context, Component.translatable("command.universalhudmanager.layout.saved", name));
+    }
+
+    private static int layoutLoad(CommandContext<CommandSourceStack> context) {
+        String name = StringArgumentType.getString(context, "name");
+        LayoutProfiles.Profile profile = LayoutProfiles.find(name);
+        if (profile == null) {
+            return feedback(context, Component.translatable("command.universalhudmanager.layout.not_found", name));
+        }
+        LayoutProfiles.apply(profile);
+        return feedback(context, Component.translatable("message.universalhudmanager.layout.switched", name));
+    }
+
+    private static int layoutDelete(CommandContext<CommandSourceStack> context) {
+        String name = StringArgumentType.getString(context, "name");
+        if (!LayoutProfiles.delete(name)) {
+            return feedback(context, Component.translatable("command.universalhudmanager.layout.not_found", name));
+        }
+        return feedback(context, Component.translatable("command.universalhudmanager.layout.deleted", name));
+    }
+
+    private static int perfReport(CommandContext<CommandSourceStack> context) {
+        if (!HudPerfStats.isEnabled() && HudPerfStats.sampleCount(HudPerfStats.TOTAL) == 0) {
+            return feedback(context, Component.translatable("command.universalhudmanager.perf.disabled"));
+        }
+        feedback(context, Component.translatable("command.universalhudmanager.perf.header", HudPerfStats.WINDOW));
+        for (int s = 0; s < HudPerfStats.SECTION_COUNT; s++) {
+            if (HudPerfStats.sampleCount(s) > 0) {
+                feedback(context, Component.literal(HudPerfStats.describe(s)));
+            }
+        }
+        ItemIconCache icons = ItemIconCache.hotbar();
+        if (icons.getHits() + icons.getMisses() + icons.getLiveDraws() > 0) {
+            feedback(context, Component.translatable("command.universalhudmanager.perf.item_icons",
+                icons.getHits(), icons.getMisses(), icons.getEvictions(), icons.getLiveDraws(), icons.size(), ItemIconCache.CAPACITY));
+        }
+        return 1;
+    }
+
+    private static int feedback(CommandContext<CommandSourceStack> context, Component message) {
+        context.getSource().sendSuccess(() -> message, false);
+        return 1;
+    }
+}
@@ -0,0 +1,141 @@
+package com.greattomfoxsora.universalhudmanager.client.appleskin;
+
+import net.minecraft.util.RandomSource;
+
+import java.util.Arrays;
+
+/**
+ * AppleSkin オーバーレイのアイコン位置（バーの左端・右端からのずれ）
+ * 旧 Vector&lt;IntPoint&gt; の代わりに x / y の int 配列を使い回し、
+ * アイコン数・行の高さ・シェイク状態が変わった時だけ作り直す。
+ *
+ * - シェイクしていない間は乱数を使わない（シードの設定もしない）
+ * - シェイク中はバニラ同様 tick からシードを決めるので、同じtick内は作り直さない
+ * - 描画スレッドからしか触らないので同期しない
+ *
+ * @author GreatTomFox & Sora
+ */
+public final class BarOffsets
+{
+    /**
+     * Health Bar のアイコン数の上限（これを超えたらオーバーレイを描かない）
+     */
+    public static final int MAX_HEALTH_BARS = 1000;
+
+    public static final int FOOD_BARS = 10;
+
+    // シェイクしていない時のキー
+    private static final int NO_SHAKE = Integer.MIN_VALUE;
+
+    private int[] x;
+    private int[] y;
+    private int count = 0;
+
+    // キャッシュキー（未構築を表すため初期値は不可能な値）
+    private int keyBars = -1;
+    private int keyRowHeight;
+    private int keyShakeTick;
+
+    private final RandomSource random = RandomSource.create();
+    private long rebuilds = 0;
+
+    public BarOffsets(int initialCapacity)
+    {
+        x = new int[initialCapacity];
+        y = new int[initialCapacity];
+    }
+
+    /**
+     * Health Bar のアイコン位置（left からのずれ）
+     * @param healthBars アイコン数（ceil((最大体力 + 吸収量) / 2)）
+     * @param shake 極低体力シェイク中か
+     * @return 作り直した場合 true
+     */
+    public boolean updateHealth(int healthBars, boolean shake, int ticks)
+    {
+        if (healthBars < 0 || healthBars > MAX_HEALTH_BARS)
+        {
+            count = 0;
+            keyBars = -1;
+            return false;
+        }
+
+        int healthRows = (healthBars + 9) / 10;
+        int healthRowHeight = Math.max(10 - (healthRows - 2), 3);
+        int shakeTick = shake ? ticks : NO_SHAKE;
+        if (!keyChanged(healthBars, healthRowHeight, shakeTick)) return false;
+
+        ensureCapacity(healthBars);
+        if (shake) random.setSeed((long) ticks * 312871L);
+        // バニラと同じく後ろのアイコンから乱数を引く
+        for (int i = healthBars - 1; i >= 0; --i)
+        {
+            int row = i / 10;
+            x[i] = i % 10 * 8;
+            y[i] = -row * healthRowHeight + (shake ? random.nextInt(2) : 0);
+        }
+        count = healthBars;
+        return true;
+    }
+
+    /**
+     * Food Bar のアイコン位置（right からのずれ）
+     * @param shake 飽和度0の揺れが出るtickか
+     * @return 作り直した場合 true
+     */
+    public boolean updateFood(boolean shake, int ticks)
+    {
+        int shakeTick = shake ? ticks : NO_SHAKE;
+        if (!keyChanged(FOOD_BARS, 0, shakeTick)) return false;
+
+        ensureCapacity(FOOD_BARS);
+        if (shake) random.setSeed((long) ticks * 312871L);
+        for (int i = 0; i < FOOD_BARS; ++i)
+        {
+            x[i] = -i * 8 - 9;
+            y[i] = shake ? random.nextInt(3) - 1 : 0;
+        }
+        count = FOOD_BARS;
+        return true;
+    }
+
+    public int count()
+    {
+        return count;
+    }
+
+    public int x(int i)
+    {
+        return x[i];
+    }
+
+    public int y(int i)
+    {
+        return y[i];
+    }
+
+    public long rebuilds()
+    {
+        return rebuilds;
+    }
+
+    private boolean keyChanged(int bars, int rowHeight, int shakeTick)
+    {
+        if (bars == keyBars && rowHeight == keyRowHeight && shakeTick == keyShakeTick) return false;
+        keyBars = bars;
+        keyRowHeight = rowHeight;
+        keyShakeTick = shakeTick;
+        rebuilds++;
+        return true;
+    }
+
+    private void ensureCapacity(int size)
+    {
+        if (x.length < size)
+        {
+            int capacity = Math.min(Math.max(size, x.length * 2), MAX_HEALTH_BARS);
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+        }
+    }
+}
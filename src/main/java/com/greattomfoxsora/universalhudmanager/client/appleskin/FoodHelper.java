@@ -1,12 +1,14 @@
 package com.greattomfoxsora.universalhudmanager.client.appleskin;
 
 import com.mojang.datafixers.util.Pair;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.world.effect.MobEffectCategory;
 import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.effect.MobEffects;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.food.FoodData;
 import net.minecraft.world.food.FoodProperties;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.GameRules;
 import net.minecraft.world.level.Level;
@@ -14,60 +16,120 @@ import net.minecraft.world.level.Level;
 // Ported from AppleSkin (public domain) by squeek502
 public class FoodHelper
 {
-    public static boolean isFood(ItemStack itemStack, Player player)
+    // 手に持っている食べ物の情報（描画スレッドのみ。Food/Health の両オーバーレイで共有）
+    private static final HeldFoodMemo MAIN_HAND = new HeldFoodMemo();
+    private static final HeldFoodMemo OFF_HAND = new HeldFoodMemo();
+
+    /**
+     * 食べ物1つ分の情報（getFoodProperties から1回だけ計算する）
+     */
+    public static final class FoodInfo
     {
-        return itemStack.getItem().getFoodProperties(itemStack, player) != null;
+        public final FoodValues modifiedFoodValues;
+        public final boolean canAlwaysEat;
+        public final boolean rotten;
+        // 再生エフェクトで回復する量（自然回復分は満腹度で変わるので含めない）
+        public final float regenerationBonus;
+
+        private FoodInfo(FoodValues modifiedFoodValues, boolean canAlwaysEat, boolean rotten, float regenerationBonus)
+        {
+            this.modifiedFoodValues = modifiedFoodValues;
+            this.canAlwaysEat = canAlwaysEat;
+            this.rotten = rotten;
+            this.regenerationBonus = regenerationBonus;
+        }
     }
 
-    public static boolean canConsume(ItemStack itemStack, Player player)
+    /**
+     * 片手分のメモ
+     * 同じ ItemStack（アイテム・NBT も同じインスタンス）を同じプレイヤーが持っている間は計算し直さない。
+     * 持ち替え・NBT の差し替え・リスポーンでキーが変わる。
+     */
+    private static final class HeldFoodMemo
     {
-        if (!isFood(itemStack, player))
-            return false;
+        private ItemStack keyStack = null;
+        private Item keyItem = null;
+        private CompoundTag keyTag = null;
+        private Player keyPlayer = null;
+        private FoodInfo info = null;
 
-        FoodProperties itemFood = itemStack.getItem().getFoodProperties(itemStack, player);
-        if (itemFood == null)
-            return false;
+        FoodInfo lookup(ItemStack itemStack, Player player)
+        {
+            if (itemStack.isEmpty()) return null;
 
-        return player.canEat(itemFood.canAlwaysEat());
+            Item item = itemStack.getItem();
+            CompoundTag tag = itemStack.getTag();
+            if (itemStack != keyStack || item != keyItem || tag != keyTag || player != keyPlayer)
+            {
+                keyStack = itemStack;
+                keyItem = item;
+                keyTag = tag;
+                keyPlayer = player;
+                info = computeFoodInfo(itemStack, player);
+            }
+            return info;
+        }
     }
 
-    public static FoodValues getDefaultFoodValues(ItemStack itemStack, Player player)
+    /**
+     * 食べられる方の手の食べ物（メインハンド優先。どちらも食べられなければ null）
+     */
+    public static FoodInfo getHeldFood(Player player)
     {
-        FoodProperties itemFood = itemStack.getItem().getFoodProperties(itemStack, player);
-        int hunger = itemFood != null ? itemFood.getNutrition() : 0;
-        float saturationModifier = itemFood != null ? itemFood.getSaturationModifier() : 0;
-        return new FoodValues(hunger, saturationModifier);
-    }
+        FoodInfo mainHand = MAIN_HAND.lookup(player.getMainHandItem(), player);
+        if (mainHand != null && player.canEat(mainHand.canAlwaysEat))
+            return mainHand;
 
-    public static FoodValues getModifiedFoodValues(ItemStack itemStack, Player player)
-    {
-        return getDefaultFoodValues(itemStack, player);
+        FoodInfo offHand = OFF_HAND.lookup(player.getOffhandItem(), player);
+        if (offHand != null && player.canEat(offHand.canAlwaysEat))
+            return offHand;
+
+        return null;
     }
 
-    public static boolean isRotten(ItemStack itemStack, Player player)
+    // getFoodProperties は1回だけ呼ぶ（食べ物でなければ null）
+    private static FoodInfo computeFoodInfo(ItemStack itemStack, Player player)
     {
-        if (!isFood(itemStack, player))
-            return false;
+        FoodProperties itemFood = itemStack.getItem().getFoodProperties(itemStack, player);
+        if (itemFood == null)
+            return null;
 
-        for (Pair<MobEffectInstance, Float> effect : itemStack.getItem().getFoodProperties(itemStack, player).getEffects())
+        boolean rotten = false;
+        float regenerationBonus = 0;
+        boolean foundRegeneration = false;
+        for (Pair<MobEffectInstance, Float> effect : itemFood.getEffects())
         {
-            if (effect.getFirst() != null && effect.getFirst().getEffect() != null
-                && effect.getFirst().getEffect().getCategory() == MobEffectCategory.HARMFUL)
+            MobEffectInstance effectInstance = effect.getFirst();
+            if (effectInstance == null || effectInstance.getEffect() == null)
+                continue;
+
+            if (effectInstance.getEffect().getCategory() == MobEffectCategory.HARMFUL)
+                rotten = true;
+
+            if (!foundRegeneration && effectInstance.getEffect() == MobEffects.REGENERATION)
             {
-                return true;
+                regenerationBonus = regenerationHealth(effectInstance);
+                foundRegeneration = true;
             }
         }
-        return false;
+
+        FoodValues values = new FoodValues(itemFood.getNutrition(), itemFood.getSaturationModifier());
+        return new FoodInfo(values, itemFood.canAlwaysEat(), rotten, regenerationBonus);
     }
 
-    public static float getEstimatedHealthIncrement(ItemStack itemStack, FoodValues modifiedFoodValues, Player player)
+    /**
+     * {@link #getHeldFood} の結果から回復量を見積もる（getFoodProperties を呼ばない）
+     */
+    public static float getEstimatedHealthIncrement(FoodInfo food, Player player)
     {
-        if (!isFood(itemStack, player))
-            return 0;
-
         if (!player.isHurt())
             return 0;
 
+        return getEstimatedNaturalRegeneration(food.modifiedFoodValues, player) + food.regenerationBonus;
+    }
+
+    private static float getEstimatedNaturalRegeneration(FoodValues modifiedFoodValues, Player player)
+    {
         FoodData stats = player.getFoodData();
         Level world = player.getCommandSenderWorld();
 
@@ -81,24 +143,33 @@ public class FoodHelper
             healthIncrement = getEstimatedHealthIncrement(foodLevel, saturationLevel, exhaustionLevel);
         }
 
-        for (Pair<MobEffectInstance, Float> effect : itemStack.getItem().getFoodProperties(itemStack, player).getEffects())
-        {
-            MobEffectInstance effectInstance = effect.getFirst();
-            if (effectInstance != null && effectInstance.getEffect() == MobEffects.REGENERATION)
-            {
-                int amplifier = effectInstance.getAmplifier();
-                int duration = effectInstance.getDuration();
-                healthIncrement += (float) Math.floor(duration / Math.max(50 >> amplifier, 1));
-                break;
-            }
-        }
-
         return healthIncrement;
     }
 
+    private static float regenerationHealth(MobEffectInstance effectInstance)
+    {
+        int amplifier = effectInstance.getAmplifier();
+        int duration = effectInstance.getDuration();
+        return (float) Math.floor(duration / Math.max(50 >> amplifier, 1));
+    }
+
     public static float REGEN_EXHAUSTION_INCREMENT = 6.0F;
     public static float MAX_EXHAUSTION = 4.0F;
 
+    // 周期を探す間隔（疲労度 +6 と -4 の周期は2回。丸めで落ち着くまで数回かかることがある）
+    private static final int CYCLE_PROBE_INTERVAL = 4;
+
+    // これ以上の値は float の 1 刻みが正確でなくなるので周期を飛ばさない
+    private static final float EXACT_INTEGER_LIMIT = 1 << 24;
+
+    /**
+     * 自然回復で回復する体力の見積もり（バニラの FoodData.tick を満腹度18未満になるまでなぞる）
+     *
+     * 飽和度が REGEN_EXHAUSTION_INCREMENT 以上ある間は、満腹度・疲労度が同じ値に戻るたびに
+     * 同じ手順（飽和度 -n、体力 +m）が繰り返されるので、周期を見つけたら飽和度が足りる分だけまとめて進める。
+     * 周期1回分はループで実際に計算した差分を整数倍するだけなので、結果はループを最後まで回した場合とビット単位で一致する
+     * （飽和度・体力は周期中は整数刻みで変わり、2^24 未満なら float で正確）。
+     */
     public static float getEstimatedHealthIncrement(int foodLevel, float saturationLevel, float exhaustionLevel)
     {
         float health = 0;
@@ -106,8 +177,33 @@ public class FoodHelper
         if (!Float.isFinite(exhaustionLevel) || !Float.isFinite(saturationLevel))
             return 0;
 
+        int probeFoodLevel = Integer.MIN_VALUE;
+        int probeExhaustionBits = 0;
+        float probeSaturationLevel = 0;
+        float probeHealth = 0;
+        int probeAge = 0;
+
         while (foodLevel >= 18)
         {
+            if (foodLevel == probeFoodLevel && Float.floatToRawIntBits(exhaustionLevel) == probeExhaustionBits)
+            {
+                // 前回の周期を飽和度が足りる回数だけ繰り返す
+                float cycleSaturation = probeSaturationLevel - saturationLevel;
+                float cycleHealth = health - probeHealth;
+                int cycles = repeatableCycles(saturationLevel, cycleSaturation, health, cycleHealth);
+                saturationLevel -= cycles * cycleSaturation;
+                health += cycles * cycleHealth;
+                probeAge = 0;
+            }
+            if (probeAge-- <= 0)
+            {
+                probeFoodLevel = foodLevel;
+                probeExhaustionBits = Float.floatToRawIntBits(exhaustionLevel);
+                probeSaturationLevel = saturationLevel;
+                probeHealth = health;
+                probeAge = CYCLE_PROBE_INTERVAL;
+            }
+
             while (exhaustionLevel > MAX_EXHAUSTION)
             {
                 exhaustionLevel -= MAX_EXHAUSTION;
@@ -133,4 +229,23 @@ public class FoodHelper
 
         return health;
     }
+
+    /**
+     * 周期（飽和度 -cycleSaturation、体力 +cycleHealth）を何回まとめて進められるか
+     * 最後の周期を終えた時点でも飽和度が REGEN_EXHAUSTION_INCREMENT 以上残るなら、周期中の分岐は飽和度の値によらず同じになる。
+     */
+    private static int repeatableCycles(float saturationLevel, float cycleSaturation, float health, float cycleHealth)
+    {
+        if (saturationLevel < REGEN_EXHAUSTION_INCREMENT || saturationLevel >= EXACT_INTEGER_LIMIT || cycleSaturation < 1
+            || cycleSaturation != Math.rint(cycleSaturation) || health != Math.rint(health) || cycleHealth != Math.rint(cycleHealth))
+        {
+            return 0;
+        }
+
+        int cycles = (int) (((double) saturationLevel - REGEN_EXHAUSTION_INCREMENT) / cycleSaturation);
+        if ((double) health + (double) cycles * cycleHealth >= EXACT_INTEGER_LIMIT)
+            return 0;
+
+        return cycles;
+    }
 }
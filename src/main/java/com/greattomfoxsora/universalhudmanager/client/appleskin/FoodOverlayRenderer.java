@@ -1,6 +1,7 @@
 package com.greattomfoxsora.universalhudmanager.client.appleskin;
 
-import com.greattomfoxsora.universalhudmanager.config.HUDConfig;
+import com.greattomfoxsora.universalhudmanager.client.HudQuadBatch;
+import com.greattomfoxsora.universalhudmanager.config.HudLayoutSnapshot;
 import com.mojang.blaze3d.systems.RenderSystem;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
@@ -9,14 +10,10 @@ import net.minecraft.world.Difficulty;
 import net.minecraft.world.effect.MobEffects;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.food.FoodData;
-import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import org.lwjgl.opengl.GL11;
 
-import java.util.Random;
-import java.util.Vector;
-
 /**
  * AppleSkin の HUD オーバーレイ機能を UHM に移植したクラス。
  * AppleSkin (public domain, squeek502) のコードをベースに改変。
@@ -37,11 +34,12 @@ public class FoodOverlayRenderer
     private static float flashAlpha = 0f;
     private static byte alphaDir = 1;
 
-    // アイコンオフセット
-    public static final Vector<IntPoint> healthBarOffsets = new Vector<>();
-    public static final Vector<IntPoint> foodBarOffsets = new Vector<>();
+    // アイコンオフセット（最大体力・吸収量・シェイク状態が変わった時だけ作り直す）
+    private static final BarOffsets healthBarOffsets = new BarOffsets(20);
+    private static final BarOffsets foodBarOffsets = new BarOffsets(BarOffsets.FOOD_BARS);
 
-    private static final Random random = new Random();
+    // アイコンは UHM のバーと同じバッチに積む（色は頂点カラーに焼き込まれるので、アイコンごとの色切り替えでも1回で描ける）
+    private static final HudQuadBatch QUADS = HudQuadBatch.gui();
 
     /**
      * 疲労度アンダーレイのみ描画する。フードバー本体より前に呼ぶこと（背景レイヤー）。
@@ -67,27 +65,24 @@ public class FoodOverlayRenderer
         generateHungerBarOffsets(top, right, mc.gui.getGuiTicks(), player);
 
         // 飽和度オーバーレイ
-        if (HUDConfig.APPLESKIN_SATURATION.get())
+        if (HudLayoutSnapshot.current().option(HudLayoutSnapshot.OPT_APPLESKIN_SATURATION))
         {
             drawSaturationOverlay(stats.getSaturationLevel(), 0, mc, guiGraphics, right, top, 1f);
         }
 
         // 食べ物を持っている時の満腹度・飽和度予測
-        ItemStack heldItem = player.getMainHandItem();
-        if (heldItem.isEmpty() || !FoodHelper.canConsume(heldItem, player))
-            heldItem = player.getOffhandItem();
-
-        if (!heldItem.isEmpty() && FoodHelper.canConsume(heldItem, player))
+        FoodHelper.FoodInfo heldFood = FoodHelper.getHeldFood(player);
+        if (heldFood != null)
         {
-            FoodValues modifiedFoodValues = FoodHelper.getModifiedFoodValues(heldItem, player);
+            FoodValues modifiedFoodValues = heldFood.modifiedFoodValues;
 
-            if (HUDConfig.APPLESKIN_HUNGER_RESTORED.get())
+            if (HudLayoutSnapshot.current().option(HudLayoutSnapshot.OPT_APPLESKIN_HUNGER_RESTORED))
             {
                 drawHungerOverlay(modifiedFoodValues.hunger, stats.getFoodLevel(), mc, guiGraphics, right, top,
-                    flashAlpha, FoodHelper.isRotten(heldItem, player));
+                    flashAlpha, heldFood.rotten);
             }
 
-            if (HUDConfig.APPLESKIN_SATURATION.get())
+            if (HudLayoutSnapshot.current().option(HudLayoutSnapshot.OPT_APPLESKIN_SATURATION))
             {
                 float foodSaturationIncrement = modifiedFoodValues.getSaturationIncrement();
                 int newFoodValue = stats.getFoodLevel() + modifiedFoodValues.hunger;
@@ -114,7 +109,7 @@ public class FoodOverlayRenderer
      */
     public static void renderHealthOverlay(GuiGraphics guiGraphics, int left, int top)
     {
-        if (!HUDConfig.APPLESKIN_HEALTH_RESTORED.get()) return;
+        if (!HudLayoutSnapshot.current().option(HudLayoutSnapshot.OPT_APPLESKIN_HEALTH_RESTORED)) return;
 
         Minecraft mc = Minecraft.getInstance();
         Player player = mc.player;
@@ -127,16 +122,12 @@ public class FoodOverlayRenderer
         if (player.hasEffect(MobEffects.REGENERATION)) return;
 
         generateHealthBarOffsets(top, left, mc.gui.getGuiTicks(), player);
-        if (healthBarOffsets.size() == 0) return;
+        if (healthBarOffsets.count() == 0) return;
 
-        ItemStack heldItem = player.getMainHandItem();
-        if (heldItem.isEmpty() || !FoodHelper.canConsume(heldItem, player))
-            heldItem = player.getOffhandItem();
+        FoodHelper.FoodInfo heldFood = FoodHelper.getHeldFood(player);
+        if (heldFood == null) return;
 
-        if (heldItem.isEmpty() || !FoodHelper.canConsume(heldItem, player)) return;
-
-        FoodValues modifiedFoodValues = FoodHelper.getModifiedFoodValues(heldItem, player);
-        float foodHealthIncrement = FoodHelper.getEstimatedHealthIncrement(heldItem, modifiedFoodValues, player);
+        float foodHealthIncrement = FoodHelper.getEstimatedHealthIncrement(heldFood, player);
         float currentHealth = player.getHealth();
         float modifiedHealth = Math.min(currentHealth + foodHealthIncrement, player.getMaxHealth());
 
@@ -165,12 +156,10 @@ public class FoodOverlayRenderer
 
         for (int i = startSaturationBar; i < endSaturationBar; ++i)
         {
-            if (i >= foodBarOffsets.size()) break;
-            IntPoint offset = foodBarOffsets.get(i);
-            if (offset == null) continue;
+            if (i >= foodBarOffsets.count()) break;
 
-            int x = right + offset.x;
-            int y = top + offset.y;
+            int x = right + foodBarOffsets.x(i);
+            int y = top + foodBarOffsets.y(i);
 
             int u = 0;
             float effectiveSaturation = (modifiedSaturation / 2.0F) - i;
@@ -179,7 +168,7 @@ public class FoodOverlayRenderer
             else if (effectiveSaturation > .5)  u = 2 * iconSize;
             else if (effectiveSaturation > .25) u = 1 * iconSize;
 
-            guiGraphics.blit(MOD_ICONS, x, y, u, 0, iconSize, iconSize, 256, 256);
+            QUADS.blit(guiGraphics, MOD_ICONS, x, y, u, 0, iconSize, iconSize, 256, 256);
         }
 
         RenderSystem.setShaderTexture(0, MC_ICONS);
@@ -201,12 +190,10 @@ public class FoodOverlayRenderer
 
         for (int i = startFoodBars; i < endFoodBars; ++i)
         {
-            if (i >= foodBarOffsets.size()) break;
-            IntPoint offset = foodBarOffsets.get(i);
-            if (offset == null) continue;
+            if (i >= foodBarOffsets.count()) break;
 
-            int x = right + offset.x;
-            int y = top + offset.y;
+            int x = right + foodBarOffsets.x(i);
+            int y = top + foodBarOffsets.y(i);
 
             int v = 3 * iconSize;
             int u = iconStartOffset + 4 * iconSize;
@@ -216,9 +203,9 @@ public class FoodOverlayRenderer
             if (i * 2 + 1 == modifiedFood) u += 1 * iconSize;
 
             RenderSystem.setShaderColor(1.0F, 1.0F, 1.0F, alpha * 0.25F);
-            guiGraphics.blit(MC_ICONS, x, y, ub, v, iconSize, iconSize);
+            QUADS.blit(guiGraphics, MC_ICONS, x, y, ub, v, iconSize, iconSize);
             RenderSystem.setShaderColor(1.0F, 1.0F, 1.0F, alpha);
-            guiGraphics.blit(MC_ICONS, x, y, u, v, iconSize, iconSize);
+            QUADS.blit(guiGraphics, MC_ICONS, x, y, u, v, iconSize, iconSize);
         }
 
         disableAlpha(alpha);
@@ -241,12 +228,10 @@ public class FoodOverlayRenderer
 
         for (int i = startHealthBars; i < endHealthBars; ++i)
         {
-            if (i >= healthBarOffsets.size()) break;
-            IntPoint offset = healthBarOffsets.get(i);
-            if (offset == null) continue;
+            if (i >= healthBarOffsets.count()) break;
 
-            int x = left + offset.x;
-            int y = top + offset.y;
+            int x = left + healthBarOffsets.x(i);
+            int y = top + healthBarOffsets.y(i);
 
             int v = 0;
             int u = iconStartOffset + 4 * iconSize;
@@ -256,9 +241,9 @@ public class FoodOverlayRenderer
             if (isHardcore) v = 5 * iconSize;
 
             RenderSystem.setShaderColor(1.0F, 1.0F, 1.0F, alpha * 0.25F);
-            guiGraphics.blit(MC_ICONS, x, y, ub, v, iconSize, iconSize);
+            QUADS.blit(guiGraphics, MC_ICONS, x, y, ub, v, iconSize, iconSize);
             RenderSystem.setShaderColor(1.0F, 1.0F, 1.0F, alpha);
-            guiGraphics.blit(MC_ICONS, x, y, u, v, iconSize, iconSize);
+            QUADS.blit(guiGraphics, MC_ICONS, x, y, u, v, iconSize, iconSize);
         }
 
         disableAlpha(alpha);
@@ -274,7 +259,7 @@ public class FoodOverlayRenderer
         if (width <= 0) return;
         enableAlpha(.75f);
         // blit(texture, x, y, uOffset, vOffset, width, height, textureWidth, textureHeight)
-        guiGraphics.blit(MOD_ICONS, right - width, top, 81 - width, 18, width, height, 256, 256);
+        QUADS.blit(guiGraphics, MOD_ICONS, right - width, top, 81 - width, 18, width, height, 256, 256);
         disableAlpha(.75f);
 
         RenderSystem.setShaderTexture(0, MC_ICONS);
@@ -303,67 +288,31 @@ public class FoodOverlayRenderer
 
     private static void generateHungerBarOffsets(int top, int right, int ticks, Player player)
     {
-        final int preferFoodBars = 10;
-
         FoodData stats = player.getFoodData();
         boolean shouldAnimatedFood = stats.getSaturationLevel() <= 0.0F
             && stats.getFoodLevel() > 0
             && ticks % (stats.getFoodLevel() * 3 + 1) == 0;
 
-        if (foodBarOffsets.size() != preferFoodBars)
-            foodBarOffsets.setSize(preferFoodBars);
-
-        for (int i = 0; i < preferFoodBars; ++i)
-        {
-            int x = right - i * 8 - 9;
-            int y = top;
-            if (shouldAnimatedFood) y += random.nextInt(3) - 1;
-
-            IntPoint point = foodBarOffsets.get(i);
-            if (point == null) { point = new IntPoint(); foodBarOffsets.set(i, point); }
-
-            point.x = x - right;
-            point.y = y - top;
-        }
+        foodBarOffsets.updateFood(shouldAnimatedFood, ticks);
     }
 
     private static void generateHealthBarOffsets(int top, int left, int ticks, Player player)
     {
-        random.setSeed((long) (ticks * 312871L));
-
-        final int preferHealthBars = 10;
         final float maxHealth = player.getMaxHealth();
         final float absorptionHealth = (float) Math.ceil(player.getAbsorptionAmount());
 
         int healthBars = (int) Math.ceil((maxHealth + absorptionHealth) / 2.0F);
-        if (healthBars < 0 || healthBars > 1000) { healthBarOffsets.setSize(0); return; }
-
-        int healthRows = (int) Math.ceil((float) healthBars / 10.0F);
-        int healthRowHeight = Math.max(10 - (healthRows - 2), 3);
         boolean shouldAnimatedHealth = Math.ceil(player.getHealth()) <= 4;
 
-        if (healthBarOffsets.size() != healthBars)
-            healthBarOffsets.setSize(healthBars);
-
-        for (int i = healthBars - 1; i >= 0; --i)
-        {
-            int row = (int) Math.ceil((float) (i + 1) / (float) preferHealthBars) - 1;
-            int x = left + i % preferHealthBars * 8;
-            int y = top - row * healthRowHeight;
-            if (shouldAnimatedHealth) y += random.nextInt(2);
-
-            IntPoint point = healthBarOffsets.get(i);
-            if (point == null) { point = new IntPoint(); healthBarOffsets.set(i, point); }
-
-            point.x = x - left;
-            point.y = y - top;
-        }
+        healthBarOffsets.updateHealth(healthBars, shouldAnimatedHealth, ticks);
     }
 
     // --- ユーティリティ ---
 
     private static void enableAlpha(float alpha)
     {
+        // ブレンド設定を変える前に、溜まっているアイコンを現在の設定で描画
+        QUADS.flush();
         RenderSystem.enableBlend();
         RenderSystem.setShaderColor(1.0F, 1.0F, 1.0F, alpha);
         RenderSystem.blendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA);
@@ -371,6 +320,7 @@ public class FoodOverlayRenderer
 
     private static void disableAlpha(float alpha)
     {
+        QUADS.flush();
         RenderSystem.disableBlend();
         RenderSystem.setShaderColor(1.0F, 1.0F, 1.0F, 1.0F);
     }
@@ -1,8 +0,0 @@
-package com.greattomfoxsora.universalhudmanager.client.appleskin;
-
-// Ported from AppleSkin (public domain) by squeek502
-public class IntPoint
-{
-    public int x;
-    public int y;
-}
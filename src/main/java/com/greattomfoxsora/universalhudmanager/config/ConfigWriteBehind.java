@@ -0,0 +1,254 @@
+package com.greattomfoxsora.universalhudmanager.config;
+
+import com.electronwill.nightconfig.core.CommentedConfig;
+import com.electronwill.nightconfig.core.file.FileConfig;
+import com.electronwill.nightconfig.core.io.WritingMode;
+import com.electronwill.nightconfig.toml.TomlFormat;
+import com.greattomfoxsora.universalhudmanager.UhmDebugLog;
+import net.minecraft.client.Minecraft;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.common.ForgeConfigSpec;
+import net.minecraftforge.event.GameShuttingDownEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.config.ModConfig;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * クライアント設定の書き込みをまとめて裏で行う（write-behind）
+ * Forge のクライアント設定は ConfigValue.set() のたびに TOML 全体を描画スレッドで書き直すので、
+ * HUD編集画面・設定画面の変更はここに溜めておき、操作が止まってから（または画面を閉じた時に）
+ * 専用スレッドで1回だけ書き出す。
+ *
+ * - 書き出しは一時ファイルに書いてから置き換えるので、途中で落ちても設定ファイルが途中で切れない
+ * - 書き出すまでの値は {@link #get} が返す（HUDConfig.getPosition・HudLayoutSnapshot はここから読む）
+ * - 書き出した後の読み直し（ForgeConfigSpec のキャッシュ・描画用スナップショットの更新）はクライアントスレッドで行う
+ *   （描画スレッドの ConfigValue.get() と同じ設定オブジェクトを触るので、書き出しスレッドからは読み直さない）
+ * - ゲーム終了時は溜まっている分を同期で書き出す
+ * - 書き出しスレッドは最初に書き出す時に起動する（{@link #get} だけならスレッドを作らない）
+ *
+ * @author GreatTomFox & Sora
+ */
+@Mod.EventBusSubscriber(modid = "universalhudmanager", bus = Mod.EventBusSubscriber.Bus.FORGE, value = Dist.CLIENT)
+public final class ConfigWriteBehind {
+
+    /**
+     * 最後の変更からこの時間変更がなければ書き出す
+     */
+    public static final long QUIET_PERIOD_MS = 1500;
+
+    private static final Object LOCK = new Object();
+
+    // 設定データのコピー（書き出しスレッド）と読み直し（クライアントスレッド）を重ねない
+    private static final Object DATA_LOCK = new Object();
+
+    // 書き出し待ちの値（ConfigValue ごとに最新の値だけ。generation = 変更した時の通し番号）
+    private static final Map<ForgeConfigSpec.ConfigValue<?>, Pending> PENDING = new IdentityHashMap<>();
+    private static volatile int pendingCount = 0;
+    private static long generation = 0;
+
+    private static ScheduledFuture<?> scheduled = null;
+
+    // 設定のロード時に HUDConfig.onModConfigEvent から受け取る
+    private static volatile ModConfig modConfig = null;
+
+    private record Pending(Object value, long generation) {
+    }
+
+    // 書き出しスレッド（初めて参照した時にクラスが初期化されて起動する）
+    private static final class Writer {
+        static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "UHM-ConfigWriter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private ConfigWriteBehind() {
+    }
+
+    /**
+     * 値を変更する（ファイルへは QUIET_PERIOD_MS 後にまとめて書き出す）
+     */
+    public static <T> void set(ForgeConfigSpec.ConfigValue<T> configValue, T value) {
+        synchronized (LOCK) {
+            PENDING.put(configValue, new Pending(value, ++generation));
+            pendingCount = PENDING.size();
+            schedule(QUIET_PERIOD_MS);
+        }
+    }
+
+    /**
+     * 書き出し待ちの値があればそれを、なければ設定の値を返す
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(ForgeConfigSpec.ConfigValue<T> configValue) {
+        if (pendingCount == 0) {
+            return configValue.get();
+        }
+        synchronized (LOCK) {
+            Pending pending = PENDING.get(configValue);
+            if (pending != null) {
+                return (T) pending.value;
+            }
+        }
+        return configValue.get();
+    }
+
+    /**
+     * 待ち時間を置かずに書き出す（画面を閉じた時・設定画面の保存時）
+     */
+    public static void flushSoon() {
+        synchronized (LOCK) {
+            if (!PENDING.isEmpty()) {
+                schedule(0);
+            }
+        }
+    }
+
+    /**
+     * 溜まっている分をこのスレッドで書き出し終わるまで待つ（ゲーム終了時）
+     */
+    public static void flushNow() {
+        synchronized (LOCK) {
+            if (PENDING.isEmpty()) {
+                return;
+            }
+            if (scheduled != null) {
+                scheduled.cancel(false);
+                scheduled = null;
+            }
+        }
+        try {
+            Writer.EXECUTOR.submit(ConfigWriteBehind::write).get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            UhmDebugLog.warn("UHM config flush on shutdown failed: {}", e.toString());
+        }
+    }
+
+    /**
+     * 書き出しスレッドで実行する（設定の書き出しと順番が入れ替わらない）
+     */
+    public static void runOnWriter(Runnable task) {
+        Writer.EXECUTOR.execute(task);
+    }
+
+    /**
+     * 一時ファイルに書いてから置き換える
+     */
+    static void writeAtomically(Path path, byte[] contents) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temp, contents);
+        moveAtomically(temp, path);
+    }
+
+    public static boolean hasPendingWrites() {
+        return pendingCount != 0;
+    }
+
+    static void onConfigLoaded(ModConfig config) {
+        modConfig = config;
+    }
+
+    @SubscribeEvent
+    public static void onGameShuttingDown(GameShuttingDownEvent event) {
+        flushNow();
+    }
+
+    private static void moveAtomically(Path temp, Path path) throws IOException {
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // LOCK を持った状態で呼ぶ
+    private static void schedule(long delayMs) {
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+        scheduled = Writer.EXECUTOR.schedule(ConfigWriteBehind::write, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 書き出しスレッド: 溜まっている値を反映したコピーを一時ファイルに書き、設定ファイルと置き換える
+     * 読み直しは {@link #afterWrite} をクライアントスレッドに回す
+     */
+    private static void write() {
+        ModConfig config = modConfig;
+        if (config == null) {
+            // まだ設定がロードされていない（ロード時に onModConfigEvent が呼ばれてから書き出す）
+            return;
+        }
+
+        List<Map.Entry<ForgeConfigSpec.ConfigValue<?>, Pending>> entries;
+        synchronized (LOCK) {
+            scheduled = null;
+            if (PENDING.isEmpty()) {
+                return;
+            }
+            entries = new ArrayList<>(PENDING.entrySet().size());
+            for (Map.Entry<ForgeConfigSpec.ConfigValue<?>, Pending> entry : PENDING.entrySet()) {
+                entries.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        CommentedConfig data = config.getConfigData();
+        Path path = config.getFullPath();
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            CommentedConfig copy;
+            synchronized (DATA_LOCK) {
+                copy = CommentedConfig.copy(data);
+            }
+            for (Map.Entry<ForgeConfigSpec.ConfigValue<?>, Pending> entry : entries) {
+                copy.set(entry.getKey().getPath(), entry.getValue().value);
+            }
+            TomlFormat.instance().createWriter().write(copy, temp, WritingMode.REPLACE);
+            moveAtomically(temp, path);
+        } catch (IOException | RuntimeException e) {
+            // 溜まっている値は残して次の変更・画面を閉じた時にもう一度書き出す
+            UhmDebugLog.warn("UHM config write to {} failed: {}", path, e.toString());
+            return;
+        }
+
+        // 書き出した内容を Forge 側の設定に読み戻すのはクライアントスレッドで（それまでは get() が溜めた値を返す）
+        Minecraft.getInstance().execute(() -> afterWrite(data, entries));
+    }
+
+    /**
+     * クライアントスレッド: 書き出したファイルを読み直し、書き出し済みの値を待ちから外す
+     */
+    private static void afterWrite(CommentedConfig data, List<Map.Entry<ForgeConfigSpec.ConfigValue<?>, Pending>> entries) {
+        synchronized (DATA_LOCK) {
+            if (data instanceof FileConfig fileConfig) {
+                fileConfig.load();
+            }
+            HUDConfig.SPEC.afterReload();
+        }
+
+        synchronized (LOCK) {
+            for (Map.Entry<ForgeConfigSpec.ConfigValue<?>, Pending> entry : entries) {
+                // 書き出し中にまた変更された値は残す
+                PENDING.remove(entry.getKey(), entry.getValue());
+            }
+            pendingCount = PENDING.size();
+        }
+        HudLayoutSnapshot.rebuild();
+        UhmDebugLog.reload();
+    }
+}
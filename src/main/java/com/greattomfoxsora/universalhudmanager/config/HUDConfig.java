@@ -1,8 +1,10 @@
 package com.greattomfoxsora.universalhudmanager.config;
 
+import com.greattomfoxsora.universalhudmanager.UhmDebugLog;
 import net.minecraftforge.common.ForgeConfigSpec;
 import net.minecraftforge.fml.ModLoadingContext;
 import net.minecraftforge.fml.config.ModConfig;
+import net.minecraftforge.fml.event.config.ModConfigEvent;
 import org.joml.Vector2i;
 
 import java.util.Arrays;
@@ -64,12 +66,26 @@ public class HUDConfig {
     // Global settings
     public static final ForgeConfigSpec.BooleanValue HUD_EDIT_MODE;
     
+    // HUD編集画面の吸着
+    public static final ForgeConfigSpec.BooleanValue SNAP_ENABLED;
+    public static final ForgeConfigSpec.IntValue SNAP_DISTANCE;
+    public static final ForgeConfigSpec.IntValue SNAP_GRID_SIZE;
+    
+    public static final ForgeConfigSpec.BooleanValue RELATIVE_OFFSETS;
+    public static final ForgeConfigSpec.BooleanValue ATTACH_TO_PARENT;
+    
+    // 最後に切り替えたレイアウトプロファイル（LayoutProfiles）
+    public static final ForgeConfigSpec.ConfigValue<String> ACTIVE_LAYOUT;
+    
     // Vehicle HUD settings
     public static final ForgeConfigSpec.BooleanValue SEPARATE_VEHICLE_HEALTH;
     public static final ForgeConfigSpec.BooleanValue SEPARATE_JUMP_METER;
     
     // デバッグは最小限に
     public static final ForgeConfigSpec.BooleanValue DEBUG_MODE;
+    public static final ForgeConfigSpec.ConfigValue<List<? extends String>> DEBUG_CATEGORIES;
+    public static final ForgeConfigSpec.BooleanValue CACHED_HUD;
+    public static final ForgeConfigSpec.BooleanValue CACHED_ITEM_ICONS;
 
     // AppleSkin 互換機能
     public static final ForgeConfigSpec.BooleanValue APPLESKIN_SATURATION;
@@ -77,8 +93,13 @@ public class HUDConfig {
     public static final ForgeConfigSpec.BooleanValue APPLESKIN_HUNGER_RESTORED;
     public static final ForgeConfigSpec.BooleanValue APPLESKIN_HEALTH_RESTORED;
     
+    // 要素ID → 設定
+    private static final List<ForgeConfigSpec.ConfigValue<List<? extends Integer>>> POSITIONS;
+    private static final List<ForgeConfigSpec.BooleanValue> ENABLED;
+    
     static {
-        BUILDER.push("hud_positions");
+        BUILDER.comment("Offsets from each element's anchored default position: [x, y] in GUI pixels, or [x, y, 1] in per mille of the screen size")
+               .push("hud_positions");
         
         // Health Bar position
         HEALTH_POS = BUILDER
@@ -273,6 +294,49 @@ public class HUDConfig {
                 .comment("Enable debug logging (default: false)")
                 .define("debug_mode", false);
         
+        DEBUG_CATEGORIES = BUILDER
+                .comment("Debug log categories when debug_mode is on (\"all\" or any of: overlay, health, armor, food, air,",
+                         "experience, hotbar, item_name, effects, vehicle, jump_meter, dismount, boss_bar, attack_indicator,",
+                         "editor, config, input, mixin)")
+                .defineList("debug_categories", Arrays.asList("all"),
+                    obj -> obj instanceof String);
+        
+        CACHED_HUD = BUILDER
+                .comment("Render Health/Armor/Food/Air/Experience into an offscreen buffer and redraw them only when their state changes (default: false)")
+                .define("cached_hud", false);
+        
+        CACHED_ITEM_ICONS = BUILDER
+                .comment("Render each hotbar item icon into a shared texture once and reuse it until the item changes (enchanted, animated and time-dependent items are still drawn every frame) (default: false)")
+                .define("cached_item_icons", false);
+        
+        BUILDER.pop();
+        
+        BUILDER.push("editor");
+        
+        SNAP_ENABLED = BUILDER
+                .comment("Snap dragged elements to other elements' edges and centres, the screen centre and the grid (hold Alt while dragging to move freely)")
+                .define("snap_enabled", true);
+        
+        SNAP_DISTANCE = BUILDER
+                .comment("How close (in GUI pixels) an edge must be before it snaps")
+                .defineInRange("snap_distance", 4, 1, 16);
+        
+        SNAP_GRID_SIZE = BUILDER
+                .comment("Grid spacing in GUI pixels used when no element edge is close (0 = no grid)")
+                .defineInRange("snap_grid_size", 0, 0, 64);
+        
+        RELATIVE_OFFSETS = BUILDER
+                .comment("Save offsets moved in the HUD editor as a fraction of the screen size (per mille, stored as [x, y, 1]) so they scale with GUI scale and window size")
+                .define("relative_offsets", false);
+        
+        ATTACH_TO_PARENT = BUILDER
+                .comment("Move child elements together with their parent (armor with health, air and vehicle health with food, jump meter with experience)")
+                .define("attach_to_parent", false);
+        
+        ACTIVE_LAYOUT = BUILDER
+                .comment("Name of the layout profile last switched to (profiles live in config/universalhudmanager/layouts, empty = none)")
+                .define("active_layout", "");
+        
         BUILDER.pop();
         
         BUILDER.push("vehicle_hud");
@@ -309,15 +373,35 @@ public class HUDConfig {
         BUILDER.pop();
 
         SPEC = BUILDER.build();
+        
+        // 要素IDで引く表（HudLayoutSnapshot・HudElementRegistry・レイアウトのリセットが共通で使う）
+        POSITIONS = List.of(
+            HEALTH_POS, ARMOR_POS, FOOD_POS, AIR_POS, EXPERIENCE_POS, HOTBAR_POS, ITEM_NAME_POS, EFFECTS_POS,
+            VEHICLE_HEALTH_POS, JUMP_METER_POS, DISMOUNT_MESSAGE_POS, BOSS_BAR_POS,
+            ATTACK_INDICATOR_POS, CROSSHAIR_ATTACK_INDICATOR_POS, HOTBAR_ATTACK_INDICATOR_POS);
+        ENABLED = List.of(
+            HEALTH_ENABLED, ARMOR_ENABLED, FOOD_ENABLED, AIR_ENABLED, EXPERIENCE_ENABLED, HOTBAR_ENABLED, ITEM_NAME_ENABLED, EFFECTS_ENABLED,
+            VEHICLE_HEALTH_ENABLED, JUMP_METER_ENABLED, DISMOUNT_MESSAGE_ENABLED, BOSS_BAR_ENABLED,
+            ATTACK_INDICATOR_ENABLED, ATTACK_INDICATOR_ENABLED, ATTACK_INDICATOR_ENABLED);
     }
     
+    /**
+     * 位置設定の3番目の値: 千分率のオフセット（[x, y, 1]）
+     */
+    public static final int OFFSET_RELATIVE = 1;
+    
+    /**
+     * 位置設定の x / y の範囲（hud_positions の検証と同じ ±1000）
+     */
+    public static final int MAX_OFFSET = 1000;
+    
     // Utility methods
     
     /**
      * Get Vector2i position from config value
      */
     public static Vector2i getPosition(ForgeConfigSpec.ConfigValue<List<? extends Integer>> configValue) {
-        List<? extends Integer> list = configValue.get();
+        List<? extends Integer> list = ConfigWriteBehind.get(configValue);
         if (list.size() >= 2) {
             return new Vector2i(list.get(0), list.get(1));
         }
@@ -326,320 +410,75 @@ public class HUDConfig {
     
     /**
      * Set Vector2i position to config value
+     * ファイルへの書き出しは ConfigWriteBehind がまとめて裏で行う
      */
     public static void setPosition(ForgeConfigSpec.ConfigValue<List<? extends Integer>> configValue, Vector2i position) {
-        configValue.set(Arrays.asList(position.x, position.y));
-    }
-    
-    // Health Bar convenience methods
-    public static Vector2i getHealthPosition() {
-        return getPosition(HEALTH_POS);
-    }
-    
-    public static void setHealthPosition(Vector2i position) {
-        setPosition(HEALTH_POS, position);
-    }
-    
-    // Armor Bar convenience methods
-    public static Vector2i getArmorPosition() {
-        return getPosition(ARMOR_POS);
-    }
-    
-    public static void setArmorPosition(Vector2i position) {
-        setPosition(ARMOR_POS, position);
-    }
-    
-    // Food Bar convenience methods
-    public static Vector2i getFoodPosition() {
-        return getPosition(FOOD_POS);
-    }
-    
-    public static void setFoodPosition(Vector2i position) {
-        setPosition(FOOD_POS, position);
-    }
-    
-    // Air Bar convenience methods
-    public static Vector2i getAirPosition() {
-        return getPosition(AIR_POS);
-    }
-    
-    public static void setAirPosition(Vector2i position) {
-        setPosition(AIR_POS, position);
-    }
-    
-    // Experience Bar convenience methods
-    public static Vector2i getExperiencePosition() {
-        return getPosition(EXPERIENCE_POS);
-    }
-    
-    public static void setExperiencePosition(Vector2i position) {
-        setPosition(EXPERIENCE_POS, position);
-    }
-    
-    // Hotbar convenience methods
-    public static Vector2i getHotbarPosition() {
-        return getPosition(HOTBAR_POS);
-    }
-    
-    public static void setHotbarPosition(Vector2i position) {
-        setPosition(HOTBAR_POS, position);
-    }
-    
-    // Item Name convenience methods
-    public static Vector2i getItemNamePosition() {
-        return getPosition(ITEM_NAME_POS);
-    }
-    
-    public static void setItemNamePosition(Vector2i position) {
-        setPosition(ITEM_NAME_POS, position);
-    }
-    
-    // Effects convenience methods
-    public static Vector2i getEffectsPosition() {
-        return getPosition(EFFECTS_POS);
-    }
-    
-    public static void setEffectsPosition(Vector2i position) {
-        setPosition(EFFECTS_POS, position);
-    }
-    
-    // Vehicle Health convenience methods
-    public static Vector2i getVehicleHealthPosition() {
-        return getPosition(VEHICLE_HEALTH_POS);
-    }
-    
-    public static void setVehicleHealthPosition(Vector2i position) {
-        setPosition(VEHICLE_HEALTH_POS, position);
-    }
-    
-    // Jump Meter convenience methods
-    public static Vector2i getJumpMeterPosition() {
-        return getPosition(JUMP_METER_POS);
-    }
-    
-    public static void setJumpMeterPosition(Vector2i position) {
-        setPosition(JUMP_METER_POS, position);
-    }
-    
-    // Dismount Message convenience methods
-    public static Vector2i getDismountMessagePosition() {
-        return getPosition(DISMOUNT_MESSAGE_POS);
-    }
-    
-    public static void setDismountMessagePosition(Vector2i position) {
-        setPosition(DISMOUNT_MESSAGE_POS, position);
-    }
-    
-    // Boss Bar convenience methods
-    public static Vector2i getBossBarPosition() {
-        return getPosition(BOSS_BAR_POS);
-    }
-    
-    public static void setBossBarPosition(Vector2i position) {
-        setPosition(BOSS_BAR_POS, position);
-    }
-    
-    // Attack Indicator convenience methods
-    public static Vector2i getAttackIndicatorPosition() {
-        return getPosition(ATTACK_INDICATOR_POS);
-    }
-    
-    public static void setAttackIndicatorPosition(Vector2i position) {
-        setPosition(ATTACK_INDICATOR_POS, position);
-    }
-    
-    // Crosshair Attack Indicator convenience methods
-    public static Vector2i getCrosshairAttackIndicatorPosition() {
-        return getPosition(CROSSHAIR_ATTACK_INDICATOR_POS);
-    }
-    
-    public static void setCrosshairAttackIndicatorPosition(Vector2i position) {
-        setPosition(CROSSHAIR_ATTACK_INDICATOR_POS, position);
-    }
-    
-    // Hotbar Attack Indicator convenience methods
-    public static Vector2i getHotbarAttackIndicatorPosition() {
-        return getPosition(HOTBAR_ATTACK_INDICATOR_POS);
-    }
-    
-    public static void setHotbarAttackIndicatorPosition(Vector2i position) {
-        setPosition(HOTBAR_ATTACK_INDICATOR_POS, position);
-    }
-    
-    
-    // Default position calculations - ARMOR HUD SUCCESS PATTERN
-    
-    /**
-     * Health Bar default position - アーマーHUDと同じ固定値方式
-     */
-    public static Vector2i getDefaultHealthPosition(int screenWidth, int screenHeight) {
-        // 🌟 ARMOR HUD PROVEN METHOD: Simple fixed offset values
-        int left = screenWidth / 2 - 91;    // Vanilla health position
-        int top = screenHeight - 39;        // Vanilla health position
-        return new Vector2i(left, top);
-    }
-    
-    /**
-     * Armor Bar default position - 実績のある方式をそのまま使用
-     */
-    public static Vector2i getDefaultArmorPosition(int screenWidth, int screenHeight) {
-        Vector2i healthPos = getDefaultHealthPosition(screenWidth, screenHeight);
-        return new Vector2i(healthPos.x, healthPos.y - 10); // Health の10px上
-    }
-    
-    /**
-     * Food Bar default position - バニラ右側配置
-     */
-    public static Vector2i getDefaultFoodPosition(int screenWidth, int screenHeight) {
-        // バニラのFood Bar位置: 画面右側、Health Barと同じ高さ
-        int right = screenWidth / 2 + 10;    // Health Barの反対側
-        int top = screenHeight - 39;         // Health Barと同じ高さ
-        return new Vector2i(right, top);
-    }
-    
-    /**
-     * Air Bar default position - バニラ右側配置（Food Barの下）
-     */
-    public static Vector2i getDefaultAirPosition(int screenWidth, int screenHeight) {
-        // バニラのAir Bar位置: Food Barの下、水中時のみ表示
-        Vector2i foodPos = getDefaultFoodPosition(screenWidth, screenHeight);
-        return new Vector2i(foodPos.x, foodPos.y - 10); // Food Barの10px上
-    }
-    
-    /**
-     * Experience Bar default position - バニラ下部中央配置
-     */
-    public static Vector2i getDefaultExperiencePosition(int screenWidth, int screenHeight) {
-        // バニラのExperience Bar位置: 画面下部中央、ホットバーの上
-        int left = screenWidth / 2 - 91;    // 182 / 2 = 91
-        int top = screenHeight - 32 + 3;    // バニラのY座標計算
-        return new Vector2i(left, top);
-    }
-    
-    /**
-     * Hotbar default position - バニラ下部中央配置
-     */
-    public static Vector2i getDefaultHotbarPosition(int screenWidth, int screenHeight) {
-        // バニラのHotbar位置: 画面下部中央
-        int left = screenWidth / 2 - 91;    // 182 / 2 = 91
-        int top = screenHeight - 22;        // バニラのY座標（GUI.java 484行目）
-        return new Vector2i(left, top);
-    }
-    
-    /**
-     * Item Name default position - バニラ準拠配置
-     */
-    public static Vector2i getDefaultItemNamePosition(int screenWidth, int screenHeight) {
-        // HudElement用の位置計算（緑枠の中央が画面中央になるように調整）
-        int centerX = screenWidth / 2 - 33; // 66px幅の緑枠の中央が画面中央に来るよう調整
-        int nameY = screenHeight - 59;      // バニラ準拠のY座標
-        
-        // スペクテイターモード判定（実装簡略化のため省略、必要に応じて追加）
-        // if (!this.minecraft.gameMode.canHurtPlayer()) nameY += 14;
-        
-        return new Vector2i(centerX, nameY);
-    }
-    
-    /**
-     * Effects default position - バニラ準拠右上配置
-     */
-    public static Vector2i getDefaultEffectsPosition(int screenWidth, int screenHeight) {
-        // バニラのEffects位置: 右上（GUI.java 430-442行目準拠）
-        int right = screenWidth - 25;  // 最初のエフェクトのX座標
-        int top = 1;                    // Y座標
-        
-        return new Vector2i(right, top);
+        ConfigWriteBehind.set(configValue, Arrays.asList(position.x, position.y));
+        // 描画側が読むスナップショットも更新
+        HudLayoutSnapshot.rebuild();
     }
     
     /**
-     * Vehicle Health default position - バニラ準拠右下配置 OR 分離モード時はFoodの上
+     * HUD編集画面で動かしたピクセルのオフセットを保存（relative_offsets なら画面サイズの千分率にする）
      */
-    public static Vector2i getDefaultVehicleHealthPosition(int screenWidth, int screenHeight) {
-        if (SEPARATE_VEHICLE_HEALTH.get()) {
-            // 分離モード: Food Barの上に表示（Airが通常ある位置）
-            Vector2i foodPos = getDefaultFoodPosition(screenWidth, screenHeight);
-            return new Vector2i(foodPos.x, foodPos.y - 10);  // Foodの10px上
+    public static void setPosition(int element, int pixelX, int pixelY, int screenWidth, int screenHeight) {
+        if (!ConfigWriteBehind.get(RELATIVE_OFFSETS)) {
+            ConfigWriteBehind.set(position(element), Arrays.asList(pixelX, pixelY));
         } else {
-            // バニラライク: Food Bar位置（馬に乗った時にFoodが馬のHPになる）
-            return getDefaultFoodPosition(screenWidth, screenHeight);
+            ConfigWriteBehind.set(position(element), Arrays.asList(
+                HudAnchorLayout.storedOffset(pixelX, true, screenWidth),
+                HudAnchorLayout.storedOffset(pixelY, true, screenHeight),
+                OFFSET_RELATIVE));
         }
+        HudLayoutSnapshot.rebuild();
     }
     
     /**
-     * Jump Meter default position - バニラ準拠中央下配置 OR 分離モード時はボスHP下
+     * 要素の位置オフセット設定（要素IDは HudLayoutSnapshot の定数）
      */
-    public static Vector2i getDefaultJumpMeterPosition(int screenWidth, int screenHeight) {
-        if (SEPARATE_JUMP_METER.get()) {
-            // 分離モード: ボスHPバーの下に表示
-            int bossBarBottomY = getBossBarBottomY();
-            int center = screenWidth / 2 - 91;  // 中央から182pxの半分左
-            int top = bossBarBottomY + 12;       // ボスバーの下12px
-            return new Vector2i(center, top);
-        } else {
-            // バニラライク: Experience Bar位置（馬に乗った時にExperienceがジャンプゲージになる）
-            return getDefaultExperiencePosition(screenWidth, screenHeight);
-        }
+    public static ForgeConfigSpec.ConfigValue<List<? extends Integer>> position(int element) {
+        return POSITIONS.get(element);
     }
     
     /**
-     * Dismount Message default position - バニラ準拠中央下部配置
+     * 要素の有効/無効設定（Attack Indicator の3要素は同じ設定を共有）
      */
-    public static Vector2i getDefaultDismountMessagePosition(int screenWidth, int screenHeight) {
-        // バニラのoverlayMessage位置: translate(screenWidth/2, screenHeight-68) + drawString(-4)
-        int centerX = screenWidth / 2;        // バニラと同じ中央X座標
-        int bottomY = screenHeight - 68 - 4;  // translate Y座標 + drawString Y座標
-        return new Vector2i(centerX, bottomY);
+    public static ForgeConfigSpec.BooleanValue enabled(int element) {
+        return ENABLED.get(element);
     }
     
     /**
-     * Boss Bar default position - バニラ準拠上部中央配置
+     * 全要素の位置を (0, 0) に戻して保存（スナップショットの再構築は1回だけ、書き出しは裏のスレッドで1回だけ）
      */
-    public static Vector2i getDefaultBossBarPosition(int screenWidth, int screenHeight) {
-        // バニラのBoss Bar位置: 上部中央（BossHealthOverlay.java準拠）
-        int centerX = screenWidth / 2 - 91;  // 182px幅バーの左端（中央-91px）
-        int topY = 12;                       // バニラの標準Y座標
-        return new Vector2i(centerX, topY);
-    }
-    
-    /**
-     * Attack Indicator default position - バニラ設定に応じてクロスヘア版・ホットバー版の位置
-     * ここではクロスヘア版のデフォルト位置を返す（実際の描画時にAttackIndicatorStatusで判定）
-     */
-    public static Vector2i getDefaultAttackIndicatorPosition(int screenWidth, int screenHeight) {
-        // クロスヘア版の位置: クロスヘアの下（GUI.java 376-377行目準拠）
-        int centerX = screenWidth / 2 - 8;   // クロスヘア中央-8px（16px幅アイコンの左端）
-        int crosshairY = screenHeight / 2 - 7 + 16;  // クロスヘア中央から下へオフセット
-        return new Vector2i(centerX, crosshairY);
+    public static void resetPositions() {
+        List<Integer> zero = Arrays.asList(0, 0);
+        for (ForgeConfigSpec.ConfigValue<List<? extends Integer>> configValue : POSITIONS) {
+            ConfigWriteBehind.set(configValue, zero);
+        }
+        HudLayoutSnapshot.rebuild();
+        ConfigWriteBehind.flushSoon();
     }
     
     
     /**
-     * ボスHPバーの一番下のY座標を計算（ボス数に応じて動的変化）
+     * Calculate final position with offset applied
      */
-    private static int getBossBarBottomY() {
-        // ボスバーの基本情報（バニラ準拠）
-        int bossBarStartY = 12;        // 最初のボスバーのY位置
-        int bossBarHeight = 10;        // ボスバーの高さ
-        int bossBarSpacing = 19;       // ボスバー間の間隔
-        
-        // TODO: 実際のボス数を取得する必要がある
-        // 現在はデフォルトでボスなしと仮定
-        int activeBossCount = 0;
-        
-        if (activeBossCount == 0) {
-            // ボスがいない場合、最初のボスバー位置を返す
-            return bossBarStartY;
-        } else {
-            // 最後のボスバーの下端を返す
-            return bossBarStartY + (activeBossCount - 1) * bossBarSpacing + bossBarHeight;
-        }
+    public static Vector2i getFinalPosition(Vector2i defaultPos, Vector2i offset) {
+        return new Vector2i(defaultPos.x + offset.x, defaultPos.y + offset.y);
     }
     
     /**
-     * Calculate final position with offset applied
+     * 設定ファイルのロード/リロード時にスナップショットを再構築（MODイベントバスに登録）
      */
-    public static Vector2i getFinalPosition(Vector2i defaultPos, Vector2i offset) {
-        return new Vector2i(defaultPos.x + offset.x, defaultPos.y + offset.y);
+    public static void onModConfigEvent(ModConfigEvent event) {
+        if (event.getConfig().getSpec() == SPEC) {
+            ConfigWriteBehind.onConfigLoaded(event.getConfig());
+            if (event instanceof ModConfigEvent.Loading) {
+                LayoutProfiles.reload();
+            }
+            HudLayoutSnapshot.rebuild();
+            UhmDebugLog.reload();
+        }
     }
     
     /**
@@ -0,0 +1,152 @@
+package com.greattomfoxsora.universalhudmanager.config;
+
+/**
+ * アンカー方式のHUD配置
+ * 各要素のデフォルト位置を「画面の9か所のアンカー（または親要素）+ ずらし量」で定義し、
+ * 画面サイズが決まったら全要素の位置を一度にプリミティブ配列へ計算する（{@link #resolve}）。
+ * 結果は HudLayoutSnapshot が画面サイズごとにキャッシュするので、描画中は配列を引くだけ。
+ *
+ * - ずらし量はバニラと同じピクセル値（GUI スケール・ウィンドウサイズが変わってもアンカーに付いて動く）
+ * - ユーザーのオフセットはピクセル、または画面の幅・高さの千分率（HudLayoutSnapshot.isRelative）
+ * - 親要素（Armor → Health など）は要素IDが親より大きいので、要素ID順に計算すれば親が先に決まる
+ * - OPT_ATTACH_TO_PARENT が有効なら子要素は親のオフセットにも付いて動く（無効なら親のデフォルト位置が基準）
+ *
+ * @author GreatTomFox & Sora
+ */
+public final class HudAnchorLayout {
+
+    // アンカー（列 = anchor % 3、行 = anchor / 3）
+    public static final int TOP_LEFT = 0;
+    public static final int TOP_CENTER = 1;
+    public static final int TOP_RIGHT = 2;
+    public static final int MIDDLE_LEFT = 3;
+    public static final int CENTER = 4;
+    public static final int MIDDLE_RIGHT = 5;
+    public static final int BOTTOM_LEFT = 6;
+    public static final int BOTTOM_CENTER = 7;
+    public static final int BOTTOM_RIGHT = 8;
+
+    /**
+     * 親なし（画面のアンカーが基準）
+     */
+    public static final int SCREEN = -1;
+
+    /**
+     * 千分率オフセットの分母
+     */
+    public static final int RELATIVE_SCALE = 1000;
+
+    private static final int[] ANCHOR = new int[HudLayoutSnapshot.ELEMENT_COUNT];
+    private static final int[] PARENT = new int[HudLayoutSnapshot.ELEMENT_COUNT];
+    private static final int[] DX = new int[HudLayoutSnapshot.ELEMENT_COUNT];
+    private static final int[] DY = new int[HudLayoutSnapshot.ELEMENT_COUNT];
+
+    // ボスがいない時の最初のボスバーの下端（分離モードの Jump Meter の基準）
+    private static final int BOSS_BAR_BOTTOM_Y = 12;
+
+    static {
+        // バニラの配置
+        define(HudLayoutSnapshot.HEALTH, BOTTOM_CENTER, SCREEN, -91, -39);
+        define(HudLayoutSnapshot.ARMOR, BOTTOM_CENTER, HudLayoutSnapshot.HEALTH, 0, -10);       // Health の10px上
+        define(HudLayoutSnapshot.FOOD, BOTTOM_CENTER, SCREEN, 10, -39);
+        define(HudLayoutSnapshot.AIR, BOTTOM_CENTER, HudLayoutSnapshot.FOOD, 0, -10);           // Food の10px上
+        define(HudLayoutSnapshot.EXPERIENCE, BOTTOM_CENTER, SCREEN, -91, -29);
+        define(HudLayoutSnapshot.HOTBAR, BOTTOM_CENTER, SCREEN, -91, -22);
+        define(HudLayoutSnapshot.ITEM_NAME, BOTTOM_CENTER, SCREEN, -33, -59);                   // 66px幅の緑枠の中央が画面中央
+        define(HudLayoutSnapshot.EFFECTS, TOP_RIGHT, SCREEN, -25, 1);
+        // 分離モードでは Food の10px上（Air の位置）、バニラライクでは Food と同じ位置
+        define(HudLayoutSnapshot.VEHICLE_HEALTH, BOTTOM_CENTER, HudLayoutSnapshot.FOOD, 0, 0);
+        // 分離モードではボスバーの下12px、バニラライクでは Experience と同じ位置
+        define(HudLayoutSnapshot.JUMP_METER, BOTTOM_CENTER, HudLayoutSnapshot.EXPERIENCE, 0, 0);
+        define(HudLayoutSnapshot.DISMOUNT_MESSAGE, BOTTOM_CENTER, SCREEN, 0, -72);               // バニラの overlayMessage の中央
+        define(HudLayoutSnapshot.BOSS_BAR, TOP_CENTER, SCREEN, -91, 12);
+        define(HudLayoutSnapshot.ATTACK_INDICATOR, CENTER, SCREEN, -8, 9);                      // クロスヘア中央-8px、下へ
+        define(HudLayoutSnapshot.CROSSHAIR_ATTACK_INDICATOR, CENTER, SCREEN, -8, 9);
+        // 右利きの位置（ホットバーの右側）。左利きは描画側で切り替える
+        define(HudLayoutSnapshot.HOTBAR_ATTACK_INDICATOR, BOTTOM_CENTER, SCREEN, 97, -20);
+    }
+
+    private HudAnchorLayout() {
+    }
+
+    /**
+     * 全要素の基準位置（デフォルト位置）と最終位置を計算する
+     * @param baseX 基準位置X（オフセットを足す前）の書き込み先
+     * @param x 最終位置X（基準位置 + オフセット）の書き込み先
+     */
+    public static void resolve(HudLayoutSnapshot layout, int screenWidth, int screenHeight,
+                               int[] baseX, int[] baseY, int[] x, int[] y) {
+        boolean separateVehicleHealth = layout.option(HudLayoutSnapshot.OPT_SEPARATE_VEHICLE_HEALTH);
+        boolean separateJumpMeter = layout.option(HudLayoutSnapshot.OPT_SEPARATE_JUMP_METER);
+        boolean attachToParent = layout.option(HudLayoutSnapshot.OPT_ATTACH_TO_PARENT);
+
+        for (int element = 0; element < HudLayoutSnapshot.ELEMENT_COUNT; element++) {
+            int anchor = ANCHOR[element];
+            int parent = PARENT[element];
+            int dx = DX[element];
+            int dy = DY[element];
+            if (element == HudLayoutSnapshot.VEHICLE_HEALTH && separateVehicleHealth) {
+                dy = -10;
+            } else if (element == HudLayoutSnapshot.JUMP_METER && separateJumpMeter) {
+                anchor = TOP_CENTER;
+                parent = SCREEN;
+                dx = -91;
+                dy = BOSS_BAR_BOTTOM_Y + 12;
+            }
+
+            int bx;
+            int by;
+            if (parent == SCREEN) {
+                bx = anchorX(anchor, screenWidth) + dx;
+                by = anchorY(anchor, screenHeight) + dy;
+            } else if (attachToParent) {
+                bx = x[parent] + dx;
+                by = y[parent] + dy;
+            } else {
+                bx = baseX[parent] + dx;
+                by = baseY[parent] + dy;
+            }
+            baseX[element] = bx;
+            baseY[element] = by;
+            x[element] = bx + offsetPixels(layout.offsetX(element), layout.isRelative(element), screenWidth);
+            y[element] = by + offsetPixels(layout.offsetY(element), layout.isRelative(element), screenHeight);
+        }
+    }
+
+    /**
+     * 保存されたオフセットをピクセルにする
+     */
+    public static int offsetPixels(int offset, boolean relative, int screenSize) {
+        return relative ? Math.round(offset * (float) screenSize / RELATIVE_SCALE) : offset;
+    }
+
+    /**
+     * ピクセルのオフセットを保存形式にする（千分率は ±RELATIVE_SCALE に収める）
+     */
+    public static int storedOffset(int pixels, boolean relative, int screenSize) {
+        if (!relative || screenSize <= 0) {
+            return pixels;
+        }
+        int value = Math.round(pixels * (float) RELATIVE_SCALE / screenSize);
+        return Math.max(-RELATIVE_SCALE, Math.min(RELATIVE_SCALE, value));
+    }
+
+    public static int anchorX(int anchor, int screenWidth) {
+        return (anchor % 3) * screenWidth / 2;
+    }
+
+    public static int anchorY(int anchor, int screenHeight) {
+        return (anchor / 3) * screenHeight / 2;
+    }
+
+    private static void define(int element, int anchor, int parent, int dx, int dy) {
+        if (parent >= element) {
+            // 要素ID順に計算するので親は先に決まっていなければならない
+            throw new IllegalStateException("HUD anchor parent must precede element: " + element + " -> " + parent);
+        }
+        ANCHOR[element] = anchor;
+        PARENT[element] = parent;
+        DX[element] = dx;
+        DY[element] = dy;
+    }
+}
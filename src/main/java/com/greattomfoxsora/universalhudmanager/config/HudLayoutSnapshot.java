@@ -0,0 +1,252 @@
+package com.greattomfoxsora.universalhudmanager.config;
+
+import net.minecraftforge.common.ForgeConfigSpec;
+
+import java.util.List;
+
+/**
+ * HUD設定のイミュータブルなスナップショット
+ * 描画スレッドは毎フレーム ForgeConfigSpec を引かず、このスナップショットだけを読む。
+ *
+ * オフセットは int 配列、有効/無効・表示オプションは long のビットセットで保持する。
+ * 最終位置は HudAnchorLayout が画面サイズごとに全要素まとめて計算し、画面サイズが変わるか
+ * スナップショットが差し替わるまでキャッシュする。
+ * 再構築は設定のロード/リロード時とHUD編集画面での保存時のみ（{@link #rebuild()}）。
+ * 公開は volatile 参照の差し替えだけなので、読み取り側はロック不要。
+ *
+ * @author GreatTomFox & Sora
+ */
+public final class HudLayoutSnapshot {
+
+    // 要素ID（オフセット配列のインデックス兼、有効フラグのビット位置）
+    public static final int HEALTH = 0;
+    public static final int ARMOR = 1;
+    public static final int FOOD = 2;
+    public static final int AIR = 3;
+    public static final int EXPERIENCE = 4;
+    public static final int HOTBAR = 5;
+    public static final int ITEM_NAME = 6;
+    public static final int EFFECTS = 7;
+    public static final int VEHICLE_HEALTH = 8;
+    public static final int JUMP_METER = 9;
+    public static final int DISMOUNT_MESSAGE = 10;
+    public static final int BOSS_BAR = 11;
+    public static final int ATTACK_INDICATOR = 12;
+    public static final int CROSSHAIR_ATTACK_INDICATOR = 13;
+    public static final int HOTBAR_ATTACK_INDICATOR = 14;
+    public static final int ELEMENT_COUNT = 15;
+
+    // 表示オプションのビット位置（要素の有効ビットと衝突しないよう32以降を使用）
+    public static final int OPT_DEBUG = 32;
+    public static final int OPT_SEPARATE_VEHICLE_HEALTH = 33;
+    public static final int OPT_SEPARATE_JUMP_METER = 34;
+    public static final int OPT_ARMOR_EMPTY_DISPLAY = 35;
+    public static final int OPT_FOOD_LEFT_TO_RIGHT = 36;
+    public static final int OPT_APPLESKIN_SATURATION = 37;
+    public static final int OPT_APPLESKIN_EXHAUSTION = 38;
+    public static final int OPT_APPLESKIN_HUNGER_RESTORED = 39;
+    public static final int OPT_APPLESKIN_HEALTH_RESTORED = 40;
+    public static final int OPT_CACHED_HUD = 41;
+    public static final int OPT_ATTACH_TO_PARENT = 42;
+    public static final int OPT_CACHED_ITEM_ICONS = 43;
+
+    // 設定ロード前に描画された場合のフォールバック（Specのデフォルト値）
+    private static volatile HudLayoutSnapshot current = capture(true);
+
+    private final int[] offsetX;
+    private final int[] offsetY;
+    // オフセットが画面サイズの千分率の要素（ビット位置 = 要素ID）
+    private final int relativeMask;
+    private final long flags;
+
+    // 画面サイズごとの計算結果（サイズが変わった時だけ作り直す。差し替えは参照1つなのでロック不要）
+    private Resolved resolved = null;
+
+    private static final class Resolved {
+        final int screenWidth;
+        final int screenHeight;
+        final int[] baseX = new int[ELEMENT_COUNT];
+        final int[] baseY = new int[ELEMENT_COUNT];
+        final int[] x = new int[ELEMENT_COUNT];
+        final int[] y = new int[ELEMENT_COUNT];
+
+        Resolved(int screenWidth, int screenHeight) {
+            this.screenWidth = screenWidth;
+            this.screenHeight = screenHeight;
+        }
+    }
+
+    private HudLayoutSnapshot(int[] offsetX, int[] offsetY, int relativeMask, long flags) {
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+        this.relativeMask = relativeMask;
+        this.flags = flags;
+    }
+
+    /**
+     * 現在のスナップショットを取得（描画スレッドから毎フレーム呼ばれる）
+     */
+    public static HudLayoutSnapshot current() {
+        return current;
+    }
+
+    /**
+     * 設定値からスナップショットを作り直して公開する
+     * 設定のロード/リロード時、HUD編集画面・設定画面での保存時に呼ぶ
+     */
+    public static void rebuild() {
+        current = capture(false);
+    }
+
+    /**
+     * オフセットだけを差し替えたスナップショットを公開する（レイアウトプロファイルの切り替え用）
+     * 設定は読み直さないので、同じフレームのうちに描画へ反映される。
+     * 配列は呼び出し側が以後変更しないこと（LayoutProfiles の読み込み済みプロファイルをそのまま渡す）
+     */
+    static void publishOffsets(int[] offsetX, int[] offsetY, int relativeMask) {
+        current = new HudLayoutSnapshot(offsetX, offsetY, relativeMask, current.flags);
+    }
+
+    public boolean isEnabled(int element) {
+        return (flags & (1L << element)) != 0;
+    }
+
+    /**
+     * 要素の有効フラグだけを取り出したビットマスク（ビット位置 = 要素ID）
+     */
+    public int enabledMask() {
+        return (int) (flags & ((1L << ELEMENT_COUNT) - 1));
+    }
+
+    public boolean option(int option) {
+        return (flags & (1L << option)) != 0;
+    }
+
+    public boolean debug() {
+        return option(OPT_DEBUG);
+    }
+
+    /**
+     * 保存されたオフセット（isRelative なら千分率、そうでなければピクセル）
+     */
+    public int offsetX(int element) {
+        return offsetX[element];
+    }
+
+    public int offsetY(int element) {
+        return offsetY[element];
+    }
+
+    public boolean isRelative(int element) {
+        return (relativeMask & (1 << element)) != 0;
+    }
+
+    public int relativeMask() {
+        return relativeMask;
+    }
+
+    /**
+     * 最終X座標（デフォルト位置 + オフセット）
+     */
+    public int x(int element, int screenWidth, int screenHeight) {
+        return resolve(screenWidth, screenHeight).x[element];
+    }
+
+    /**
+     * 最終Y座標（デフォルト位置 + オフセット）
+     */
+    public int y(int element, int screenWidth, int screenHeight) {
+        return resolve(screenWidth, screenHeight).y[element];
+    }
+
+    /**
+     * デフォルト位置X（アンカー・親要素から決まる、オフセットを足す前の位置）
+     */
+    public int baseX(int element, int screenWidth, int screenHeight) {
+        return resolve(screenWidth, screenHeight).baseX[element];
+    }
+
+    public int baseY(int element, int screenWidth, int screenHeight) {
+        return resolve(screenWidth, screenHeight).baseY[element];
+    }
+
+    /**
+     * 実際にずれるピクセル数（親に付いて動いた分を含む）
+     */
+    public int offsetPixelsX(int element, int screenWidth, int screenHeight) {
+        Resolved r = resolve(screenWidth, screenHeight);
+        return r.x[element] - r.baseX[element];
+    }
+
+    public int offsetPixelsY(int element, int screenWidth, int screenHeight) {
+        Resolved r = resolve(screenWidth, screenHeight);
+        return r.y[element] - r.baseY[element];
+    }
+
+    private Resolved resolve(int screenWidth, int screenHeight) {
+        Resolved r = resolved;
+        if (r == null || r.screenWidth != screenWidth || r.screenHeight != screenHeight) {
+            r = new Resolved(screenWidth, screenHeight);
+            HudAnchorLayout.resolve(this, screenWidth, screenHeight, r.baseX, r.baseY, r.x, r.y);
+            resolved = r;
+        }
+        return r;
+    }
+
+    private static HudLayoutSnapshot capture(boolean useDefaults) {
+        int[] offsetX = new int[ELEMENT_COUNT];
+        int[] offsetY = new int[ELEMENT_COUNT];
+        int relativeMask = 0;
+        long flags = 0L;
+        for (int element = 0; element < ELEMENT_COUNT; element++) {
+            if (readOffset(HUDConfig.position(element), element, offsetX, offsetY, useDefaults)) {
+                relativeMask |= 1 << element;
+            }
+            // Attack Indicator はクロスヘア版・ホットバー版とも同じ有効フラグを共有
+            flags |= flag(HUDConfig.enabled(element), element, useDefaults);
+        }
+
+        flags |= flag(HUDConfig.DEBUG_MODE, OPT_DEBUG, useDefaults);
+        flags |= flag(HUDConfig.SEPARATE_VEHICLE_HEALTH, OPT_SEPARATE_VEHICLE_HEALTH, useDefaults);
+        flags |= flag(HUDConfig.SEPARATE_JUMP_METER, OPT_SEPARATE_JUMP_METER, useDefaults);
+        flags |= flag(HUDConfig.ARMOR_EMPTY_DISPLAY, OPT_ARMOR_EMPTY_DISPLAY, useDefaults);
+        flags |= flag(HUDConfig.FOOD_DECREASE_LEFT_TO_RIGHT, OPT_FOOD_LEFT_TO_RIGHT, useDefaults);
+        flags |= flag(HUDConfig.APPLESKIN_SATURATION, OPT_APPLESKIN_SATURATION, useDefaults);
+        flags |= flag(HUDConfig.APPLESKIN_EXHAUSTION, OPT_APPLESKIN_EXHAUSTION, useDefaults);
+        flags |= flag(HUDConfig.APPLESKIN_HUNGER_RESTORED, OPT_APPLESKIN_HUNGER_RESTORED, useDefaults);
+        flags |= flag(HUDConfig.APPLESKIN_HEALTH_RESTORED, OPT_APPLESKIN_HEALTH_RESTORED, useDefaults);
+        flags |= flag(HUDConfig.CACHED_HUD, OPT_CACHED_HUD, useDefaults);
+        flags |= flag(HUDConfig.ATTACH_TO_PARENT, OPT_ATTACH_TO_PARENT, useDefaults);
+        flags |= flag(HUDConfig.CACHED_ITEM_ICONS, OPT_CACHED_ITEM_ICONS, useDefaults);
+
+        return new HudLayoutSnapshot(offsetX, offsetY, relativeMask, flags);
+    }
+
+    /**
+     * [x, y] はピクセル、[x, y, 1] は画面の幅・高さの千分率
+     * @return 千分率かどうか
+     */
+    private static boolean readOffset(ForgeConfigSpec.ConfigValue<List<? extends Integer>> configValue, int element,
+                                      int[] offsetX, int[] offsetY, boolean useDefaults) {
+        List<? extends Integer> list = useDefaults ? specDefault(configValue) : ConfigWriteBehind.get(configValue);
+        if (list.size() >= 2) {
+            offsetX[element] = list.get(0);
+            offsetY[element] = list.get(1);
+        }
+        return list.size() >= 3 && list.get(2) == HUDConfig.OFFSET_RELATIVE;
+    }
+
+    private static long flag(ForgeConfigSpec.BooleanValue configValue, int bit, boolean useDefaults) {
+        boolean value = useDefaults ? specDefault(configValue) : ConfigWriteBehind.get(configValue);
+        return value ? 1L << bit : 0L;
+    }
+
+    /**
+     * ForgeConfigSpec.getRaw(path) の ValueSpec からデフォルト値を取得（ConfigScreen と同じ方式）
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T specDefault(ForgeConfigSpec.ConfigValue<T> configValue) {
+        ForgeConfigSpec.ValueSpec valueSpec = HUDConfig.SPEC.getRaw(configValue.getPath());
+        return (T) valueSpec.getDefault();
+    }
+}
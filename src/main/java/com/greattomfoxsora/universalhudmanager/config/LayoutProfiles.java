@@ -0,0 +1,286 @@
+package com.greattomfoxsora.universalhudmanager.config;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.greattomfoxsora.universalhudmanager.UhmDebugLog;
+import net.minecraftforge.fml.loading.FMLPaths;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 名前付きレイアウトプロファイル（PvP・建築・配信などで位置をまとめて切り替える）
+ * 1プロファイル = config/universalhudmanager/layouts/&lt;名前&gt;.json の1ファイル
+ * （要素名 → hud_positions と同じ [x, y] または千分率の [x, y, 1] のオフセット）。
+ *
+ * 設定のロード時に全ファイルを読み込んでイミュータブルな {@link Profile} にしておくので、
+ * 切り替えはファイルも TOML も読まずに HudLayoutSnapshot のオフセット配列を差し替えるだけ（同じフレームで反映）。
+ * hud_positions への反映とファイルの書き出しは ConfigWriteBehind が裏で行う。
+ *
+ * @author GreatTomFox & Sora
+ */
+public final class LayoutProfiles {
+
+    /**
+     * プロファイル名（ファイル名にそのまま使う）
+     */
+    public static final Pattern NAME_PATTERN = Pattern.compile("[a-z0-9_-]{1,32}");
+
+    // 要素ID → ファイル内のキー（HudElementRegistry の id と同じ）
+    private static final String[] ELEMENT_KEYS = {
+        "health", "armor", "food", "air", "experience", "hotbar", "item_name", "effects",
+        "vehicle_health", "jump_meter", "dismount_message", "boss_bar",
+        "attack_indicator", "crosshair_attack_indicator", "hotbar_attack_indicator"
+    };
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final String EXTENSION = ".json";
+
+    // 名前順。差し替えだけで更新する（読み取り側はロック不要）
+    private static volatile List<Profile> profiles = List.of();
+
+    /**
+     * 読み込み済みのプロファイル（オフセット配列は公開後に変更しない）
+     */
+    public static final class Profile {
+        public final String name;
+        private final int[] offsetX;
+        private final int[] offsetY;
+        private final int relativeMask;
+
+        private Profile(String name, int[] offsetX, int[] offsetY, int relativeMask) {
+            this.name = name;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            this.relativeMask = relativeMask;
+        }
+
+        public int offsetX(int element) {
+            return offsetX[element];
+        }
+
+        public int offsetY(int element) {
+            return offsetY[element];
+        }
+
+        public boolean isRelative(int element) {
+            return (relativeMask & (1 << element)) != 0;
+        }
+    }
+
+    private LayoutProfiles() {
+    }
+
+    public static Path directory() {
+        return FMLPaths.CONFIGDIR.get().resolve("universalhudmanager").resolve("layouts");
+    }
+
+    public static List<Profile> all() {
+        return profiles;
+    }
+
+    /**
+     * 名前で引く（なければ null）
+     */
+    public static Profile find(String name) {
+        for (Profile profile : profiles) {
+            if (profile.name.equals(name)) {
+                return profile;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 最後に切り替えたプロファイル名（なければ空文字）
+     */
+    public static String activeName() {
+        return ConfigWriteBehind.get(HUDConfig.ACTIVE_LAYOUT);
+    }
+
+    /**
+     * プロファイルに切り替える（描画には同じフレームで反映、設定ファイルへは裏で書き出す）
+     */
+    public static void apply(Profile profile) {
+        HudLayoutSnapshot.publishOffsets(profile.offsetX, profile.offsetY, profile.relativeMask);
+        for (int element = 0; element < HudLayoutSnapshot.ELEMENT_COUNT; element++) {
+            ConfigWriteBehind.set(HUDConfig.position(element), profile.isRelative(element)
+                ? Arrays.asList(profile.offsetX[element], profile.offsetY[element], HUDConfig.OFFSET_RELATIVE)
+                : Arrays.asList(profile.offsetX[element], profile.offsetY[element]));
+        }
+        ConfigWriteBehind.set(HUDConfig.ACTIVE_LAYOUT, profile.name);
+    }
+
+    /**
+     * 名前順で次のプロファイルに切り替える（キーバインド用）
+     * @return 切り替えたプロファイル（プロファイルがなければ null）
+     */
+    public static Profile cycle() {
+        List<Profile> list = profiles;
+        if (list.isEmpty()) {
+            return null;
+        }
+        String active = activeName();
+        int next = 0;
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i).name.equals(active)) {
+                next = (i + 1) % list.size();
+                break;
+            }
+        }
+        Profile profile = list.get(next);
+        apply(profile);
+        return profile;
+    }
+
+    /**
+     * 現在のレイアウトをプロファイルとして保存する（同じ名前があれば上書き）
+     */
+    public static Profile save(String name) {
+        HudLayoutSnapshot layout = HudLayoutSnapshot.current();
+        int[] offsetX = new int[HudLayoutSnapshot.ELEMENT_COUNT];
+        int[] offsetY = new int[HudLayoutSnapshot.ELEMENT_COUNT];
+        for (int element = 0; element < HudLayoutSnapshot.ELEMENT_COUNT; element++) {
+            offsetX[element] = layout.offsetX(element);
+            offsetY[element] = layout.offsetY(element);
+        }
+        Profile profile = new Profile(name, offsetX, offsetY, layout.relativeMask());
+
+        List<Profile> list = new ArrayList<>(profiles);
+        list.removeIf(existing -> existing.name.equals(name));
+        list.add(profile);
+        list.sort(Comparator.comparing(existing -> existing.name));
+        profiles = List.copyOf(list);
+        ConfigWriteBehind.set(HUDConfig.ACTIVE_LAYOUT, name);
+
+        byte[] contents = GSON.toJson(toJson(profile)).getBytes(StandardCharsets.UTF_8);
+        ConfigWriteBehind.runOnWriter(() -> {
+            try {
+                Path directory = directory();
+                Files.createDirectories(directory);
+                ConfigWriteBehind.writeAtomically(directory.resolve(name + EXTENSION), contents);
+            } catch (IOException e) {
+                UhmDebugLog.warn("UHM layout profile '{}' could not be saved: {}", name, e.toString());
+            }
+        });
+        return profile;
+    }
+
+    /**
+     * 最後に切り替えたプロファイルがあれば、現在のレイアウトで上書きする（HUD編集画面を閉じた時）
+     */
+    public static void saveActive() {
+        String active = activeName();
+        if (find(active) != null) {
+            save(active);
+        }
+    }
+
+    /**
+     * プロファイルを削除する
+     * @return 削除したかどうか
+     */
+    public static boolean delete(String name) {
+        List<Profile> list = new ArrayList<>(profiles);
+        if (!list.removeIf(existing -> existing.name.equals(name))) {
+            return false;
+        }
+        profiles = List.copyOf(list);
+        if (name.equals(activeName())) {
+            ConfigWriteBehind.set(HUDConfig.ACTIVE_LAYOUT, "");
+        }
+        ConfigWriteBehind.runOnWriter(() -> {
+            try {
+                Files.deleteIfExists(directory().resolve(name + EXTENSION));
+            } catch (IOException e) {
+                UhmDebugLog.warn("UHM layout profile '{}' could not be deleted: {}", name, e.toString());
+            }
+        });
+        return true;
+    }
+
+    /**
+     * ディレクトリのプロファイルを全部読み込み直す（設定のロード時・/uhm layout reload）
+     * 壊れたファイルは警告を出して読み飛ばす
+     */
+    public static void reload() {
+        List<Profile> list = new ArrayList<>();
+        Path directory = directory();
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+                for (Path file : files) {
+                    String fileName = file.getFileName().toString();
+                    String name = fileName.substring(0, fileName.length() - EXTENSION.length());
+                    if (!NAME_PATTERN.matcher(name).matches()) {
+                        continue;
+                    }
+                    try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                        list.add(fromJson(name, GSON.fromJson(reader, JsonObject.class)));
+                    } catch (IOException | RuntimeException e) {
+                        UhmDebugLog.warn("UHM layout profile {} could not be read: {}", file, e.toString());
+                    }
+                }
+            } catch (IOException e) {
+                UhmDebugLog.warn("UHM layout directory {} could not be listed: {}", directory, e.toString());
+            }
+        }
+        list.sort(Comparator.comparing(profile -> profile.name));
+        profiles = List.copyOf(list);
+    }
+
+    private static JsonObject toJson(Profile profile) {
+        JsonObject json = new JsonObject();
+        for (int element = 0; element < HudLayoutSnapshot.ELEMENT_COUNT; element++) {
+            JsonArray offset = new JsonArray();
+            offset.add(profile.offsetX[element]);
+            offset.add(profile.offsetY[element]);
+            if (profile.isRelative(element)) {
+                offset.add(HUDConfig.OFFSET_RELATIVE);
+            }
+            json.add(ELEMENT_KEYS[element], offset);
+        }
+        return json;
+    }
+
+    // 書かれていない要素はオフセット (0, 0)
+    private static Profile fromJson(String name, JsonObject json) {
+        int[] offsetX = new int[HudLayoutSnapshot.ELEMENT_COUNT];
+        int[] offsetY = new int[HudLayoutSnapshot.ELEMENT_COUNT];
+        int relativeMask = 0;
+        if (json != null) {
+            for (int element = 0; element < HudLayoutSnapshot.ELEMENT_COUNT; element++) {
+                JsonElement value = json.get(ELEMENT_KEYS[element]);
+                if (value != null && value.isJsonArray() && value.getAsJsonArray().size() >= 2) {
+                    offsetX[element] = clampOffset(name, element, value.getAsJsonArray().get(0).getAsInt());
+                    offsetY[element] = clampOffset(name, element, value.getAsJsonArray().get(1).getAsInt());
+                    if (value.getAsJsonArray().size() >= 3 && value.getAsJsonArray().get(2).getAsInt() == HUDConfig.OFFSET_RELATIVE) {
+                        relativeMask |= 1 << element;
+                    }
+                }
+            }
+        }
+        return new Profile(name, offsetX, offsetY, relativeMask);
+    }
+
+    // 範囲外の値を書き戻すと、次のリロードで Forge が hud_positions を丸ごとデフォルトに戻すので範囲内に収める
+    private static int clampOffset(String name, int element, int value) {
+        int clamped = Math.max(-HUDConfig.MAX_OFFSET, Math.min(HUDConfig.MAX_OFFSET, value));
+        if (clamped != value) {
+            UhmDebugLog.warn("UHM layout profile {}: {} offset {} is out of range, clamped to {}",
+                name, ELEMENT_KEYS[element], value, clamped);
+        }
+        return clamped;
+    }
+}
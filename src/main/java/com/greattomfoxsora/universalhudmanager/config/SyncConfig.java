@@ -0,0 +1,61 @@
+package com.greattomfoxsora.universalhudmanager.config;
+
+import net.minecraftforge.common.ForgeConfigSpec;
+import net.minecraftforge.fml.ModLoadingContext;
+import net.minecraftforge.fml.config.ModConfig;
+
+/**
+ * サーバー側の同期設定（飽和度・疲労度のクライアント同期）
+ * ワールドごとの serverconfig/universalhudmanager-server.toml に保存される。
+ *
+ * @author GreatTomFox & Sora
+ */
+public class SyncConfig {
+
+    private static final ForgeConfigSpec.Builder BUILDER = new ForgeConfigSpec.Builder();
+    public static final ForgeConfigSpec SPEC;
+
+    public static final ForgeConfigSpec.IntValue MAX_SYNCS_PER_SECOND;
+    public static final ForgeConfigSpec.IntValue HUD_DATA_SYNCS_PER_SECOND;
+
+    static {
+        BUILDER.push("food_sync");
+
+        MAX_SYNCS_PER_SECOND = BUILDER
+                .comment("Maximum food state packets sent to each player per second (changes in between are merged into the next packet)")
+                .defineInRange("max_syncs_per_second", 10, 1, 20);
+
+        BUILDER.pop();
+
+        BUILDER.push("hud_data_sync");
+
+        HUD_DATA_SYNCS_PER_SECOND = BUILDER
+                .comment("Maximum HUD data packets (vehicle health and other server-provided fields) sent to each player per second")
+                .defineInRange("hud_data_syncs_per_second", 10, 1, 20);
+
+        BUILDER.pop();
+
+        SPEC = BUILDER.build();
+    }
+
+    /**
+     * 同期の最短間隔（ティック）
+     */
+    public static int minSyncIntervalTicks() {
+        return Math.max(1, 20 / MAX_SYNCS_PER_SECOND.get());
+    }
+
+    /**
+     * HUDデータ同期の最短間隔（ティック）
+     */
+    public static int minHudDataIntervalTicks() {
+        return Math.max(1, 20 / HUD_DATA_SYNCS_PER_SECOND.get());
+    }
+
+    /**
+     * Register config specification
+     */
+    public static void register() {
+        ModLoadingContext.get().registerConfig(ModConfig.Type.SERVER, SPEC, "universalhudmanager-server.toml");
+    }
+}
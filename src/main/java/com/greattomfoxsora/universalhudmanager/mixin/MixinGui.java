@@ -9,6 +9,7 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.OptionInstance;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
@@ -16,7 +17,8 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import net.minecraftforge.common.ForgeConfigSpec;
 import net.minecraft.client.Options;
 
-import com.greattomfoxsora.universalhudmanager.config.HUDConfig;
+import com.greattomfoxsora.universalhudmanager.UhmDebugLog;
+import com.greattomfoxsora.universalhudmanager.config.HudLayoutSnapshot;
 
 /**
  * Mixin for hiding vanilla dismount message when custom dismount message is enabled
@@ -34,6 +36,16 @@ public class MixinGui {
     @Shadow 
     protected int f_92991_; // overlayMessageTime
     
+    // Debug log sites (silent unless debug_mode and the category are enabled)
+    @Unique
+    private static final UhmDebugLog.Site uhm$LOG_OVERLAY_MESSAGE = UhmDebugLog.site(UhmDebugLog.Category.MIXIN, "overlay_message", 0);
+    @Unique
+    private static final UhmDebugLog.Site uhm$LOG_DISMOUNT_CANCEL = UhmDebugLog.site(UhmDebugLog.Category.DISMOUNT, "cancel_vanilla", 0);
+    @Unique
+    private static final UhmDebugLog.Site uhm$LOG_TRANSLATION_KEY = UhmDebugLog.site(UhmDebugLog.Category.MIXIN, "translation_key", 200);
+    @Unique
+    private static final UhmDebugLog.Site uhm$LOG_ATTACK_INDICATOR = UhmDebugLog.site(UhmDebugLog.Category.ATTACK_INDICATOR, "redirect", 200);
+    
     /**
      * Intercept the setOverlayMessage method to prevent vanilla dismount messages
      * when our custom dismount message is enabled
@@ -46,14 +58,16 @@ public class MixinGui {
     )
     private void onSetOverlayMessage(Component message, boolean animate, CallbackInfo ci) {
         // Only intercept if our custom dismount message is enabled
-        if (!HUDConfig.DISMOUNT_MESSAGE_ENABLED.get()) {
+        if (!HudLayoutSnapshot.current().isEnabled(HudLayoutSnapshot.DISMOUNT_MESSAGE)) {
             return;
         }
         
         // Debug: Log all overlay messages to identify dismount message
         if (message != null) {
             String messageText = message.getString();
-            System.out.println("🔍 OverlayMessage intercepted: '" + messageText + "' (animate=" + animate + ")");
+            if (uhm$LOG_OVERLAY_MESSAGE.shouldLog()) {
+                UhmDebugLog.log(uhm$LOG_OVERLAY_MESSAGE, "🔍 OverlayMessage intercepted: '{}' (animate={})", messageText, animate);
+            }
             
             // Check if this is a dismount message using translation key detection
             // The dismount message is created with Component.translatable("mount.onboard", keyShift)
@@ -63,7 +77,9 @@ public class MixinGui {
                 // This is a more reliable way than string matching across languages
                 String translationKey = getTranslationKey(message);
                 if ("mount.onboard".equals(translationKey)) {
-                    System.out.println("🚫 Cancelling vanilla dismount message (mount.onboard): " + messageText);
+                    if (uhm$LOG_DISMOUNT_CANCEL.shouldLog()) {
+                        UhmDebugLog.log(uhm$LOG_DISMOUNT_CANCEL, "🚫 Cancelling vanilla dismount message (mount.onboard): {}", messageText);
+                    }
                     ci.cancel();
                     return;
                 }
@@ -75,7 +91,9 @@ public class MixinGui {
                 messageText.contains("Shift") || 
                 messageText.toLowerCase().contains("shift") ||
                 messageText.contains("Control")) {
-                System.out.println("🚫 Cancelling vanilla dismount message (pattern match): " + messageText);
+                if (uhm$LOG_DISMOUNT_CANCEL.shouldLog()) {
+                    UhmDebugLog.log(uhm$LOG_DISMOUNT_CANCEL, "🚫 Cancelling vanilla dismount message (pattern match): {}", messageText);
+                }
                 ci.cancel();
             }
         }
@@ -97,7 +115,9 @@ public class MixinGui {
             }
         } catch (Exception e) {
             // If reflection fails, fall back to string matching
-            System.out.println("⚠️ Could not extract translation key: " + e.getMessage());
+            if (uhm$LOG_TRANSLATION_KEY.shouldLog()) {
+                UhmDebugLog.log(uhm$LOG_TRANSLATION_KEY, "⚠️ Could not extract translation key: {}", e.getMessage());
+            }
         }
         return null;
     }
@@ -114,7 +134,7 @@ public class MixinGui {
     )
     private net.minecraft.client.OptionInstance<AttackIndicatorStatus> redirectAttackIndicatorOption(Options options) {
         // Only intercept if our custom attack indicator is enabled
-        if (!HUDConfig.ATTACK_INDICATOR_ENABLED.get()) {
+        if (!HudLayoutSnapshot.current().isEnabled(HudLayoutSnapshot.ATTACK_INDICATOR)) {
             return options.attackIndicator(); // Return original OptionInstance
         }
         
@@ -124,8 +144,8 @@ public class MixinGui {
         
         // If it's CROSSHAIR mode, return a fake OptionInstance that returns OFF
         if (originalStatus == AttackIndicatorStatus.CROSSHAIR) {
-            if (HUDConfig.DEBUG_MODE.get()) {
-                System.out.println("🚫 Redirecting vanilla crosshair attack indicator to OFF");
+            if (uhm$LOG_ATTACK_INDICATOR.shouldLog()) {
+                UhmDebugLog.log(uhm$LOG_ATTACK_INDICATOR, "🚫 Redirecting vanilla crosshair attack indicator to OFF");
             }
             
             // Create a fake OptionInstance that returns OFF
@@ -0,0 +1,204 @@
+package com.greattomfoxsora.universalhudmanager.network;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.LivingEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * サーバー → クライアントの汎用HUDデータチャンネル
+ * サーバー側のプロバイダーが型付きフィールド（FLOAT / INT / SHORT）を登録し、
+ * SyncHandler が一定間隔でプレイヤーごとにサンプリングして、変化したフィールドだけを
+ * {@link MessageHudData} 1パケットにまとめて送る。クライアントは {@link HudDataTable} に反映する。
+ *
+ * フィールドIDは登録順なので、登録は mod 構築時（両サイド同じ順序）に行うこと。
+ * フィールド構成を変えた場合は SyncHandler の PROTOCOL_VERSION を上げる。
+ *
+ * 送信先は {@link Transport} で差し替えられる（{@link LoopbackTransport} はメモリ上で
+ * エンコード → デコード → テーブル反映まで行う検証用の実装）。
+ *
+ * @author GreatTomFox & Sora
+ */
+public final class HudDataChannel
+{
+    /**
+     * フィールド数の上限（HudDataTable の受信済みマスクが64bit）
+     */
+    public static final int MAX_FIELDS = 64;
+
+    /**
+     * プレイヤーから値を取り出す（FLOAT は floatToRawIntBits したビット列を返す）
+     */
+    public interface Provider
+    {
+        int sample(ServerPlayer player);
+    }
+
+    public interface FloatProvider
+    {
+        float sample(ServerPlayer player);
+    }
+
+    public record Field(int id, String name, HudDataType type, Provider provider)
+    {
+    }
+
+    /**
+     * 差分メッセージの送信先
+     */
+    public interface Transport<P>
+    {
+        void send(P player, MessageHudData message);
+    }
+
+    private static final List<Field> FIELDS = new ArrayList<>();
+
+    // 組み込みフィールド
+    public static final int VEHICLE_HEALTH = registerFloat("vehicle_health",
+        player -> player.getVehicle() instanceof LivingEntity vehicle ? vehicle.getHealth() : 0.0F);
+    public static final int VEHICLE_MAX_HEALTH = registerFloat("vehicle_max_health",
+        player -> player.getVehicle() instanceof LivingEntity vehicle ? vehicle.getMaxHealth() : 0.0F);
+
+    private HudDataChannel()
+    {
+    }
+
+    /**
+     * フィールドを登録する
+     * @return フィールドID
+     */
+    public static synchronized int register(String name, HudDataType type, Provider provider)
+    {
+        if (FIELDS.size() >= MAX_FIELDS)
+            throw new IllegalStateException("Too many HUD data fields (max " + MAX_FIELDS + "): " + name);
+        int id = FIELDS.size();
+        FIELDS.add(new Field(id, name, type, provider));
+        return id;
+    }
+
+    public static int registerFloat(String name, FloatProvider provider)
+    {
+        return register(name, HudDataType.FLOAT, player -> Float.floatToRawIntBits(provider.sample(player)));
+    }
+
+    public static Field field(int id)
+    {
+        if (id < 0 || id >= FIELDS.size())
+            throw new IllegalArgumentException("Unknown HUD data field: " + id);
+        return FIELDS.get(id);
+    }
+
+    public static int fieldCount()
+    {
+        return FIELDS.size();
+    }
+
+    /**
+     * 全フィールドをサンプリングする
+     */
+    public static void sample(ServerPlayer player, int[] out)
+    {
+        for (int i = 0, n = FIELDS.size(); i < n; i++)
+            out[i] = FIELDS.get(i).provider().sample(player);
+    }
+
+    /**
+     * 前回送った値との差分メッセージを作り、lastSent を更新する
+     * 購読していないフィールドも lastSent は更新する（送ったものとして扱い、節約量を数えるため）
+     * @param full true なら全フィールドを送る（初回・状態破棄後・購読変更後）
+     * @param subscribed クライアントが購読しているフィールドのビットマスク（ビット位置 = フィールドID）
+     * @return 送るフィールドがなければ null
+     */
+    public static MessageHudData delta(int[] current, int[] lastSent, boolean full, long subscribed)
+    {
+        int n = FIELDS.size();
+        int count = 0;
+        for (int i = 0; i < n; i++)
+        {
+            if ((subscribed & (1L << i)) != 0 && (full || current[i] != lastSent[i]))
+                count++;
+        }
+
+        int[] fieldIds = count > 0 ? new int[count] : null;
+        int[] values = count > 0 ? new int[count] : null;
+        int k = 0;
+        for (int i = 0; i < n; i++)
+        {
+            if (!full && current[i] == lastSent[i])
+                continue;
+            if ((subscribed & (1L << i)) != 0)
+            {
+                fieldIds[k] = i;
+                values[k] = current[i];
+                k++;
+            }
+            lastSent[i] = current[i];
+        }
+        return count > 0 ? new MessageHudData(count, fieldIds, values) : null;
+    }
+
+    /**
+     * 購読されていないために送らずに済むバイト数（delta の前に呼ぶ）
+     * 購読フィールドに変化がなくパケットごと省ける場合は、件数の VarInt 分も含める。
+     */
+    public static int skippedBytes(int[] current, int[] lastSent, boolean full, long subscribed)
+    {
+        int skipped = 0;
+        boolean anySent = false;
+        for (int i = 0, n = FIELDS.size(); i < n; i++)
+        {
+            if (!full && current[i] == lastSent[i])
+                continue;
+            if ((subscribed & (1L << i)) != 0)
+                anySent = true;
+            else
+                skipped += FriendlyByteBuf.getVarIntSize(i) + FIELDS.get(i).type().size(current[i]);
+        }
+        return skipped > 0 && !anySent ? skipped + 1 : skipped;
+    }
+
+    /**
+     * メモリ上のループバック（エンコード → デコード → テーブル反映）
+     */
+    public static final class LoopbackTransport implements Transport<Object>
+    {
+        private final HudDataTable table;
+        private long bytesSent = 0;
+        private long packetsSent = 0;
+
+        public LoopbackTransport(HudDataTable table)
+        {
+            this.table = table;
+        }
+
+        @Override
+        public void send(Object player, MessageHudData message)
+        {
+            FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+            try
+            {
+                MessageHudData.encode(message, buf);
+                bytesSent += buf.readableBytes();
+                packetsSent++;
+                MessageHudData.decode(buf).applyTo(table);
+            }
+            finally
+            {
+                buf.release();
+            }
+        }
+
+        public long getBytesSent()
+        {
+            return bytesSent;
+        }
+
+        public long getPacketsSent()
+        {
+            return packetsSent;
+        }
+    }
+}
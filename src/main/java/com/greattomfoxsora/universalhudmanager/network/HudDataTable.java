@@ -0,0 +1,67 @@
+package com.greattomfoxsora.universalhudmanager.network;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * クライアント側のHUDデータテーブル
+ * ネットワークスレッドが受信した値を直接書き込み、描画スレッドはロックなしで読む。
+ * 値はフィールドIDごとの int（FLOAT はビット列）、受信済みかどうかは64bitのマスクで持つ。
+ *
+ * @author GreatTomFox & Sora
+ */
+public final class HudDataTable
+{
+    private final AtomicIntegerArray values = new AtomicIntegerArray(HudDataChannel.MAX_FIELDS);
+    private final AtomicLong present = new AtomicLong();
+
+    private static final HudDataTable CLIENT = new HudDataTable();
+
+    /**
+     * クライアントが受信した値のテーブル
+     */
+    public static HudDataTable client()
+    {
+        return CLIENT;
+    }
+
+    public void set(int fieldId, int bits)
+    {
+        values.set(fieldId, bits);
+        long bit = 1L << fieldId;
+        long current;
+        do
+        {
+            current = present.get();
+            if ((current & bit) != 0)
+                return;
+        }
+        while (!present.compareAndSet(current, current | bit));
+    }
+
+    /**
+     * サーバーから一度でも値を受け取ったか（サーバーに mod がない場合は false のまま）
+     */
+    public boolean has(int fieldId)
+    {
+        return (present.get() & (1L << fieldId)) != 0;
+    }
+
+    public int getInt(int fieldId, int fallback)
+    {
+        return has(fieldId) ? values.get(fieldId) : fallback;
+    }
+
+    public float getFloat(int fieldId, float fallback)
+    {
+        return has(fieldId) ? Float.intBitsToFloat(values.get(fieldId)) : fallback;
+    }
+
+    /**
+     * 切断時に全フィールドを未受信に戻す
+     */
+    public void clear()
+    {
+        present.set(0L);
+    }
+}
@@ -0,0 +1,84 @@
+package com.greattomfoxsora.universalhudmanager.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+
+/**
+ * HUDデータフィールドの型（値は全て int のビット列で持ち、送受信時だけ型ごとに詰める）
+ *
+ * @author GreatTomFox & Sora
+ */
+public enum HudDataType
+{
+    /** Float.floatToRawIntBits のビット列。4バイト */
+    FLOAT
+    {
+        @Override
+        void write(FriendlyByteBuf buf, int bits)
+        {
+            buf.writeFloat(Float.intBitsToFloat(bits));
+        }
+
+        @Override
+        int read(FriendlyByteBuf buf)
+        {
+            return Float.floatToRawIntBits(buf.readFloat());
+        }
+
+        @Override
+        int size(int bits)
+        {
+            return 4;
+        }
+    },
+    /** VarInt。小さい値ほど短い（1〜5バイト） */
+    INT
+    {
+        @Override
+        void write(FriendlyByteBuf buf, int bits)
+        {
+            buf.writeVarInt(bits);
+        }
+
+        @Override
+        int read(FriendlyByteBuf buf)
+        {
+            return buf.readVarInt();
+        }
+
+        @Override
+        int size(int bits)
+        {
+            return FriendlyByteBuf.getVarIntSize(bits);
+        }
+    },
+    /** 下位16bit。2バイト（符号付き） */
+    SHORT
+    {
+        @Override
+        void write(FriendlyByteBuf buf, int bits)
+        {
+            buf.writeShort(bits);
+        }
+
+        @Override
+        int read(FriendlyByteBuf buf)
+        {
+            return buf.readShort();
+        }
+
+        @Override
+        int size(int bits)
+        {
+            return 2;
+        }
+    };
+
+    abstract void write(FriendlyByteBuf buf, int bits);
+
+    abstract int read(FriendlyByteBuf buf);
+
+    /**
+     * エンコード後のバイト数（送信量の統計用）
+     */
+    abstract int size(int bits);
+}
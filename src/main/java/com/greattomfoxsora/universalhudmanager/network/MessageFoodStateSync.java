@@ -0,0 +1,87 @@
+package com.greattomfoxsora.universalhudmanager.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * 飽和度・疲労度の同期メッセージ（旧 MessageSaturationSync / MessageExhaustionSync を統合）
+ * 先頭1バイトのビットマスクで変化したフィールドだけを送る。
+ *
+ * - 飽和度: float（そのまま）
+ * - 疲労度: 0.01 単位に量子化した VarInt（0〜40.0 → 0〜4000、最大2バイト）
+ *
+ * @author GreatTomFox & Sora
+ */
+public class MessageFoodStateSync
+{
+    public static final int SATURATION = 1;
+    public static final int EXHAUSTION = 1 << 1;
+
+    /**
+     * 疲労度の量子化単位の逆数（0.01 刻み）
+     */
+    public static final float EXHAUSTION_SCALE = 100.0F;
+
+    final int mask;
+    final float saturationLevel;
+    final int exhaustionQuantized;
+
+    public MessageFoodStateSync(int mask, float saturationLevel, int exhaustionQuantized)
+    {
+        this.mask = mask;
+        this.saturationLevel = saturationLevel;
+        this.exhaustionQuantized = exhaustionQuantized;
+    }
+
+    public static int quantizeExhaustion(float exhaustionLevel)
+    {
+        return Math.max(0, Math.round(exhaustionLevel * EXHAUSTION_SCALE));
+    }
+
+    /**
+     * mask のフィールドを送った場合のエンコード後のバイト数（送信量の統計用）
+     */
+    public static int encodedSize(int mask, int exhaustionQuantized)
+    {
+        int size = 1;
+        if ((mask & SATURATION) != 0)
+            size += 4;
+        if ((mask & EXHAUSTION) != 0)
+            size += FriendlyByteBuf.getVarIntSize(exhaustionQuantized);
+        return size;
+    }
+
+    public static void encode(MessageFoodStateSync pkt, FriendlyByteBuf buf)
+    {
+        buf.writeByte(pkt.mask);
+        if ((pkt.mask & SATURATION) != 0)
+            buf.writeFloat(pkt.saturationLevel);
+        if ((pkt.mask & EXHAUSTION) != 0)
+            buf.writeVarInt(pkt.exhaustionQuantized);
+    }
+
+    public static MessageFoodStateSync decode(FriendlyByteBuf buf)
+    {
+        int mask = buf.readUnsignedByte();
+        float saturationLevel = (mask & SATURATION) != 0 ? buf.readFloat() : 0.0F;
+        int exhaustionQuantized = (mask & EXHAUSTION) != 0 ? buf.readVarInt() : 0;
+        return new MessageFoodStateSync(mask, saturationLevel, exhaustionQuantized);
+    }
+
+    public static void handle(final MessageFoodStateSync message, Supplier<NetworkEvent.Context> ctx)
+    {
+        ctx.get().enqueueWork(() -> {
+            Player player = NetworkHelper.getSidedPlayer(ctx.get());
+            if (player == null)
+                return;
+            if ((message.mask & SATURATION) != 0)
+                player.getFoodData().setSaturation(message.saturationLevel);
+            if ((message.mask & EXHAUSTION) != 0)
+                player.getFoodData().setExhaustion(message.exhaustionQuantized / EXHAUSTION_SCALE);
+        });
+        ctx.get().setPacketHandled(true);
+    }
+}
@@ -0,0 +1,78 @@
+package com.greattomfoxsora.universalhudmanager.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * HUDデータの差分（変化したフィールドだけをまとめて1パケット）
+ * 形式: VarInt 件数, { VarInt フィールドID, 型ごとの値 } × 件数
+ *
+ * @author GreatTomFox & Sora
+ */
+public class MessageHudData
+{
+    final int count;
+    final int[] fieldIds;
+    final int[] values;
+
+    public MessageHudData(int count, int[] fieldIds, int[] values)
+    {
+        this.count = count;
+        this.fieldIds = fieldIds;
+        this.values = values;
+    }
+
+    public static void encode(MessageHudData pkt, FriendlyByteBuf buf)
+    {
+        buf.writeVarInt(pkt.count);
+        for (int i = 0; i < pkt.count; i++)
+        {
+            int fieldId = pkt.fieldIds[i];
+            buf.writeVarInt(fieldId);
+            HudDataChannel.field(fieldId).type().write(buf, pkt.values[i]);
+        }
+    }
+
+    /**
+     * エンコード後のバイト数（送信量の統計用）
+     */
+    public int encodedSize()
+    {
+        int size = FriendlyByteBuf.getVarIntSize(count);
+        for (int i = 0; i < count; i++)
+            size += FriendlyByteBuf.getVarIntSize(fieldIds[i]) + HudDataChannel.field(fieldIds[i]).type().size(values[i]);
+        return size;
+    }
+
+    public static MessageHudData decode(FriendlyByteBuf buf)
+    {
+        int count = buf.readVarInt();
+        if (count < 0 || count > HudDataChannel.fieldCount())
+            throw new IllegalArgumentException("Invalid HUD data field count: " + count);
+        int[] fieldIds = new int[count];
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++)
+        {
+            fieldIds[i] = buf.readVarInt();
+            values[i] = HudDataChannel.field(fieldIds[i]).type().read(buf);
+        }
+        return new MessageHudData(count, fieldIds, values);
+    }
+
+    /**
+     * テーブルへの書き込みはロック不要なので、メインスレッドに回さずネットワークスレッドで反映する
+     */
+    public static void handle(final MessageHudData message, Supplier<NetworkEvent.Context> ctx)
+    {
+        message.applyTo(HudDataTable.client());
+        ctx.get().setPacketHandled(true);
+    }
+
+    public void applyTo(HudDataTable table)
+    {
+        for (int i = 0; i < count; i++)
+            table.set(fieldIds[i], values[i]);
+    }
+}
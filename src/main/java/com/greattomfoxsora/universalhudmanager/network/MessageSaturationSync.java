@@ -1,35 +0,0 @@
-package com.greattomfoxsora.universalhudmanager.network;
-
-import net.minecraft.network.FriendlyByteBuf;
-import net.minecraftforge.network.NetworkEvent;
-
-import java.util.function.Supplier;
-
-// Ported from AppleSkin (public domain) by squeek502
-public class MessageSaturationSync
-{
-    float saturationLevel;
-
-    public MessageSaturationSync(float saturationLevel)
-    {
-        this.saturationLevel = saturationLevel;
-    }
-
-    public static void encode(MessageSaturationSync pkt, FriendlyByteBuf buf)
-    {
-        buf.writeFloat(pkt.saturationLevel);
-    }
-
-    public static MessageSaturationSync decode(FriendlyByteBuf buf)
-    {
-        return new MessageSaturationSync(buf.readFloat());
-    }
-
-    public static void handle(final MessageSaturationSync message, Supplier<NetworkEvent.Context> ctx)
-    {
-        ctx.get().enqueueWork(() -> {
-            NetworkHelper.getSidedPlayer(ctx.get()).getFoodData().setSaturation(message.saturationLevel);
-        });
-        ctx.get().setPacketHandled(true);
-    }
-}
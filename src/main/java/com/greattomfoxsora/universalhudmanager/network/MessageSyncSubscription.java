@@ -0,0 +1,52 @@
+package com.greattomfoxsora.universalhudmanager.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * 購読の申告（クライアント → サーバー）
+ * クライアントが描画に使うデータだけを申告し、サーバーは購読していないデータを送らない。
+ * 一度も申告していないプレイヤー（MOD未導入のクライアントを含む）には何も送らない。
+ *
+ * 形式: 1バイト 食料フラグ（MessageFoodStateSync.SATURATION / EXHAUSTION）, VarLong HUDデータのフィールドマスク
+ *
+ * @author GreatTomFox & Sora
+ */
+public class MessageSyncSubscription
+{
+    final int foodMask;
+    final long hudDataMask;
+
+    public MessageSyncSubscription(int foodMask, long hudDataMask)
+    {
+        this.foodMask = foodMask;
+        this.hudDataMask = hudDataMask;
+    }
+
+    public static void encode(MessageSyncSubscription pkt, FriendlyByteBuf buf)
+    {
+        buf.writeByte(pkt.foodMask);
+        buf.writeVarLong(pkt.hudDataMask);
+    }
+
+    public static MessageSyncSubscription decode(FriendlyByteBuf buf)
+    {
+        int foodMask = buf.readUnsignedByte() & (MessageFoodStateSync.SATURATION | MessageFoodStateSync.EXHAUSTION);
+        long hudDataMask = buf.readVarLong();
+        return new MessageSyncSubscription(foodMask, hudDataMask);
+    }
+
+    public static void handle(final MessageSyncSubscription message, Supplier<NetworkEvent.Context> ctx)
+    {
+        ctx.get().enqueueWork(() -> {
+            ServerPlayer player = ctx.get().getSender();
+            if (player == null)
+                return;
+            PlayerSyncState.get(player.getId()).subscribe(message.foodMask, message.hudDataMask);
+        });
+        ctx.get().setPacketHandled(true);
+    }
+}
@@ -0,0 +1,135 @@
+package com.greattomfoxsora.universalhudmanager.network;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+
+/**
+ * プレイヤーごとの同期状態（最後にクライアントへ送った値）
+ * エンティティIDをキーにしたプリミティブマップで持ち、値も float / int のまま保持する。
+ *
+ * サーバースレッド専用（SyncHandler のイベント・購読メッセージ・コマンドからのみ触る）。
+ * ログイン・ログアウトで破棄する。ディメンション移動・リスポーンでは購読と統計を残したまま
+ * 送信済みの値だけを忘れ、次の同期で全フィールドを送り直す。
+ *
+ * @author GreatTomFox & Sora
+ */
+public final class PlayerSyncState
+{
+    private static final Int2ObjectOpenHashMap<PlayerSyncState> STATES = new Int2ObjectOpenHashMap<>();
+
+    float saturationLevel;
+    int exhaustionQuantized;
+    boolean initialized;
+
+    // HUDデータチャンネル（フィールドIDごとの最後に送った値）
+    int[] hudData;
+    boolean hudDataInitialized;
+
+    // 購読（MessageSyncSubscription で申告されるまでは何も送らない）
+    int foodSubscription;
+    long hudDataSubscription;
+
+    // 統計（ペイロードのバイト数）
+    long bytesSent;
+    long bytesSaved;
+
+    private PlayerSyncState()
+    {
+    }
+
+    /**
+     * プレイヤーの状態（なければ未送信状態で作る）
+     */
+    public static PlayerSyncState get(int entityId)
+    {
+        PlayerSyncState state = STATES.get(entityId);
+        if (state == null)
+        {
+            state = new PlayerSyncState();
+            STATES.put(entityId, state);
+        }
+        return state;
+    }
+
+    /**
+     * 購読を更新する。新しく購読したデータがあれば次の同期で全フィールドを送り直す
+     */
+    void subscribe(int foodMask, long hudDataMask)
+    {
+        if ((foodMask & ~foodSubscription) != 0)
+            initialized = false;
+        if ((hudDataMask & ~hudDataSubscription) != 0)
+            hudDataInitialized = false;
+        foodSubscription = foodMask;
+        hudDataSubscription = hudDataMask;
+    }
+
+    /**
+     * 送信済みの値を忘れる（購読と統計は残す）
+     */
+    public static void resend(int entityId)
+    {
+        PlayerSyncState state = STATES.get(entityId);
+        if (state != null)
+        {
+            state.initialized = false;
+            state.hudDataInitialized = false;
+        }
+    }
+
+    /**
+     * 状態があれば返す（なければ null。作らない）
+     */
+    public static PlayerSyncState find(int entityId)
+    {
+        return STATES.get(entityId);
+    }
+
+    public int getFoodSubscription()
+    {
+        return foodSubscription;
+    }
+
+    public long getHudDataSubscription()
+    {
+        return hudDataSubscription;
+    }
+
+    public long getBytesSent()
+    {
+        return bytesSent;
+    }
+
+    public long getBytesSaved()
+    {
+        return bytesSaved;
+    }
+
+    public static void remove(int entityId)
+    {
+        STATES.remove(entityId);
+    }
+
+    public static void clear()
+    {
+        STATES.clear();
+    }
+
+    /**
+     * 全プレイヤーの送らずに済んだバイト数の合計（/uhmsync stats 用）
+     */
+    public static long totalBytesSaved()
+    {
+        long total = 0;
+        for (PlayerSyncState state : STATES.values())
+            total += state.bytesSaved;
+        return total;
+    }
+
+    /**
+     * 保持している状態の数（/uhmsync stats 用）
+     */
+    public static int size()
+    {
+        return STATES.size();
+    }
+}
@@ -0,0 +1,67 @@
+package com.greattomfoxsora.universalhudmanager.network;
+
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.commands.arguments.EntityArgument;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.event.RegisterCommandsEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+/**
+ * サーバーコマンド /uhmsync
+ * /uhmsync stats - 同期状態の数・送信パケット数（権限レベル2）
+ * /uhmsync player &lt;player&gt; - プレイヤーの購読内容と、送信した / 送らずに済んだペイロードのバイト数
+ *
+ * バニラクライアントからも実行できるよう、メッセージは翻訳キーではなく literal で返す。
+ *
+ * @author GreatTomFox & Sora
+ */
+@Mod.EventBusSubscriber(modid = "universalhudmanager", bus = Mod.EventBusSubscriber.Bus.FORGE)
+public class SyncCommands
+{
+    @SubscribeEvent
+    public static void onRegisterCommands(RegisterCommandsEvent event)
+    {
+        event.getDispatcher().register(Commands.literal("uhmsync")
+            .requires(source -> source.hasPermission(2))
+            .then(Commands.literal("stats").executes(SyncCommands::stats))
+            .then(Commands.literal("player")
+                .then(Commands.argument("target", EntityArgument.player()).executes(SyncCommands::player))));
+    }
+
+    private static int stats(CommandContext<CommandSourceStack> context)
+    {
+        CommandSourceStack source = context.getSource();
+        int online = source.getServer().getPlayerList().getPlayerCount();
+        Component message = Component.literal(String.format("UHM sync: %d player states tracked (%d online), %d food packets, %d HUD data packets (%d fields), %d bytes saved by subscriptions",
+            PlayerSyncState.size(), online, SyncHandler.getPacketsSent(), SyncHandler.getHudDataPacketsSent(), HudDataChannel.fieldCount(),
+            PlayerSyncState.totalBytesSaved()));
+        source.sendSuccess(() -> message, false);
+        return PlayerSyncState.size();
+    }
+
+    private static int player(CommandContext<CommandSourceStack> context) throws CommandSyntaxException
+    {
+        CommandSourceStack source = context.getSource();
+        ServerPlayer target = EntityArgument.getPlayer(context, "target");
+        PlayerSyncState state = PlayerSyncState.find(target.getId());
+        if (state == null)
+        {
+            source.sendFailure(Component.literal("UHM sync: no sync state for " + target.getScoreboardName()));
+            return 0;
+        }
+
+        int food = state.getFoodSubscription();
+        Component message = Component.literal(String.format("UHM sync %s: saturation=%s, exhaustion=%s, HUD data fields=%d/%d, %d bytes sent, %d bytes saved",
+            target.getScoreboardName(),
+            (food & MessageFoodStateSync.SATURATION) != 0, (food & MessageFoodStateSync.EXHAUSTION) != 0,
+            Long.bitCount(state.getHudDataSubscription()), HudDataChannel.fieldCount(),
+            state.getBytesSent(), state.getBytesSaved()));
+        source.sendSuccess(() -> message, false);
+        return (int) Math.min(Integer.MAX_VALUE, state.getBytesSaved());
+    }
+}
@@ -1,74 +1,178 @@
 package com.greattomfoxsora.universalhudmanager.network;
 
+import com.greattomfoxsora.universalhudmanager.config.SyncConfig;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.food.FoodData;
 import net.minecraftforge.common.MinecraftForge;
-import net.minecraftforge.event.entity.living.LivingEvent.LivingTickEvent;
+import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.network.NetworkDirection;
 import net.minecraftforge.network.NetworkRegistry;
 import net.minecraftforge.network.simple.SimpleChannel;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
+import java.util.Optional;
 
 // Ported from AppleSkin (public domain) by squeek502
+// オンラインプレイヤーごとに、購読された食料・HUDデータのうち変化した分だけを間隔を分散して送る
 public class SyncHandler
 {
-    private static final String PROTOCOL_VERSION = Integer.toString(1);
+    // 2: MessageSaturationSync / MessageExhaustionSync を MessageFoodStateSync に統合
+    // 3: MessageHudData（HudDataChannel）を追加
+    // 4: MessageSyncSubscription（購読の申告）を追加
+    private static final String PROTOCOL_VERSION = Integer.toString(4);
     public static final SimpleChannel CHANNEL = NetworkRegistry.ChannelBuilder
         .named(new ResourceLocation("universalhudmanager", "sync"))
-        .clientAcceptedVersions(s -> true)
-        .serverAcceptedVersions(s -> true)
+        .clientAcceptedVersions(NetworkRegistry.acceptMissingOr(PROTOCOL_VERSION))
+        .serverAcceptedVersions(NetworkRegistry.acceptMissingOr(PROTOCOL_VERSION))
         .networkProtocolVersion(() -> PROTOCOL_VERSION)
         .simpleChannel();
 
     public static void init()
     {
-        CHANNEL.registerMessage(1, MessageExhaustionSync.class, MessageExhaustionSync::encode, MessageExhaustionSync::decode, MessageExhaustionSync::handle);
-        CHANNEL.registerMessage(2, MessageSaturationSync.class, MessageSaturationSync::encode, MessageSaturationSync::decode, MessageSaturationSync::handle);
+        // ID 1, 2 は旧メッセージで使用していたため 3 から
+        CHANNEL.registerMessage(3, MessageFoodStateSync.class, MessageFoodStateSync::encode, MessageFoodStateSync::decode, MessageFoodStateSync::handle);
+        CHANNEL.registerMessage(4, MessageHudData.class, MessageHudData::encode, MessageHudData::decode, MessageHudData::handle);
+        CHANNEL.registerMessage(5, MessageSyncSubscription.class, MessageSyncSubscription::encode, MessageSyncSubscription::decode, MessageSyncSubscription::handle,
+            Optional.of(NetworkDirection.PLAY_TO_SERVER));
 
         MinecraftForge.EVENT_BUS.register(new SyncHandler());
     }
 
-    private static final Map<UUID, Float> lastSaturationLevels = new HashMap<>();
-    private static final Map<UUID, Float> lastExhaustionLevels = new HashMap<>();
+    // HUDデータの送信先（ループバックで検証する場合は差し替える）
+    private static HudDataChannel.Transport<? super ServerPlayer> hudDataTransport =
+        (player, message) -> CHANNEL.sendTo(message, player.connection.connection, NetworkDirection.PLAY_TO_CLIENT);
+    private static final int[] hudDataScratch = new int[HudDataChannel.MAX_FIELDS];
+
+    // 統計（/uhmsync stats）
+    private static long packetsSent = 0;
+    private static long hudDataPacketsSent = 0;
 
     @SubscribeEvent
-    public void onLivingTickEvent(LivingTickEvent event)
+    public void onServerTick(TickEvent.ServerTickEvent event)
     {
-        if (!(event.getEntity() instanceof ServerPlayer))
+        if (event.phase != TickEvent.Phase.END)
             return;
 
-        ServerPlayer player = (ServerPlayer) event.getEntity();
-        Float lastSaturationLevel = lastSaturationLevels.get(player.getUUID());
-        Float lastExhaustionLevel = lastExhaustionLevels.get(player.getUUID());
+        MinecraftServer server = event.getServer();
+        int tick = server.getTickCount();
+        // 同期間隔 = バケット数（各プレイヤーは minInterval ティックに1回だけ処理される）
+        int minInterval = SyncConfig.minSyncIntervalTicks();
+        int hudDataInterval = SyncConfig.minHudDataIntervalTicks();
 
-        if (lastSaturationLevel == null || lastSaturationLevel != player.getFoodData().getSaturationLevel())
+        for (ServerPlayer player : server.getPlayerList().getPlayers())
         {
-            Object msg = new MessageSaturationSync(player.getFoodData().getSaturationLevel());
-            CHANNEL.sendTo(msg, player.connection.connection, NetworkDirection.PLAY_TO_CLIENT);
-            lastSaturationLevels.put(player.getUUID(), player.getFoodData().getSaturationLevel());
-        }
+            if (SyncScheduler.isDue(player.getId(), tick, hudDataInterval))
+                syncHudData(player, PlayerSyncState.get(player.getId()));
 
-        float exhaustionLevel = player.getFoodData().getExhaustionLevel();
-        if (lastExhaustionLevel == null || Math.abs(lastExhaustionLevel - exhaustionLevel) >= 0.01f)
-        {
-            Object msg = new MessageExhaustionSync(exhaustionLevel);
-            CHANNEL.sendTo(msg, player.connection.connection, NetworkDirection.PLAY_TO_CLIENT);
-            lastExhaustionLevels.put(player.getUUID(), exhaustionLevel);
+            if (!SyncScheduler.isDue(player.getId(), tick, minInterval))
+                continue;
+
+            PlayerSyncState state = PlayerSyncState.get(player.getId());
+
+            FoodData foodData = player.getFoodData();
+            float saturationLevel = foodData.getSaturationLevel();
+            int exhaustionQuantized = MessageFoodStateSync.quantizeExhaustion(foodData.getExhaustionLevel());
+
+            int mask = 0;
+            if (!state.initialized || state.saturationLevel != saturationLevel)
+                mask |= MessageFoodStateSync.SATURATION;
+            if (!state.initialized || state.exhaustionQuantized != exhaustionQuantized)
+                mask |= MessageFoodStateSync.EXHAUSTION;
+
+            // 購読していないフィールドも送ったものとして記録する（節約量を数えるため）
+            state.saturationLevel = saturationLevel;
+            state.exhaustionQuantized = exhaustionQuantized;
+            state.initialized = true;
+            if (mask == 0)
+                continue;
+
+            int sendMask = mask & state.foodSubscription;
+            int fullSize = MessageFoodStateSync.encodedSize(mask, exhaustionQuantized);
+            if (sendMask == 0)
+            {
+                state.bytesSaved += fullSize;
+                continue;
+            }
+
+            int size = MessageFoodStateSync.encodedSize(sendMask, exhaustionQuantized);
+            CHANNEL.sendTo(new MessageFoodStateSync(sendMask, saturationLevel, exhaustionQuantized), player.connection.connection, NetworkDirection.PLAY_TO_CLIENT);
+            state.bytesSent += size;
+            state.bytesSaved += fullSize - size;
+            packetsSent++;
         }
     }
 
+    private static void syncHudData(ServerPlayer player, PlayerSyncState state)
+    {
+        if (state.hudData == null)
+            state.hudData = new int[HudDataChannel.MAX_FIELDS];
+
+        HudDataChannel.sample(player, hudDataScratch);
+        boolean full = !state.hudDataInitialized;
+        state.bytesSaved += HudDataChannel.skippedBytes(hudDataScratch, state.hudData, full, state.hudDataSubscription);
+        MessageHudData message = HudDataChannel.delta(hudDataScratch, state.hudData, full, state.hudDataSubscription);
+        state.hudDataInitialized = true;
+        if (message == null)
+            return;
+
+        hudDataTransport.send(player, message);
+        state.bytesSent += message.encodedSize();
+        hudDataPacketsSent++;
+    }
+
+    /**
+     * HUDデータの送信先を差し替える（ループバック検証用）
+     */
+    public static void setHudDataTransport(HudDataChannel.Transport<? super ServerPlayer> transport)
+    {
+        hudDataTransport = transport;
+    }
+
+    public static long getPacketsSent()
+    {
+        return packetsSent;
+    }
+
+    public static long getHudDataPacketsSent()
+    {
+        return hudDataPacketsSent;
+    }
+
     @SubscribeEvent
     public void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event)
     {
         if (!(event.getEntity() instanceof ServerPlayer))
             return;
 
-        lastSaturationLevels.remove(event.getEntity().getUUID());
-        lastExhaustionLevels.remove(event.getEntity().getUUID());
+        PlayerSyncState.remove(event.getEntity().getId());
+    }
+
+    @SubscribeEvent
+    public void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event)
+    {
+        PlayerSyncState.remove(event.getEntity().getId());
+    }
+
+    // ディメンション移動・リスポーンではエンティティIDが変わらないので、購読は残して値だけ送り直す
+    @SubscribeEvent
+    public void onPlayerChangedDimension(PlayerEvent.PlayerChangedDimensionEvent event)
+    {
+        PlayerSyncState.resend(event.getEntity().getId());
+    }
+
+    @SubscribeEvent
+    public void onPlayerRespawn(PlayerEvent.PlayerRespawnEvent event)
+    {
+        PlayerSyncState.resend(event.getEntity().getId());
+    }
+
+    @SubscribeEvent
+    public void onServerStopped(ServerStoppedEvent event)
+    {
+        PlayerSyncState.clear();
     }
 }
@@ -0,0 +1,30 @@
+package com.greattomfoxsora.universalhudmanager.network;
+
+/**
+ * プレイヤー同期のラウンドロビン振り分け
+ * プレイヤーをエンティティIDで bucketCount 個のバケットに分け、各ティックでは
+ * 「tick mod bucketCount」番のバケットのプレイヤーだけを処理する。
+ * 各プレイヤーはちょうど bucketCount ティックに1回処理され、1ティックあたりの処理は
+ * オンライン人数 / bucketCount 人に均される。
+ *
+ * @author GreatTomFox & Sora
+ */
+public final class SyncScheduler
+{
+    private SyncScheduler()
+    {
+    }
+
+    public static int bucketOf(int playerId, int bucketCount)
+    {
+        return bucketCount <= 1 ? 0 : Math.floorMod(playerId, bucketCount);
+    }
+
+    /**
+     * このティックがこのプレイヤーの処理番か
+     */
+    public static boolean isDue(int playerId, int tick, int bucketCount)
+    {
+        return bucketCount <= 1 || bucketOf(playerId, bucketCount) == Math.floorMod(tick, bucketCount);
+    }
+}
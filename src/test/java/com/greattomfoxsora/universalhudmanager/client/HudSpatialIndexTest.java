@@ -0,0 +1,135 @@
+package com.greattomfoxsora.universalhudmanager.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * HudSpatialIndex の当たり判定・近傍列挙
+ *
+ * @author GreatTomFox & Sora
+ */
+class HudSpatialIndexTest {
+
+    private static final int CELL = HudSpatialIndex.CELL_SIZE;
+
+    private static HudSpatialIndex index(int screenWidth, int screenHeight) {
+        HudSpatialIndex index = new HudSpatialIndex();
+        index.reset(screenWidth, screenHeight);
+        return index;
+    }
+
+    // query の結果をハンドル順に並べる
+    private static int[] query(HudSpatialIndex index, int x1, int y1, int x2, int y2, int margin) {
+        int[] out = new int[index.size()];
+        int found = index.query(x1, y1, x2, y2, margin, out);
+        int[] result = Arrays.copyOf(out, found);
+        Arrays.sort(result);
+        return result;
+    }
+
+    @Test
+    void hitTestReturnsTopmostOfOverlappingBoxes() {
+        HudSpatialIndex index = index(320, 240);
+        int below = index.add(10, 10, 100, 40);
+        int above = index.add(60, 20, 150, 60);
+
+        assertEquals(above, index.hitTest(80, 30));
+        assertEquals(below, index.hitTest(20, 15));
+        assertEquals(above, index.hitTest(120, 50));
+        assertEquals(-1, index.hitTest(200, 200));
+    }
+
+    @Test
+    void rightAndBottomEdgesAreInclusive() {
+        HudSpatialIndex index = index(320, 240);
+        // 右端・下端がちょうど隣のセルに入る矩形
+        int handle = index.add(0, 0, CELL, CELL);
+
+        assertEquals(handle, index.hitTest(0, 0));
+        assertEquals(handle, index.hitTest(CELL, CELL));
+        assertEquals(handle, index.hitTest(CELL, 0));
+        assertEquals(-1, index.hitTest(CELL + 0.5, CELL));
+        assertEquals(-1, index.hitTest(CELL, CELL + 0.5));
+        assertArrayEquals(new int[] { handle }, query(index, CELL, CELL, CELL + 5, CELL + 5, 0));
+    }
+
+    @Test
+    void offScreenCoordinatesUseEdgeCells() {
+        HudSpatialIndex index = index(100, 100);
+        int topLeft = index.add(-50, -50, -10, -10);
+        int bottomRight = index.add(500, 500, 520, 520);
+        int spanning = index.add(-20, 40, 400, 60);
+
+        assertEquals(topLeft, index.hitTest(-20, -20));
+        assertEquals(-1, index.hitTest(-60, -60));
+        assertEquals(bottomRight, index.hitTest(510, 510));
+        assertEquals(-1, index.hitTest(490, 490));
+        assertEquals(spanning, index.hitTest(-5, 50));
+        assertEquals(spanning, index.hitTest(300, 50));
+        assertArrayEquals(new int[] { topLeft }, query(index, -1000, -1000, -30, -30, 0));
+        assertArrayEquals(new int[] { bottomRight }, query(index, 505, 505, 2000, 2000, 0));
+    }
+
+    @Test
+    void queryHonoursMarginAndReportsEachBoxOnce() {
+        HudSpatialIndex index = index(320, 240);
+        int near = index.add(100, 100, 110, 110);
+        // 多くのセルにまたがる矩形
+        int large = index.add(0, 150, 300, 230);
+
+        // 右に10px離れた矩形: margin 9 では届かず、10 で届く
+        assertArrayEquals(new int[0], query(index, 120, 100, 130, 110, 9));
+        assertArrayEquals(new int[] { near }, query(index, 120, 100, 130, 110, 10));
+
+        assertArrayEquals(new int[] { near, large }, query(index, 0, 0, 320, 240, 0));
+        assertArrayEquals(new int[] { large }, query(index, 10, 160, 290, 220, 0));
+    }
+
+    @Test
+    void queryStampWrapAroundClearsStaleMarks() throws ReflectiveOperationException {
+        HudSpatialIndex index = index(320, 240);
+        int a = index.add(10, 10, 50, 50);
+        int b = index.add(40, 40, 90, 90);
+        // スタンプ 1 で両方に印を付ける
+        assertArrayEquals(new int[] { a, b }, query(index, 0, 0, 100, 100, 0));
+
+        // 次のクエリでスタンプが一周して 0 → 1 に戻る（古い印 1 が残っていると何も返らない）
+        Field stamp = HudSpatialIndex.class.getDeclaredField("stamp");
+        stamp.setAccessible(true);
+        stamp.setInt(index, -1);
+        assertArrayEquals(new int[] { a, b }, query(index, 0, 0, 100, 100, 0));
+        assertEquals(1, stamp.getInt(index));
+        assertArrayEquals(new int[] { a, b }, query(index, 0, 0, 100, 100, 0));
+    }
+
+    @Test
+    void resetToSmallerOrLargerScreenDropsOldBoxes() {
+        HudSpatialIndex index = index(640, 480);
+        index.add(600, 400, 630, 470);
+        index.add(10, 10, 40, 40);
+
+        // 小さい画面: セル配列は使い回すが、前の要素は残らない
+        index.reset(200, 100);
+        assertEquals(0, index.size());
+        assertEquals(-1, index.hitTest(20, 20));
+        assertEquals(-1, index.hitTest(199, 99));
+        int small = index.add(150, 60, 199, 99);
+        assertEquals(small, index.hitTest(199, 99));
+        assertEquals(-1, index.hitTest(620, 450));  // 画面外は端のセルに寄せるが、判定は矩形で行う
+        assertArrayEquals(new int[] { small }, query(index, 0, 0, 200, 100, 0));
+
+        // 大きい画面: セル配列を作り直す
+        index.reset(1920, 1080);
+        assertEquals(0, index.size());
+        assertEquals(-1, index.hitTest(160, 70));
+        int large = index.add(1800, 1000, 1900, 1070);
+        assertEquals(large, index.hitTest(1850, 1050));
+        assertEquals(-1, index.hitTest(20, 20));
+        assertArrayEquals(new int[] { large }, query(index, 0, 0, 1920, 1080, 0));
+    }
+}
@@ -0,0 +1,135 @@
+package com.greattomfoxsora.universalhudmanager.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * HudStateHash の決定性と HudRenderCache のダーティ判定（描画環境なし）
+ *
+ * @author GreatTomFox & Sora
+ */
+class HudStateHashTest {
+
+    private static final int[] HEALTH = { 10, 200, 14, 20, 4, 16, 3, 2, 57 };
+
+    private static long health(int[] v) {
+        return HudStateHash.health(v[0], v[1], v[2], v[3], v[4], v[5], v[6], v[7], v[8]);
+    }
+
+    @Test
+    void sameInputsGiveSameHash() {
+        assertEquals(health(HEALTH), health(HEALTH.clone()));
+        assertEquals(HudStateHash.armor(10, 190, 12, true), HudStateHash.armor(10, 190, 12, true));
+        assertEquals(HudStateHash.food(100, 200, 18, false, true, -1), HudStateHash.food(100, 200, 18, false, true, -1));
+        assertEquals(HudStateHash.air(100, 190, 7, 1), HudStateHash.air(100, 190, 7, 1));
+        assertEquals(HudStateHash.experience(0, 220, 30, 91), HudStateHash.experience(0, 220, 30, 91));
+    }
+
+    @Test
+    void everyFieldChangesTheHash() {
+        long base = health(HEALTH);
+        for (int i = 0; i < HEALTH.length; i++) {
+            int[] changed = HEALTH.clone();
+            changed[i]++;
+            assertNotEquals(base, health(changed), "health field " + i);
+        }
+
+        long armor = HudStateHash.armor(10, 190, 12, true);
+        assertNotEquals(armor, HudStateHash.armor(11, 190, 12, true));
+        assertNotEquals(armor, HudStateHash.armor(10, 191, 12, true));
+        assertNotEquals(armor, HudStateHash.armor(10, 190, 13, true));
+        assertNotEquals(armor, HudStateHash.armor(10, 190, 12, false));
+
+        long food = HudStateHash.food(100, 200, 18, false, true, -1);
+        assertNotEquals(food, HudStateHash.food(101, 200, 18, false, true, -1));
+        assertNotEquals(food, HudStateHash.food(100, 201, 18, false, true, -1));
+        assertNotEquals(food, HudStateHash.food(100, 200, 17, false, true, -1));
+        assertNotEquals(food, HudStateHash.food(100, 200, 18, true, true, -1));
+        assertNotEquals(food, HudStateHash.food(100, 200, 18, false, false, -1));
+        assertNotEquals(food, HudStateHash.food(100, 200, 18, false, true, 40));
+
+        long air = HudStateHash.air(100, 190, 7, 1);
+        assertNotEquals(air, HudStateHash.air(101, 190, 7, 1));
+        assertNotEquals(air, HudStateHash.air(100, 191, 7, 1));
+        assertNotEquals(air, HudStateHash.air(100, 190, 8, 1));
+        assertNotEquals(air, HudStateHash.air(100, 190, 7, 0));
+
+        long experience = HudStateHash.experience(0, 220, 30, 91);
+        assertNotEquals(experience, HudStateHash.experience(1, 220, 30, 91));
+        assertNotEquals(experience, HudStateHash.experience(0, 221, 30, 91));
+        assertNotEquals(experience, HudStateHash.experience(0, 220, 31, 91));
+        assertNotEquals(experience, HudStateHash.experience(0, 220, 30, -1));
+
+        // 同じ入力でも要素が違えば別の値
+        assertNotEquals(HudStateHash.air(1, 2, 3, 4), HudStateHash.experience(1, 2, 3, 4));
+    }
+
+    @Test
+    void hashNeverEqualsEmpty() {
+        assertEquals(1L, HudStateHash.finish(HudStateHash.EMPTY));
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            assertNotEquals(HudStateHash.EMPTY, HudStateHash.air(random.nextInt(), random.nextInt(), random.nextInt(), random.nextInt()));
+            assertNotEquals(HudStateHash.EMPTY, HudStateHash.armor(random.nextInt(), random.nextInt(), random.nextInt(), random.nextBoolean()));
+        }
+    }
+
+    // Health と Armor は縦に接し（重ならない）、Food と Air は重なる。Experience は空
+    private static HudRenderCache drawnCache() {
+        HudRenderCache cache = new HudRenderCache();
+        cache.set(HudRenderCache.SLOT_HEALTH, 1, 0, 0, 81, 10);
+        cache.set(HudRenderCache.SLOT_ARMOR, 2, 0, 10, 81, 19);
+        cache.set(HudRenderCache.SLOT_FOOD, 3, 100, 0, 181, 9);
+        cache.set(HudRenderCache.SLOT_AIR, 4, 100, 5, 181, 14);
+        cache.setEmpty(HudRenderCache.SLOT_EXPERIENCE);
+        // 作り直した直後は全要素を描く
+        assertEquals(HudRenderCache.SLOT_COUNT, cache.computeDirty());
+        for (int slot = 0; slot < HudRenderCache.SLOT_COUNT; slot++) {
+            cache.markDrawn(slot);
+        }
+        assertEquals(0, cache.computeDirty());
+        return cache;
+    }
+
+    @Test
+    void overlappingRectsAreRedrawnTogether() {
+        HudRenderCache cache = drawnCache();
+        cache.set(HudRenderCache.SLOT_FOOD, 30, 100, 0, 181, 9);
+
+        assertEquals(2, cache.computeDirty());
+        assertTrue(cache.isDirty(HudRenderCache.SLOT_FOOD));
+        assertTrue(cache.isDirty(HudRenderCache.SLOT_AIR));
+        assertFalse(cache.isDirty(HudRenderCache.SLOT_HEALTH));
+        assertFalse(cache.isDirty(HudRenderCache.SLOT_ARMOR));
+        assertFalse(cache.isDirty(HudRenderCache.SLOT_EXPERIENCE));
+    }
+
+    @Test
+    void touchingButDisjointRectsStayClean() {
+        HudRenderCache cache = drawnCache();
+        cache.set(HudRenderCache.SLOT_ARMOR, 20, 0, 10, 81, 19);
+
+        assertEquals(1, cache.computeDirty());
+        assertTrue(cache.isDirty(HudRenderCache.SLOT_ARMOR));
+        assertFalse(cache.isDirty(HudRenderCache.SLOT_HEALTH));
+    }
+
+    @Test
+    void movedRectDirtiesWhatItNowOverlaps() {
+        HudRenderCache cache = drawnCache();
+        // Health が下にずれて Armor に重なる
+        cache.set(HudRenderCache.SLOT_HEALTH, 10, 0, 5, 81, 15);
+
+        assertEquals(2, cache.computeDirty());
+        assertTrue(cache.isDirty(HudRenderCache.SLOT_HEALTH));
+        assertTrue(cache.isDirty(HudRenderCache.SLOT_ARMOR));
+        assertFalse(cache.isDirty(HudRenderCache.SLOT_FOOD));
+        assertFalse(cache.isDirty(HudRenderCache.SLOT_AIR));
+    }
+}
@@ -0,0 +1,65 @@
+package com.greattomfoxsora.universalhudmanager.client.appleskin;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 自然回復の見積もり（周期をまとめて進める実装）が、旧実装のループ（{@link LegacyHealthEstimate}）とビット単位で一致すること
+ *
+ * @author GreatTomFox & Sora
+ */
+class FoodHelperTest
+{
+    @Test
+    void matchesLegacyLoopOnRandomInputs()
+    {
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++)
+        {
+            int foodLevel = random.nextInt(24);
+            float saturation = switch (random.nextInt(4))
+            {
+                case 0 -> random.nextInt(21);
+                case 1 -> random.nextFloat() * 20;
+                case 2 -> random.nextFloat() * 1000;
+                default -> random.nextInt(20000);
+            };
+            float exhaustion = random.nextInt(4) == 0 ? random.nextInt(5) : random.nextFloat() * 8;
+            assertMatchesLegacy(foodLevel, saturation, exhaustion);
+        }
+    }
+
+    @Test
+    void matchesLegacyLoopOnGrid()
+    {
+        for (int foodLevel = 16; foodLevel <= 21; foodLevel++)
+        {
+            for (int s = 0; s <= 160; s++)
+            {
+                for (int e = -8; e <= 64; e++)
+                    assertMatchesLegacy(foodLevel, s * 0.25F, e * 0.125F);
+            }
+        }
+    }
+
+    @Test
+    void nonFiniteInputsEstimateNothing()
+    {
+        assertMatchesLegacy(20, Float.NaN, 0.0F);
+        assertMatchesLegacy(20, Float.POSITIVE_INFINITY, 0.0F);
+        assertMatchesLegacy(20, 5.0F, Float.NaN);
+        assertEquals(0.0F, FoodHelper.getEstimatedHealthIncrement(20, Float.POSITIVE_INFINITY, 0.0F));
+    }
+
+    private static void assertMatchesLegacy(int foodLevel, float saturation, float exhaustion)
+    {
+        float expected = LegacyHealthEstimate.estimate(foodLevel, saturation, exhaustion);
+        float actual = FoodHelper.getEstimatedHealthIncrement(foodLevel, saturation, exhaustion);
+        assertEquals(Float.floatToRawIntBits(expected), Float.floatToRawIntBits(actual),
+            () -> "food=" + foodLevel + " saturation=" + saturation + " exhaustion=" + exhaustion
+                + ": expected " + expected + " but was " + actual);
+    }
+}
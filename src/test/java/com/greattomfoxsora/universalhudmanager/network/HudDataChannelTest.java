@@ -0,0 +1,139 @@
+package com.greattomfoxsora.universalhudmanager.network;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * HudDataChannel の差分作成と LoopbackTransport 経由のエンコード → デコード → テーブル反映
+ *
+ * @author GreatTomFox & Sora
+ */
+class HudDataChannelTest
+{
+    private static final long ALL = -1L;
+
+    private static int[] sample(float health, float maxHealth)
+    {
+        int[] values = new int[HudDataChannel.MAX_FIELDS];
+        values[HudDataChannel.VEHICLE_HEALTH] = Float.floatToRawIntBits(health);
+        values[HudDataChannel.VEHICLE_MAX_HEALTH] = Float.floatToRawIntBits(maxHealth);
+        return values;
+    }
+
+    @Test
+    void loopbackRoundTripAppliesValues()
+    {
+        HudDataTable table = new HudDataTable();
+        HudDataChannel.LoopbackTransport transport = new HudDataChannel.LoopbackTransport(table);
+        int[] lastSent = new int[HudDataChannel.MAX_FIELDS];
+
+        MessageHudData message = HudDataChannel.delta(sample(12.5F, 30.0F), lastSent, true, ALL);
+        assertNotNull(message);
+        transport.send(null, message);
+
+        assertEquals(12.5F, table.getFloat(HudDataChannel.VEHICLE_HEALTH, -1.0F));
+        assertEquals(30.0F, table.getFloat(HudDataChannel.VEHICLE_MAX_HEALTH, -1.0F));
+        assertEquals(1, transport.getPacketsSent());
+        assertEquals(message.encodedSize(), transport.getBytesSent());
+    }
+
+    @Test
+    void deltaSendsOnlyChangedFields()
+    {
+        int[] lastSent = new int[HudDataChannel.MAX_FIELDS];
+        HudDataChannel.delta(sample(20.0F, 30.0F), lastSent, true, ALL);
+
+        MessageHudData message = HudDataChannel.delta(sample(18.0F, 30.0F), lastSent, false, ALL);
+        assertNotNull(message);
+        assertEquals(1, message.count);
+        assertEquals(HudDataChannel.VEHICLE_HEALTH, message.fieldIds[0]);
+        assertEquals(Float.floatToRawIntBits(18.0F), message.values[0]);
+        assertArrayEquals(sample(18.0F, 30.0F), lastSent);
+
+        assertNull(HudDataChannel.delta(sample(18.0F, 30.0F), lastSent, false, ALL));
+    }
+
+    @Test
+    void deltaSkipsUnsubscribedFieldsButRemembersThem()
+    {
+        int[] lastSent = new int[HudDataChannel.MAX_FIELDS];
+        long healthOnly = 1L << HudDataChannel.VEHICLE_HEALTH;
+        int[] current = sample(20.0F, 30.0F);
+
+        int skipped = HudDataChannel.skippedBytes(current, lastSent, true, healthOnly);
+        MessageHudData message = HudDataChannel.delta(current, lastSent, true, healthOnly);
+        assertNotNull(message);
+        assertEquals(1, message.count);
+        assertEquals(HudDataChannel.VEHICLE_HEALTH, message.fieldIds[0]);
+        assertEquals(Float.floatToRawIntBits(30.0F), lastSent[HudDataChannel.VEHICLE_MAX_HEALTH]);
+        assertTrue(skipped > 0);
+
+        // 購読していないフィールドだけが変わった場合はパケットごと省く
+        assertNull(HudDataChannel.delta(sample(20.0F, 40.0F), lastSent, false, healthOnly));
+    }
+
+    @Test
+    void fullResendIncludesUnchangedFields()
+    {
+        HudDataTable table = new HudDataTable();
+        HudDataChannel.LoopbackTransport transport = new HudDataChannel.LoopbackTransport(table);
+        int[] lastSent = new int[HudDataChannel.MAX_FIELDS];
+        int[] current = sample(20.0F, 30.0F);
+        HudDataChannel.delta(current, lastSent, true, ALL);
+
+        // 切断でクライアントの状態が消えた後、変化がなくても全フィールドを送り直す
+        table.clear();
+        assertNull(HudDataChannel.delta(current, lastSent, false, ALL));
+        MessageHudData message = HudDataChannel.delta(current, lastSent, true, ALL);
+        assertNotNull(message);
+        assertEquals(HudDataChannel.fieldCount(), message.count);
+
+        transport.send(null, message);
+        assertEquals(20.0F, table.getFloat(HudDataChannel.VEHICLE_HEALTH, -1.0F));
+        assertEquals(30.0F, table.getFloat(HudDataChannel.VEHICLE_MAX_HEALTH, -1.0F));
+    }
+
+    @Test
+    void unknownFieldIdIsRejected()
+    {
+        assertThrows(IllegalArgumentException.class, () -> HudDataChannel.field(-1));
+        assertThrows(IllegalArgumentException.class, () -> HudDataChannel.field(HudDataChannel.fieldCount()));
+
+        MessageHudData outOfRange = new MessageHudData(1, new int[] { HudDataChannel.MAX_FIELDS }, new int[] { 0 });
+        FriendlyByteBuf out = new FriendlyByteBuf(Unpooled.buffer());
+        try
+        {
+            assertThrows(IllegalArgumentException.class, () -> MessageHudData.encode(outOfRange, out));
+        }
+        finally
+        {
+            out.release();
+        }
+
+        // 受信側: 範囲外のフィールドIDを含むパケットはテーブルに触れる前に弾く
+        HudDataTable table = new HudDataTable();
+        FriendlyByteBuf in = new FriendlyByteBuf(Unpooled.buffer());
+        try
+        {
+            in.writeVarInt(1);
+            in.writeVarInt(HudDataChannel.MAX_FIELDS);
+            in.writeInt(0);
+            assertThrows(IllegalArgumentException.class, () -> MessageHudData.decode(in).applyTo(table));
+        }
+        finally
+        {
+            in.release();
+        }
+        for (int id = 0; id < HudDataChannel.fieldCount(); id++)
+            assertFalse(table.has(id));
+    }
+}
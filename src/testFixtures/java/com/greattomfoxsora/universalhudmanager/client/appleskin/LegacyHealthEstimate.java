@@ -0,0 +1,49 @@
+package com.greattomfoxsora.universalhudmanager.client.appleskin;
+
+/**
+ * 旧 FoodHelper.getEstimatedHealthIncrement(int, float, float)（満腹度18未満になるまで毎回ループ）
+ * FoodHelperTest の比較基準と FoodHelperBenchmark の比較対象で共有する参照実装。
+ *
+ * @author GreatTomFox & Sora
+ */
+public final class LegacyHealthEstimate
+{
+    private LegacyHealthEstimate()
+    {
+    }
+
+    public static float estimate(int foodLevel, float saturationLevel, float exhaustionLevel)
+    {
+        float health = 0;
+
+        if (!Float.isFinite(exhaustionLevel) || !Float.isFinite(saturationLevel))
+            return 0;
+
+        while (foodLevel >= 18)
+        {
+            while (exhaustionLevel > FoodHelper.MAX_EXHAUSTION)
+            {
+                exhaustionLevel -= FoodHelper.MAX_EXHAUSTION;
+                if (saturationLevel > 0)
+                    saturationLevel = Math.max(saturationLevel - 1, 0);
+                else
+                    foodLevel -= 1;
+            }
+            if (foodLevel >= 20 && Float.compare(saturationLevel, Float.MIN_NORMAL) > 0)
+            {
+                float limitedSaturationLevel = Math.min(saturationLevel, FoodHelper.REGEN_EXHAUSTION_INCREMENT);
+                float exhaustionUntilAboveMax = Math.nextUp(FoodHelper.MAX_EXHAUSTION) - exhaustionLevel;
+                int numIterationsUntilAboveMax = Math.max(1, (int) Math.ceil(exhaustionUntilAboveMax / limitedSaturationLevel));
+                health += (limitedSaturationLevel / FoodHelper.REGEN_EXHAUSTION_INCREMENT) * numIterationsUntilAboveMax;
+                exhaustionLevel += limitedSaturationLevel * numIterationsUntilAboveMax;
+            }
+            else if (foodLevel >= 18)
+            {
+                health += 1;
+                exhaustionLevel += FoodHelper.REGEN_EXHAUSTION_INCREMENT;
+            }
+        }
+
+        return health;
+    }
+}